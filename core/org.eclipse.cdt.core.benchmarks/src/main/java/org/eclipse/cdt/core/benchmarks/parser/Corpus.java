@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.parser.c.GCCParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.c.GCCScannerExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.internal.core.dom.parser.AbstractGNUSourceCodeParser;
+import org.eclipse.cdt.internal.core.dom.parser.c.GNUCSourceParser;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
+
+/**
+ * A directory of source files for the parser benchmarks. The translation units are the {@code .c}
+ * and {@code .cpp} files at the top level of the directory, headers are included from its
+ * {@code include} folder. By default the synthetic corpus shipped with the benchmarks is used.
+ */
+final class Corpus {
+	static final String DEFAULT = "corpus";
+
+	private static final NullLogService LOG = new NullLogService();
+
+	/**
+	 * Reads the included files from disk, like the files outside of the workspace are read by the IDE.
+	 */
+	private static final class FileSystemContentProvider extends InternalFileContentProvider {
+		@Override
+		public InternalFileContent getContentForInclusion(String filePath, IMacroDictionary macroDictionary) {
+			return (InternalFileContent) FileContent.createForExternalFileLocation(filePath);
+		}
+
+		@Override
+		public InternalFileContent getContentForInclusion(IIndexFileLocation ifl, String astPath) {
+			return null;
+		}
+	}
+
+	/**
+	 * C++ parser that reports the time spent for resolving ambiguities as a separate phase.
+	 */
+	private static final class CPPParser extends GNUCPPSourceParser {
+		private final Phases fPhases;
+
+		CPPParser(IScanner scanner, Phases phases) {
+			super(scanner, ParserMode.COMPLETE_PARSE, LOG, GPPParserExtensionConfiguration.getInstance());
+			fPhases = phases;
+		}
+
+		@Override
+		protected void resolveAmbiguities() {
+			fPhases.begin(Phase.AMBIGUITIES);
+			super.resolveAmbiguities();
+			fPhases.end();
+		}
+	}
+
+	/**
+	 * C parser that reports the time spent for resolving ambiguities as a separate phase.
+	 */
+	private static final class CParser extends GNUCSourceParser {
+		private final Phases fPhases;
+
+		CParser(IScanner scanner, Phases phases) {
+			super(scanner, ParserMode.COMPLETE_PARSE, LOG, GCCParserExtensionConfiguration.getInstance());
+			fPhases = phases;
+		}
+
+		@Override
+		protected void resolveAmbiguities() {
+			fPhases.begin(Phase.AMBIGUITIES);
+			super.resolveAmbiguities();
+			fPhases.end();
+		}
+	}
+
+	private final File fDirectory;
+	private final IScannerInfo fScannerInfo;
+	private final List<File> fTranslationUnits;
+
+	private Corpus(File directory) throws IOException {
+		fDirectory = directory;
+		File include = new File(directory, "include");
+		fScannerInfo = new ScannerInfo(Collections.emptyMap(), new String[] { include.getAbsolutePath() });
+		File[] files = directory.listFiles(f -> f.isFile() && (f.getName().endsWith(".c") || isCPP(f)));
+		if (files == null || files.length == 0)
+			throw new IOException("No translation units in " + directory);
+		Arrays.sort(files);
+		fTranslationUnits = new ArrayList<>(Arrays.asList(files));
+	}
+
+	/**
+	 * Loads the corpus in the given directory, or the corpus shipped with the benchmarks if the path
+	 * is empty.
+	 */
+	static Corpus load(String path) throws IOException {
+		if (!path.isEmpty())
+			return new Corpus(new File(path));
+
+		URL url = Corpus.class.getResource(DEFAULT);
+		if (url == null || !"file".equals(url.getProtocol()))
+			throw new IOException("The corpus is not available as a directory, specify one with -corpus");
+		try {
+			return new Corpus(new File(url.toURI()));
+		} catch (URISyntaxException e) {
+			throw new IOException(e);
+		}
+	}
+
+	File getDirectory() {
+		return fDirectory;
+	}
+
+	List<File> getTranslationUnits() {
+		return fTranslationUnits;
+	}
+
+	static boolean isCPP(File file) {
+		return file.getName().endsWith(".cpp");
+	}
+
+	IScanner createScanner(File translationUnit) {
+		FileContent content = FileContent.createForExternalFileLocation(translationUnit.getAbsolutePath());
+		if (isCPP(translationUnit)) {
+			return new CPreprocessor(content, fScannerInfo, ParserLanguage.CPP, LOG,
+					GPPScannerExtensionConfiguration.getInstance(fScannerInfo), new FileSystemContentProvider());
+		}
+		return new CPreprocessor(content, fScannerInfo, ParserLanguage.C, LOG,
+				GCCScannerExtensionConfiguration.getInstance(fScannerInfo), new FileSystemContentProvider());
+	}
+
+	AbstractGNUSourceCodeParser createParser(File translationUnit, Phases phases) {
+		IScanner scanner = createScanner(translationUnit);
+		return isCPP(translationUnit) ? new CPPParser(scanner, phases) : new CParser(scanner, phases);
+	}
+}
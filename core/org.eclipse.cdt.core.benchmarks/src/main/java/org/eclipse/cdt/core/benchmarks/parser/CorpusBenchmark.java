@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTProblem;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.IScanner;
+
+/**
+ * Runs the preprocessor, the parser, the resolution of ambiguities and the resolution of names over
+ * the translation units of a {@link Corpus}. For each translation unit and {@link Phase} the time,
+ * the allocated bytes and the allocation rate are reported, as well as the heap retained by the AST
+ * with all of its bindings resolved. The results are printed and written as JSON to a file, such
+ * that the runs of different versions of CDT can be compared.
+ * <p>
+ * Options:
+ * <pre>
+ * -corpus &lt;dir&gt;      directory of the corpus, by default the synthetic corpus of the benchmarks
+ * -warmup &lt;n&gt;        number of iterations before the measurements, default 5
+ * -iterations &lt;n&gt;    number of measured iterations, default 10
+ * -out &lt;file&gt;        file for the JSON results, default target/corpus-benchmark.json
+ * -label &lt;text&gt;      name of the run stored with the results, e.g. the version of CDT
+ * </pre>
+ */
+public final class CorpusBenchmark {
+	private static final Phase[] PHASES = Phase.values();
+	private static final double NANOS_PER_MILLI = 1e6;
+	private static final double BYTES_PER_MB = 1024 * 1024;
+
+	/**
+	 * The measurements for one translation unit, or the sum over all of them.
+	 */
+	private static final class Result {
+		final String fName;
+		final long[][] fNanos;
+		final long[] fBytes = new long[PHASES.length];
+		int fTokens;
+		int fNames;
+		int fProblemBindings;
+		int fSyntaxProblems;
+		long fAstBytes;
+
+		Result(String name, int iterations) {
+			fName = name;
+			fNanos = new long[PHASES.length][iterations];
+		}
+
+		void add(int iteration, Phases phases) {
+			for (Phase phase : PHASES) {
+				fNanos[phase.ordinal()][iteration] += phases.getNanos(phase);
+				fBytes[phase.ordinal()] += phases.getAllocatedBytes(phase);
+			}
+		}
+
+		long median(Phase phase) {
+			long[] sorted = fNanos[phase.ordinal()].clone();
+			Arrays.sort(sorted);
+			return sorted[sorted.length / 2];
+		}
+
+		long min(Phase phase) {
+			return Arrays.stream(fNanos[phase.ordinal()]).min().orElse(0);
+		}
+
+		long bytesPerIteration(Phase phase) {
+			return fBytes[phase.ordinal()] / fNanos[phase.ordinal()].length;
+		}
+
+		/**
+		 * Returns the allocation rate in megabytes per second.
+		 */
+		double allocationRate(Phase phase) {
+			long nanos = Arrays.stream(fNanos[phase.ordinal()]).sum();
+			return nanos == 0 ? 0 : fBytes[phase.ordinal()] / BYTES_PER_MB / (nanos / 1e9);
+		}
+	}
+
+	/**
+	 * Resolves the bindings of all names of an AST.
+	 */
+	private static final class NameResolver extends ASTVisitor {
+		int fNames;
+		int fProblemBindings;
+		int fSyntaxProblems;
+
+		NameResolver() {
+			shouldVisitNames = true;
+			shouldVisitImplicitNames = true;
+			shouldVisitProblems = true;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			fNames++;
+			if (name.resolveBinding() instanceof IProblemBinding) {
+				fProblemBindings++;
+			}
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTProblem problem) {
+			fSyntaxProblems++;
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	private String fCorpusPath = "";
+	private int fWarmup = 5;
+	private int fIterations = 10;
+	private String fOutput = "target/corpus-benchmark.json";
+	private String fLabel = "";
+
+	private CorpusBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CorpusBenchmark benchmark = new CorpusBenchmark();
+		for (int i = 0; i < args.length; i++) {
+			String value = i + 1 < args.length ? args[i + 1] : null;
+			switch (args[i]) {
+			case "-corpus":
+				benchmark.fCorpusPath = value;
+				break;
+			case "-warmup":
+				benchmark.fWarmup = value == null ? -1 : Integer.parseInt(value);
+				break;
+			case "-iterations":
+				benchmark.fIterations = value == null ? -1 : Integer.parseInt(value);
+				break;
+			case "-out":
+				benchmark.fOutput = value;
+				break;
+			case "-label":
+				benchmark.fLabel = value;
+				break;
+			default:
+				value = null;
+				break;
+			}
+			if (value == null || benchmark.fWarmup < 0 || benchmark.fIterations < 1) {
+				System.err.println("Usage: CorpusBenchmark [-corpus <dir>] [-warmup <n>] [-iterations <n>]"
+						+ " [-out <file>] [-label <text>]");
+				System.exit(1);
+			}
+			i++;
+		}
+		benchmark.run();
+	}
+
+	private void run() throws IOException {
+		Corpus corpus = Corpus.load(fCorpusPath);
+		List<File> files = corpus.getTranslationUnits();
+		Result[] results = new Result[files.size()];
+		for (int i = 0; i < results.length; i++) {
+			results[i] = new Result(files.get(i).getName(), fIterations);
+		}
+		Result total = new Result("total", fIterations);
+
+		for (int iteration = 0; iteration < fWarmup; iteration++) {
+			for (File file : files) {
+				measure(corpus, file, new Phases());
+			}
+		}
+		for (int iteration = 0; iteration < fIterations; iteration++) {
+			for (int i = 0; i < results.length; i++) {
+				Phases phases = new Phases();
+				results[i].fTokens = measure(corpus, files.get(i), phases);
+				results[i].add(iteration, phases);
+				total.add(iteration, phases);
+			}
+		}
+		for (int i = 0; i < results.length; i++) {
+			measureMemory(corpus, files.get(i), results[i]);
+			total.fTokens += results[i].fTokens;
+			total.fNames += results[i].fNames;
+			total.fProblemBindings += results[i].fProblemBindings;
+			total.fSyntaxProblems += results[i].fSyntaxProblems;
+			total.fAstBytes = Math.max(total.fAstBytes, results[i].fAstBytes);
+		}
+
+		print(System.out, results, total);
+		File output = new File(fOutput);
+		File parent = output.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(toJson(corpus, results, total));
+		}
+		System.out.println("Results written to " + output.getAbsolutePath());
+	}
+
+	/**
+	 * Runs all phases for one translation unit, returns the number of tokens.
+	 */
+	private static int measure(Corpus corpus, File file, Phases phases) {
+		int tokens = preprocess(corpus, file, phases);
+		IASTTranslationUnit ast = parse(corpus, file, phases);
+		resolveNames(ast, phases);
+		return tokens;
+	}
+
+	private static int preprocess(Corpus corpus, File file, Phases phases) {
+		phases.begin(Phase.PREPROCESS);
+		IScanner scanner = corpus.createScanner(file);
+		int tokens = 0;
+		try {
+			while (true) {
+				scanner.nextToken();
+				tokens++;
+			}
+		} catch (EndOfFileException e) {
+			// The translation unit has been preprocessed.
+		}
+		phases.end();
+		return tokens;
+	}
+
+	private static IASTTranslationUnit parse(Corpus corpus, File file, Phases phases) {
+		phases.begin(Phase.PARSE);
+		IASTTranslationUnit ast = corpus.createParser(file, phases).parse();
+		phases.end();
+		return ast;
+	}
+
+	private static NameResolver resolveNames(IASTTranslationUnit ast, Phases phases) {
+		phases.begin(Phase.NAMES);
+		NameResolver resolver = new NameResolver();
+		ast.accept(resolver);
+		phases.end();
+		return resolver;
+	}
+
+	/**
+	 * Measures the heap retained by the AST after all names have been resolved. This is the amount
+	 * of memory that becomes free when the AST is released.
+	 */
+	private static void measureMemory(Corpus corpus, File file, Result result) {
+		Phases phases = new Phases();
+		IASTTranslationUnit ast = parse(corpus, file, phases);
+		NameResolver resolver = resolveNames(ast, phases);
+		long retained = usedHeapAfterGC();
+		Reference.reachabilityFence(ast);
+		ast = null;
+		long released = usedHeapAfterGC();
+
+		result.fAstBytes = Math.max(0, retained - released);
+		result.fNames = resolver.fNames;
+		result.fProblemBindings = resolver.fProblemBindings;
+		result.fSyntaxProblems = resolver.fSyntaxProblems;
+	}
+
+	private static long usedHeapAfterGC() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private void print(PrintStream out, Result[] results, Result total) {
+		out.printf(Locale.ROOT, "%-24s %-12s %12s %12s %14s %12s%n", "File", "Phase", "Median [ms]", "Min [ms]",
+				"Alloc [MB]", "Rate [MB/s]");
+		for (Result result : results) {
+			print(out, result);
+		}
+		print(out, total);
+		out.println();
+		out.printf(Locale.ROOT, "%-24s %8s %8s %10s %10s %14s%n", "File", "Tokens", "Names", "Problems", "Syntax",
+				"AST [KB]");
+		for (Result result : results) {
+			out.printf(Locale.ROOT, "%-24s %8d %8d %10d %10d %14d%n", result.fName, result.fTokens, result.fNames,
+					result.fProblemBindings, result.fSyntaxProblems, result.fAstBytes / 1024);
+		}
+		out.printf(Locale.ROOT, "%-24s %8d %8d %10d %10d %14d (peak)%n", total.fName, total.fTokens, total.fNames,
+				total.fProblemBindings, total.fSyntaxProblems, total.fAstBytes / 1024);
+		if (!Phases.isMeasuringAllocations()) {
+			out.println("The allocated bytes are not measured, the VM does not support it.");
+		}
+	}
+
+	private static void print(PrintStream out, Result result) {
+		for (Phase phase : PHASES) {
+			out.printf(Locale.ROOT, "%-24s %-12s %12.3f %12.3f %14.3f %12.1f%n", result.fName, phase.fId,
+					result.median(phase) / NANOS_PER_MILLI, result.min(phase) / NANOS_PER_MILLI,
+					result.bytesPerIteration(phase) / BYTES_PER_MB, result.allocationRate(phase));
+		}
+	}
+
+	private String toJson(Corpus corpus, Result[] results, Result total) {
+		StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		property(json, 1, "label", quote(fLabel)).append(",\n");
+		property(json, 1, "java", quote(System.getProperty("java.version"))).append(",\n");
+		property(json, 1, "corpus", quote(corpus.getDirectory().getName())).append(",\n");
+		property(json, 1, "warmup", fWarmup).append(",\n");
+		property(json, 1, "iterations", fIterations).append(",\n");
+		property(json, 1, "allocationsMeasured", Phases.isMeasuringAllocations()).append(",\n");
+		indent(json, 1).append("\"files\": [\n");
+		for (int i = 0; i < results.length; i++) {
+			indent(json, 2).append("{\n");
+			appendResult(json, 3, results[i]);
+			indent(json, 2).append(i + 1 < results.length ? "},\n" : "}\n");
+		}
+		indent(json, 1).append("],\n");
+		indent(json, 1).append("\"total\": {\n");
+		appendResult(json, 2, total);
+		indent(json, 1).append("}\n");
+		json.append("}\n");
+		return json.toString();
+	}
+
+	private static void appendResult(StringBuilder json, int level, Result result) {
+		property(json, level, "file", quote(result.fName)).append(",\n");
+		property(json, level, "tokens", result.fTokens).append(",\n");
+		property(json, level, "names", result.fNames).append(",\n");
+		property(json, level, "problemBindings", result.fProblemBindings).append(",\n");
+		property(json, level, "syntaxProblems", result.fSyntaxProblems).append(",\n");
+		property(json, level, "astBytes", result.fAstBytes).append(",\n");
+		indent(json, level).append("\"phases\": {\n");
+		for (Phase phase : PHASES) {
+			indent(json, level + 1).append(quote(phase.fId)).append(": {\n");
+			property(json, level + 2, "medianMillis", format(result.median(phase) / NANOS_PER_MILLI)).append(",\n");
+			property(json, level + 2, "minMillis", format(result.min(phase) / NANOS_PER_MILLI)).append(",\n");
+			property(json, level + 2, "allocatedBytes", result.bytesPerIteration(phase)).append(",\n");
+			property(json, level + 2, "allocationRateMBps", format(result.allocationRate(phase))).append("\n");
+			indent(json, level + 1).append(phase.ordinal() + 1 < PHASES.length ? "},\n" : "}\n");
+		}
+		indent(json, level).append("}\n");
+	}
+
+	private static StringBuilder property(StringBuilder json, int level, String name, Object value) {
+		return indent(json, level).append(quote(name)).append(": ").append(value);
+	}
+
+	private static StringBuilder indent(StringBuilder json, int level) {
+		for (int i = 0; i < level; i++) {
+			json.append("  ");
+		}
+		return json;
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+
+	private static String quote(String value) {
+		StringBuilder result = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				result.append('\\').append(c);
+			} else if (c < ' ') {
+				result.append(String.format("\\u%04x", (int) c));
+			} else {
+				result.append(c);
+			}
+		}
+		return result.append('"').toString();
+	}
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.parser;
+
+/**
+ * The phases measured by the {@link CorpusBenchmark}.
+ */
+enum Phase {
+	/** Running the preprocessor over the translation unit, without parsing. */
+	PREPROCESS("preprocess"),
+	/** Parsing including preprocessing, without the resolution of ambiguities. */
+	PARSE("parse"),
+	/** Resolving the ambiguous nodes of the AST. */
+	AMBIGUITIES("ambiguities"),
+	/** Resolving the bindings of all names in the AST. */
+	NAMES("names");
+
+	final String fId;
+
+	Phase(String id) {
+		fId = id;
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.parser;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Accumulates the elapsed time and the bytes allocated by the current thread per {@link Phase}.
+ * Phases can be nested, the time of a nested phase is not counted for the enclosing one.
+ */
+final class Phases {
+	private static final com.sun.management.ThreadMXBean THREADS = getThreadBean();
+
+	private final long[] fNanos = new long[Phase.values().length];
+	private final long[] fBytes = new long[Phase.values().length];
+	private final Deque<Phase> fActive = new ArrayDeque<>();
+	private long fMarkNanos;
+	private long fMarkBytes;
+
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+			if (threads.isThreadAllocatedMemorySupported()) {
+				threads.setThreadAllocatedMemoryEnabled(true);
+				return threads;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the allocated bytes are measured.
+	 */
+	static boolean isMeasuringAllocations() {
+		return THREADS != null;
+	}
+
+	private static long allocatedBytes() {
+		return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+	}
+
+	void begin(Phase phase) {
+		flush();
+		fActive.push(phase);
+	}
+
+	void end() {
+		flush();
+		fActive.pop();
+	}
+
+	private void flush() {
+		final long nanos = System.nanoTime();
+		final long bytes = allocatedBytes();
+		Phase current = fActive.peek();
+		if (current != null) {
+			fNanos[current.ordinal()] += nanos - fMarkNanos;
+			fBytes[current.ordinal()] += bytes - fMarkBytes;
+		}
+		fMarkNanos = nanos;
+		fMarkBytes = bytes;
+	}
+
+	long getNanos(Phase phase) {
+		return fNanos[phase.ordinal()];
+	}
+
+	long getAllocatedBytes(Phase phase) {
+		return fBytes[phase.ordinal()];
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BTree#insert(long)} and {@link BTree#accept(IBTreeVisitor)} on a tree of
+ * {@code size} string records, ordered like the name indexes of the linkages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BTreeBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Strings {
+		@Param({ "10000", "100000" })
+		public int size;
+
+		Database fDatabase;
+		String[] fNames;
+		long[] fRecords;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			fDatabase = SyntheticDatabase.create(new ChunkCache(), false);
+			fNames = SyntheticDatabase.names(size, 42);
+			fRecords = SyntheticDatabase.storeStrings(fDatabase, fNames);
+			fDatabase.flush();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws Exception {
+			SyntheticDatabase.dispose(fDatabase);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Tree {
+		BTree fTree;
+		int fNext;
+
+		@Setup(Level.Trial)
+		public void setup(Strings strings) throws Exception {
+			fTree = SyntheticDatabase.createStringTree(strings.fDatabase);
+			for (long record : strings.fRecords) {
+				fTree.insert(record);
+			}
+			strings.fDatabase.flush();
+		}
+	}
+
+	/**
+	 * Builds a tree from scratch, each invocation inserts all records into a new tree.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 3, batchSize = 1)
+	@Measurement(iterations = 10, batchSize = 1)
+	public BTree insertAll(Strings strings) throws CoreException {
+		BTree tree = SyntheticDatabase.createStringTree(strings.fDatabase);
+		for (long record : strings.fRecords) {
+			tree.insert(record);
+		}
+		return tree;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public int findName(Strings strings, Tree tree) throws CoreException {
+		final String[] names = strings.fNames;
+		final char[] name = names[tree.fNext++ % names.length].toCharArray();
+		SyntheticDatabase.NameVisitor visitor = new SyntheticDatabase.NameVisitor(strings.fDatabase, name, false);
+		tree.fTree.accept(visitor);
+		return visitor.fCount;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public int findPrefix(Strings strings, Tree tree) throws CoreException {
+		final String[] names = strings.fNames;
+		final String name = names[tree.fNext++ % names.length];
+		final char[] prefix = name.substring(0, Math.min(name.length(), 6)).toCharArray();
+		SyntheticDatabase.NameVisitor visitor = new SyntheticDatabase.NameVisitor(strings.fDatabase, prefix, true);
+		tree.fTree.accept(visitor);
+		return visitor.fCount;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int visitAll(Tree tree) throws CoreException {
+		final int[] count = new int[1];
+		tree.fTree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) {
+				count[0]++;
+				return true;
+			}
+		});
+		return count[0];
+	}
+}
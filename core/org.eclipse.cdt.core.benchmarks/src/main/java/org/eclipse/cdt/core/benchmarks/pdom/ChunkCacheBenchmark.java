@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reads from a database of {@code chunks} chunks by concurrent readers, which share a
+ * {@link ChunkCache} of {@code cacheSize} megabytes. The number of readers can be changed with
+ * the {@code -t} option of JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ChunkCacheBenchmark {
+	/** Every chunk holds its sequence number at this offset. */
+	private static final int VALUE_OFFSET = 64;
+
+	@Param({ "16384" })
+	public int chunks;
+
+	@Param({ "4", "128" })
+	public int cacheSize;
+
+	@Param({ "false", "true" })
+	public boolean mapped;
+
+	private ChunkCache fCache;
+	private Database fDatabase;
+	private long fFirstChunk;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fCache = new ChunkCache(cacheSize * 1024L * 1024L);
+		fDatabase = SyntheticDatabase.create(fCache, mapped);
+		for (int i = 0; i < chunks; i++) {
+			long block = fDatabase.malloc(Database.MAX_MALLOC_SIZE);
+			if (i == 0) {
+				fFirstChunk = block & ~(long) Database.OFFSET_IN_CHUNK_MASK;
+			}
+			fDatabase.putInt((block & ~(long) Database.OFFSET_IN_CHUNK_MASK) + VALUE_OFFSET, i);
+			if (i % 1024 == 1023) {
+				fDatabase.flush();
+			}
+		}
+		SyntheticDatabase.makeShared(fDatabase);
+	}
+
+	@Setup(Level.Iteration)
+	public void resetCounters() {
+		fCache.resetCacheCounters();
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportHitRatio() {
+		final long hits = fCache.getCacheHits();
+		final long total = hits + fCache.getCacheMisses();
+		System.out.printf(" [hit ratio %.3f]", total == 0 ? 0 : (double) hits / total);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		SyntheticDatabase.dispose(fDatabase);
+	}
+
+	private long chunkOffset(int chunk) {
+		return fFirstChunk + (long) chunk * Database.CHUNK_SIZE + VALUE_OFFSET;
+	}
+
+	/**
+	 * Reads from chunks chosen uniformly at random.
+	 */
+	@Benchmark
+	public int uniformRead() throws CoreException {
+		return fDatabase.getInt(chunkOffset(ThreadLocalRandom.current().nextInt(chunks)));
+	}
+
+	/**
+	 * Reads mostly from a small set of hot chunks, like the roots of the indexes and the chunks
+	 * of frequently used bindings.
+	 */
+	@Benchmark
+	public int skewedRead() throws CoreException {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int hot = Math.max(1, chunks / 50);
+		final int chunk = random.nextInt(10) < 9 ? random.nextInt(hot) : random.nextInt(chunks);
+		return fDatabase.getInt(chunkOffset(chunk));
+	}
+}
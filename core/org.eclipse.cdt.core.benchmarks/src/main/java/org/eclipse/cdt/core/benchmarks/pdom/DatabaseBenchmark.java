@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Database#malloc(int)} and {@link Database#free(long)} on a database that holds
+ * {@code size} live blocks of mixed sizes. Every operation frees a random block and allocates
+ * a new one, which keeps the free lists populated the way they are during incremental indexing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatabaseBenchmark {
+	private static final int SIZES = 4096;
+
+	@Param({ "10000", "100000" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean mapped;
+
+	private Database fDatabase;
+	private long[] fBlocks;
+	private int[] fSizes;
+	private int[] fVictims;
+	private int fNext;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fDatabase = SyntheticDatabase.create(new ChunkCache(), mapped);
+		Random random = new Random(42);
+		fSizes = new int[SIZES];
+		for (int i = 0; i < SIZES; i++) {
+			fSizes[i] = blockSize(random);
+		}
+		fVictims = new int[SIZES];
+		for (int i = 0; i < SIZES; i++) {
+			fVictims[i] = random.nextInt(size);
+		}
+		fBlocks = new long[size];
+		for (int i = 0; i < size; i++) {
+			fBlocks[i] = fDatabase.malloc(fSizes[i % SIZES]);
+		}
+		fDatabase.flush();
+	}
+
+	/**
+	 * Most records in the index are small, strings and B-tree nodes make up the tail.
+	 */
+	private static int blockSize(Random random) {
+		int p = random.nextInt(100);
+		if (p < 70)
+			return 4 + random.nextInt(40);
+		if (p < 95)
+			return 44 + random.nextInt(200);
+		return 244 + random.nextInt(Database.MAX_MALLOC_SIZE - 244);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		SyntheticDatabase.dispose(fDatabase);
+	}
+
+	@Benchmark
+	public long mallocFree() throws Exception {
+		final int i = fNext++ & (SIZES - 1);
+		final int victim = fVictims[i];
+		fDatabase.free(fBlocks[victim]);
+		return fBlocks[victim] = fDatabase.malloc(fSizes[i]);
+	}
+
+	@Benchmark
+	public long mallocFreeSmall() throws Exception {
+		final int i = fNext++ & (SIZES - 1);
+		final int victim = fVictims[i];
+		fDatabase.free(fBlocks[victim]);
+		return fBlocks[victim] = fDatabase.malloc(4 + (i & 31));
+	}
+}
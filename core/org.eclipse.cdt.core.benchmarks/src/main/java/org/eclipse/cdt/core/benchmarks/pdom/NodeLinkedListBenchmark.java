@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.ListItem;
+import org.eclipse.cdt.internal.core.pdom.db.PDOMNodeLinkedList;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the traversal of the lists used by {@link PDOMNodeLinkedList}. The database contains
+ * {@code size} nodes spread over lists of {@code listLength} members. Members were added to the
+ * lists in round robin order, like members of different scopes are added while indexing, so
+ * consecutive list items are not adjacent in the database.
+ * <p>
+ * A {@link PDOMNodeLinkedList} cannot be created without a linkage, therefore the benchmark walks
+ * the {@link ListItem} ring with the same reads as {@link PDOMNodeLinkedList#accept}, including
+ * the read of the node type done when the node is loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeLinkedListBenchmark {
+	private static final int NODE_SIZE = 16;
+
+	@Param({ "100000" })
+	public int size;
+
+	@Param({ "8", "64", "4096" })
+	public int listLength;
+
+	@Param({ "false", "true" })
+	public boolean mapped;
+
+	private Database fDatabase;
+	private long[] fLists;
+	private Random fRandom;
+
+	/**
+	 * Exposes the layout of a list item.
+	 */
+	private static final class Layout extends ListItem {
+		static final int NEXT_OFFSET = NEXT;
+		static final int ITEM_OFFSET = ITEM;
+
+		private Layout() {
+			super(null, 0);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fDatabase = SyntheticDatabase.create(new ChunkCache(), mapped);
+		fRandom = new Random(42);
+		final int lists = Math.max(1, size / listLength);
+		fLists = new long[lists];
+		final ListItem[] firstItems = new ListItem[lists];
+		for (int i = 0; i < lists; i++) {
+			fLists[i] = fDatabase.malloc(Database.PTR_SIZE);
+		}
+		for (int n = 0; n < listLength; n++) {
+			for (int i = 0; i < lists; i++) {
+				long node = fDatabase.malloc(NODE_SIZE);
+				fDatabase.putShort(node, (short) (n & 0xff));
+				firstItems[i] = addMember(fLists[i], firstItems[i], node);
+			}
+		}
+		SyntheticDatabase.makeShared(fDatabase);
+	}
+
+	/**
+	 * Same as {@code PDOMNodeLinkedList.addMember(long)}.
+	 */
+	private ListItem addMember(long list, ListItem firstMember, long record) throws CoreException {
+		if (firstMember == null) {
+			firstMember = new ListItem(fDatabase);
+			firstMember.setItem(record);
+			firstMember.setNext(firstMember);
+			firstMember.setPrev(firstMember);
+			fDatabase.putRecPtr(list, firstMember.getRecord());
+		} else {
+			ListItem newMember = new ListItem(fDatabase);
+			newMember.setItem(record);
+			ListItem prevMember = firstMember.getPrev();
+			prevMember.setNext(newMember);
+			firstMember.setPrev(newMember);
+			newMember.setPrev(prevMember);
+			newMember.setNext(firstMember);
+		}
+		return firstMember;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		SyntheticDatabase.dispose(fDatabase);
+	}
+
+	@Benchmark
+	public int accept() throws CoreException {
+		final Database db = fDatabase;
+		final long firstItem = db.getRecPtr(fLists[fRandom.nextInt(fLists.length)]);
+		int sum = 0;
+		long item = firstItem;
+		do {
+			final long record = db.getRecPtr(item + Layout.ITEM_OFFSET);
+			sum += db.getShort(record);
+		} while ((item = db.getRecPtr(item + Layout.NEXT_OFFSET)) != firstItem);
+		return sum;
+	}
+
+	/**
+	 * Walks the list through {@link ListItem} objects, like {@code PDOMNodeLinkedList.deleteListItems()}.
+	 */
+	@Benchmark
+	public int acceptListItems() throws CoreException {
+		final ListItem first = new ListItem(fDatabase, fDatabase.getRecPtr(fLists[fRandom.nextInt(fLists.length)]));
+		int sum = 0;
+		ListItem item = first;
+		do {
+			sum += fDatabase.getShort(item.getItem());
+		} while (!(item = item.getNext()).equals(first));
+		return sum;
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A sequence of index queries, as recorded with the {@code org.eclipse.cdt.core/debug/index/queryTrace}
+ * debug option. Each line consists of the kind of the query, {@code find} or {@code prefix}, followed
+ * by a space and the name. Empty lines and lines starting with {@code #} are ignored.
+ */
+final class QueryTrace {
+	static final String SAMPLE = "sample.trace";
+
+	final char[][] fNames;
+	final boolean[] fIsPrefix;
+
+	private QueryTrace(List<String> names, List<Boolean> isPrefix) {
+		fNames = new char[names.size()][];
+		fIsPrefix = new boolean[names.size()];
+		for (int i = 0; i < fNames.length; i++) {
+			fNames[i] = names.get(i).toCharArray();
+			fIsPrefix[i] = isPrefix.get(i);
+		}
+	}
+
+	/**
+	 * Loads the trace from the given file, or the sample trace shipped with the benchmarks if
+	 * the path is empty.
+	 */
+	static QueryTrace load(String path) throws IOException {
+		try (InputStream in = path.isEmpty() ? QueryTrace.class.getResourceAsStream(SAMPLE)
+				: new FileInputStream(path)) {
+			if (in == null)
+				throw new IOException("Missing " + SAMPLE);
+			return read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+		}
+	}
+
+	static QueryTrace read(BufferedReader reader) throws IOException {
+		List<String> names = new ArrayList<>();
+		List<Boolean> isPrefix = new ArrayList<>();
+		int lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			int space = line.indexOf(' ');
+			String kind = space < 0 ? line : line.substring(0, space);
+			String name = space < 0 ? "" : line.substring(space + 1);
+			switch (kind) {
+			case "find":
+				isPrefix.add(false);
+				break;
+			case "prefix":
+				isPrefix.add(true);
+				break;
+			default:
+				throw new IOException("Unknown query kind '" + kind + "' in line " + lineNumber);
+			}
+			names.add(name);
+		}
+		return new QueryTrace(names, isPrefix);
+	}
+
+	int size() {
+		return fNames.length;
+	}
+
+	/**
+	 * Returns the distinct names the trace looks for, in the order of their first use.
+	 */
+	String[] getNames() {
+		Set<String> names = new LinkedHashSet<>();
+		for (int i = 0; i < fNames.length; i++) {
+			if (!fIsPrefix[i] && fNames[i].length > 0) {
+				names.add(new String(fNames[i]));
+			}
+		}
+		return names.toArray(new String[names.size()]);
+	}
+}
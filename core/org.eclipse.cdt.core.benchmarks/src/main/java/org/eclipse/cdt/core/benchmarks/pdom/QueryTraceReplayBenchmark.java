@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays a recorded {@link QueryTrace} against a name index in the database. The index contains
+ * the names of the trace and {@code size} additional names. Each invocation replays the complete
+ * trace, the trace is given with {@code -p trace=<file>}, by default a small sample is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryTraceReplayBenchmark {
+	@Param({ "" })
+	public String trace;
+
+	@Param({ "100000" })
+	public int size;
+
+	/** Size of the chunk cache in megabytes. */
+	@Param({ "64" })
+	public int cacheSize;
+
+	private QueryTrace fTrace;
+	private Database fDatabase;
+	private BTree fIndex;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fTrace = QueryTrace.load(trace);
+		fDatabase = SyntheticDatabase.create(new ChunkCache(cacheSize * 1024L * 1024L), false);
+		final String[] traceNames = fTrace.getNames();
+		final String[] names = Arrays.copyOf(traceNames, traceNames.length + size);
+		System.arraycopy(SyntheticDatabase.names(size, 42), 0, names, traceNames.length, size);
+		fIndex = SyntheticDatabase.createStringTree(fDatabase);
+		for (long record : SyntheticDatabase.storeStrings(fDatabase, names)) {
+			fIndex.insert(record);
+		}
+		SyntheticDatabase.makeShared(fDatabase);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		SyntheticDatabase.dispose(fDatabase);
+	}
+
+	@Benchmark
+	public int replay() throws CoreException {
+		final QueryTrace trace = fTrace;
+		int found = 0;
+		for (int i = 0; i < trace.size(); i++) {
+			SyntheticDatabase.NameVisitor visitor = new SyntheticDatabase.NameVisitor(fDatabase, trace.fNames[i],
+					trace.fIsPrefix[i]);
+			fIndex.accept(visitor);
+			found += visitor.fCount;
+		}
+		return found;
+	}
+
+	/**
+	 * Replays the trace in multiple threads at once, like the editor, the indexer and the search
+	 * use the index at the same time.
+	 */
+	@Benchmark
+	@Threads(4)
+	public int replayConcurrently() throws CoreException {
+		return replay();
+	}
+}
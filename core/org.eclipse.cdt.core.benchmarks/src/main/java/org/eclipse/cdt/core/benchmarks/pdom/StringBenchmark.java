@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.cdt.internal.core.pdom.db.LongString;
+import org.eclipse.cdt.internal.core.pdom.db.ShortString;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the comparisons of {@link ShortString} and {@link LongString}. The strings of a pair
+ * differ in the last character only, such that the comparison has to look at all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBenchmark {
+	private static final int PAIRS = 1024;
+
+	/**
+	 * Length of the strings, strings longer than {@link ShortString#MAX_BYTE_LENGTH} are stored as
+	 * {@link LongString}.
+	 */
+	@Param({ "24", "8000" })
+	public int length;
+
+	/** Whether the strings contain characters outside of the Latin-1 range, which are stored with two bytes. */
+	@Param({ "false", "true" })
+	public boolean wide;
+
+	private Database fDatabase;
+	private IString[] fStrings;
+	private IString[] fOthers;
+	private char[][] fOtherChars;
+	private int fNext;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fDatabase = SyntheticDatabase.create(new ChunkCache(), false);
+		fStrings = new IString[PAIRS];
+		fOthers = new IString[PAIRS];
+		fOtherChars = new char[PAIRS][];
+		final char filler = wide ? '\u03bb' : 'x';
+		for (int i = 0; i < PAIRS; i++) {
+			final String common = common(filler, i);
+			final String a = common + "Aaaa";
+			final String b = common + "Aaab";
+			// Reload the strings from their records, like the index does.
+			fStrings[i] = fDatabase.getString(fDatabase.newString(a).getRecord());
+			fOthers[i] = fDatabase.getString(fDatabase.newString(b).getRecord());
+			fOtherChars[i] = b.toCharArray();
+		}
+		fDatabase.flush();
+	}
+
+	private String common(char filler, int i) {
+		StringBuilder buf = new StringBuilder(length);
+		buf.append(i);
+		while (buf.length() < length - 4) {
+			buf.append(filler);
+		}
+		return buf.toString();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		SyntheticDatabase.dispose(fDatabase);
+	}
+
+	@Benchmark
+	public int compareStrings() throws CoreException {
+		final int i = fNext++ & (PAIRS - 1);
+		return fStrings[i].compare(fOthers[i], true);
+	}
+
+	@Benchmark
+	public int compareChars() throws CoreException {
+		final int i = fNext++ & (PAIRS - 1);
+		return fStrings[i].compare(fOtherChars[i], true);
+	}
+
+	@Benchmark
+	public int compareCompatibleWithIgnoreCase() throws CoreException {
+		final int i = fNext++ & (PAIRS - 1);
+		return fStrings[i].compareCompatibleWithIgnoreCase(fOthers[i]);
+	}
+
+	@Benchmark
+	public int comparePrefix() throws CoreException {
+		final int i = fNext++ & (PAIRS - 1);
+		return fStrings[i].comparePrefix(fOtherChars[i], false);
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks.pdom;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Helpers for creating databases with synthetic content for the benchmarks.
+ */
+final class SyntheticDatabase {
+	private static final String[] PREFIXES = { "get", "set", "is", "create", "find", "visit", "m_", "s", "_",
+			"CPP", "PDOM", "IASTName" };
+	private static final String[] WORDS = { "Binding", "Type", "Scope", "Name", "Node", "Index", "File",
+			"Macro", "Value", "Template", "Argument", "Parameter", "Linkage", "Record", "Chunk", "Visitor" };
+
+	private SyntheticDatabase() {
+	}
+
+	/**
+	 * Creates an empty database in a temporary file. The database is exclusively locked by the caller.
+	 */
+	static Database create(ChunkCache cache, boolean useMappedRegions) throws IOException, CoreException {
+		File file = File.createTempFile("cdt-benchmark", ".pdom");
+		file.deleteOnExit();
+		Database db = new Database(file, cache, 0, false, useMappedRegions);
+		db.setExclusiveLock();
+		return db;
+	}
+
+	/**
+	 * Makes the database readable by multiple threads, after it has been filled.
+	 */
+	static void makeShared(Database db) throws CoreException {
+		db.giveUpExclusiveLock(true);
+		db.setLocked(true);
+	}
+
+	static void dispose(Database db) throws CoreException {
+		if (db != null) {
+			db.setExclusiveLock();
+			db.close();
+			db.getLocation().delete();
+		}
+	}
+
+	/**
+	 * Returns distinct identifiers that look like the names stored in an index, in random order.
+	 */
+	static String[] names(int count, long seed) {
+		Random random = new Random(seed);
+		String[] names = new String[count];
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			buf.setLength(0);
+			buf.append(PREFIXES[random.nextInt(PREFIXES.length)]);
+			int words = 1 + random.nextInt(3);
+			for (int j = 0; j < words; j++) {
+				buf.append(WORDS[random.nextInt(WORDS.length)]);
+			}
+			// The suffix makes the names distinct, the common prefixes keep comparisons realistic.
+			buf.append(Integer.toString(i, Character.MAX_RADIX));
+			names[i] = buf.toString();
+		}
+		return names;
+	}
+
+	/**
+	 * Stores the strings in the database and returns their records.
+	 */
+	static long[] storeStrings(Database db, String[] strings) throws CoreException {
+		long[] records = new long[strings.length];
+		for (int i = 0; i < strings.length; i++) {
+			records[i] = db.newString(strings[i]).getRecord();
+		}
+		return records;
+	}
+
+	/**
+	 * Allocates the root pointer for a new B-tree that stores string records, ordered the way
+	 * the name indexes of the linkages are ordered.
+	 */
+	static BTree createStringTree(Database db) throws CoreException {
+		return new BTree(db, db.malloc(Database.PTR_SIZE), stringComparator(db));
+	}
+
+	static IBTreeComparator stringComparator(Database db) {
+		return (record1, record2) -> db.getString(record1).compareCompatibleWithIgnoreCase(db.getString(record2));
+	}
+
+	/**
+	 * Visitor that counts the string records matching a name or a prefix.
+	 */
+	static final class NameVisitor implements IBTreeVisitor {
+		private final Database fDatabase;
+		private final char[] fName;
+		private final boolean fPrefix;
+		int fCount;
+
+		NameVisitor(Database db, char[] name, boolean prefix) {
+			fDatabase = db;
+			fName = name;
+			fPrefix = prefix;
+		}
+
+		@Override
+		public int compare(long record) throws CoreException {
+			if (fPrefix) {
+				return fDatabase.getString(record).comparePrefix(fName, false);
+			}
+			return fDatabase.getString(record).compareCompatibleWithIgnoreCase(fName);
+		}
+
+		@Override
+		public boolean visit(long record) throws CoreException {
+			if (fPrefix || fDatabase.getString(record).compare(fName, true) == 0) {
+				fCount++;
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+// Translation unit with a deep tree of includes.
+#include <deep/level00.h>
+#include <deep/level08.h>
+#include <deep/level15.h>
+#include <deep/common.h>
+
+namespace app {
+
+struct Counter {
+	int fCount = 0;
+
+	template<typename Leaf>
+	void operator()(const Leaf& leaf) {
+		fCount += leaf.get_count() + Leaf::level;
+	}
+};
+
+long evaluate(const deep::Level0& root) {
+	Counter counter;
+	root.visit(counter);
+	root.f_inner.visit(counter);
+	root.f_inner.f_inner.visit(counter);
+	return root.total() + root.depth() + counter.fCount + DEEP_LEVEL15_SIZE;
+}
+
+} // namespace app
@@ -0,0 +1,25 @@
+// Included by every header of the tree, all but the first inclusion are skipped by the include guard.
+#ifndef BENCH_DEEP_COMMON_H
+#define BENCH_DEEP_COMMON_H
+
+namespace deep {
+
+typedef unsigned long size_type;
+
+template<typename T>
+struct Node {
+	T fValue;
+	Node* fNext;
+
+	T value() const { return fValue; }
+};
+
+enum class Kind { None, Leaf, Level };
+
+#define DEEP_DECLARE_ACCESSOR(type, name) \
+	type get_##name() const { return f_##name; } \
+	void set_##name(type value) { f_##name = value; }
+
+} // namespace deep
+
+#endif
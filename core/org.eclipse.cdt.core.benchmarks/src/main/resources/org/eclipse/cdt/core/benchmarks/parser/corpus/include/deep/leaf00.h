@@ -0,0 +1,23 @@
+// Leaf header of level 0.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf0 {
+	int f_count;
+	double f_weight;
+	Node<Leaf0*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 0;
+};
+
+inline int weight0(const Leaf0& leaf) {
+	return leaf.get_count() * 0 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
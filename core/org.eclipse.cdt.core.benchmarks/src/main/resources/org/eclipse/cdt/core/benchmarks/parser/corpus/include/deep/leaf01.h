@@ -0,0 +1,23 @@
+// Leaf header of level 1.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf1 {
+	int f_count;
+	double f_weight;
+	Node<Leaf1*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 1;
+};
+
+inline int weight1(const Leaf1& leaf) {
+	return leaf.get_count() * 1 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 2.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf2 {
+	int f_count;
+	double f_weight;
+	Node<Leaf2*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 2;
+};
+
+inline int weight2(const Leaf2& leaf) {
+	return leaf.get_count() * 2 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 3.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf3 {
+	int f_count;
+	double f_weight;
+	Node<Leaf3*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 3;
+};
+
+inline int weight3(const Leaf3& leaf) {
+	return leaf.get_count() * 3 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
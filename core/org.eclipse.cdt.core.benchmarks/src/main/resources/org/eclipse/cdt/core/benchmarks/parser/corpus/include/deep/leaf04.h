@@ -0,0 +1,23 @@
+// Leaf header of level 4.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf4 {
+	int f_count;
+	double f_weight;
+	Node<Leaf4*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 4;
+};
+
+inline int weight4(const Leaf4& leaf) {
+	return leaf.get_count() * 4 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 5.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf5 {
+	int f_count;
+	double f_weight;
+	Node<Leaf5*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 5;
+};
+
+inline int weight5(const Leaf5& leaf) {
+	return leaf.get_count() * 5 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 6.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf6 {
+	int f_count;
+	double f_weight;
+	Node<Leaf6*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 6;
+};
+
+inline int weight6(const Leaf6& leaf) {
+	return leaf.get_count() * 6 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 7.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf7 {
+	int f_count;
+	double f_weight;
+	Node<Leaf7*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 7;
+};
+
+inline int weight7(const Leaf7& leaf) {
+	return leaf.get_count() * 7 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 8.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf8 {
+	int f_count;
+	double f_weight;
+	Node<Leaf8*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 8;
+};
+
+inline int weight8(const Leaf8& leaf) {
+	return leaf.get_count() * 8 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
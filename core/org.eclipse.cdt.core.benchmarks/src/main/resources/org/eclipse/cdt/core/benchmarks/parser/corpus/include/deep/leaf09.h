@@ -0,0 +1,23 @@
+// Leaf header of level 9.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf9 {
+	int f_count;
+	double f_weight;
+	Node<Leaf9*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 9;
+};
+
+inline int weight9(const Leaf9& leaf) {
+	return leaf.get_count() * 9 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 10.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf10 {
+	int f_count;
+	double f_weight;
+	Node<Leaf10*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 10;
+};
+
+inline int weight10(const Leaf10& leaf) {
+	return leaf.get_count() * 10 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 11.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf11 {
+	int f_count;
+	double f_weight;
+	Node<Leaf11*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 11;
+};
+
+inline int weight11(const Leaf11& leaf) {
+	return leaf.get_count() * 11 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
@@ -0,0 +1,23 @@
+// Leaf header of level 12.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf12 {
+	int f_count;
+	double f_weight;
+	Node<Leaf12*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 12;
+};
+
+inline int weight12(const Leaf12& leaf) {
+	return leaf.get_count() * 12 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
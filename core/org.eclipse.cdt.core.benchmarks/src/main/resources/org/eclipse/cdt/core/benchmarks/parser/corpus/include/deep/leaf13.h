@@ -0,0 +1,23 @@
+// Leaf header of level 13.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf13 {
+	int f_count;
+	double f_weight;
+	Node<Leaf13*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 13;
+};
+
+inline int weight13(const Leaf13& leaf) {
+	return leaf.get_count() * 13 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
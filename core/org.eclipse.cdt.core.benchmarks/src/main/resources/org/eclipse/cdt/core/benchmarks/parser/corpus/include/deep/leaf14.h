@@ -0,0 +1,23 @@
+// Leaf header of level 14.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf14 {
+	int f_count;
+	double f_weight;
+	Node<Leaf14*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 14;
+};
+
+inline int weight14(const Leaf14& leaf) {
+	return leaf.get_count() * 14 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
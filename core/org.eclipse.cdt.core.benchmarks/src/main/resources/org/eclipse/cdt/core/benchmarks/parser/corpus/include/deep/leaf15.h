@@ -0,0 +1,23 @@
+// Leaf header of level 15.
+#pragma once
+#include "common.h"
+
+namespace deep {
+
+struct Leaf15 {
+	int f_count;
+	double f_weight;
+	Node<Leaf15*>* f_list;
+
+	DEEP_DECLARE_ACCESSOR(int, count)
+	DEEP_DECLARE_ACCESSOR(double, weight)
+
+	static constexpr Kind kind = Kind::Leaf;
+	static constexpr int level = 15;
+};
+
+inline int weight15(const Leaf15& leaf) {
+	return leaf.get_count() * 15 + static_cast<int>(leaf.get_weight());
+}
+
+} // namespace deep
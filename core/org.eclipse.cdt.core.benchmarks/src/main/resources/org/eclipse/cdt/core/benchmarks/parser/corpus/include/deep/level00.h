@@ -0,0 +1,30 @@
+// Level 0 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL00_H
+#define BENCH_DEEP_LEVEL00_H
+
+#include "common.h"
+#include "leaf00.h"
+#include "level01.h"
+
+#define DEEP_LEVEL0_SIZE (0 * sizeof(deep::Leaf0))
+
+namespace deep {
+
+struct Level0 {
+	Level1 f_inner;
+	Leaf0 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight0(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf0::level == 0, "level");
+
+} // namespace deep
+
+#endif
@@ -0,0 +1,30 @@
+// Level 1 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL01_H
+#define BENCH_DEEP_LEVEL01_H
+
+#include "common.h"
+#include "leaf01.h"
+#include "level02.h"
+
+#define DEEP_LEVEL1_SIZE (1 * sizeof(deep::Leaf1))
+
+namespace deep {
+
+struct Level1 {
+	Level2 f_inner;
+	Leaf1 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight1(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf1::level == 1, "level");
+
+} // namespace deep
+
+#endif
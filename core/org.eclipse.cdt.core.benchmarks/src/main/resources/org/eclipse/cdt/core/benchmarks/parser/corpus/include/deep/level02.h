@@ -0,0 +1,30 @@
+// Level 2 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL02_H
+#define BENCH_DEEP_LEVEL02_H
+
+#include "common.h"
+#include "leaf02.h"
+#include "level03.h"
+
+#define DEEP_LEVEL2_SIZE (2 * sizeof(deep::Leaf2))
+
+namespace deep {
+
+struct Level2 {
+	Level3 f_inner;
+	Leaf2 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight2(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf2::level == 2, "level");
+
+} // namespace deep
+
+#endif
@@ -0,0 +1,30 @@
+// Level 3 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL03_H
+#define BENCH_DEEP_LEVEL03_H
+
+#include "common.h"
+#include "leaf03.h"
+#include "level04.h"
+
+#define DEEP_LEVEL3_SIZE (3 * sizeof(deep::Leaf3))
+
+namespace deep {
+
+struct Level3 {
+	Level4 f_inner;
+	Leaf3 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight3(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf3::level == 3, "level");
+
+} // namespace deep
+
+#endif
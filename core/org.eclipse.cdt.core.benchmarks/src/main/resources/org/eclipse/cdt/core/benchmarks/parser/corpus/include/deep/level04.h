@@ -0,0 +1,30 @@
+// Level 4 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL04_H
+#define BENCH_DEEP_LEVEL04_H
+
+#include "common.h"
+#include "leaf04.h"
+#include "level05.h"
+
+#define DEEP_LEVEL4_SIZE (4 * sizeof(deep::Leaf4))
+
+namespace deep {
+
+struct Level4 {
+	Level5 f_inner;
+	Leaf4 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight4(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf4::level == 4, "level");
+
+} // namespace deep
+
+#endif
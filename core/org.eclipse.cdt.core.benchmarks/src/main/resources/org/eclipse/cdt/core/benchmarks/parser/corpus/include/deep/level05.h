@@ -0,0 +1,30 @@
+// Level 5 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL05_H
+#define BENCH_DEEP_LEVEL05_H
+
+#include "common.h"
+#include "leaf05.h"
+#include "level06.h"
+
+#define DEEP_LEVEL5_SIZE (5 * sizeof(deep::Leaf5))
+
+namespace deep {
+
+struct Level5 {
+	Level6 f_inner;
+	Leaf5 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight5(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf5::level == 5, "level");
+
+} // namespace deep
+
+#endif
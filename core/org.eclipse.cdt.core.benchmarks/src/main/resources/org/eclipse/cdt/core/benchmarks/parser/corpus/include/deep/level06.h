@@ -0,0 +1,30 @@
+// Level 6 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL06_H
+#define BENCH_DEEP_LEVEL06_H
+
+#include "common.h"
+#include "leaf06.h"
+#include "level07.h"
+
+#define DEEP_LEVEL6_SIZE (6 * sizeof(deep::Leaf6))
+
+namespace deep {
+
+struct Level6 {
+	Level7 f_inner;
+	Leaf6 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight6(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf6::level == 6, "level");
+
+} // namespace deep
+
+#endif
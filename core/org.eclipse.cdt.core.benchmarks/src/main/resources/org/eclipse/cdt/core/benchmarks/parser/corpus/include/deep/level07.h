@@ -0,0 +1,30 @@
+// Level 7 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL07_H
+#define BENCH_DEEP_LEVEL07_H
+
+#include "common.h"
+#include "leaf07.h"
+#include "level08.h"
+
+#define DEEP_LEVEL7_SIZE (7 * sizeof(deep::Leaf7))
+
+namespace deep {
+
+struct Level7 {
+	Level8 f_inner;
+	Leaf7 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight7(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf7::level == 7, "level");
+
+} // namespace deep
+
+#endif
@@ -0,0 +1,30 @@
+// Level 8 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL08_H
+#define BENCH_DEEP_LEVEL08_H
+
+#include "common.h"
+#include "leaf08.h"
+#include "level09.h"
+
+#define DEEP_LEVEL8_SIZE (8 * sizeof(deep::Leaf8))
+
+namespace deep {
+
+struct Level8 {
+	Level9 f_inner;
+	Leaf8 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight8(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf8::level == 8, "level");
+
+} // namespace deep
+
+#endif
@@ -0,0 +1,30 @@
+// Level 9 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL09_H
+#define BENCH_DEEP_LEVEL09_H
+
+#include "common.h"
+#include "leaf09.h"
+#include "level10.h"
+
+#define DEEP_LEVEL9_SIZE (9 * sizeof(deep::Leaf9))
+
+namespace deep {
+
+struct Level9 {
+	Level10 f_inner;
+	Leaf9 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight9(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf9::level == 9, "level");
+
+} // namespace deep
+
+#endif
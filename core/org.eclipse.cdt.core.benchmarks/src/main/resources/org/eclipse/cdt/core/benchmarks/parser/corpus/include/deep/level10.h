@@ -0,0 +1,30 @@
+// Level 10 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL10_H
+#define BENCH_DEEP_LEVEL10_H
+
+#include "common.h"
+#include "leaf10.h"
+#include "level11.h"
+
+#define DEEP_LEVEL10_SIZE (10 * sizeof(deep::Leaf10))
+
+namespace deep {
+
+struct Level10 {
+	Level11 f_inner;
+	Leaf10 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight10(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf10::level == 10, "level");
+
+} // namespace deep
+
+#endif
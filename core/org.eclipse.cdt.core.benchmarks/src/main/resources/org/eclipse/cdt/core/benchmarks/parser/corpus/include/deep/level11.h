@@ -0,0 +1,30 @@
+// Level 11 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL11_H
+#define BENCH_DEEP_LEVEL11_H
+
+#include "common.h"
+#include "leaf11.h"
+#include "level12.h"
+
+#define DEEP_LEVEL11_SIZE (11 * sizeof(deep::Leaf11))
+
+namespace deep {
+
+struct Level11 {
+	Level12 f_inner;
+	Leaf11 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight11(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf11::level == 11, "level");
+
+} // namespace deep
+
+#endif
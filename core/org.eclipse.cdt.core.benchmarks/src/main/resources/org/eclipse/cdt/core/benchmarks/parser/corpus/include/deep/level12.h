@@ -0,0 +1,30 @@
+// Level 12 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL12_H
+#define BENCH_DEEP_LEVEL12_H
+
+#include "common.h"
+#include "leaf12.h"
+#include "level13.h"
+
+#define DEEP_LEVEL12_SIZE (12 * sizeof(deep::Leaf12))
+
+namespace deep {
+
+struct Level12 {
+	Level13 f_inner;
+	Leaf12 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight12(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf12::level == 12, "level");
+
+} // namespace deep
+
+#endif
@@ -0,0 +1,30 @@
+// Level 13 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL13_H
+#define BENCH_DEEP_LEVEL13_H
+
+#include "common.h"
+#include "leaf13.h"
+#include "level14.h"
+
+#define DEEP_LEVEL13_SIZE (13 * sizeof(deep::Leaf13))
+
+namespace deep {
+
+struct Level13 {
+	Level14 f_inner;
+	Leaf13 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight13(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf13::level == 13, "level");
+
+} // namespace deep
+
+#endif
@@ -0,0 +1,30 @@
+// Level 14 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL14_H
+#define BENCH_DEEP_LEVEL14_H
+
+#include "common.h"
+#include "leaf14.h"
+#include "level15.h"
+
+#define DEEP_LEVEL14_SIZE (14 * sizeof(deep::Leaf14))
+
+namespace deep {
+
+struct Level14 {
+	Level15 f_inner;
+	Leaf14 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return f_inner.depth() + 1; }
+	long total() const { return weight14(f_leaf) + f_inner.total(); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf14::level == 14, "level");
+
+} // namespace deep
+
+#endif
@@ -0,0 +1,28 @@
+// Level 15 of a deep include tree.
+#ifndef BENCH_DEEP_LEVEL15_H
+#define BENCH_DEEP_LEVEL15_H
+
+#include "common.h"
+#include "leaf15.h"
+
+#define DEEP_LEVEL15_SIZE (15 * sizeof(deep::Leaf15))
+
+namespace deep {
+
+struct Level15 {
+	Leaf15 f_leaf;
+	Node<int> f_values[4];
+
+	int depth() const { return 1; }
+	long total() const { return weight15(f_leaf); }
+	template<typename F>
+	void visit(F f) const {
+		f(f_leaf);
+	}
+};
+
+static_assert(Leaf15::level == 15, "level");
+
+} // namespace deep
+
+#endif
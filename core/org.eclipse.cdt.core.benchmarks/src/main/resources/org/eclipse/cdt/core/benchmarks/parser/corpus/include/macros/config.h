@@ -0,0 +1,100 @@
+/* Synthetic configuration header with many object-like macros, in the style of system headers. */
+#ifndef BENCH_CONFIG_H
+#define BENCH_CONFIG_H
+
+#define BENCH_VERSION_MAJOR 4
+#define BENCH_VERSION_MINOR 12
+#define BENCH_VERSION_PATCH 3
+#define BENCH_VERSION ((BENCH_VERSION_MAJOR * 10000) + (BENCH_VERSION_MINOR * 100) + BENCH_VERSION_PATCH)
+
+#if defined(__GNUC__) || defined(__clang__)
+#define BENCH_HAVE_ATTRIBUTES 1
+#else
+#define BENCH_HAVE_ATTRIBUTES 0
+#endif
+
+#if BENCH_HAVE_ATTRIBUTES
+#define BENCH_ATTRIBUTE(x) __attribute__((x))
+#else
+#define BENCH_ATTRIBUTE(x)
+#endif
+
+#define BENCH_NORETURN BENCH_ATTRIBUTE(__noreturn__)
+#define BENCH_PURE BENCH_ATTRIBUTE(__pure__)
+#define BENCH_CONST BENCH_ATTRIBUTE(__const__)
+#define BENCH_UNUSED BENCH_ATTRIBUTE(__unused__)
+#define BENCH_NONNULL BENCH_ATTRIBUTE(__nonnull__)
+#define BENCH_MALLOC BENCH_ATTRIBUTE(__malloc__)
+#define BENCH_WARN_UNUSED BENCH_ATTRIBUTE(__warn_unused_result__)
+#define BENCH_ALWAYS_INLINE BENCH_ATTRIBUTE(__always_inline__)
+#define BENCH_NOINLINE BENCH_ATTRIBUTE(__noinline__)
+#define BENCH_PACKED BENCH_ATTRIBUTE(__packed__)
+#define BENCH_ALIGNED(n) BENCH_ATTRIBUTE(__aligned__(n))
+#define BENCH_FORMAT(a, b) BENCH_ATTRIBUTE(__format__(__printf__, a, b))
+#define BENCH_DEPRECATED BENCH_ATTRIBUTE(__deprecated__)
+#define BENCH_VISIBLE BENCH_ATTRIBUTE(__visibility__("default"))
+#define BENCH_HIDDEN BENCH_ATTRIBUTE(__visibility__("hidden"))
+
+#define BENCH_INLINE static inline BENCH_ALWAYS_INLINE
+#define BENCH_API extern BENCH_VISIBLE
+#define BENCH_INTERNAL extern BENCH_HIDDEN
+#define BENCH_THROW
+#define BENCH_RESTRICT __restrict
+#define BENCH_BEGIN_DECLS
+#define BENCH_END_DECLS
+
+#define BENCH_USE_THREADS 1
+#define BENCH_USE_ATOMICS 1
+#define BENCH_USE_MMAP 1
+#define BENCH_USE_POLL 0
+#define BENCH_USE_EPOLL 1
+#define BENCH_USE_KQUEUE 0
+#define BENCH_HAVE_STDINT 1
+#define BENCH_HAVE_BOOL 1
+#define BENCH_PAGE_SIZE 4096
+#define BENCH_CACHE_LINE 64
+#define BENCH_MAX_PATH 4096
+#define BENCH_MAX_NAME 255
+#define BENCH_BUFFER_SIZE (BENCH_PAGE_SIZE * 4)
+#define BENCH_SMALL_BUFFER (BENCH_BUFFER_SIZE / 16)
+#define BENCH_HASH_BITS 12
+#define BENCH_HASH_SIZE (1 << BENCH_HASH_BITS)
+#define BENCH_HASH_MASK (BENCH_HASH_SIZE - 1)
+
+#if BENCH_HAVE_STDINT
+typedef signed char int8_t;
+typedef short int16_t;
+typedef int int32_t;
+typedef long long int64_t;
+typedef unsigned char uint8_t;
+typedef unsigned short uint16_t;
+typedef unsigned int uint32_t;
+typedef unsigned long long uint64_t;
+typedef unsigned long uintptr_t;
+typedef unsigned long size_t;
+typedef long ssize_t;
+#endif
+
+#if BENCH_HAVE_BOOL && !defined(__cplusplus)
+typedef _Bool bool;
+#define true 1
+#define false 0
+#endif
+
+#define NULL ((void*)0)
+
+#if BENCH_VERSION >= 41000
+#define BENCH_FEATURE_STREAMS 1
+#else
+#define BENCH_FEATURE_STREAMS 0
+#endif
+
+#if BENCH_USE_EPOLL && !BENCH_USE_POLL
+#define BENCH_EVENT_BACKEND "epoll"
+#elif BENCH_USE_KQUEUE
+#define BENCH_EVENT_BACKEND "kqueue"
+#else
+#define BENCH_EVENT_BACKEND "select"
+#endif
+
+#endif
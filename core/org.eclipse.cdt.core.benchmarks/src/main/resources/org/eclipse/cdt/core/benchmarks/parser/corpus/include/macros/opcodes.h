@@ -0,0 +1,59 @@
+/* Synthetic X-macro table. */
+#ifndef BENCH_OPCODES_H
+#define BENCH_OPCODES_H
+
+#define OPCODES(X) \
+	X(NOP, 0, "nop", 0) \
+	X(LOAD, 1, "load", 2) \
+	X(STORE, 2, "store", 2) \
+	X(MOVE, 3, "move", 2) \
+	X(ADD, 4, "add", 3) \
+	X(SUB, 5, "sub", 3) \
+	X(MUL, 6, "mul", 3) \
+	X(DIV, 7, "div", 3) \
+	X(MOD, 8, "mod", 3) \
+	X(AND, 9, "and", 3) \
+	X(OR, 10, "or", 3) \
+	X(XOR, 11, "xor", 3) \
+	X(SHL, 12, "shl", 3) \
+	X(SHR, 13, "shr", 3) \
+	X(NEG, 14, "neg", 2) \
+	X(NOT, 15, "not", 2) \
+	X(CMP, 16, "cmp", 2) \
+	X(JMP, 17, "jmp", 1) \
+	X(JEQ, 18, "jeq", 1) \
+	X(JNE, 19, "jne", 1) \
+	X(JLT, 20, "jlt", 1) \
+	X(JLE, 21, "jle", 1) \
+	X(JGT, 22, "jgt", 1) \
+	X(JGE, 23, "jge", 1) \
+	X(CALL, 24, "call", 1) \
+	X(RET, 25, "ret", 0) \
+	X(PUSH, 26, "push", 1) \
+	X(POP, 27, "pop", 1) \
+	X(ENTER, 28, "enter", 1) \
+	X(LEAVE, 29, "leave", 0) \
+	X(SYSCALL, 30, "syscall", 0) \
+	X(HALT, 31, "halt", 0) \
+	X(FADD, 32, "fadd", 3) \
+	X(FSUB, 33, "fsub", 3) \
+	X(FMUL, 34, "fmul", 3) \
+	X(FDIV, 35, "fdiv", 3) \
+	X(FCMP, 36, "fcmp", 2) \
+	X(CVTIF, 37, "cvtif", 2) \
+	X(CVTFI, 38, "cvtfi", 2) \
+	X(LEA, 39, "lea", 2) \
+	X(INC, 40, "inc", 1) \
+	X(DEC, 41, "dec", 1) \
+	X(TEST, 42, "test", 2) \
+	X(XCHG, 43, "xchg", 2) \
+	X(CMPXCHG, 44, "cmpxchg", 3) \
+	X(FENCE, 45, "fence", 0) \
+	X(PREFETCH, 46, "prefetch", 1) \
+	X(BREAK, 47, "break", 0)
+
+#define REGISTERS(X) \
+	X(R0) X(R1) X(R2) X(R3) X(R4) X(R5) X(R6) X(R7) \
+	X(R8) X(R9) X(R10) X(R11) X(R12) X(R13) X(SP) X(PC)
+
+#endif
@@ -0,0 +1,86 @@
+/* Synthetic function-like utility macros. */
+#ifndef BENCH_UTIL_H
+#define BENCH_UTIL_H
+
+#include "config.h"
+
+#define BENCH_STRINGIFY_(x) #x
+#define BENCH_STRINGIFY(x) BENCH_STRINGIFY_(x)
+#define BENCH_CONCAT_(a, b) a##b
+#define BENCH_CONCAT(a, b) BENCH_CONCAT_(a, b)
+#define BENCH_UNIQUE(prefix) BENCH_CONCAT(prefix, __LINE__)
+
+#define MIN(a, b) ((a) < (b) ? (a) : (b))
+#define MAX(a, b) ((a) > (b) ? (a) : (b))
+#define CLAMP(x, lo, hi) MIN(MAX(x, lo), hi)
+#define ABS(x) ((x) < 0 ? -(x) : (x))
+#define ARRAY_SIZE(a) (sizeof(a) / sizeof((a)[0]))
+#define ALIGN_UP(x, a) (((x) + ((a) - 1)) & ~((a) - 1))
+#define IS_POWER_OF_TWO(x) (((x) & ((x) - 1)) == 0)
+#define BIT(n) (1UL << (n))
+#define MASK(n) (BIT(n) - 1)
+#define SET_BIT(v, n) ((v) |= BIT(n))
+#define CLEAR_BIT(v, n) ((v) &= ~BIT(n))
+#define TEST_BIT(v, n) (((v) & BIT(n)) != 0)
+
+#define offsetof(type, member) ((size_t) &((type*)0)->member)
+#define container_of(ptr, type, member) ((type*)((char*)(ptr) - offsetof(type, member)))
+
+#define likely(x) __builtin_expect(!!(x), 1)
+#define unlikely(x) __builtin_expect(!!(x), 0)
+
+#define LIST_HEAD(name) struct list_head name = { &(name), &(name) }
+#define LIST_INIT(head) do { (head)->next = (head); (head)->prev = (head); } while (0)
+#define LIST_EMPTY(head) ((head)->next == (head))
+#define LIST_ENTRY(ptr, type, member) container_of(ptr, type, member)
+#define LIST_FOREACH(pos, head) for (pos = (head)->next; pos != (head); pos = pos->next)
+#define LIST_FOREACH_ENTRY(pos, head, type, member) \
+	for (pos = LIST_ENTRY((head)->next, type, member); &pos->member != (head); \
+			pos = LIST_ENTRY(pos->member.next, type, member))
+
+#define LOG_LEVEL_ERROR 0
+#define LOG_LEVEL_WARN 1
+#define LOG_LEVEL_INFO 2
+#define LOG_LEVEL_DEBUG 3
+#ifndef LOG_LEVEL
+#define LOG_LEVEL LOG_LEVEL_INFO
+#endif
+#define LOG_AT(level, fmt, ...) \
+	do { \
+		if (unlikely((level) <= LOG_LEVEL)) \
+			bench_log(level, __FILE__, __LINE__, fmt, ##__VA_ARGS__); \
+	} while (0)
+#define LOG_ERROR(fmt, ...) LOG_AT(LOG_LEVEL_ERROR, fmt, ##__VA_ARGS__)
+#define LOG_WARN(fmt, ...) LOG_AT(LOG_LEVEL_WARN, fmt, ##__VA_ARGS__)
+#define LOG_INFO(fmt, ...) LOG_AT(LOG_LEVEL_INFO, fmt, ##__VA_ARGS__)
+#define LOG_DEBUG(fmt, ...) LOG_AT(LOG_LEVEL_DEBUG, fmt, ##__VA_ARGS__)
+
+#define CHECK(cond) \
+	do { \
+		if (unlikely(!(cond))) { \
+			LOG_ERROR("check failed: %s", BENCH_STRINGIFY(cond)); \
+			return -1; \
+		} \
+	} while (0)
+
+#define DEFINE_GETTER(type, name, field) \
+	BENCH_INLINE type BENCH_CONCAT(get_, name)(const struct object* o) { return o->field; }
+#define DEFINE_SETTER(type, name, field) \
+	BENCH_INLINE void BENCH_CONCAT(set_, name)(struct object* o, type v) { o->field = v; }
+#define DEFINE_ACCESSORS(type, name, field) DEFINE_GETTER(type, name, field) DEFINE_SETTER(type, name, field)
+
+struct list_head {
+	struct list_head* next;
+	struct list_head* prev;
+};
+
+BENCH_API void bench_log(int level, const char* file, int line, const char* fmt, ...) BENCH_FORMAT(4, 5);
+BENCH_API void* bench_malloc(size_t size) BENCH_MALLOC BENCH_WARN_UNUSED;
+BENCH_API void bench_free(void* p);
+BENCH_API BENCH_NORETURN void bench_abort(const char* message);
+BENCH_API int bench_strcmp(const char* a, const char* b) BENCH_PURE BENCH_NONNULL;
+BENCH_API size_t bench_strlen(const char* s) BENCH_PURE BENCH_NONNULL;
+BENCH_API void* bench_memcpy(void* BENCH_RESTRICT dst, const void* BENCH_RESTRICT src, size_t n);
+BENCH_API void* bench_memset(void* dst, int c, size_t n);
+
+#endif
@@ -0,0 +1,144 @@
+// Synthetic algorithms in the style of a standard library implementation.
+#ifndef BENCH_ALGORITHM_H
+#define BENCH_ALGORITHM_H
+
+#include "iterator.h"
+#include "utility.h"
+
+namespace bench {
+
+template<typename T>
+constexpr const T& min(const T& a, const T& b) { return b < a ? b : a; }
+
+template<typename T>
+constexpr const T& max(const T& a, const T& b) { return a < b ? b : a; }
+
+template<typename T, typename Compare>
+constexpr const T& max(const T& a, const T& b, Compare comp) { return comp(a, b) ? b : a; }
+
+template<typename It, typename Pred>
+It find_if(It first, It last, Pred pred) {
+	for (; first != last; ++first) {
+		if (pred(*first))
+			return first;
+	}
+	return last;
+}
+
+template<typename It, typename T>
+It find(It first, It last, const T& value) {
+	return find_if(first, last, [&value](const typename iterator_traits<It>::value_type& v) {
+		return v == value;
+	});
+}
+
+template<typename It, typename Pred>
+typename iterator_traits<It>::difference_type count_if(It first, It last, Pred pred) {
+	typename iterator_traits<It>::difference_type n = 0;
+	for (; first != last; ++first) {
+		if (pred(*first))
+			++n;
+	}
+	return n;
+}
+
+template<typename In, typename Out, typename F>
+Out transform(In first, In last, Out out, F f) {
+	for (; first != last; ++first, ++out)
+		*out = f(*first);
+	return out;
+}
+
+template<typename It, typename T, typename Op>
+T accumulate(It first, It last, T init, Op op) {
+	for (; first != last; ++first)
+		init = op(move(init), *first);
+	return init;
+}
+
+template<typename It, typename T>
+T accumulate(It first, It last, T init) {
+	return accumulate(first, last, init, [](const T& a, const typename iterator_traits<It>::value_type& b) {
+		return a + b;
+	});
+}
+
+template<typename It, typename Compare>
+void insertion_sort(It first, It last, Compare comp) {
+	if (first == last)
+		return;
+	for (It i = first + 1; i != last; ++i) {
+		typename iterator_traits<It>::value_type value = move(*i);
+		It j = i;
+		for (; j != first && comp(value, *(j - 1)); --j)
+			*j = move(*(j - 1));
+		*j = move(value);
+	}
+}
+
+template<typename It, typename Compare>
+It partition_pivot(It first, It last, Compare comp) {
+	It pivot = last - 1;
+	It store = first;
+	for (It it = first; it != pivot; ++it) {
+		if (comp(*it, *pivot)) {
+			swap(*it, *store);
+			++store;
+		}
+	}
+	swap(*store, *pivot);
+	return store;
+}
+
+template<typename It, typename Compare>
+void sort(It first, It last, Compare comp) {
+	if (last - first < 16) {
+		insertion_sort(first, last, comp);
+		return;
+	}
+	It mid = partition_pivot(first, last, comp);
+	sort(first, mid, comp);
+	sort(mid + 1, last, comp);
+}
+
+template<typename It>
+void sort(It first, It last) {
+	sort(first, last, less<typename iterator_traits<It>::value_type>());
+}
+
+template<typename It, typename T, typename Compare>
+It lower_bound(It first, It last, const T& value, Compare comp) {
+	typename iterator_traits<It>::difference_type count = distance(first, last);
+	while (count > 0) {
+		auto step = count / 2;
+		It it = first;
+		advance(it, step);
+		if (comp(*it, value)) {
+			first = ++it;
+			count -= step + 1;
+		} else {
+			count = step;
+		}
+	}
+	return first;
+}
+
+template<typename It, typename F>
+F for_each(It first, It last, F f) {
+	for (; first != last; ++first)
+		f(*first);
+	return f;
+}
+
+template<typename It1, typename It2>
+bool equal(It1 first1, It1 last1, It2 first2) {
+	for (; first1 != last1; ++first1, ++first2) {
+		if (!(*first1 == *first2))
+			return false;
+	}
+	return true;
+}
+
+} // namespace bench
+
+#endif
@@ -0,0 +1,105 @@
+// Synthetic iterator support in the style of a standard library implementation.
+#ifndef BENCH_ITERATOR_H
+#define BENCH_ITERATOR_H
+
+#include "type_traits.h"
+
+namespace bench {
+
+struct input_iterator_tag {};
+struct output_iterator_tag {};
+struct forward_iterator_tag : input_iterator_tag {};
+struct bidirectional_iterator_tag : forward_iterator_tag {};
+struct random_access_iterator_tag : bidirectional_iterator_tag {};
+
+template<typename It>
+struct iterator_traits {
+	typedef typename It::iterator_category iterator_category;
+	typedef typename It::value_type value_type;
+	typedef typename It::difference_type difference_type;
+	typedef typename It::pointer pointer;
+	typedef typename It::reference reference;
+};
+
+template<typename T>
+struct iterator_traits<T*> {
+	typedef random_access_iterator_tag iterator_category;
+	typedef remove_cv_t<T> value_type;
+	typedef ptrdiff_t difference_type;
+	typedef T* pointer;
+	typedef T& reference;
+};
+
+template<typename It>
+typename iterator_traits<It>::difference_type distance_impl(It first, It last, input_iterator_tag) {
+	typename iterator_traits<It>::difference_type n = 0;
+	for (; first != last; ++first)
+		++n;
+	return n;
+}
+
+template<typename It>
+typename iterator_traits<It>::difference_type distance_impl(It first, It last, random_access_iterator_tag) {
+	return last - first;
+}
+
+template<typename It>
+typename iterator_traits<It>::difference_type distance(It first, It last) {
+	return distance_impl(first, last, typename iterator_traits<It>::iterator_category());
+}
+
+template<typename It, typename Distance>
+void advance(It& it, Distance n) {
+	for (; n > 0; --n)
+		++it;
+}
+
+template<typename It>
+class reverse_iterator {
+	It current;
+
+public:
+	typedef typename iterator_traits<It>::iterator_category iterator_category;
+	typedef typename iterator_traits<It>::value_type value_type;
+	typedef typename iterator_traits<It>::difference_type difference_type;
+	typedef typename iterator_traits<It>::pointer pointer;
+	typedef typename iterator_traits<It>::reference reference;
+
+	reverse_iterator() : current() {}
+	explicit reverse_iterator(It it) : current(it) {}
+
+	It base() const { return current; }
+	reference operator*() const {
+		It tmp = current;
+		return *--tmp;
+	}
+	pointer operator->() const { return &operator*(); }
+	reverse_iterator& operator++() {
+		--current;
+		return *this;
+	}
+	reverse_iterator operator++(int) {
+		reverse_iterator tmp = *this;
+		--current;
+		return tmp;
+	}
+	reverse_iterator& operator--() {
+		++current;
+		return *this;
+	}
+	bool operator==(const reverse_iterator& other) const { return current == other.current; }
+	bool operator!=(const reverse_iterator& other) const { return current != other.current; }
+};
+
+template<typename Container>
+auto begin(Container& c) -> decltype(c.begin()) { return c.begin(); }
+template<typename Container>
+auto end(Container& c) -> decltype(c.end()) { return c.end(); }
+template<typename T, size_t N>
+T* begin(T (&array)[N]) { return array; }
+template<typename T, size_t N>
+T* end(T (&array)[N]) { return array + N; }
+
+} // namespace bench
+
+#endif
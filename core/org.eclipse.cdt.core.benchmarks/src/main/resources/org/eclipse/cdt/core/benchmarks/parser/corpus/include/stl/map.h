@@ -0,0 +1,211 @@
+// Synthetic ordered map based on a binary search tree, in the style of a standard library implementation.
+#ifndef BENCH_MAP_H
+#define BENCH_MAP_H
+
+#include "memory.h"
+#include "iterator.h"
+
+namespace bench {
+
+struct tree_node_base {
+	tree_node_base* fParent;
+	tree_node_base* fLeft;
+	tree_node_base* fRight;
+	bool fRed;
+
+	static tree_node_base* minimum(tree_node_base* n) {
+		while (n->fLeft)
+			n = n->fLeft;
+		return n;
+	}
+
+	static tree_node_base* next(tree_node_base* n) {
+		if (n->fRight)
+			return minimum(n->fRight);
+		tree_node_base* p = n->fParent;
+		while (p && n == p->fRight) {
+			n = p;
+			p = p->fParent;
+		}
+		return p;
+	}
+};
+
+template<typename Value>
+struct tree_node : tree_node_base {
+	Value fValue;
+
+	template<typename... Args>
+	tree_node(Args&&... args) : fValue(forward<Args>(args)...) {}
+};
+
+template<typename Value, typename Ref, typename Ptr>
+struct tree_iterator {
+	typedef bidirectional_iterator_tag iterator_category;
+	typedef Value value_type;
+	typedef ptrdiff_t difference_type;
+	typedef Ref reference;
+	typedef Ptr pointer;
+
+	tree_node_base* fNode;
+
+	tree_iterator() : fNode(nullptr) {}
+	explicit tree_iterator(tree_node_base* n) : fNode(n) {}
+	template<typename R, typename P>
+	tree_iterator(const tree_iterator<Value, R, P>& other) : fNode(other.fNode) {}
+
+	reference operator*() const { return static_cast<tree_node<Value>*>(fNode)->fValue; }
+	pointer operator->() const { return &operator*(); }
+	tree_iterator& operator++() {
+		fNode = tree_node_base::next(fNode);
+		return *this;
+	}
+	tree_iterator operator++(int) {
+		tree_iterator tmp = *this;
+		++*this;
+		return tmp;
+	}
+	bool operator==(const tree_iterator& other) const { return fNode == other.fNode; }
+	bool operator!=(const tree_iterator& other) const { return fNode != other.fNode; }
+};
+
+template<typename Key, typename Value, typename KeyOf, typename Compare, typename Alloc>
+class tree {
+	typedef tree_node<Value> node;
+	typedef typename allocator_traits<Alloc>::template rebind_alloc<node> node_allocator;
+
+	node_allocator fAllocator;
+	Compare fCompare;
+	tree_node_base* fRoot;
+	size_t fSize;
+
+	node* create(const Value& v) {
+		node* n = fAllocator.allocate(1);
+		fAllocator.construct(n, v);
+		n->fParent = n->fLeft = n->fRight = nullptr;
+		n->fRed = true;
+		return n;
+	}
+
+	void destroy(tree_node_base* n) {
+		if (!n)
+			return;
+		destroy(n->fLeft);
+		destroy(n->fRight);
+		node* p = static_cast<node*>(n);
+		fAllocator.destroy(p);
+		fAllocator.deallocate(p, 1);
+	}
+
+	static const Key& key(const tree_node_base* n) {
+		return KeyOf()(static_cast<const node*>(n)->fValue);
+	}
+
+public:
+	typedef tree_iterator<Value, Value&, Value*> iterator;
+	typedef tree_iterator<Value, const Value&, const Value*> const_iterator;
+
+	tree() : fAllocator(), fCompare(), fRoot(nullptr), fSize(0) {}
+	~tree() { destroy(fRoot); }
+
+	iterator begin() { return iterator(fRoot ? tree_node_base::minimum(fRoot) : nullptr); }
+	iterator end() { return iterator(); }
+	const_iterator begin() const { return const_iterator(fRoot ? tree_node_base::minimum(fRoot) : nullptr); }
+	const_iterator end() const { return const_iterator(); }
+	size_t size() const { return fSize; }
+
+	iterator find(const Key& k) {
+		tree_node_base* n = fRoot;
+		while (n) {
+			if (fCompare(k, key(n))) {
+				n = n->fLeft;
+			} else if (fCompare(key(n), k)) {
+				n = n->fRight;
+			} else {
+				return iterator(n);
+			}
+		}
+		return end();
+	}
+
+	pair<iterator, bool> insert_unique(const Value& v) {
+		tree_node_base* parent = nullptr;
+		tree_node_base** link = &fRoot;
+		const Key& k = KeyOf()(v);
+		while (*link) {
+			parent = *link;
+			if (fCompare(k, key(parent))) {
+				link = &parent->fLeft;
+			} else if (fCompare(key(parent), k)) {
+				link = &parent->fRight;
+			} else {
+				return pair<iterator, bool>(iterator(parent), false);
+			}
+		}
+		node* n = create(v);
+		n->fParent = parent;
+		*link = n;
+		++fSize;
+		return pair<iterator, bool>(iterator(n), true);
+	}
+};
+
+template<typename Pair>
+struct select_first {
+	const typename Pair::first_type& operator()(const Pair& p) const { return p.first; }
+};
+
+template<typename Key, typename T, typename Compare = less<Key>, typename Alloc = allocator<pair<const Key, T>>>
+class map {
+public:
+	typedef Key key_type;
+	typedef T mapped_type;
+	typedef pair<const Key, T> value_type;
+	typedef tree<Key, value_type, select_first<value_type>, Compare, Alloc> tree_type;
+	typedef typename tree_type::iterator iterator;
+	typedef typename tree_type::const_iterator const_iterator;
+
+private:
+	tree_type fTree;
+
+public:
+	iterator begin() { return fTree.begin(); }
+	iterator end() { return fTree.end(); }
+	const_iterator begin() const { return fTree.begin(); }
+	const_iterator end() const { return fTree.end(); }
+	size_t size() const { return fTree.size(); }
+	bool empty() const { return size() == 0; }
+
+	iterator find(const Key& k) { return fTree.find(k); }
+	size_t count(const Key& k) { return find(k) == end() ? 0 : 1; }
+	pair<iterator, bool> insert(const value_type& v) { return fTree.insert_unique(v); }
+
+	T& operator[](const Key& k) {
+		iterator it = find(k);
+		if (it == end())
+			it = insert(value_type(k, T())).first;
+		return it->second;
+	}
+
+	template<typename F>
+	void for_each_value(F f) {
+		for (iterator it = begin(); it != end(); ++it)
+			f(it->second);
+	}
+};
+
+template<typename Key, typename Compare = less<Key>>
+class set {
+	map<Key, bool, Compare> fMap;
+
+public:
+	typedef Key value_type;
+
+	bool insert(const Key& k) { return fMap.insert(pair<const Key, bool>(k, true)).second; }
+	bool contains(const Key& k) { return fMap.count(k) != 0; }
+	size_t size() const { return fMap.size(); }
+};
+
+} // namespace bench
+
+#endif
@@ -0,0 +1,113 @@
+// Synthetic allocators and smart pointers in the style of a standard library implementation.
+#ifndef BENCH_MEMORY_H
+#define BENCH_MEMORY_H
+
+#include "utility.h"
+
+void* operator new(size_t size, void* where) noexcept;
+
+namespace bench {
+
+void* allocate_bytes(size_t size);
+void deallocate_bytes(void* p, size_t size);
+
+template<typename T>
+class allocator {
+public:
+	typedef T value_type;
+	typedef T* pointer;
+	typedef const T* const_pointer;
+	typedef size_t size_type;
+	typedef ptrdiff_t difference_type;
+
+	template<typename U>
+	struct rebind {
+		typedef allocator<U> other;
+	};
+
+	allocator() noexcept {}
+	template<typename U>
+	allocator(const allocator<U>&) noexcept {}
+
+	T* allocate(size_t n) { return static_cast<T*>(allocate_bytes(n * sizeof(T))); }
+	void deallocate(T* p, size_t n) { deallocate_bytes(p, n * sizeof(T)); }
+
+	template<typename U, typename... Args>
+	void construct(U* p, Args&&... args) {
+		::new (static_cast<void*>(p)) U(forward<Args>(args)...);
+	}
+	template<typename U>
+	void destroy(U* p) { p->~U(); }
+};
+
+template<typename Alloc>
+struct allocator_traits {
+	typedef Alloc allocator_type;
+	typedef typename Alloc::value_type value_type;
+	typedef typename Alloc::pointer pointer;
+	typedef typename Alloc::size_type size_type;
+
+	template<typename U>
+	using rebind_alloc = typename Alloc::template rebind<U>::other;
+
+	static pointer allocate(Alloc& a, size_type n) { return a.allocate(n); }
+	static void deallocate(Alloc& a, pointer p, size_type n) { a.deallocate(p, n); }
+	template<typename T, typename... Args>
+	static void construct(Alloc& a, T* p, Args&&... args) {
+		a.construct(p, forward<Args>(args)...);
+	}
+	template<typename T>
+	static void destroy(Alloc& a, T* p) { a.destroy(p); }
+};
+
+template<typename T>
+struct default_delete {
+	void operator()(T* p) const { delete p; }
+};
+
+template<typename T, typename Deleter = default_delete<T>>
+class unique_ptr {
+	T* fPointer;
+	Deleter fDeleter;
+
+public:
+	typedef T element_type;
+	typedef T* pointer;
+
+	constexpr unique_ptr() noexcept : fPointer(nullptr), fDeleter() {}
+	explicit unique_ptr(T* p) noexcept : fPointer(p), fDeleter() {}
+	unique_ptr(unique_ptr&& other) noexcept : fPointer(other.release()), fDeleter() {}
+	unique_ptr(const unique_ptr&) = delete;
+	~unique_ptr() { reset(); }
+
+	unique_ptr& operator=(unique_ptr&& other) noexcept {
+		reset(other.release());
+		return *this;
+	}
+
+	T* get() const noexcept { return fPointer; }
+	T& operator*() const { return *fPointer; }
+	T* operator->() const noexcept { return fPointer; }
+	explicit operator bool() const noexcept { return fPointer != nullptr; }
+
+	T* release() noexcept {
+		T* p = fPointer;
+		fPointer = nullptr;
+		return p;
+	}
+	void reset(T* p = nullptr) noexcept {
+		T* old = fPointer;
+		fPointer = p;
+		if (old)
+			fDeleter(old);
+	}
+};
+
+template<typename T, typename... Args>
+unique_ptr<T> make_unique(Args&&... args) {
+	return unique_ptr<T>(new T(forward<Args>(args)...));
+}
+
+} // namespace bench
+
+#endif
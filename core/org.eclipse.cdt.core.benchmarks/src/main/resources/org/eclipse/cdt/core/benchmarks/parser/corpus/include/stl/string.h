@@ -0,0 +1,139 @@
+// Synthetic strings in the style of a standard library implementation.
+#ifndef BENCH_STRING_H
+#define BENCH_STRING_H
+
+#include "vector.h"
+
+namespace bench {
+
+template<typename CharT>
+struct char_traits {
+	typedef CharT char_type;
+	typedef int int_type;
+
+	static constexpr bool eq(char_type a, char_type b) noexcept { return a == b; }
+	static constexpr bool lt(char_type a, char_type b) noexcept { return a < b; }
+	static constexpr size_t length(const char_type* s) {
+		size_t n = 0;
+		while (!eq(s[n], char_type()))
+			++n;
+		return n;
+	}
+	static constexpr int compare(const char_type* a, const char_type* b, size_t n) {
+		for (size_t i = 0; i < n; ++i) {
+			if (lt(a[i], b[i]))
+				return -1;
+			if (lt(b[i], a[i]))
+				return 1;
+		}
+		return 0;
+	}
+};
+
+template<typename CharT, typename Traits = char_traits<CharT>, typename Alloc = allocator<CharT>>
+class basic_string {
+	vector<CharT, Alloc> fChars;
+
+public:
+	typedef Traits traits_type;
+	typedef CharT value_type;
+	typedef size_t size_type;
+	typedef typename vector<CharT, Alloc>::iterator iterator;
+	typedef typename vector<CharT, Alloc>::const_iterator const_iterator;
+	static constexpr size_type npos = static_cast<size_type>(-1);
+
+	basic_string() : fChars() { fChars.push_back(CharT()); }
+	basic_string(const CharT* s) : fChars(s, s + Traits::length(s)) { fChars.push_back(CharT()); }
+	basic_string(const basic_string& other) : fChars(other.fChars) {}
+	basic_string(basic_string&& other) noexcept : fChars(move(other.fChars)) {}
+
+	basic_string& operator=(const basic_string& other) {
+		fChars = other.fChars;
+		return *this;
+	}
+
+	size_type size() const noexcept { return fChars.size() - 1; }
+	size_type length() const noexcept { return size(); }
+	bool empty() const noexcept { return size() == 0; }
+	const CharT* c_str() const noexcept { return fChars.begin(); }
+	const CharT* data() const noexcept { return fChars.begin(); }
+	iterator begin() { return fChars.begin(); }
+	iterator end() { return fChars.begin() + size(); }
+	const_iterator begin() const { return fChars.begin(); }
+	const_iterator end() const { return fChars.begin() + size(); }
+	CharT& operator[](size_type i) { return fChars[i]; }
+	const CharT& operator[](size_type i) const { return fChars[i]; }
+
+	basic_string& append(const CharT* s, size_type n) {
+		fChars.pop_back();
+		for (size_type i = 0; i < n; ++i)
+			fChars.push_back(s[i]);
+		fChars.push_back(CharT());
+		return *this;
+	}
+	basic_string& operator+=(const basic_string& s) { return append(s.data(), s.size()); }
+	basic_string& operator+=(const CharT* s) { return append(s, Traits::length(s)); }
+	basic_string& operator+=(CharT c) { return append(&c, 1); }
+
+	size_type find(CharT c, size_type pos = 0) const noexcept {
+		for (size_type i = pos; i < size(); ++i) {
+			if (Traits::eq(fChars[i], c))
+				return i;
+		}
+		return npos;
+	}
+
+	basic_string substr(size_type pos, size_type n = npos) const {
+		basic_string result;
+		if (n == npos || pos + n > size())
+			n = size() - pos;
+		return result.append(data() + pos, n);
+	}
+
+	int compare(const basic_string& other) const {
+		size_type n = size() < other.size() ? size() : other.size();
+		int result = Traits::compare(data(), other.data(), n);
+		if (result != 0)
+			return result;
+		return size() < other.size() ? -1 : size() > other.size() ? 1 : 0;
+	}
+};
+
+template<typename CharT, typename Traits, typename Alloc>
+basic_string<CharT, Traits, Alloc> operator+(const basic_string<CharT, Traits, Alloc>& a,
+		const basic_string<CharT, Traits, Alloc>& b) {
+	basic_string<CharT, Traits, Alloc> result(a);
+	result += b;
+	return result;
+}
+
+template<typename CharT, typename Traits, typename Alloc>
+bool operator==(const basic_string<CharT, Traits, Alloc>& a, const basic_string<CharT, Traits, Alloc>& b) {
+	return a.compare(b) == 0;
+}
+
+template<typename CharT, typename Traits, typename Alloc>
+bool operator<(const basic_string<CharT, Traits, Alloc>& a, const basic_string<CharT, Traits, Alloc>& b) {
+	return a.compare(b) < 0;
+}
+
+typedef basic_string<char> string;
+typedef basic_string<wchar_t> wstring;
+
+template<>
+struct hash<string> {
+	size_t operator()(const string& s) const noexcept {
+		size_t h = 14695981039346656037UL;
+		for (char c : s)
+			h = (h ^ static_cast<unsigned char>(c)) * 1099511628211UL;
+		return h;
+	}
+};
+
+string to_string(int value);
+string to_string(long value);
+string to_string(double value);
+
+} // namespace bench
+
+#endif
@@ -0,0 +1,134 @@
+// Synthetic type traits in the style of a standard library implementation.
+#ifndef BENCH_TYPE_TRAITS_H
+#define BENCH_TYPE_TRAITS_H
+
+typedef unsigned long size_t;
+typedef long ptrdiff_t;
+
+namespace bench {
+
+template<typename T, T v>
+struct integral_constant {
+	static constexpr T value = v;
+	typedef T value_type;
+	typedef integral_constant type;
+	constexpr operator value_type() const noexcept { return value; }
+	constexpr value_type operator()() const noexcept { return value; }
+};
+
+typedef integral_constant<bool, true> true_type;
+typedef integral_constant<bool, false> false_type;
+
+template<bool B>
+using bool_constant = integral_constant<bool, B>;
+
+template<typename T, typename U> struct is_same : false_type {};
+template<typename T> struct is_same<T, T> : true_type {};
+
+template<bool B, typename T = void> struct enable_if {};
+template<typename T> struct enable_if<true, T> { typedef T type; };
+template<bool B, typename T = void>
+using enable_if_t = typename enable_if<B, T>::type;
+
+template<bool B, typename T, typename F> struct conditional { typedef T type; };
+template<typename T, typename F> struct conditional<false, T, F> { typedef F type; };
+template<bool B, typename T, typename F>
+using conditional_t = typename conditional<B, T, F>::type;
+
+template<typename T> struct remove_reference { typedef T type; };
+template<typename T> struct remove_reference<T&> { typedef T type; };
+template<typename T> struct remove_reference<T&&> { typedef T type; };
+template<typename T>
+using remove_reference_t = typename remove_reference<T>::type;
+
+template<typename T> struct remove_const { typedef T type; };
+template<typename T> struct remove_const<const T> { typedef T type; };
+template<typename T> struct remove_volatile { typedef T type; };
+template<typename T> struct remove_volatile<volatile T> { typedef T type; };
+template<typename T> struct remove_cv {
+	typedef typename remove_volatile<typename remove_const<T>::type>::type type;
+};
+template<typename T>
+using remove_cv_t = typename remove_cv<T>::type;
+template<typename T>
+using remove_cvref_t = remove_cv_t<remove_reference_t<T>>;
+
+template<typename T> struct is_lvalue_reference : false_type {};
+template<typename T> struct is_lvalue_reference<T&> : true_type {};
+template<typename T> struct is_rvalue_reference : false_type {};
+template<typename T> struct is_rvalue_reference<T&&> : true_type {};
+template<typename T> struct is_pointer_helper : false_type {};
+template<typename T> struct is_pointer_helper<T*> : true_type {};
+template<typename T> struct is_pointer : is_pointer_helper<remove_cv_t<T>> {};
+template<typename T> struct is_array : false_type {};
+template<typename T> struct is_array<T[]> : true_type {};
+template<typename T, size_t N> struct is_array<T[N]> : true_type {};
+
+template<typename T> struct is_integral_helper : false_type {};
+template<> struct is_integral_helper<bool> : true_type {};
+template<> struct is_integral_helper<char> : true_type {};
+template<> struct is_integral_helper<signed char> : true_type {};
+template<> struct is_integral_helper<unsigned char> : true_type {};
+template<> struct is_integral_helper<wchar_t> : true_type {};
+template<> struct is_integral_helper<char16_t> : true_type {};
+template<> struct is_integral_helper<char32_t> : true_type {};
+template<> struct is_integral_helper<short> : true_type {};
+template<> struct is_integral_helper<unsigned short> : true_type {};
+template<> struct is_integral_helper<int> : true_type {};
+template<> struct is_integral_helper<unsigned int> : true_type {};
+template<> struct is_integral_helper<long> : true_type {};
+template<> struct is_integral_helper<unsigned long> : true_type {};
+template<> struct is_integral_helper<long long> : true_type {};
+template<> struct is_integral_helper<unsigned long long> : true_type {};
+template<typename T> struct is_integral : is_integral_helper<remove_cv_t<T>> {};
+
+template<typename T> struct is_floating_point_helper : false_type {};
+template<> struct is_floating_point_helper<float> : true_type {};
+template<> struct is_floating_point_helper<double> : true_type {};
+template<> struct is_floating_point_helper<long double> : true_type {};
+template<typename T> struct is_floating_point : is_floating_point_helper<remove_cv_t<T>> {};
+
+template<typename T> struct is_arithmetic
+		: bool_constant<is_integral<T>::value || is_floating_point<T>::value> {};
+
+template<typename T> struct add_rvalue_reference { typedef T&& type; };
+template<typename T> struct add_lvalue_reference { typedef T& type; };
+template<typename T> typename add_rvalue_reference<T>::type declval() noexcept;
+
+template<typename...> struct make_void { typedef void type; };
+template<typename... Ts>
+using void_t = typename make_void<Ts...>::type;
+
+template<typename From, typename To, typename = void>
+struct is_convertible : false_type {};
+template<typename From, typename To>
+struct is_convertible<From, To, void_t<decltype(static_cast<To>(declval<From>()))>> : true_type {};
+
+template<typename T, typename = void>
+struct has_value_type : false_type {};
+template<typename T>
+struct has_value_type<T, void_t<typename T::value_type>> : true_type {};
+
+template<typename T> struct decay {
+	typedef remove_cvref_t<T> type;
+};
+template<typename T>
+using decay_t = typename decay<T>::type;
+
+template<typename... Ts> struct common_type;
+template<typename T> struct common_type<T> { typedef decay_t<T> type; };
+template<typename T, typename U> struct common_type<T, U> {
+	typedef decay_t<decltype(true ? declval<T>() : declval<U>())> type;
+};
+template<typename T, typename U, typename... Rest> struct common_type<T, U, Rest...> {
+	typedef typename common_type<typename common_type<T, U>::type, Rest...>::type type;
+};
+
+template<typename T>
+constexpr bool is_integral_v = is_integral<T>::value;
+template<typename T, typename U>
+constexpr bool is_same_v = is_same<T, U>::value;
+
+} // namespace bench
+
+#endif
@@ -0,0 +1,98 @@
+// Synthetic utilities in the style of a standard library implementation.
+#ifndef BENCH_UTILITY_H
+#define BENCH_UTILITY_H
+
+#include "type_traits.h"
+
+namespace bench {
+
+template<typename T>
+constexpr remove_reference_t<T>&& move(T&& t) noexcept {
+	return static_cast<remove_reference_t<T>&&>(t);
+}
+
+template<typename T>
+constexpr T&& forward(remove_reference_t<T>& t) noexcept {
+	return static_cast<T&&>(t);
+}
+
+template<typename T>
+constexpr T&& forward(remove_reference_t<T>&& t) noexcept {
+	return static_cast<T&&>(t);
+}
+
+template<typename T>
+void swap(T& a, T& b) noexcept {
+	T tmp = move(a);
+	a = move(b);
+	b = move(tmp);
+}
+
+template<typename T1, typename T2>
+struct pair {
+	typedef T1 first_type;
+	typedef T2 second_type;
+
+	T1 first;
+	T2 second;
+
+	constexpr pair() : first(), second() {}
+	constexpr pair(const T1& a, const T2& b) : first(a), second(b) {}
+	template<typename U1, typename U2, typename = enable_if_t<is_convertible<U1, T1>::value>>
+	constexpr pair(U1&& a, U2&& b) : first(forward<U1>(a)), second(forward<U2>(b)) {}
+	template<typename U1, typename U2>
+	constexpr pair(const pair<U1, U2>& p) : first(p.first), second(p.second) {}
+
+	pair& operator=(const pair& p) {
+		first = p.first;
+		second = p.second;
+		return *this;
+	}
+
+	void swap(pair& p) noexcept {
+		bench::swap(first, p.first);
+		bench::swap(second, p.second);
+	}
+};
+
+template<typename T1, typename T2>
+constexpr pair<decay_t<T1>, decay_t<T2>> make_pair(T1&& a, T2&& b) {
+	return pair<decay_t<T1>, decay_t<T2>>(forward<T1>(a), forward<T2>(b));
+}
+
+template<typename T1, typename T2>
+constexpr bool operator==(const pair<T1, T2>& a, const pair<T1, T2>& b) {
+	return a.first == b.first && a.second == b.second;
+}
+
+template<typename T1, typename T2>
+constexpr bool operator<(const pair<T1, T2>& a, const pair<T1, T2>& b) {
+	return a.first < b.first || (!(b.first < a.first) && a.second < b.second);
+}
+
+template<typename T = void>
+struct less {
+	constexpr bool operator()(const T& a, const T& b) const { return a < b; }
+};
+
+template<typename T = void>
+struct equal_to {
+	constexpr bool operator()(const T& a, const T& b) const { return a == b; }
+};
+
+template<typename T>
+struct hash;
+
+template<>
+struct hash<int> {
+	size_t operator()(int v) const noexcept { return static_cast<size_t>(v); }
+};
+
+template<>
+struct hash<long> {
+	size_t operator()(long v) const noexcept { return static_cast<size_t>(v); }
+};
+
+} // namespace bench
+
+#endif
@@ -0,0 +1,191 @@
+// Synthetic dynamic array in the style of a standard library implementation.
+#ifndef BENCH_VECTOR_H
+#define BENCH_VECTOR_H
+
+#include "memory.h"
+#include "iterator.h"
+
+namespace bench {
+
+template<typename T, typename Alloc = allocator<T>>
+class vector {
+public:
+	typedef T value_type;
+	typedef Alloc allocator_type;
+	typedef allocator_traits<Alloc> alloc_traits;
+	typedef size_t size_type;
+	typedef ptrdiff_t difference_type;
+	typedef T& reference;
+	typedef const T& const_reference;
+	typedef T* pointer;
+	typedef const T* const_pointer;
+	typedef T* iterator;
+	typedef const T* const_iterator;
+	typedef bench::reverse_iterator<iterator> reverse_iterator;
+	typedef bench::reverse_iterator<const_iterator> const_reverse_iterator;
+
+private:
+	Alloc fAllocator;
+	T* fBegin;
+	T* fEnd;
+	T* fCapacity;
+
+	void grow(size_type minimum) {
+		size_type capacity = this->capacity() * 2;
+		if (capacity < minimum)
+			capacity = minimum;
+		T* storage = alloc_traits::allocate(fAllocator, capacity);
+		T* out = storage;
+		for (T* p = fBegin; p != fEnd; ++p, ++out) {
+			alloc_traits::construct(fAllocator, out, move(*p));
+			alloc_traits::destroy(fAllocator, p);
+		}
+		if (fBegin)
+			alloc_traits::deallocate(fAllocator, fBegin, this->capacity());
+		fEnd = storage + size();
+		fBegin = storage;
+		fCapacity = storage + capacity;
+	}
+
+public:
+	vector() noexcept : fAllocator(), fBegin(nullptr), fEnd(nullptr), fCapacity(nullptr) {}
+	explicit vector(size_type n, const T& value = T()) : vector() {
+		reserve(n);
+		for (size_type i = 0; i < n; ++i)
+			push_back(value);
+	}
+	vector(const vector& other) : vector() {
+		reserve(other.size());
+		for (const_iterator it = other.begin(); it != other.end(); ++it)
+			push_back(*it);
+	}
+	vector(vector&& other) noexcept
+			: fAllocator(), fBegin(other.fBegin), fEnd(other.fEnd), fCapacity(other.fCapacity) {
+		other.fBegin = other.fEnd = other.fCapacity = nullptr;
+	}
+	template<typename It, typename = enable_if_t<!is_integral<It>::value>>
+	vector(It first, It last) : vector() {
+		for (; first != last; ++first)
+			push_back(*first);
+	}
+	~vector() {
+		clear();
+		if (fBegin)
+			alloc_traits::deallocate(fAllocator, fBegin, capacity());
+	}
+
+	vector& operator=(const vector& other) {
+		if (this != &other) {
+			clear();
+			reserve(other.size());
+			for (const T& value : other)
+				push_back(value);
+		}
+		return *this;
+	}
+
+	iterator begin() noexcept { return fBegin; }
+	const_iterator begin() const noexcept { return fBegin; }
+	iterator end() noexcept { return fEnd; }
+	const_iterator end() const noexcept { return fEnd; }
+	reverse_iterator rbegin() noexcept { return reverse_iterator(end()); }
+	reverse_iterator rend() noexcept { return reverse_iterator(begin()); }
+	const_iterator cbegin() const noexcept { return fBegin; }
+	const_iterator cend() const noexcept { return fEnd; }
+
+	size_type size() const noexcept { return static_cast<size_type>(fEnd - fBegin); }
+	size_type capacity() const noexcept { return static_cast<size_type>(fCapacity - fBegin); }
+	bool empty() const noexcept { return fBegin == fEnd; }
+
+	reference operator[](size_type i) { return fBegin[i]; }
+	const_reference operator[](size_type i) const { return fBegin[i]; }
+	reference front() { return *fBegin; }
+	reference back() { return *(fEnd - 1); }
+	const_reference back() const { return *(fEnd - 1); }
+	T* data() noexcept { return fBegin; }
+
+	void reserve(size_type n) {
+		if (n > capacity())
+			grow(n);
+	}
+
+	void push_back(const T& value) {
+		if (fEnd == fCapacity)
+			grow(size() + 1);
+		alloc_traits::construct(fAllocator, fEnd, value);
+		++fEnd;
+	}
+
+	void push_back(T&& value) {
+		if (fEnd == fCapacity)
+			grow(size() + 1);
+		alloc_traits::construct(fAllocator, fEnd, move(value));
+		++fEnd;
+	}
+
+	template<typename... Args>
+	reference emplace_back(Args&&... args) {
+		if (fEnd == fCapacity)
+			grow(size() + 1);
+		alloc_traits::construct(fAllocator, fEnd, forward<Args>(args)...);
+		return *fEnd++;
+	}
+
+	void pop_back() {
+		--fEnd;
+		alloc_traits::destroy(fAllocator, fEnd);
+	}
+
+	iterator erase(iterator pos) {
+		for (iterator it = pos; it + 1 != fEnd; ++it)
+			*it = move(*(it + 1));
+		pop_back();
+		return pos;
+	}
+
+	void clear() noexcept {
+		while (fEnd != fBegin)
+			pop_back();
+	}
+
+	void swap(vector& other) noexcept {
+		bench::swap(fBegin, other.fBegin);
+		bench::swap(fEnd, other.fEnd);
+		bench::swap(fCapacity, other.fCapacity);
+	}
+};
+
+template<typename T, typename Alloc>
+bool operator==(const vector<T, Alloc>& a, const vector<T, Alloc>& b) {
+	if (a.size() != b.size())
+		return false;
+	for (size_t i = 0; i < a.size(); ++i) {
+		if (!(a[i] == b[i]))
+			return false;
+	}
+	return true;
+}
+
+template<typename Alloc>
+class vector<bool, Alloc> {
+	vector<unsigned long, typename allocator_traits<Alloc>::template rebind_alloc<unsigned long>> fWords;
+	size_t fSize;
+
+public:
+	typedef bool value_type;
+
+	vector() : fWords(), fSize(0) {}
+	size_t size() const { return fSize; }
+	bool operator[](size_t i) const { return (fWords[i / 64] >> (i % 64)) & 1; }
+	void push_back(bool value) {
+		if (fSize % 64 == 0)
+			fWords.push_back(0);
+		if (value)
+			fWords.back() |= 1UL << (fSize % 64);
+		++fSize;
+	}
+};
+
+} // namespace bench
+
+#endif
@@ -0,0 +1,245 @@
+/* Macro heavy C code: attribute wrappers, X-macros, token pasting and variadic logging. */
+#include <macros/config.h>
+#include <macros/util.h>
+#include <macros/opcodes.h>
+
+enum opcode {
+#define X(name, code, text, operands) OP_##name = code,
+	OPCODES(X)
+#undef X
+	OP_COUNT
+};
+
+enum reg {
+#define X(name) REG_##name,
+	REGISTERS(X)
+#undef X
+	REG_COUNT
+};
+
+static const char* const opcode_names[] = {
+#define X(name, code, text, operands) [code] = text,
+	OPCODES(X)
+#undef X
+};
+
+static const uint8_t opcode_operands[] = {
+#define X(name, code, text, operands) [code] = operands,
+	OPCODES(X)
+#undef X
+};
+
+static const char* const register_names[] = {
+#define X(name) BENCH_STRINGIFY(name),
+	REGISTERS(X)
+#undef X
+};
+
+struct instruction {
+	enum opcode op;
+	uint8_t operands[3];
+	int32_t immediate;
+	struct list_head link;
+} BENCH_PACKED;
+
+struct object {
+	uint32_t id;
+	uint32_t flags;
+	int64_t value;
+	const char* name;
+	struct list_head children;
+	struct list_head sibling;
+} BENCH_ALIGNED(BENCH_CACHE_LINE);
+
+DEFINE_ACCESSORS(uint32_t, id, id)
+DEFINE_ACCESSORS(uint32_t, flags, flags)
+DEFINE_ACCESSORS(int64_t, value, value)
+DEFINE_ACCESSORS(const char*, name, name)
+
+struct machine {
+	int64_t registers[REG_COUNT];
+	uint8_t memory[BENCH_BUFFER_SIZE];
+	struct object* objects[BENCH_HASH_SIZE];
+	struct list_head program;
+	uint64_t cycles;
+	int halted;
+};
+
+BENCH_INLINE uint32_t hash_id(uint32_t id) {
+	id ^= id >> 16;
+	id *= 0x45d9f3b;
+	id ^= id >> 16;
+	return id & BENCH_HASH_MASK;
+}
+
+static struct object* object_new(struct machine* m, uint32_t id, const char* name) BENCH_UNUSED;
+
+static struct object* object_new(struct machine* m, uint32_t id, const char* name) {
+	struct object* o = bench_malloc(sizeof(*o));
+	if (unlikely(o == NULL)) {
+		LOG_ERROR("out of memory allocating object %u", id);
+		return NULL;
+	}
+	bench_memset(o, 0, sizeof(*o));
+	set_id(o, id);
+	set_name(o, name);
+	LIST_INIT(&o->children);
+	LIST_INIT(&o->sibling);
+	m->objects[hash_id(id)] = o;
+	LOG_DEBUG("created object %s with id %u", name, id);
+	return o;
+}
+
+static void object_add_child(struct object* parent, struct object* child) {
+	struct list_head* head = &parent->children;
+	child->sibling.next = head;
+	child->sibling.prev = head->prev;
+	head->prev->next = &child->sibling;
+	head->prev = &child->sibling;
+	SET_BIT(parent->flags, 3);
+}
+
+static int64_t object_sum(struct object* o) {
+	struct object* child;
+	int64_t sum = get_value(o);
+	LIST_FOREACH_ENTRY(child, &o->children, struct object, sibling) {
+		sum += object_sum(child);
+	}
+	return sum;
+}
+
+static int validate(const struct instruction* insn) {
+	CHECK(insn != NULL);
+	CHECK(insn->op < OP_COUNT);
+	CHECK(opcode_operands[insn->op] <= ARRAY_SIZE(insn->operands));
+	for (size_t i = 0; i < opcode_operands[insn->op]; i++) {
+		CHECK(insn->operands[i] < REG_COUNT);
+	}
+	return 0;
+}
+
+#define BINARY_OP(name, operator) \
+	case OP_##name: \
+		m->registers[insn->operands[0]] = \
+				m->registers[insn->operands[1]] operator m->registers[insn->operands[2]]; \
+		break;
+
+#define JUMP_OP(name, condition) \
+	case OP_##name: \
+		if (condition) \
+			next = (struct list_head*) (uintptr_t) insn->immediate; \
+		break;
+
+static int execute(struct machine* m, const struct instruction* insn, struct list_head** target) {
+	struct list_head* next = NULL;
+	int64_t flags = m->registers[REG_PC];
+	if (validate(insn) != 0) {
+		LOG_WARN("invalid instruction %s", opcode_names[insn->op]);
+		return -1;
+	}
+	switch (insn->op) {
+	case OP_NOP:
+		break;
+	case OP_LOAD:
+		m->registers[insn->operands[0]] = m->memory[insn->immediate & (BENCH_BUFFER_SIZE - 1)];
+		break;
+	case OP_STORE:
+		m->memory[insn->immediate & (BENCH_BUFFER_SIZE - 1)] = (uint8_t) m->registers[insn->operands[0]];
+		break;
+	case OP_MOVE:
+		m->registers[insn->operands[0]] = m->registers[insn->operands[1]];
+		break;
+	BINARY_OP(ADD, +)
+	BINARY_OP(SUB, -)
+	BINARY_OP(MUL, *)
+	BINARY_OP(AND, &)
+	BINARY_OP(OR, |)
+	BINARY_OP(XOR, ^)
+	BINARY_OP(SHL, <<)
+	BINARY_OP(SHR, >>)
+	case OP_DIV:
+	case OP_MOD:
+		if (unlikely(m->registers[insn->operands[2]] == 0)) {
+			LOG_ERROR("division by zero at cycle %llu", (unsigned long long) m->cycles);
+			return -1;
+		}
+		m->registers[insn->operands[0]] = insn->op == OP_DIV
+				? m->registers[insn->operands[1]] / m->registers[insn->operands[2]]
+				: m->registers[insn->operands[1]] % m->registers[insn->operands[2]];
+		break;
+	case OP_NEG:
+		m->registers[insn->operands[0]] = -m->registers[insn->operands[1]];
+		break;
+	case OP_NOT:
+		m->registers[insn->operands[0]] = ~m->registers[insn->operands[1]];
+		break;
+	case OP_CMP:
+		flags = CLAMP(m->registers[insn->operands[0]] - m->registers[insn->operands[1]], -1, 1);
+		m->registers[REG_PC] = flags;
+		break;
+	JUMP_OP(JMP, 1)
+	JUMP_OP(JEQ, flags == 0)
+	JUMP_OP(JNE, flags != 0)
+	JUMP_OP(JLT, flags < 0)
+	JUMP_OP(JLE, flags <= 0)
+	JUMP_OP(JGT, flags > 0)
+	JUMP_OP(JGE, flags >= 0)
+	case OP_INC:
+		m->registers[insn->operands[0]]++;
+		break;
+	case OP_DEC:
+		m->registers[insn->operands[0]]--;
+		break;
+	case OP_HALT:
+		m->halted = 1;
+		break;
+	default:
+		LOG_INFO("unsupported instruction %s (%d operands)", opcode_names[insn->op], opcode_operands[insn->op]);
+		break;
+	}
+	m->cycles++;
+	*target = next;
+	return 0;
+}
+
+int run_program(struct machine* m) {
+	struct list_head* pos;
+	LOG_INFO("running on %s backend, version %d", BENCH_EVENT_BACKEND, BENCH_VERSION);
+	LIST_FOREACH(pos, &m->program) {
+		struct list_head* target = NULL;
+		struct instruction* insn = LIST_ENTRY(pos, struct instruction, link);
+		if (execute(m, insn, &target) != 0)
+			return -1;
+		if (m->halted)
+			break;
+		if (target)
+			pos = target;
+	}
+	for (size_t i = 0; i < ARRAY_SIZE(register_names); i++) {
+		LOG_DEBUG("%s = %lld", register_names[i], (long long) m->registers[i]);
+	}
+	return (int) MIN(m->cycles, (uint64_t) MASK(31));
+}
+
+int64_t sum_objects(struct machine* m) {
+	int64_t sum = 0;
+	for (size_t i = 0; i < BENCH_HASH_SIZE; i++) {
+		if (m->objects[i] && !TEST_BIT(m->objects[i]->flags, 1))
+			sum += object_sum(m->objects[i]);
+	}
+	return sum;
+}
+
+void build_tree(struct machine* m, uint32_t count) {
+	struct object* root = object_new(m, 0, "root");
+	for (uint32_t i = 1; i < count; i++) {
+		struct object* o = object_new(m, i, opcode_names[i % OP_COUNT]);
+		if (o) {
+			set_value(o, (int64_t) ALIGN_UP(i, 8));
+			object_add_child(root, o);
+		}
+	}
+#if BENCH_FEATURE_STREAMS
+	LOG_INFO("streams enabled, %u objects", count);
+#endif
+}
@@ -0,0 +1,225 @@
+// Template heavy code using the synthetic standard library.
+#include <stl/string.h>
+#include <stl/vector.h>
+#include <stl/map.h>
+#include <stl/algorithm.h>
+
+namespace app {
+
+using bench::map;
+using bench::pair;
+using bench::string;
+using bench::vector;
+
+struct Symbol {
+	string fName;
+	int fKind;
+	long fOffset;
+
+	Symbol() : fName(), fKind(0), fOffset(0) {}
+	Symbol(const string& name, int kind, long offset) : fName(name), fKind(kind), fOffset(offset) {}
+
+	bool operator<(const Symbol& other) const { return fName < other.fName; }
+	bool operator==(const Symbol& other) const { return fName == other.fName && fKind == other.fKind; }
+};
+
+template<typename T>
+class Registry {
+	map<string, vector<T>> fEntries;
+	vector<string> fOrder;
+
+public:
+	void add(const string& key, const T& value) {
+		vector<T>& values = fEntries[key];
+		if (values.empty())
+			fOrder.push_back(key);
+		values.push_back(value);
+	}
+
+	template<typename Pred>
+	vector<T> select(Pred pred) {
+		vector<T> result;
+		for (const string& key : fOrder) {
+			vector<T>& values = fEntries[key];
+			for (const T& value : values) {
+				if (pred(value))
+					result.push_back(value);
+			}
+		}
+		return result;
+	}
+
+	size_t count() {
+		size_t n = 0;
+		fEntries.for_each_value([&n](const vector<T>& values) { n += values.size(); });
+		return n;
+	}
+
+	const vector<string>& keys() const { return fOrder; }
+};
+
+template<typename Container, typename F>
+auto map_values(const Container& c, F f) -> vector<decltype(f(*c.begin()))> {
+	vector<decltype(f(*c.begin()))> result;
+	for (const auto& value : c)
+		result.push_back(f(value));
+	return result;
+}
+
+template<typename T, typename = bench::enable_if_t<bench::is_arithmetic<T>::value>>
+T sum(const vector<T>& values) {
+	return bench::accumulate(values.begin(), values.end(), T());
+}
+
+template<typename... Ts>
+struct TypeList {
+	static constexpr size_t size = sizeof...(Ts);
+};
+
+template<typename List>
+struct Front;
+template<typename T, typename... Ts>
+struct Front<TypeList<T, Ts...>> {
+	typedef T type;
+};
+
+template<typename T, typename List>
+struct Contains;
+template<typename T>
+struct Contains<T, TypeList<>> : bench::false_type {};
+template<typename T, typename U, typename... Ts>
+struct Contains<T, TypeList<U, Ts...>>
+		: bench::conditional_t<bench::is_same<T, U>::value, bench::true_type, Contains<T, TypeList<Ts...>>> {};
+
+typedef TypeList<int, long, double, string, Symbol> KnownTypes;
+static_assert(Contains<Symbol, KnownTypes>::value, "Symbol is known");
+static_assert(!Contains<char, KnownTypes>::value, "char is not known");
+static_assert(KnownTypes::size == 5, "five types");
+
+template<int N>
+struct Fibonacci {
+	static constexpr long value = Fibonacci<N - 1>::value + Fibonacci<N - 2>::value;
+};
+template<>
+struct Fibonacci<1> {
+	static constexpr long value = 1;
+};
+template<>
+struct Fibonacci<0> {
+	static constexpr long value = 0;
+};
+static_assert(Fibonacci<30>::value == 832040, "fib");
+
+constexpr int square(int x) { return x * x; }
+constexpr int sum_of_squares(int n) {
+	int result = 0;
+	for (int i = 1; i <= n; ++i)
+		result += square(i);
+	return result;
+}
+static_assert(sum_of_squares(10) == 385, "squares");
+
+class SymbolTable {
+	Registry<Symbol> fSymbols;
+	map<long, Symbol> fByOffset;
+	bench::set<string> fNames;
+
+public:
+	void add(const Symbol& symbol) {
+		fSymbols.add(symbol.fName, symbol);
+		fByOffset[symbol.fOffset] = symbol;
+		fNames.insert(symbol.fName);
+	}
+
+	vector<Symbol> ofKind(int kind) {
+		return fSymbols.select([kind](const Symbol& s) { return s.fKind == kind; });
+	}
+
+	vector<Symbol> sorted() {
+		vector<Symbol> all = fSymbols.select([](const Symbol&) { return true; });
+		bench::sort(all.begin(), all.end());
+		return all;
+	}
+
+	vector<long> offsets() {
+		vector<Symbol> all = sorted();
+		return map_values(all, [](const Symbol& s) { return s.fOffset; });
+	}
+
+	long totalOffset() { return sum(offsets()); }
+
+	bool contains(const string& name) { return fNames.contains(name); }
+
+	const Symbol* at(long offset) {
+		map<long, Symbol>::iterator it = fByOffset.find(offset);
+		return it == fByOffset.end() ? nullptr : &it->second;
+	}
+};
+
+template<typename Key, typename Value>
+class Cache {
+	map<Key, pair<Value, long>> fEntries;
+	long fClock = 0;
+	size_t fCapacity;
+
+public:
+	explicit Cache(size_t capacity) : fCapacity(capacity) {}
+
+	template<typename Compute>
+	const Value& get(const Key& key, Compute compute) {
+		auto it = fEntries.find(key);
+		if (it != fEntries.end()) {
+			it->second.second = ++fClock;
+			return it->second.first;
+		}
+		if (fEntries.size() >= fCapacity)
+			evict();
+		pair<Value, long>& entry = fEntries[key];
+		entry.first = compute(key);
+		entry.second = ++fClock;
+		return entry.first;
+	}
+
+	void evict() {
+		auto oldest = fEntries.begin();
+		for (auto it = fEntries.begin(); it != fEntries.end(); ++it) {
+			if (it->second.second < oldest->second.second)
+				oldest = it;
+		}
+	}
+};
+
+int run() {
+	SymbolTable table;
+	const char* names[] = { "alpha", "beta", "gamma", "delta", "epsilon", "zeta", "eta", "theta" };
+	long offset = 0;
+	for (const char* name : names) {
+		table.add(Symbol(string(name), static_cast<int>(offset % 3), offset));
+		offset += 17;
+	}
+	vector<Symbol> functions = table.ofKind(1);
+	Cache<int, vector<int>> cache(4);
+	const vector<int>& squares = cache.get(10, [](int n) {
+		vector<int> result;
+		for (int i = 0; i < n; ++i)
+			result.push_back(square(i));
+		return result;
+	});
+	auto evens = bench::count_if(squares.begin(), squares.end(), [](int v) { return v % 2 == 0; });
+	vector<pair<string, long>> pairs;
+	for (const Symbol& s : table.sorted())
+		pairs.push_back(bench::make_pair(s.fName, s.fOffset));
+	auto last = bench::find_if(pairs.begin(), pairs.end(), [](const pair<string, long>& p) {
+		return p.second > 100;
+	});
+	bench::unique_ptr<SymbolTable> copy = bench::make_unique<SymbolTable>(table);
+	const Symbol* first = copy->at(0);
+	return static_cast<int>(functions.size() + evens + (last - pairs.begin()) + table.totalOffset())
+			+ (first ? first->fKind : 0) + (table.contains("beta") ? 1 : 0);
+}
+
+} // namespace app
+
+int main() {
+	return app::run();
+}
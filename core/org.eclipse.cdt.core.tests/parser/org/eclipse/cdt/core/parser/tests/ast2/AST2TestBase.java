@@ -215,6 +215,7 @@ public abstract class AST2TestBase extends SemanticTestBase {
 			parser = new GNUCSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG, config, null);
 		}
 		parser.setMaximumTrivialExpressionsInAggregateInitializers(limitTrivialInitializers);
+		configureParser(parser);
 
 		IASTTranslationUnit tu = parser.parse();
 		assertTrue(tu.isFrozen());
@@ -256,6 +257,9 @@ public abstract class AST2TestBase extends SemanticTestBase {
 	protected void configureScanner(IScanner scanner) {
 	}
 
+	protected void configureParser(AbstractGNUSourceCodeParser parser) {
+	}
+
 	public static IScanner createScanner(FileContent codeReader, ParserLanguage lang, ParserMode mode,
 			IScannerInfo scannerInfo) {
 		IScannerExtensionConfiguration configuration = null;
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import static org.eclipse.cdt.core.parser.ParserLanguage.C;
+import static org.eclipse.cdt.core.parser.ParserLanguage.CPP;
+
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.AbstractGNUSourceCodeParser;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for ASTs created with {@link org.eclipse.cdt.core.model.ILanguage#OPTION_COMPACT_AST}.
+ */
+public class CompactASTTests extends AST2TestBase {
+
+	public CompactASTTests() {
+	}
+
+	public CompactASTTests(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(CompactASTTests.class);
+	}
+
+	@Override
+	protected void configureParser(AbstractGNUSourceCodeParser parser) {
+		parser.setCompactAST(true);
+	}
+
+	private IASTName[] collectNames(IASTTranslationUnit tu) {
+		NameCollector collector = new NameCollector();
+		tu.accept(collector);
+		return collector.nameList.toArray(new IASTName[collector.nameList.size()]);
+	}
+
+	//	int waldo;
+	//	int f() {
+	//		return waldo;
+	//	}
+	public void testLocationsAreNotCached() throws Exception {
+		for (ParserLanguage lang : new ParserLanguage[] { C, CPP }) {
+			IASTTranslationUnit tu = parse(getAboveComment(), lang);
+			assertTrue(((ASTTranslationUnit) tu).isCompact());
+
+			IASTName[] names = collectNames(tu);
+			IASTName ref = names[names.length - 1];
+			IASTFileLocation loc = ref.getFileLocation();
+			assertEquals(getAboveComment().lastIndexOf("waldo"), loc.getNodeOffset());
+			assertEquals("waldo".length(), loc.getNodeLength());
+			assertNotSame(loc, ref.getFileLocation());
+			assertEquals(loc.getNodeOffset(), ref.getFileLocation().getNodeOffset());
+			assertEquals(1, ref.getNodeLocations().length);
+		}
+	}
+
+	//	int waldo;
+	//	struct S { int waldo; };
+	//	int f(struct S s) {
+	//		return waldo + s.waldo;
+	//	}
+	public void testIdentifiersAreShared() throws Exception {
+		for (ParserLanguage lang : new ParserLanguage[] { C, CPP }) {
+			IASTTranslationUnit tu = parse(getAboveComment(), lang);
+			IASTName[] names = collectNames(tu);
+			IASTName decl = names[0];
+			IASTName member = names[2];
+			IASTName ref = names[names.length - 3];
+			assertEquals("waldo", decl.toString());
+			assertSame(decl.toCharArray(), member.toCharArray());
+			assertSame(decl.toCharArray(), ref.toCharArray());
+
+			assertSame(decl.resolveBinding(), ref.resolveBinding());
+			assertNotSame(decl.resolveBinding(), member.resolveBinding());
+			assertInstance(member.resolveBinding(), IVariable.class);
+		}
+	}
+}
@@ -18,6 +18,8 @@ import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTImageLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroExpansion;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.parser.ParserLanguage;
 
@@ -105,6 +107,26 @@ public class ImageLocationTests extends AST2TestBase {
 		assertLocation(MACRO, code, "result1", 0, loc);
 	}
 
+	// #define M result
+	// #define N M
+	// int N;
+	// int N;
+	public void testRepeatedIndirectMacroLocation() throws Exception {
+		String code = getContents(1)[0].toString();
+		IASTTranslationUnit tu = parse(code, ParserLanguage.CPP);
+
+		for (IASTDeclaration declaration : tu.getDeclarations()) {
+			IASTName name = getName(declaration);
+			IASTImageLocation loc = name.getImageLocation();
+			assertLocation(MACRO, code, "result", 0, loc);
+		}
+		IASTPreprocessorMacroDefinition m = tu.getMacroDefinitions()[0];
+		assertEquals(2, tu.getReferences(m.getName().resolveBinding()).length);
+		for (IASTPreprocessorMacroExpansion expansion : tu.getMacroExpansions()) {
+			assertEquals(1, expansion.getNestedMacroReferences().length);
+		}
+	}
+
 	private void assertLocation(int kind, String code, String name, int extra, IASTImageLocation loc) {
 		assertNotNull(loc);
 		assertEquals(kind, loc.getLocationKind());
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import static org.eclipse.cdt.core.parser.ParserLanguage.CPP;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarationStatement;
+import org.eclipse.cdt.core.dom.ast.IASTEqualsInitializer;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTInitializerList;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.AbstractGNUSourceCodeParser;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTLazyFunctionBody;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for function bodies that are parsed on demand.
+ */
+public class LazyFunctionBodyTests extends AST2CPPTestBase {
+
+	public LazyFunctionBodyTests() {
+	}
+
+	public LazyFunctionBodyTests(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(LazyFunctionBodyTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		// Copies of the bodies are parsed compound statements.
+		sValidateCopy = false;
+	}
+
+	@Override
+	protected void configureParser(AbstractGNUSourceCodeParser parser) {
+		((GNUCPPSourceParser) parser).setLazyFunctionBodies(true);
+	}
+
+	private IASTTranslationUnit parseWithoutVisitingBodies(String code) throws Exception {
+		return parse(code, CPP, ScannerKind.STD, false);
+	}
+
+	//	int g;
+	//	void f() {
+	//		int x = g;
+	//		g = x + 1;
+	//	}
+	public void testBodyIsParsedOnDemand() throws Exception {
+		IASTTranslationUnit tu = parseWithoutVisitingBodies(getAboveComment());
+		IASTFunctionDefinition fdef = (IASTFunctionDefinition) tu.getDeclarations()[1];
+		CPPASTLazyFunctionBody body = (CPPASTLazyFunctionBody) fdef.getBody();
+		assertFalse(body.isParsed());
+
+		IASTStatement[] statements = body.getStatements();
+		assertTrue(body.isParsed());
+		assertEquals(2, statements.length);
+		for (IASTStatement statement : statements) {
+			assertSame(body, statement.getParent());
+			assertSame(IASTCompoundStatement.NESTED_STATEMENT, statement.getPropertyInParent());
+			assertTrue(((ASTNode) statement).isFrozen());
+		}
+		assertEquals("int x = g;", statements[0].getRawSignature());
+	}
+
+	//	int g;
+	//	void f() {
+	//		g = 1;
+	//		g = 2;
+	//	}
+	public void testBodyIsParsedOnce() throws Exception {
+		IASTTranslationUnit tu = parseWithoutVisitingBodies(getAboveComment());
+		IASTFunctionDefinition fdef = (IASTFunctionDefinition) tu.getDeclarations()[1];
+		CPPASTLazyFunctionBody body = (CPPASTLazyFunctionBody) fdef.getBody();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<IASTStatement[]>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(body::getStatements));
+			}
+			IASTStatement[] statements = results.get(0).get();
+			assertEquals(2, statements.length);
+			for (Future<IASTStatement[]> result : results) {
+				assertSame(statements[0], result.get()[0]);
+				assertSame(statements[1], result.get()[1]);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	//	void f() {}
+	//	void g() { f(); }
+	public void testFreezingDoesNotParseBodies() throws Exception {
+		IASTTranslationUnit tu = parseWithoutVisitingBodies(getAboveComment());
+		assertTrue(tu.isFrozen());
+		for (IASTDeclaration declaration : tu.getDeclarations()) {
+			IASTStatement body = ((IASTFunctionDefinition) declaration).getBody();
+			assertFalse(((CPPASTLazyFunctionBody) body).isParsed());
+		}
+	}
+
+	//	struct A {
+	//		int a;
+	//		int get() const { return a; }
+	//	};
+	//	template<typename T> T id(T t) { return t; }
+	//	typedef int I;
+	//	void f(A& x) {
+	//		I(y);
+	//		I * z;
+	//		int w = (I) id(x.get());
+	//		auto l = [&](int u) { return u + w; };
+	//		l(y);
+	//	}
+	public void testBindingsInBodies() throws Exception {
+		parseAndCheckBindings();
+	}
+
+	//	constexpr int twice(int x) { return x * 2; }
+	//	constexpr int v = twice(21);
+	public void testConstexprFunctionBody() throws Exception {
+		getAssertionHelper().assertVariableValue("v", 42);
+	}
+
+	//	auto f() { return 1.0; }
+	//	decltype(f()) x;
+	public void testDeducedReturnType() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		helper.assertVariableType("x", CommonCPPTypes.double_);
+		ICPPFunction f = helper.assertNonProblem("f()", 1);
+		assertSameType(CommonCPPTypes.double_, f.getType().getReturnType());
+	}
+
+	//	void f() {
+	//		int a[] = { 1, 2, 3 };
+	//	}
+	//	void g() {
+	//		int a[] = { 1, 2, 3, 4, 5 };
+	//	}
+	public void testTrivialExpressionsInAggregateInitializers() throws Exception {
+		IASTTranslationUnit tu = parse(getAboveComment(), CPP, ScannerKind.STD, false, 3);
+		IASTFunctionDefinition f = (IASTFunctionDefinition) tu.getDeclarations()[0];
+		assertFalse(((CPPASTLazyFunctionBody) f.getBody()).isParsed());
+		assertEquals(3, getInitializerList(f).getClauses().length);
+
+		// A body that may omit clauses is parsed right away, such that the AST reports the omission
+		IASTFunctionDefinition g = (IASTFunctionDefinition) tu.getDeclarations()[1];
+		assertFalse(g.getBody() instanceof CPPASTLazyFunctionBody);
+		IASTInitializerList list = getInitializerList(g);
+		assertEquals(3, list.getClauses().length);
+		assertEquals(5, list.getSize());
+		assertTrue(tu.hasNodesOmitted());
+	}
+
+	private static IASTInitializerList getInitializerList(IASTFunctionDefinition fdef) {
+		IASTStatement[] statements = ((IASTCompoundStatement) fdef.getBody()).getStatements();
+		IASTSimpleDeclaration declaration = (IASTSimpleDeclaration) ((IASTDeclarationStatement) statements[0])
+				.getDeclaration();
+		IASTEqualsInitializer initializer = (IASTEqualsInitializer) declaration.getDeclarators()[0].getInitializer();
+		return (IASTInitializerList) initializer.getInitializerClause();
+	}
+}
@@ -64,6 +64,14 @@ public abstract class FunctionTests extends TestBase {
 		assertEvaluationEquals(55);
 	}
 
+	// constexpr int fib(int n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }
+
+	// constexpr int x = fib(25);
+	public void testRecursionWithRepeatedCalls() throws Exception {
+		// Without memoization of the calls the evaluation exceeds the step limit.
+		assertEvaluationEquals(75025);
+	}
+
 	// constexpr int helper(int n) {
 	//   int m = 5;
 	//   return m + n;
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the cache of directory listings used to resolve includes.
+ */
+public class DirectoryListingCacheTests extends BaseTestCase {
+	private File fDir;
+	private DirectoryListingCache fCache;
+
+	public static TestSuite suite() {
+		return suite(DirectoryListingCacheTests.class);
+	}
+
+	public DirectoryListingCacheTests() {
+		super();
+	}
+
+	public DirectoryListingCacheTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fDir = Files.createTempDirectory("listings").toFile();
+		fCache = new DirectoryListingCache(DirectoryListingCache.DEFAULT_MAX_WATCHED,
+				DirectoryListingCache.DEFAULT_MAX_LISTINGS);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fCache.dispose();
+		delete(fDir);
+		super.tearDown();
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private String path(String name) {
+		return new File(fDir, name).getPath();
+	}
+
+	private File createFile(String name) throws Exception {
+		File file = new File(fDir, name);
+		assertTrue(file.createNewFile());
+		return file;
+	}
+
+	public void testFilesAndDirectories() throws Exception {
+		createFile("a.h");
+		assertTrue(new File(fDir, "sub").mkdir());
+
+		assertTrue(fCache.exists(path("a.h"), false));
+		assertTrue(fCache.isFile(path("a.h"), false));
+		assertTrue(fCache.exists(path("sub"), false));
+		assertFalse(fCache.isFile(path("sub"), false));
+		assertFalse(fCache.exists(path("b.h"), false));
+		assertFalse(fCache.isFile(path("b.h"), false));
+		assertFalse(fCache.isFile(path("missing/a.h"), false));
+		assertEquals(2, fCache.getListed());
+	}
+
+	public void testIgnoreCase() throws Exception {
+		createFile("Header.h");
+		assertTrue(fCache.isFile(path("Header.h"), false));
+		assertTrue(fCache.isFile(path("header.H"), true));
+		assertFalse(fCache.isFile(path("header.h"), false));
+	}
+
+	public void testExistsLikeFileSystem() throws Exception {
+		createFile("Header.h");
+		assertTrue(fCache.exists(path("Header.h")));
+		assertFalse(fCache.exists(path("Missing.h")));
+		// Whether the name in another case is found depends on the file system of the directory.
+		boolean caseInsensitive = new File(fDir, "header.h").exists();
+		assertEquals(caseInsensitive, fCache.exists(path("header.h")));
+		assertEquals(caseInsensitive, fCache.exists(path("HEADER.H")));
+		assertEquals(1, fCache.getListed());
+	}
+
+	public void testInvalidate() throws Exception {
+		DirectoryListingCache cache = new DirectoryListingCache(0, DirectoryListingCache.DEFAULT_MAX_LISTINGS);
+		try {
+			assertFalse(cache.isFile(path("a.h"), false));
+			createFile("a.h");
+			cache.invalidate(fDir.getPath());
+			assertTrue(cache.isFile(path("a.h"), false));
+			assertEquals(2, cache.getListed());
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	public void testWatchedDirectory() throws Exception {
+		assertFalse(fCache.isFile(path("a.h"), false));
+		if (fCache.getWatchedDirectoryCount() == 0)
+			return; // No native watch service on this platform.
+
+		createFile("a.h");
+		long end = System.currentTimeMillis() + 10000;
+		while (!fCache.isFile(path("a.h"), false) && System.currentTimeMillis() < end) {
+			Thread.sleep(20);
+		}
+		assertTrue(fCache.isFile(path("a.h"), false));
+	}
+
+	public void testListingIsWatchedAfterEviction() throws Exception {
+		DirectoryListingCache cache = new DirectoryListingCache(DirectoryListingCache.DEFAULT_MAX_WATCHED, 1);
+		try {
+			assertTrue(new File(fDir, "sub").mkdir());
+			assertFalse(cache.isFile(path("sub/a.h"), false));
+			if (cache.getWatchedDirectoryCount() == 0)
+				return; // No native watch service on this platform.
+
+			// The listing of 'sub' is evicted, the directory listed now remains watched.
+			assertFalse(cache.isFile(path("a.h"), false));
+			assertEquals(1, cache.size());
+			assertEquals(1, cache.getWatchedDirectoryCount());
+
+			createFile("a.h");
+			long end = System.currentTimeMillis() + 10000;
+			while (!cache.isFile(path("a.h"), false) && System.currentTimeMillis() < end) {
+				Thread.sleep(20);
+			}
+			assertTrue(cache.isFile(path("a.h"), false));
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	public void testUnwatchedDirectoryIsValidated() throws Exception {
+		DirectoryListingCache cache = new DirectoryListingCache(0, DirectoryListingCache.DEFAULT_MAX_LISTINGS);
+		try {
+			createFile("a.h");
+			assertTrue(cache.isFile(path("a.h"), false));
+			assertTrue(cache.isFile(path("a.h"), false));
+			assertEquals(1, cache.getListed());
+			assertEquals(0, cache.getWatchedDirectoryCount());
+
+			createFile("b.h");
+			fDir.setLastModified(fDir.lastModified() + 10000);
+			long end = System.currentTimeMillis() + 2 * DirectoryListingCache.UNWATCHED_VALIDITY_MS;
+			while (!cache.isFile(path("b.h"), false) && System.currentTimeMillis() < end) {
+				Thread.sleep(50);
+			}
+			assertTrue(cache.isFile(path("b.h"), false));
+			assertEquals(2, cache.getListed());
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	public void testSaveAndLoad() throws Exception {
+		createFile("a.h");
+		assertTrue(new File(fDir, "sub").mkdir());
+		assertTrue(fCache.isFile(path("a.h"), false));
+		assertFalse(fCache.isFile(path("sub"), false));
+
+		File data = new File(fDir.getParentFile(), fDir.getName() + ".dat");
+		try {
+			fCache.save(data);
+			DirectoryListingCache loaded = new DirectoryListingCache(0, DirectoryListingCache.DEFAULT_MAX_LISTINGS);
+			try {
+				loaded.load(data);
+				assertEquals(1, loaded.size());
+				assertTrue(loaded.isFile(path("a.h"), false));
+				assertFalse(loaded.isFile(path("sub"), false));
+				assertEquals(0, loaded.getListed());
+			} finally {
+				loaded.dispose();
+			}
+
+			// A listing that is outdated when it is loaded is read again.
+			createFile("b.h");
+			fDir.setLastModified(fDir.lastModified() + 10000);
+			loaded = new DirectoryListingCache(0, DirectoryListingCache.DEFAULT_MAX_LISTINGS);
+			try {
+				loaded.load(data);
+				assertTrue(loaded.isFile(path("b.h"), false));
+				assertEquals(1, loaded.getListed());
+			} finally {
+				loaded.dispose();
+			}
+		} finally {
+			data.delete();
+		}
+	}
+}
@@ -24,6 +24,8 @@ import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.MappedFileCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.StreamHasher;
 
 import junit.framework.TestSuite;
 
@@ -66,16 +68,83 @@ public class FileCharArrayTests extends BaseTestCase {
 		testFile(false, LazyCharArray.CHUNK_SIZE * 3 + 1);
 	}
 
+	public void testMappedAscii() throws IOException {
+		createFile(true, LazyCharArray.CHUNK_SIZE * 3 + 1);
+		AbstractCharArray charArray = createCharArray(true);
+		assertTrue(charArray instanceof MappedFileCharArray);
+		assertTrue(((MappedFileCharArray) charArray).isAscii());
+		assertEquals(LazyCharArray.CHUNK_SIZE * 3 + 1, charArray.tryGetLength());
+		checkMapped(charArray, LazyCharArray.CHUNK_SIZE * 3 + 1);
+	}
+
+	public void testMappedNonAscii() throws IOException {
+		createFile(false, LazyCharArray.CHUNK_SIZE * 3);
+		AbstractCharArray charArray = createCharArray(true);
+		assertTrue(charArray instanceof MappedFileCharArray);
+		assertFalse(((MappedFileCharArray) charArray).isAscii());
+		assertEquals(-1, charArray.tryGetLength());
+		checkMapped(charArray, LazyCharArray.CHUNK_SIZE * 3);
+	}
+
+	public void testMappedNonAsciiAtEnd() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 2;
+		fFile = File.createTempFile("data", ".txt");
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fFile))) {
+			// Byte order mark.
+			out.write(0xef);
+			out.write(0xbb);
+			out.write(0xbf);
+			for (int i = 0; i < charSize - 1; i++) {
+				out.write(i % 127);
+			}
+			out.write(0xc2);
+			out.write(0xa2);
+		}
+		AbstractCharArray charArray = createCharArray(true, "UTF-8");
+		assertTrue(charArray instanceof MappedFileCharArray);
+		checkContent(charArray, 0, charSize - 1);
+		assertEquals('\u00a2', charArray.get(charSize - 1));
+		assertTrue(charArray.isValidOffset(charSize - 1));
+		assertFalse(charArray.isValidOffset(charSize));
+		assertEquals(charSize, charArray.getLength());
+		char[] dest = new char[2];
+		charArray.arraycopy(charSize - 2, dest, 0, 2);
+		assertEquals((charSize - 2) % 127, dest[0]);
+		assertEquals('\u00a2', dest[1]);
+
+		// Like FileCharArray, the byte order mark is skipped for the canonical name of UTF-8, only.
+		charArray = createCharArray(true, "utf-8");
+		AbstractCharArray lazy = createCharArray(false, "utf-8");
+		assertEquals('\ufeff', charArray.get(0));
+		assertEquals(lazy.get(0), charArray.get(0));
+		assertEquals(lazy.getLength(), charArray.getLength());
+	}
+
+	private void checkMapped(AbstractCharArray charArray, int charSize) throws IOException {
+		checkContent(charArray, 1, charSize);
+		assertEquals(charSize, charArray.getLength());
+
+		AbstractCharArray lazy = createCharArray(false);
+		assertTrue(lazy instanceof LazyCharArray);
+		assertEquals(lazy.get(0), charArray.get(0));
+		assertEquals(lazy.getContentsHash(), charArray.getContentsHash());
+		assertEquals(StreamHasher.hash(lazy.toString()), charArray.getContentsHash());
+	}
+
+	private AbstractCharArray createCharArray(boolean mapFile) throws IOException {
+		return createCharArray(mapFile, "utf-8");
+	}
+
+	private AbstractCharArray createCharArray(boolean mapFile, String charSet) throws IOException {
+		try (FileInputStream inputStream = new FileInputStream(fFile)) {
+			return FileCharArray.create(fFile.getPath(), charSet, inputStream, mapFile);
+		}
+	}
+
 	private void testFile(boolean aligned, int charSize) throws IOException {
 		createFile(aligned, charSize);
 
-		AbstractCharArray charArray;
-		final FileInputStream inputStream = new FileInputStream(fFile);
-		try {
-			charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream);
-		} finally {
-			inputStream.close();
-		}
+		AbstractCharArray charArray = createCharArray(false);
 
 		checkContent(charArray, LazyCharArray.CHUNK_SIZE, charSize);
 		assertEquals(charSize, charArray.getLength());
@@ -1363,4 +1363,44 @@ public class PreprocessorTests extends PreprocessorTestsBase {
 		validateProblem(0, IProblem.SCANNER_CONSTANT_WITH_BAD_SUFFIX, "ASDF");
 		validateProblem(1, IProblem.SCANNER_CONSTANT_WITH_BAD_SUFFIX, "xU");
 	}
+
+	// #define B 1
+	// #define A B
+	// A
+	// #undef B
+	// A
+	// #define B 2
+	// A
+	public void testRepeatedExpansionAfterRedefinition() throws Exception {
+		initializeScanner();
+		validateInteger("1");
+		validateIdentifier("B");
+		validateInteger("2");
+		validateEOF();
+		validateProblemCount(0);
+	}
+
+	// #define F(x) x
+	// #define A F
+	// A(1) A; A(2)
+	public void testRepeatedExpansionDependingOnContext() throws Exception {
+		initializeScanner();
+		validateInteger("1");
+		validateIdentifier("F");
+		validateToken(IToken.tSEMI);
+		validateInteger("2");
+		validateEOF();
+		validateProblemCount(0);
+	}
+
+	// #define L __LINE__
+	// L
+	// L
+	public void testRepeatedExpansionOfDynamicMacro() throws Exception {
+		initializeScanner();
+		validateInteger("2");
+		validateInteger("3");
+		validateEOF();
+		validateProblemCount(0);
+	}
 }
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenBuffer;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenList;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the packed representation of token sequences.
+ */
+public class TokenBufferTests extends BaseTestCase {
+
+	public static TestSuite suite() {
+		return suite(TokenBufferTests.class);
+	}
+
+	public TokenBufferTests() {
+		super();
+	}
+
+	public TokenBufferTests(String name) {
+		super(name);
+	}
+
+	private TokenList lex(String input) throws Exception {
+		Lexer lexer = new Lexer(input.toCharArray(), new LexerOptions(), ILexerLog.NULL, null);
+		TokenList result = new TokenList();
+		for (Token t = lexer.nextToken(); t.getType() != IToken.tEND_OF_INPUT; t = lexer.nextToken()) {
+			result.append(t);
+		}
+		return result;
+	}
+
+	public void testRoundTrip() throws Exception {
+		final String input = "a + 12 <: %: \"str\" 'c' x ## y ... ::";
+		TokenList tokens = lex(input);
+		TokenBuffer buffer = new TokenBuffer(tokens, -2);
+		Object source = new Object();
+		TokenList copy = buffer.toTokenList(source);
+
+		int i = 0;
+		Token c = copy.first();
+		for (Token t = tokens.first(); t != null; t = (Token) t.getNext(), c = (Token) c.getNext(), i++) {
+			assertNotNull(c);
+			assertNotSame(t, c);
+			assertEquals(t.getClass(), c.getClass());
+			assertEquals(t.getType(), c.getType());
+			assertEquals(t.getType(), buffer.getKind(i));
+			assertEquals(t.getOffset() - 2, c.getOffset());
+			assertEquals(t.getEndOffset() - 2, buffer.getEndOffset(i));
+			assertEquals(t.getImage(), c.getImage());
+			assertEquals(t.getImage(), new String(buffer.getCharImage(i)));
+			assertEquals(-1, buffer.getParameterIndex(i));
+		}
+		assertNull(c);
+		assertEquals(i, buffer.size());
+		assertEquals(-1, buffer.getKindOrNone(-1));
+		assertEquals(-1, buffer.getKindOrNone(i));
+
+		// Each call creates new tokens.
+		assertNotSame(copy.first(), buffer.toTokenList(source).first());
+	}
+
+	public void testEmpty() throws Exception {
+		TokenBuffer buffer = new TokenBuffer(new TokenList(), 0);
+		assertTrue(buffer.isEmpty());
+		assertTrue(buffer.toTokenList(null).isEmpty());
+		assertTrue(TokenBuffer.EMPTY.isEmpty());
+	}
+}
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.LexedTokens;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenCache;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for recording and replaying the output of the lexer.
+ */
+public class TokenCacheTests extends BaseTestCase {
+	private static final String[] INPUTS = { "", "int a;\n", "#include <stdio.h>\n#include \"a.h\" // comment\nint x;",
+			"/* block */ a /* unterminated", "a \\\n b ??= ??/\n c", "x = 'a' + '\\n' + \"str\\\"\" + L\"w\";",
+			"\"unterminated\nchar c = 'x", "a <: b :> <% %> %: %:%:", "#define M(x) x ## x\n#if M(1)\n#endif\n",
+			"1.0e+10 0x1F 07 .5f 10ul", "a\r\nb\rc\n", "#include <a // b>\n#include \"c /* d\" */\n",
+			"#include <a\"b>\"\nint y;", "#include NAME\n# include <x.h>\n#\tinclude \"y.h\" z\n", "@ $ ` \\",
+			"R\"x(raw\n)x\" u8\"utf\" U'c'" };
+
+	public static TestSuite suite() {
+		return suite(TokenCacheTests.class);
+	}
+
+	public TokenCacheTests() {
+		super();
+	}
+
+	public TokenCacheTests(String name) {
+		super(name);
+	}
+
+	private static class EventLog implements ILexerLog {
+		final List<String> fEvents = new ArrayList<>();
+
+		@Override
+		public void handleComment(boolean isBlockComment, int offset, int endOffset, AbstractCharArray input) {
+			fEvents.add("comment " + isBlockComment + " " + offset + "-" + endOffset);
+		}
+
+		@Override
+		public void handleProblem(int problemID, char[] info, int offset, int endOffset) {
+			fEvents.add("problem " + problemID + " " + new String(info) + " " + offset + "-" + endOffset);
+		}
+	}
+
+	/**
+	 * Drives the lexer like the preprocessor, optionally switching to the include directive mode
+	 * for the name of included files.
+	 */
+	private List<String> lex(AbstractCharArray input, LexerOptions options, LexedTokens replay,
+			List<LexedTokens> record, boolean includeMode) throws Exception {
+		EventLog log = new EventLog();
+		Lexer lexer = new Lexer(input, options, log, null);
+		if (replay != null)
+			lexer.replay(replay);
+		if (record != null)
+			lexer.startRecording(record::add);
+		IToken t;
+		do {
+			t = lexer.nextToken();
+			if (includeMode && t.getType() == IToken.tPOUND && lexer.currentTokenIsFirstOnLine()) {
+				t = lexer.nextToken();
+				log.fEvents.add(toString(t));
+				if ("include".equals(t.getImage())) {
+					lexer.setInsideIncludeDirective(true);
+					t = lexer.nextToken();
+					lexer.setInsideIncludeDirective(false);
+				}
+			}
+			log.fEvents.add(toString(t));
+		} while (t.getType() != IToken.tEND_OF_INPUT);
+		return log.fEvents;
+	}
+
+	private static String toString(IToken t) {
+		return t.getClass().getSimpleName() + " " + t.getType() + " " + t.getOffset() + "-" + t.getEndOffset() + " "
+				+ t.getImage();
+	}
+
+	private LexedTokens record(AbstractCharArray input, LexerOptions options, boolean includeMode) throws Exception {
+		List<LexedTokens> recorded = new ArrayList<>();
+		lex(input, options, null, recorded, includeMode);
+		assertEquals(1, recorded.size());
+		return recorded.get(0);
+	}
+
+	private void checkReplay(boolean recordInIncludeMode, boolean replayInIncludeMode) throws Exception {
+		LexerOptions options = new LexerOptions();
+		options.fSupportRawStringLiterals = true;
+		for (String text : INPUTS) {
+			CharArray input = new CharArray(text);
+			LexedTokens tokens = record(input, options, recordInIncludeMode);
+			List<String> expected = lex(input, options, null, null, replayInIncludeMode);
+			assertEquals(text, expected, lex(input, options, tokens, null, replayInIncludeMode));
+		}
+	}
+
+	public void testReplay() throws Exception {
+		checkReplay(false, false);
+		checkReplay(true, true);
+	}
+
+	public void testReplayWithDifferentIncludeMode() throws Exception {
+		checkReplay(false, true);
+		checkReplay(true, false);
+	}
+
+	public void testContentAssistDisablesRecording() throws Exception {
+		Lexer lexer = new Lexer("a b".toCharArray(), new LexerOptions(), ILexerLog.NULL, null);
+		List<LexedTokens> recorded = new ArrayList<>();
+		lexer.startRecording(recorded::add);
+		lexer.setContentAssistMode(3);
+		while (lexer.nextToken().getType() != IToken.tEND_OF_INPUT) {
+		}
+		assertTrue(recorded.isEmpty());
+	}
+
+	public void testRecordingWithLookahead() throws Exception {
+		LexerOptions options = new LexerOptions();
+		options.fSupportRawStringLiterals = true;
+		for (String text : INPUTS) {
+			CharArray input = new CharArray(text);
+			List<LexedTokens> recorded = new ArrayList<>();
+			Lexer lexer = new Lexer(input, options, ILexerLog.NULL, null);
+			lexer.startRecording(recorded::add);
+			// Look ahead two tokens before every token, like the detection of include guards.
+			while (lexer.currentToken().getType() != IToken.tEND_OF_INPUT) {
+				lexer.saveState();
+				lexer.nextToken();
+				lexer.nextToken();
+				lexer.restoreState();
+				lexer.nextToken();
+			}
+			assertEquals(text, 1, recorded.size());
+			assertEquals(text, lex(input, options, null, null, false),
+					lex(input, options, recorded.get(0), null, false));
+		}
+	}
+
+	public void testPersistence() throws Exception {
+		File dir = Files.createTempDirectory("tokens").toFile();
+		try {
+			LexerOptions options = new LexerOptions();
+			TokenCache cache = new TokenCache(dir, 1024 * 1024);
+			for (String text : INPUTS) {
+				CharArray input = new CharArray(text);
+				assertNull(cache.get(input, options));
+				cache.put(input, options, record(input, options, false));
+			}
+
+			// A new cache reads the recordings from disk.
+			cache = new TokenCache(dir, 1024 * 1024);
+			for (String text : INPUTS) {
+				CharArray input = new CharArray(text);
+				LexedTokens tokens = cache.get(input, options);
+				assertNotNull(text, tokens);
+				assertEquals(text, lex(input, options, null, null, true), lex(input, options, tokens, null, true));
+			}
+			assertEquals(INPUTS.length, cache.getHits());
+
+			LexerOptions other = new LexerOptions();
+			other.fSupportDigitSeparators = true;
+			assertNull(cache.get(new CharArray(INPUTS[1]), other));
+			assertNull(cache.get(new CharArray("int b;\n"), options));
+			assertEquals(2, cache.getMisses());
+
+			cache.clear();
+			assertEquals(0, dir.listFiles().length);
+		} finally {
+			for (File file : dir.listFiles()) {
+				file.delete();
+			}
+			dir.delete();
+		}
+	}
+
+	public void testPrune() throws Exception {
+		File dir = Files.createTempDirectory("tokens").toFile();
+		try {
+			LexerOptions options = new LexerOptions();
+			TokenCache cache = new TokenCache(dir, 4096);
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < 100; i++) {
+				text.append("int a").append(i).append(" = ").append(i).append(";\n");
+				CharArray input = new CharArray(text.toString());
+				cache.put(input, options, record(input, options, false));
+			}
+			long size = 0;
+			for (File file : dir.listFiles()) {
+				size += file.length();
+			}
+			assertTrue(size <= 4096);
+		} finally {
+			for (File file : dir.listFiles()) {
+				file.delete();
+			}
+			dir.delete();
+		}
+	}
+}
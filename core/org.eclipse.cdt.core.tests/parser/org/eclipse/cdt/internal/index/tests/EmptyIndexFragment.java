@@ -208,6 +208,10 @@ public class EmptyIndexFragment implements IIndexFragment {
 	public void clearResultCache() {
 	}
 
+	@Override
+	public void clearResultCache(int linkageID) {
+	}
+
 	@Override
 	public IIndexScope[] getInlineNamespaces() {
 		return IIndexScope.EMPTY_INDEX_SCOPE_ARRAY;
@@ -2560,4 +2560,69 @@ public abstract class IndexCPPBindingResolutionTest extends IndexBindingResoluti
 		IVariable isNoexcept = getBindingFromASTName("is_noexcept", 11);
 		assertEquals(1, isNoexcept.getInitialValue().numberValue().longValue());
 	}
+
+	//	struct Base {
+	//	    int inherited;
+	//	};
+	//	struct Huge : Base {
+	//	    int m0;
+	//	    int m1;
+	//	    int m2;
+	//	    int m3;
+	//	    int m4;
+	//	    int m5;
+	//	    int m6;
+	//	    int m7;
+	//	    int m8;
+	//	    int m9;
+	//	    int m10;
+	//	    int m11;
+	//	    int m12;
+	//	    int m13;
+	//	    int m14;
+	//	    int m15;
+	//	    int m16;
+	//	    int m17;
+	//	    int m18;
+	//	    int m19;
+	//	    int m20;
+	//	    int m21;
+	//	    int m22;
+	//	    int m23;
+	//	    int m24;
+	//	    int m25;
+	//	    int m26;
+	//	    int m27;
+	//	    int m28;
+	//	    int m29;
+	//	    int m30;
+	//	    int m31;
+	//	    int m32;
+	//	    int m33;
+	//	    int m34;
+	//	    int m35;
+	//	    int m36;
+	//	    int m37;
+	//	    int m38;
+	//	    int m39;
+	//	    struct {
+	//	        union {
+	//	            int nested;
+	//	            float alternative;
+	//	        };
+	//	    };
+	//	};
+
+	//	int test(Huge& h) {
+	//	    return h.m0 + h.m17 + h.m39 + h.nested + h.alternative + h.inherited;
+	//	}
+	public void testMemberLookupInLargeClass() throws Exception {
+		checkBindings();
+		ICPPField m39 = getBindingFromASTName("m39", 3);
+		assertEquals("Huge", m39.getClassOwner().getName());
+		ICPPField inherited = getBindingFromASTName("inherited", 9);
+		assertEquals("Base", inherited.getClassOwner().getName());
+		getBindingFromASTName("nested", 6, ICPPField.class);
+		getBindingFromASTName("alternative", 11, ICPPField.class);
+	}
 }
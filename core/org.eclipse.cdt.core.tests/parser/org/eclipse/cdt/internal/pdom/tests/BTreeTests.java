@@ -15,10 +15,12 @@
 package org.eclipse.cdt.internal.pdom.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -120,6 +122,147 @@ public class BTreeTests extends BaseTestCase5 {
 		}
 	}
 
+	/**
+	 * Inserting a record equivalent to the median of a full node must not add a duplicate.
+	 */
+	@Test
+	public void testEquivalentMedianInsert() throws Exception {
+		init(2);
+		try {
+			BTMockRecord[] values = new BTMockRecord[3];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = new BTMockRecord(db, i);
+				btree.insert(values[i].getRecord());
+			}
+			BTMockRecord median = new BTMockRecord(db, 1);
+			assertEquals(values[1].getRecord(), btree.insert(median.getRecord()));
+			assertBTreeMatchesSortedSet("", btree, new TreeSet<>(Arrays.asList(0, 1, 2)));
+			assertBTreeInvariantsHold("");
+		} finally {
+			finish();
+		}
+	}
+
+	/**
+	 * Bulk load sorted records of various numbers into B-trees of various degrees and check that
+	 * the trees can be modified afterwards.
+	 */
+	@Test
+	public void testBulkLoad() throws Exception {
+		Random random = new Random(4711);
+		for (int degree = 2; degree <= 10; degree += 4) {
+			for (int size : new int[] { 0, 1, 2, 3, 17, 100, 1234, 20000 }) {
+				init(degree);
+				try {
+					SortedSet<Integer> expected = new TreeSet<>();
+					long[] records = new long[size];
+					for (int i = 0; i < size; i++) {
+						int value = random.nextInt(Integer.MAX_VALUE);
+						expected.add(value);
+						records[i] = new BTMockRecord(db, value).getRecord();
+					}
+					BTree.sort(records, size, comparator);
+					btree.bulkLoad(Arrays.stream(records).iterator());
+					String msg = "[degree " + degree + ", size " + size + "] ";
+					assertBTreeMatchesSortedSet(msg, btree, expected);
+					assertBTreeInvariantsHold(msg);
+
+					for (int i = 0; i < size / 2; i++) {
+						btree.delete(records[random.nextInt(size)]);
+					}
+					for (int i = 0; i < size / 2; i++) {
+						btree.insert(new BTMockRecord(db, random.nextInt(Integer.MAX_VALUE)).getRecord());
+					}
+					assertBTreeInvariantsHold(msg);
+				} finally {
+					finish();
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testBulkLoadUnsorted() throws Exception {
+		init(8);
+		try {
+			long[] records = { new BTMockRecord(db, 2).getRecord(), new BTMockRecord(db, 1).getRecord() };
+			assertThrows(IllegalArgumentException.class, () -> btree.bulkLoad(Arrays.stream(records).iterator()));
+		} finally {
+			finish();
+		}
+	}
+
+	@Test
+	public void testBulkLoadNonEmpty() throws Exception {
+		init(8);
+		try {
+			btree.insert(new BTMockRecord(db, 1).getRecord());
+			long[] records = { new BTMockRecord(db, 2).getRecord() };
+			assertThrows(IllegalStateException.class, () -> btree.bulkLoad(Arrays.stream(records).iterator()));
+		} finally {
+			finish();
+		}
+	}
+
+	/**
+	 * Repacking a B-tree built by random insertions and deletions keeps its content and reduces
+	 * the number of nodes.
+	 */
+	@Test
+	public void testRepack() throws Exception {
+		Random random = new Random(1234);
+		init(8);
+		try {
+			SortedSet<Integer> expected = new TreeSet<>();
+			List<BTMockRecord> history = new ArrayList<>();
+			for (int i = 0; i < 20000; i++) {
+				if (history.isEmpty() || random.nextInt(4) != 0) {
+					int value = random.nextInt(Integer.MAX_VALUE);
+					if (expected.add(value)) {
+						BTMockRecord btValue = new BTMockRecord(db, value);
+						history.add(btValue);
+						btree.insert(btValue.getRecord());
+					}
+				} else {
+					BTMockRecord btValue = history.remove(random.nextInt(history.size()));
+					expected.remove(btValue.intValue());
+					btree.delete(btValue.getRecord());
+				}
+			}
+			int nodesBefore = countNodes();
+			btree.repack();
+			assertBTreeMatchesSortedSet("[repacked] ", btree, expected);
+			assertBTreeInvariantsHold("[repacked] ");
+			int nodesAfter = countNodes();
+			if (nodesAfter >= nodesBefore) {
+				fail("Repacking did not reduce the number of nodes: " + nodesBefore + " -> " + nodesAfter);
+			}
+		} finally {
+			finish();
+		}
+	}
+
+	private int countNodes() throws CoreException {
+		final int[] count = new int[1];
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				return true;
+			}
+
+			@Override
+			public void preVisit(long record) throws CoreException {
+				count[0]++;
+			}
+		});
+		return count[0];
+	}
+
 	/**
 	 * Insert/Delete a random number of records into/from the B-tree
 	 * @param seed the seed for obtaining the deterministic random testing
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.ConcurrentSourceParser;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ConcurrentSourceParser}.
+ */
+public class ConcurrentSourceParserTests extends BaseTestCase5 {
+	private static final long TIMEOUT = 10000;
+
+	private static class Source {
+		final int fNumber;
+		volatile String fThread;
+
+		Source(int number) {
+			fNumber = number;
+		}
+	}
+
+	private static class TestParser extends ConcurrentSourceParser<Source> {
+		TestParser(int threadCount, List<Source> sources, long timeout) {
+			super("Test Parser", threadCount, sources, timeout);
+		}
+
+		@Override
+		protected IThreadParser<Source> createThreadParser() {
+			return (source, monitor) -> parse(source);
+		}
+
+		void parse(Source source) throws InterruptedException {
+			source.fThread = Thread.currentThread().getName();
+		}
+	}
+
+	private static List<Source> createSources(int count) {
+		List<Source> sources = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			sources.add(new Source(i));
+		}
+		return sources;
+	}
+
+	@Test
+	public void testAllSourcesAreParsed() throws Exception {
+		List<Source> sources = createSources(50);
+		TestParser parser = new TestParser(4, sources, TIMEOUT);
+		Set<Source> taken = new HashSet<>();
+		try {
+			parser.start();
+			for (int i = 0; i < sources.size(); i++) {
+				Source source = parser.take(new NullProgressMonitor());
+				assertTrue(source.fThread.startsWith("Test Parser "));
+				assertTrue(taken.add(source));
+				parser.resumeParsing();
+			}
+		} finally {
+			parser.stop();
+		}
+		assertEquals(new HashSet<>(sources), taken);
+	}
+
+	@Test
+	public void testParserFailureIsRethrown() throws Exception {
+		List<Source> sources = createSources(10);
+		TestParser parser = new TestParser(2, sources, TIMEOUT) {
+			@Override
+			void parse(Source source) throws InterruptedException {
+				if (source.fNumber == 5)
+					throw new LinkageError("Test failure");
+				super.parse(source);
+			}
+		};
+		try {
+			parser.start();
+			LinkageError e = assertThrows(LinkageError.class, () -> {
+				for (int i = 0; i < sources.size(); i++) {
+					parser.take(new NullProgressMonitor());
+					parser.resumeParsing();
+				}
+			});
+			assertEquals("Test failure", e.getMessage());
+		} finally {
+			parser.stop();
+		}
+	}
+
+	@Test
+	public void testWaitTimesOut() throws Exception {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		TestParser parser = new TestParser(2, createSources(2), 200) {
+			@Override
+			void parse(Source source) throws InterruptedException {
+				blocked.await();
+			}
+		};
+		try {
+			parser.start();
+			assertThrows(CoreException.class, () -> parser.take(new NullProgressMonitor()));
+		} finally {
+			blocked.countDown();
+			parser.stop();
+		}
+	}
+}
@@ -16,6 +16,7 @@
 package org.eclipse.cdt.internal.pdom.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -151,6 +152,133 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertEquals(mem2, mem1);
 	}
 
+	@Test
+	public void testMappedRegions() throws Exception {
+		final int count = 1000;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE / 2);
+			db.putInt(records[i], i);
+			db.putLong(records[i] + Database.INT_SIZE, -i);
+		}
+		final File location = db.getLocation();
+		db.close();
+
+		// Use a tiny cache to force chunks to be re-created from the mapped regions.
+		db = new Database(location, new ChunkCache(Database.CHUNK_SIZE * 4), 0, false, true);
+		db.setExclusiveLock();
+		assertTrue(db.usesMappedRegions());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, db.getInt(records[i]));
+			assertEquals(-i, db.getLong(records[i] + Database.INT_SIZE));
+			db.putInt(records[i], 2 * i);
+		}
+		db.flush();
+		db.close();
+
+		db = new Database(location, new ChunkCache(), 0, false, false);
+		db.setExclusiveLock();
+		for (int i = 0; i < count; i++) {
+			assertEquals(2 * i, db.getInt(records[i]));
+		}
+	}
+
+	@Test
+	public void testCompaction() throws Exception {
+		final int count = 4000;
+		final int size = 100;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(size);
+			db.putInt(records[i], i);
+		}
+		final int chunks = db.getChunkCount();
+		// Keep every tenth record in the first half.
+		for (int i = 0; i < count; i++) {
+			if (i >= count / 2 || i % 10 != 0) {
+				db.free(records[i]);
+			}
+		}
+		Database.Fragmentation before = db.getFragmentation();
+		assertEquals(0, before.getFreeChunks());
+		assertTrue(before.getFreeRatio() > 0.9, before.toString());
+
+		assertTrue(db.mergeFreeBlocks(0, chunks) > 0);
+		Database.Fragmentation merged = db.getFragmentation();
+		assertEquals(before.getFreeBytes(), merged.getFreeBytes());
+		assertTrue(merged.getFreeBlocks() < before.getFreeBlocks() / 10, merged.toString());
+		assertTrue(merged.getFreeChunks() >= chunks / 3, merged.toString());
+
+		final int removed = db.truncateFreeChunks();
+		assertTrue(removed >= chunks / 3);
+		assertEquals(chunks - removed, db.getChunkCount());
+		Database.Fragmentation after = db.getFragmentation();
+		assertEquals(merged.getFreeBytes() - (long) removed * Database.CHUNK_SIZE, after.getFreeBytes());
+		assertEquals(0, after.getFreeChunks());
+		for (int i = 0; i < count / 2; i += 10) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+
+		// The free space at the beginning of the file is reused.
+		for (int i = 0; i < 100; i++) {
+			db.malloc(size);
+		}
+		assertEquals(chunks - removed, db.getChunkCount());
+
+		db.flush();
+		assertEquals((long) db.getChunkCount() * Database.CHUNK_SIZE, db.getSizeBytes());
+		final File location = db.getLocation();
+		db.close();
+		db = new Database(location, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		assertEquals(chunks - removed, db.getChunkCount());
+		for (int i = 0; i < count / 2; i += 10) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+	}
+
+	@Test
+	public void testConcurrentReaders() throws Exception {
+		final int count = 2000;
+		final long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE / 4);
+			db.putInt(records[i], i);
+		}
+		final File location = db.getLocation();
+		db.close();
+
+		// A small cache makes the readers evict each other's chunks.
+		ChunkCache cache = new ChunkCache(Database.CHUNK_SIZE * 100);
+		db = new Database(location, cache, 0, false);
+		db.setLocked(true);
+		Thread[] readers = new Thread[4];
+		Throwable[] failure = new Throwable[1];
+		for (int t = 0; t < readers.length; t++) {
+			final Random random = new Random(t);
+			readers[t] = new Thread(() -> {
+				try {
+					for (int i = 0; i < 50000; i++) {
+						int j = random.nextInt(count);
+						assertEquals(j, db.getInt(records[j]));
+					}
+				} catch (Throwable e) {
+					failure[0] = e;
+				}
+			});
+			readers[t].start();
+		}
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		if (failure[0] != null) {
+			fail(failure[0]);
+		}
+		assertEquals(4 * 50000, db.getCacheHits() + db.getCacheMisses());
+		assertTrue(cache.getCacheMisses() > 0);
+		db.setExclusiveLock();
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -240,6 +368,67 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertCMP("a", EQ, "A", false);
 	}
 
+	@Test
+	public void testShortStringComparisonInChunk() throws CoreException {
+		Random r = new Random(4711);
+		for (int i = 0; i < 1000; i++) {
+			String a = randomString(0, 20, r);
+			String b = r.nextBoolean() ? randomString(0, 20, r) : a.substring(0, r.nextInt(a.length() + 1));
+			if (r.nextInt(4) == 0) {
+				a += '\u20ac';
+			}
+			long record = db.newString(a).getRecord();
+			char[] bcs = b.toCharArray();
+
+			// Fresh strings have not read their characters, yet.
+			assertSignEquals(a.compareTo(b), new ShortString(db, record).compare(bcs, true));
+			assertSignEquals(a.compareToIgnoreCase(b), new ShortString(db, record).compare(bcs, false));
+			assertSignEquals(ShortString.comparePrefix(a.toCharArray(), bcs, true),
+					new ShortString(db, record).comparePrefix(bcs, true));
+			assertSignEquals(ShortString.compareCompatibleWithIgnoreCase(a.toCharArray(), bcs),
+					new ShortString(db, record).compareCompatibleWithIgnoreCase(bcs));
+			assertEquals(a.equals(b), new ShortString(db, record).equals(bcs));
+		}
+	}
+
+	@Test
+	public void testStringCache() throws CoreException {
+		IString string = db.newString("cached");
+		long record = string.getRecord();
+		long hits = db.getStringCacheHits();
+		long misses = db.getStringCacheMisses();
+		assertSame(string, db.getString(record));
+		assertSame(string, db.getString(record));
+		assertEquals(hits + 2, db.getStringCacheHits());
+		assertEquals(misses, db.getStringCacheMisses());
+
+		// More strings than the cache can hold.
+		long[] records = new long[db.getStringCacheCapacity() * 2];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = db.newString("s" + i).getRecord();
+		}
+		hits = db.getStringCacheHits();
+		misses = db.getStringCacheMisses();
+		for (int i = 0; i < records.length; i++) {
+			assertEquals("s" + i, db.getString(records[i]).getString());
+		}
+		long newHits = db.getStringCacheHits() - hits;
+		long newMisses = db.getStringCacheMisses() - misses;
+		assertEquals(records.length, newHits + newMisses);
+		// Every record is read once, so only the strings cached before the loop can be hits.
+		assertTrue(newMisses >= records.length - db.getStringCacheCapacity());
+
+		// Flushing clears the cache, a string read from the database is cached again.
+		db.flush();
+		hits = db.getStringCacheHits();
+		misses = db.getStringCacheMisses();
+		IString read = db.getString(record);
+		assertEquals("cached", read.getString());
+		assertSame(read, db.getString(record));
+		assertEquals(hits + 1, db.getStringCacheHits());
+		assertEquals(misses + 1, db.getStringCacheMisses());
+	}
+
 	@Test
 	public void testLongStringComparison() throws CoreException {
 		Random r = new Random(314159265);
@@ -25,15 +25,19 @@ import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IName;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMManager;
 import org.eclipse.cdt.core.dom.ast.IFunction;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBinding;
 import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexLocationConverter;
 import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.index.ResourceContainerRelativeLocationConverter;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.LanguageManager;
+import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
@@ -217,6 +221,107 @@ public class PDOMCPPBugsTest extends BaseTestCase5 {
 		pdom.releaseWriteLock();
 	}
 
+	@Test
+	public void testOptimisticReadStamp() throws Exception {
+		final WritablePDOM pdom = (WritablePDOM) CCoreInternals.getPDOMManager().getPDOM(cproject);
+		long stamp = pdom.tryOptimisticRead();
+		assertTrue(stamp != 0);
+		assertTrue(pdom.validate(stamp));
+
+		// Read locks don't invalidate the stamp.
+		pdom.acquireReadLock();
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		pdom.releaseReadLock();
+		assertTrue(pdom.validate(stamp));
+
+		pdom.acquireWriteLock(null);
+		try {
+			assertEquals(0, pdom.tryOptimisticRead());
+			assertFalse(pdom.validate(stamp));
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		assertFalse(pdom.validate(stamp));
+		assertFalse(pdom.validate(0));
+		assertTrue(pdom.validate(pdom.tryOptimisticRead()));
+	}
+
+	@Test
+	public void testFileLookupAfterModification() throws Exception {
+		final WritablePDOM pdom = (WritablePDOM) CCoreInternals.getPDOMManager().getPDOM(cproject);
+		final IIndexFileLocation location = IndexLocationFactory
+				.getWorkspaceIFL(cproject.getProject().getFile("lookup.h"));
+		pdom.acquireReadLock();
+		try {
+			assertEquals(0, pdom.getFiles(location).length);
+			assertEquals(0, pdom.getFiles(ILinkage.CPP_LINKAGE_ID, location).length);
+		} finally {
+			pdom.releaseReadLock();
+		}
+
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.addFile(ILinkage.CPP_LINKAGE_ID, location, ISignificantMacros.NONE);
+			// Lookups by the writer are not cached.
+			assertEquals(1, pdom.getFiles(location).length);
+		} finally {
+			pdom.releaseWriteLock();
+		}
+
+		pdom.acquireReadLock();
+		try {
+			// The lookups cached before the modification are outdated.
+			assertEquals(1, pdom.getFiles(location).length);
+			assertEquals(1, pdom.getFiles(ILinkage.CPP_LINKAGE_ID, location).length);
+			assertEquals(0, pdom.getFiles(ILinkage.C_LINKAGE_ID, location).length);
+		} finally {
+			pdom.releaseReadLock();
+		}
+	}
+
+	@Test
+	public void testWriteLockWithConcurrentReaders() throws Exception {
+		final WritablePDOM pdom = (WritablePDOM) CCoreInternals.getPDOMManager().getPDOM(cproject);
+		final boolean[] failed = { false };
+		final long end = System.currentTimeMillis() + 1000;
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						while (System.currentTimeMillis() < end) {
+							pdom.acquireReadLock();
+							try {
+								pdom.acquireReadLock(); // Nested read locks must not block.
+								pdom.releaseReadLock();
+							} finally {
+								pdom.releaseReadLock();
+							}
+						}
+					} catch (InterruptedException e) {
+						failed[0] = true;
+					}
+				}
+			};
+			readers[i].start();
+		}
+		pdom.acquireReadLock();
+		try {
+			for (int i = 0; i < 10; i++) {
+				pdom.acquireWriteLock(1, null);
+				pdom.releaseWriteLock(1, false);
+			}
+		} finally {
+			pdom.releaseReadLock();
+		}
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		assertFalse(failed[0]);
+	}
+
 	@Test
 	public void test191679() throws Exception {
 		IProject project = cproject.getProject();
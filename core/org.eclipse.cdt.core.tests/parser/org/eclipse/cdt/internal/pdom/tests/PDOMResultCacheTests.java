@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link PDOMResultCache}.
+ */
+public class PDOMResultCacheTests extends BaseTestCase5 {
+
+	@Test
+	public void testPutAndGet() {
+		PDOMResultCache cache = new PDOMResultCache(100);
+		assertNull(cache.get("a"));
+		assertEquals("1", cache.put(ILinkage.CPP_LINKAGE_ID, "a", "1", true));
+		assertEquals("1", cache.get("a"));
+		assertEquals("1", cache.put(ILinkage.CPP_LINKAGE_ID, "a", "2", false));
+		assertEquals("1", cache.get("a"));
+		assertEquals("2", cache.put(ILinkage.CPP_LINKAGE_ID, "a", "2", true));
+		assertEquals("2", cache.get("a"));
+		assertNull(cache.put(ILinkage.CPP_LINKAGE_ID, "a", null, true));
+		assertNull(cache.get("a"));
+
+		assertEquals(3, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(3, (long) cache.getHitsByType().get("String"));
+	}
+
+	@Test
+	public void testBoundedSize() {
+		PDOMResultCache cache = new PDOMResultCache(100);
+		cache.put(ILinkage.CPP_LINKAGE_ID, -1, "used", true);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(ILinkage.CPP_LINKAGE_ID, i, "value", true);
+			cache.get(-1);
+		}
+		assertTrue(cache.size() <= 100);
+		assertTrue(cache.getEvictions() >= 900);
+		// Entries that are used survive the eviction.
+		assertEquals("used", cache.get(-1));
+	}
+
+	@Test
+	public void testEntriesThatAreNotReplacedAreNotEvicted() {
+		PDOMResultCache cache = new PDOMResultCache(100);
+		Object[] pinned = new Object[80];
+		for (int i = 0; i < pinned.length; i++) {
+			pinned[i] = new Object();
+			assertSame(pinned[i], cache.put(ILinkage.CPP_LINKAGE_ID, "pinned" + i, pinned[i], false));
+		}
+		for (int i = 0; i < 1000; i++) {
+			cache.put(ILinkage.CPP_LINKAGE_ID, i, "value", true);
+		}
+		assertTrue(cache.getEvictions() >= 900);
+		assertTrue(cache.size() <= pinned.length + 100);
+		for (int i = 0; i < pinned.length; i++) {
+			assertSame(pinned[i], cache.put(ILinkage.CPP_LINKAGE_ID, "pinned" + i, new Object(), false));
+		}
+
+		// Pinned entries are removed together with their linkage.
+		cache.invalidate(ILinkage.CPP_LINKAGE_ID);
+		assertEquals(0, cache.size());
+		cache.put(ILinkage.CPP_LINKAGE_ID, "pinned", pinned[0], false);
+		cache.remove("pinned");
+		for (int i = 0; i < 200; i++) {
+			cache.put(ILinkage.CPP_LINKAGE_ID, i, "value", true);
+		}
+		assertTrue(cache.size() <= 100);
+	}
+
+	@Test
+	public void testPinnedEntriesAreBounded() {
+		PDOMResultCache cache = new PDOMResultCache(100, 10);
+		Object used = new Object();
+		cache.put(ILinkage.CPP_LINKAGE_ID, "used", used, false);
+		for (int i = 0; i < 100; i++) {
+			cache.put(ILinkage.CPP_LINKAGE_ID, "pinned" + i, new Object(), false);
+			assertSame(used, cache.put(ILinkage.CPP_LINKAGE_ID, "used", new Object(), false));
+		}
+		assertTrue(cache.size() <= 10);
+		assertTrue(cache.getEvictions() >= 90);
+		// A pinned entry that is in use survives the eviction.
+		assertSame(used, cache.get("used"));
+
+		// Entries that are not pinned do not push out pinned ones.
+		for (int i = 0; i < 1000; i++) {
+			cache.put(ILinkage.CPP_LINKAGE_ID, i, "value", true);
+		}
+		assertSame(used, cache.get("used"));
+	}
+
+	@Test
+	public void testInvalidateLinkage() {
+		PDOMResultCache cache = new PDOMResultCache(100);
+		cache.put(ILinkage.CPP_LINKAGE_ID, "cpp", "1", true);
+		cache.put(ILinkage.C_LINKAGE_ID, "c", "2", true);
+		cache.put(PDOMResultCache.ANY_LINKAGE, "any", "3", true);
+		IValue cppValue = IntegralValue.create(1);
+		IValue cValue = IntegralValue.create(2);
+		cache.putValue(ILinkage.CPP_LINKAGE_ID, 1024, cppValue);
+		cache.putValue(ILinkage.C_LINKAGE_ID, 2048, cValue);
+
+		cache.invalidate(ILinkage.CPP_LINKAGE_ID);
+		assertNull(cache.get("cpp"));
+		assertNull(cache.get("any"));
+		assertEquals("2", cache.get("c"));
+		assertNull(cache.getValue(1024));
+		assertSame(cValue, cache.getValue(2048));
+
+		cache.clear();
+		assertNull(cache.get("c"));
+		assertNull(cache.getValue(2048));
+	}
+
+	@Test
+	public void testValues() {
+		PDOMResultCache cache = new PDOMResultCache(100);
+		IValue[] values = new IValue[50];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = IntegralValue.create(i);
+			cache.putValue(ILinkage.CPP_LINKAGE_ID, 1024 + i * 16, values[i]);
+		}
+		int hits = 0;
+		for (int i = 0; i < values.length; i++) {
+			IValue value = cache.getValue(1024 + i * 16);
+			if (value != null) {
+				assertSame(values[i], value);
+				hits++;
+			}
+		}
+		// Records may collide, but most of them are found.
+		assertTrue(hits > values.length / 2);
+		assertEquals(hits, cache.getValueHits());
+
+		cache.removeValue(1024);
+		assertNull(cache.getValue(1024));
+	}
+}
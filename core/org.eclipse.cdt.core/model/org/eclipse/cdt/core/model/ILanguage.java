@@ -84,6 +84,24 @@ public interface ILanguage extends IAdaptable {
 	 */
 	public final static int OPTION_PARSE_INACTIVE_CODE = 0x20;
 
+	/**
+	 * Option for {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)}
+	 * Instructs the parser to skip over function and method bodies and to parse them on demand, i.e. when a
+	 * visitor descends into a body or its statements are requested otherwise. Has no effect in combination
+	 * with {@link #OPTION_SKIP_FUNCTION_BODIES}. Currently supported by the C++ parser, only.
+	 * @since 8.5
+	 */
+	public final static int OPTION_LAZY_FUNCTION_BODIES = 0x40;
+
+	/**
+	 * Option for {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)}
+	 * Performance optimization for clients that extract information from the AST once, e.g. the indexer.
+	 * The nodes of the AST do not cache their locations and names with the same identifier share its
+	 * characters, the structure of the AST is not affected.
+	 * @since 8.5
+	 */
+	public final static int OPTION_COMPACT_AST = 0x80;
+
 	/**
 	 * Return the language id for this language.
 	 * This is to differentiate languages from each other.
@@ -117,6 +117,15 @@ public interface ITranslationUnit extends ICElement, IParent, IOpenable, ISource
 	 */
 	public final static int AST_PARSE_INACTIVE_CODE = 0x80;
 
+	/**
+	 * Style constant for {@link #getAST(IIndex, int)}.
+	 * Meaning: Parse function and method bodies on demand, i.e. when a visitor descends into a body.
+	 * Has no effect in combination with {@link #AST_SKIP_FUNCTION_BODIES}.
+	 * @see ILanguage#OPTION_LAZY_FUNCTION_BODIES
+	 * @since 8.5
+	 */
+	public final static int AST_LAZY_FUNCTION_BODIES = 0x100;
+
 	/**
 	 * Creates and returns an include declaration in this translation unit
 	 * with the given name.
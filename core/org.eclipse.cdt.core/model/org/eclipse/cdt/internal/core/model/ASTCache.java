@@ -49,7 +49,7 @@ public class ASTCache {
 	public static int PARSE_MODE = ITranslationUnit.AST_SKIP_ALL_HEADERS
 			| ITranslationUnit.AST_CONFIGURE_USING_SOURCE_CONTEXT
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
-			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
+			| ITranslationUnit.AST_PARSE_INACTIVE_CODE | ITranslationUnit.AST_LAZY_FUNCTION_BODIES;
 
 	/**
 	 * Do something with an AST.
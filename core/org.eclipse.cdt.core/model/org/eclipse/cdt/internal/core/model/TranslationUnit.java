@@ -877,6 +877,9 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		if ((style & AST_PARSE_INACTIVE_CODE) != 0) {
 			options |= ILanguage.OPTION_PARSE_INACTIVE_CODE;
 		}
+		if ((style & AST_LAZY_FUNCTION_BODIES) != 0) {
+			options |= ILanguage.OPTION_LAZY_FUNCTION_BODIES;
+		}
 		final IParserLogService log;
 		if (monitor instanceof ICanceler) {
 			log = new ParserLogService(DebugLogConstants.PARSER, (ICanceler) monitor);
@@ -114,6 +114,9 @@ public class GCCLanguage extends AbstractCLikeLanguage {
 				parser.setMaximumTrivialExpressionsInAggregateInitializers(maximumTrivialExpressions);
 			}
 		}
+		if ((options & OPTION_COMPACT_AST) != 0) {
+			parser.setCompactAST(true);
+		}
 		return parser;
 	}
 
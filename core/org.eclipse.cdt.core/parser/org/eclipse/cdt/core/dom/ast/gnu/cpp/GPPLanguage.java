@@ -129,6 +129,12 @@ public class GPPLanguage extends AbstractCLikeLanguage {
 				parser.setMaximumTrivialExpressionsInAggregateInitializers(maximumTrivialExpressions);
 			}
 		}
+		if ((options & OPTION_COMPACT_AST) != 0) {
+			parser.setCompactAST(true);
+		}
+		if ((options & OPTION_LAZY_FUNCTION_BODIES) != 0) {
+			parser.setLazyFunctionBodies(true);
+		}
 		return parser;
 	}
 
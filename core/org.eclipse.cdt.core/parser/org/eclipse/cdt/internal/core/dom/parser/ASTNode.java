@@ -136,20 +136,32 @@ public abstract class ASTNode implements IASTNode {
 
 	@Override
 	public IASTNodeLocation[] getNodeLocations() {
-		if (locations == null) {
-			if (length != 0) {
-				final IASTTranslationUnit tu = getTranslationUnit();
-				if (tu != null) {
-					ILocationResolver l = tu.getAdapter(ILocationResolver.class);
-					if (l != null) {
-						locations = l.getLocations(getOffset(), length);
-					}
+		if (locations != null)
+			return locations;
+
+		IASTNodeLocation[] result = null;
+		IASTTranslationUnit tu = null;
+		if (length != 0) {
+			tu = getTranslationUnit();
+			if (tu != null) {
+				ILocationResolver l = tu.getAdapter(ILocationResolver.class);
+				if (l != null) {
+					result = l.getLocations(getOffset(), length);
 				}
 			}
-			if (locations == null)
-				locations = IASTNodeLocation.EMPTY_ARRAY;
 		}
-		return locations;
+		if (result == null)
+			result = IASTNodeLocation.EMPTY_ARRAY;
+		if (!isCompact(tu))
+			locations = result;
+		return result;
+	}
+
+	/**
+	 * The nodes of a compact AST don't cache their locations.
+	 */
+	private static boolean isCompact(IASTTranslationUnit tu) {
+		return tu instanceof ASTTranslationUnit && ((ASTTranslationUnit) tu).isCompact();
 	}
 
 	public IASTImageLocation getImageLocation() {
@@ -208,16 +220,20 @@ public abstract class ASTNode implements IASTNode {
 			return null;
 		}
 		IASTTranslationUnit ast = getTranslationUnit();
-		if (ast != null) {
-			ILocationResolver lr = ast.getAdapter(ILocationResolver.class);
-			if (lr != null) {
-				fileLocation = lr.getMappedFileLocation(offset, length);
-			} else {
-				// Support for old location map
-				fileLocation = ast.flattenLocationsToFile(getNodeLocations());
-			}
+		if (ast == null)
+			return null;
+
+		IASTFileLocation result;
+		ILocationResolver lr = ast.getAdapter(ILocationResolver.class);
+		if (lr != null) {
+			result = lr.getMappedFileLocation(offset, length);
+		} else {
+			// Support for old location map
+			result = ast.flattenLocationsToFile(getNodeLocations());
 		}
-		return fileLocation;
+		if (!isCompact(ast))
+			fileLocation = result;
+		return result;
 	}
 
 	@Override
@@ -49,6 +49,7 @@ import org.eclipse.cdt.core.dom.parser.IBuiltinBindingsProvider;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileSet;
+import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
@@ -92,6 +93,7 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 	private final Semaphore fSemaphore = new Semaphore(1);
 	private boolean fBasedOnIncompleteIndex;
 	private boolean fNodesOmitted;
+	private boolean fCompact;
 	private IBuiltinBindingsProvider fBuiltinBindingsProvider;
 
 	// Caches
@@ -381,6 +383,18 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		fForContentAssist = forContentAssist;
 	}
 
+	/**
+	 * Returns whether the nodes of this AST do not cache their locations, see
+	 * {@link ILanguage#OPTION_COMPACT_AST}.
+	 */
+	public boolean isCompact() {
+		return fCompact;
+	}
+
+	public final void setIsCompact(boolean compact) {
+		fCompact = compact;
+	}
+
 	@Override
 	public boolean isBasedOnIncompleteIndex() {
 		return fBasedOnIncompleteIndex;
@@ -466,6 +480,7 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		target.fForContentAssist = fForContentAssist;
 		target.fOriginatingTranslationUnit = fOriginatingTranslationUnit;
 		target.fNodesOmitted = fNodesOmitted;
+		target.fCompact = fCompact;
 
 		for (IASTDeclaration declaration : getDeclarations()) {
 			copy.addDeclaration(declaration == null ? null : declaration.copy(style));
@@ -474,15 +489,21 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		return super.copy(copy, style);
 	}
 
+	private static final class FreezeVisitor extends ASTGenericVisitor implements ILazyBodySkippingVisitor {
+		FreezeVisitor() {
+			super(true);
+		}
+
+		@Override
+		protected int genericVisit(IASTNode node) {
+			((ASTNode) node).setIsFrozen();
+			return PROCESS_CONTINUE;
+		}
+	}
+
 	@Override
 	public final void freeze() {
-		accept(new ASTGenericVisitor(true) {
-			@Override
-			protected int genericVisit(IASTNode node) {
-				((ASTNode) node).setIsFrozen();
-				return PROCESS_CONTINUE;
-			}
-		});
+		freeze(this);
 
 		if (IndexFileSet.sDEBUG && fIndexFileSet != null && fASTFileSet != null) {
 			long t = ((IndexFileSet) fIndexFileSet).getTimingContainsDeclarationNanos()
@@ -493,6 +514,14 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		}
 	}
 
+	/**
+	 * Makes the given node and its descendants immutable. Function bodies that have not yet been
+	 * parsed are frozen when they are parsed.
+	 */
+	public static void freeze(IASTNode node) {
+		node.accept(new FreezeVisitor());
+	}
+
 	@Override
 	public ITranslationUnit getOriginatingTranslationUnit() {
 		return fOriginatingTranslationUnit;
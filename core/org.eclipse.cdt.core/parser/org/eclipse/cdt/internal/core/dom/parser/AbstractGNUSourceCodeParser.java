@@ -87,6 +87,7 @@ import org.eclipse.cdt.core.dom.ast.gnu.IGNUASTCompoundStatementExpression;
 import org.eclipse.cdt.core.dom.parser.IBuiltinBindingsProvider;
 import org.eclipse.cdt.core.dom.parser.IExtensionToken;
 import org.eclipse.cdt.core.dom.parser.ISourceCodeParser;
+import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.AbstractParserLogService;
 import org.eclipse.cdt.core.parser.EndOfFileException;
@@ -99,6 +100,7 @@ import org.eclipse.cdt.core.parser.IToken;
 import org.eclipse.cdt.core.parser.OffsetLimitReachedException;
 import org.eclipse.cdt.core.parser.ParseError;
 import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
 
@@ -227,6 +229,8 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 
 	private final INodeFactory nodeFactory;
 	private boolean fActiveCode = true;
+	private boolean fCompactAST;
+	private CharArrayObjectMap<char[]> fIdentifiers;
 
 	protected AbstractGNUSourceCodeParser(IScanner scanner, IParserLogService logService, ParserMode parserMode,
 			INodeFactory nodeFactory, boolean supportStatementsInExpressions, boolean supportTypeOfUnaries,
@@ -253,6 +257,36 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		maximumTrivialExpressionsInAggregateInitializers = limit;
 	}
 
+	/**
+	 * Instructs the parser to create an AST that uses less memory, see {@link ILanguage#OPTION_COMPACT_AST}.
+	 */
+	public void setCompactAST(boolean compact) {
+		fCompactAST = compact;
+	}
+
+	protected final boolean isCompactAST() {
+		return fCompactAST;
+	}
+
+	/**
+	 * Returns the image of an identifier token. For a compact AST the names with the same identifier
+	 * share the array.
+	 */
+	protected final char[] identifierImage(IToken token) {
+		final char[] image = token.getCharImage();
+		if (!fCompactAST)
+			return image;
+
+		if (fIdentifiers == null) {
+			fIdentifiers = new CharArrayObjectMap<>(256);
+		}
+		final char[] shared = fIdentifiers.get(image);
+		if (shared != null)
+			return shared;
+		fIdentifiers.put(image, image);
+		return image;
+	}
+
 	private AbstractParserLogService wrapLogService(IParserLogService logService) {
 		if (logService instanceof AbstractParserLogService) {
 			return (AbstractParserLogService) logService;
@@ -1360,6 +1394,9 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 			logException("translationUnit::createCompilationUnit()", e); //$NON-NLS-1$
 			return;
 		}
+		if (fCompactAST && getTranslationUnit() instanceof ASTTranslationUnit) {
+			((ASTTranslationUnit) getTranslationUnit()).setIsCompact(true);
+		}
 		parseTranslationUnit();
 	}
 
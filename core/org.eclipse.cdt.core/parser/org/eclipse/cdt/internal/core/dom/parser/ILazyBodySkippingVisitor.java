@@ -0,0 +1,20 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+/**
+ * Marker for visitors that shall not trigger the parsing of function bodies that are parsed on
+ * demand. Such visitors visit the node of a body that has not been parsed, but none of its
+ * statements. This is used by visitors that process the AST as a whole after parsing, like
+ * the ambiguity resolution, which is performed for each body once it is parsed.
+ */
+public interface ILazyBodySkippingVisitor {
+}
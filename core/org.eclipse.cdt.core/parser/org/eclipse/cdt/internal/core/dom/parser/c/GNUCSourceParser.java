@@ -1740,7 +1740,7 @@ public class GNUCSourceParser extends AbstractGNUSourceCodeParser {
 		switch (t.getType()) {
 		case IToken.tIDENTIFIER:
 			consume();
-			n = getNodeFactory().newName(t.getCharImage());
+			n = getNodeFactory().newName(identifierImage(t));
 			setRange(n, t.getOffset(), t.getEndOffset());
 			break;
 
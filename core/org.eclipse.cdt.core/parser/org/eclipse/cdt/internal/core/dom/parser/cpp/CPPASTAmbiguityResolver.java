@@ -43,13 +43,14 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateId;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateSpecialization;
 import org.eclipse.cdt.internal.core.dom.parser.ASTAmbiguousNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
+import org.eclipse.cdt.internal.core.dom.parser.ILazyBodySkippingVisitor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
 
 /**
  * Visitor to resolve AST ambiguities in the right order
  */
-final class CPPASTAmbiguityResolver extends ASTVisitor {
+final class CPPASTAmbiguityResolver extends ASTVisitor implements ILazyBodySkippingVisitor {
 	private int fSkipInitializers = 0;
 	/*
 	 * The current nesting level of class definitions.
@@ -66,6 +66,19 @@ public class CPPASTCompoundStatement extends CPPASTAttributeOwner
 		}
 	}
 
+	/**
+	 * Sets the statements of a function body that is parsed on demand, the node may already be frozen.
+	 */
+	void setParsedStatements(IASTStatement[] parsedStatements) {
+		statements = parsedStatements;
+		for (IASTStatement statement : parsedStatements) {
+			if (statement != null) {
+				statement.setParent(this);
+				statement.setPropertyInParent(NESTED_STATEMENT);
+			}
+		}
+	}
+
 	@Override
 	public IScope getScope() {
 		if (scope == null)
@@ -95,16 +108,7 @@ public class CPPASTCompoundStatement extends CPPASTAttributeOwner
 			}
 		}
 
-		if (!acceptByAttributeSpecifiers(action))
-			return false;
-		for (IASTStatement statement : statements) {
-			if (statement == null)
-				break;
-			if (!statement.accept(action))
-				return false;
-		}
-
-		if (action.shouldVisitImplicitDestructorNames && !acceptByNodes(getImplicitDestructorNames(), action))
+		if (!acceptChildren(action))
 			return false;
 
 		if (action.shouldVisitStatements) {
@@ -120,6 +124,24 @@ public class CPPASTCompoundStatement extends CPPASTAttributeOwner
 		return true;
 	}
 
+	/**
+	 * Visits the attributes, the statements and the implicit destructor names of this node.
+	 */
+	protected boolean acceptChildren(ASTVisitor action) {
+		if (!acceptByAttributeSpecifiers(action))
+			return false;
+		for (IASTStatement statement : statements) {
+			if (statement == null)
+				break;
+			if (!statement.accept(action))
+				return false;
+		}
+
+		if (action.shouldVisitImplicitDestructorNames && !acceptByNodes(getImplicitDestructorNames(), action))
+			return false;
+		return true;
+	}
+
 	@Override
 	public void replace(IASTNode child, IASTNode other) {
 		for (int i = 0; i < statements.length; ++i) {
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTImplicitDestructorName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.ILazyBodySkippingVisitor;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenBuffer;
+
+/**
+ * Body of a function definition that is parsed on demand, see
+ * {@link ILanguage#OPTION_LAZY_FUNCTION_BODIES}. The tokens of the body are kept until a visitor
+ * descends into the body or the statements are requested otherwise. Then the body is parsed,
+ * its ambiguities are resolved and the statements are frozen together with the rest of the AST.
+ */
+public class CPPASTLazyFunctionBody extends CPPASTCompoundStatement {
+	private GNUCPPSourceParser fParser;
+	private TokenBuffer fTokens;
+	/**
+	 * Set only after the statements have been set, resolved and frozen. ASTs from the AST cache are
+	 * read by multiple threads, none of which may see a partially parsed body.
+	 */
+	private volatile boolean fParsed;
+
+	/**
+	 * @param parser the parser to take the configuration from, see
+	 *     {@link GNUCPPSourceParser#parseFunctionBody(TokenBuffer, IASTTranslationUnit)}.
+	 * @param tokens the tokens of the body including the enclosing braces.
+	 */
+	CPPASTLazyFunctionBody(GNUCPPSourceParser parser, TokenBuffer tokens) {
+		fParser = parser;
+		fTokens = tokens;
+	}
+
+	/**
+	 * Returns whether the statements of the body have been parsed.
+	 */
+	public boolean isParsed() {
+		return fParsed;
+	}
+
+	private void parseOnDemand() {
+		if (fParsed)
+			return;
+
+		synchronized (this) {
+			final TokenBuffer tokens = fTokens;
+			// The body is parsed already, or it is being parsed by this thread
+			if (tokens == null)
+				return;
+
+			final GNUCPPSourceParser parser = fParser;
+			fTokens = null;
+			fParser = null;
+
+			try {
+				final IASTTranslationUnit tu = getTranslationUnit();
+				final IASTCompoundStatement body = parser.parseFunctionBody(tokens, tu);
+				if (body != null) {
+					setParsedStatements(body.getStatements());
+					if (tu instanceof CPPASTTranslationUnit) {
+						((CPPASTTranslationUnit) tu).resolveAmbiguities(this);
+					}
+					if (isFrozen()) {
+						ASTTranslationUnit.freeze(this);
+					}
+				}
+			} finally {
+				fParsed = true;
+			}
+		}
+	}
+
+	@Override
+	public IASTStatement[] getStatements() {
+		parseOnDemand();
+		return super.getStatements();
+	}
+
+	@Override
+	public IASTImplicitDestructorName[] getImplicitDestructorNames() {
+		parseOnDemand();
+		return super.getImplicitDestructorNames();
+	}
+
+	@Override
+	protected boolean acceptChildren(ASTVisitor action) {
+		if (!fParsed && fTokens != null && action instanceof ILazyBodySkippingVisitor)
+			return true;
+		parseOnDemand();
+		return super.acceptChildren(action);
+	}
+
+	@Override
+	public void replace(IASTNode child, IASTNode other) {
+		parseOnDemand();
+		super.replace(child, other);
+	}
+
+	@Override
+	public ICPPExecution getExecution() {
+		parseOnDemand();
+		return super.getExecution();
+	}
+}
@@ -42,8 +42,10 @@ import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.internal.core.dom.Linkage;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
+import org.eclipse.cdt.internal.core.dom.parser.ILazyBodySkippingVisitor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPInheritance.FinalOverriderMap;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCache;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeInstantiationRequest;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
@@ -65,6 +67,8 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 	// template definition, so we wouldn't want to double-cache those. (But we could e.g.
 	// cache instantiations of function types if we found it worthwhile.)
 	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = new HashMap<>();
+	// Cache for the evaluation of constexpr functions.
+	private final ConstexprCache fConstexprCache = new ConstexprCache();
 
 	public CPPASTTranslationUnit() {
 		fScopeMapper = new CPPScopeMapper(this);
@@ -225,7 +229,7 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		fScopeMapper.handleAdditionalDirectives(scope);
 	}
 
-	private class ProblemBindingClearer extends ASTVisitor {
+	private class ProblemBindingClearer extends ASTVisitor implements ILazyBodySkippingVisitor {
 		public ProblemBindingClearer() {
 			shouldVisitNames = true;
 		}
@@ -241,13 +245,25 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 
 	@Override
 	public void resolveAmbiguities() {
+		resolveAmbiguities(this);
+	}
+
+	/**
+	 * Resolves the ambiguities of the given node of this AST, used for function bodies that are
+	 * parsed on demand.
+	 */
+	public void resolveAmbiguities(IASTNode node) {
+		final CPPASTAmbiguityResolver outer = fAmbiguityResolver;
 		fAmbiguityResolver = new CPPASTAmbiguityResolver();
-		accept(fAmbiguityResolver);
-		// During ambiguity resolution, names can incorrectly get stuck with ProblemBindings.
-		// To prevent this, clear all ProblemBindings here, allowing name resolution for
-		// the affected names to be attempted again with a fully ambiguity-resolved AST.
-		accept(new ProblemBindingClearer());
-		fAmbiguityResolver = null;
+		try {
+			node.accept(fAmbiguityResolver);
+			// During ambiguity resolution, names can incorrectly get stuck with ProblemBindings.
+			// To prevent this, clear all ProblemBindings here, allowing name resolution for
+			// the affected names to be attempted again with a fully ambiguity-resolved AST.
+			node.accept(new ProblemBindingClearer());
+		} finally {
+			fAmbiguityResolver = outer;
+		}
 	}
 
 	@Override
@@ -270,6 +286,10 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		return fInstantiationCache;
 	}
 
+	public ConstexprCache getConstexprCache() {
+		return fConstexprCache;
+	}
+
 	public void recordPartialSpecialization(ICPPClassTemplatePartialSpecialization indexSpec,
 			ICPPClassTemplatePartialSpecialization astSpec) {
 		fScopeMapper.recordPartialSpecialization(indexSpec, astSpec);
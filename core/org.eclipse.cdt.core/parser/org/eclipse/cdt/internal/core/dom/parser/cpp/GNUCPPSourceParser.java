@@ -187,6 +187,8 @@ import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguousStatement;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.BranchPoint;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.Variant;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenBuffer;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenBufferScanner;
 
 /**
  * This is our implementation of the IParser interface, serving as a parser for
@@ -224,6 +226,10 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 
 	private Map<String, ContextSensitiveTokenType> fContextSensitiveTokens;
 
+	private boolean fLazyFunctionBodies;
+	// Detached copy of the configuration of this parser, used to parse function bodies on demand.
+	private GNUCPPSourceParser fBodyParserConfiguration;
+
 	public GNUCPPSourceParser(IScanner scanner, ParserMode mode, IParserLogService log,
 			ICPPParserExtensionConfiguration config) {
 		this(scanner, mode, log, config, null);
@@ -252,6 +258,42 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		supportChar8TypeLiterals = scanner.getMacroDefinitions().containsKey("__cpp_char8_t"); //$NON-NLS-1$
 	}
 
+	/**
+	 * Creates a parser with the configuration of the given one, that reads tokens from the given scanner.
+	 */
+	private GNUCPPSourceParser(GNUCPPSourceParser config, IScanner scanner) {
+		super(scanner, config.log, ParserMode.COMPLETE_PARSE, config.getNodeFactory(),
+				config.supportStatementsInExpressions, config.supportTypeOfUnaries, config.supportAlignOfUnaries,
+				config.supportKnRC, config.supportAttributeSpecifiers, config.supportDeclspecSpecifiers,
+				config.builtinBindingsProvider);
+		allowCPPRestrict = config.allowCPPRestrict;
+		supportExtendedTemplateSyntax = config.supportExtendedTemplateSyntax;
+		supportParameterInfoBlock = config.supportParameterInfoBlock;
+		supportExtendedSizeofOperator = config.supportExtendedSizeofOperator;
+		supportFunctionStyleAsm = config.supportFunctionStyleAsm;
+		supportGCCStyleDesignators = config.supportGCCStyleDesignators;
+		functionCallCanBeLValue = config.functionCallCanBeLValue;
+		maximumTrivialExpressionsInAggregateInitializers = config.maximumTrivialExpressionsInAggregateInitializers;
+		supportAutoTypeSpecifier = config.supportAutoTypeSpecifier;
+		supportUserDefinedLiterals = config.supportUserDefinedLiterals;
+		index = config.index;
+		fContextSensitiveTokens = config.fContextSensitiveTokens;
+		additionalNumericalSuffixes = config.additionalNumericalSuffixes;
+		supportFoldExpression = config.supportFoldExpression;
+		supportChar8TypeLiterals = config.supportChar8TypeLiterals;
+		fLazyFunctionBodies = config.fLazyFunctionBodies;
+		setCompactAST(config.isCompactAST());
+	}
+
+	/**
+	 * Instructs the parser to skip over function bodies and to parse them on demand, i.e. when a
+	 * visitor descends into a body or its statements are requested otherwise. Has an effect only
+	 * when the parser is used for a complete parse.
+	 */
+	public void setLazyFunctionBodies(boolean lazy) {
+		fLazyFunctionBodies = lazy;
+	}
+
 	@Override
 	protected ICPPNodeFactory getNodeFactory() {
 		return (ICPPNodeFactory) super.getNodeFactory();
@@ -454,7 +496,7 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 			if (keywordTemplate) {
 				name = getNodeFactory().newTemplateName(nt.getCharImage());
 			} else {
-				name = getNodeFactory().newName(nt.getCharImage());
+				name = getNodeFactory().newName(identifierImage(nt));
 			}
 			setRange(name, nt.getOffset(), nt.getEndOffset());
 		} else {
@@ -5935,6 +5977,74 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		return result;
 	}
 
+	@Override
+	protected IASTStatement handleFunctionBody() throws BacktrackException, EndOfFileException {
+		if (fLazyFunctionBodies && mode == ParserMode.COMPLETE_PARSE && isActiveCode()) {
+			declarationMark = null;
+			final IToken first = mark();
+			try {
+				final IToken last = skipOverCompoundStatement(false);
+				if (TokenBuffer.isPackable(first, last)) {
+					final TokenBuffer tokens = new TokenBuffer(first, last);
+					if (!mayOmitInitializerClauses(tokens)) {
+						IASTCompoundStatement body = new CPPASTLazyFunctionBody(getBodyParserConfiguration(), tokens);
+						return setRange(body, first.getOffset(), last.getEndOffset());
+					}
+				}
+			} catch (EndOfFileException e) {
+				// Unbalanced braces, parse the body right away to get the problem nodes.
+			}
+			backup(first);
+		}
+		return super.handleFunctionBody();
+	}
+
+	/**
+	 * Checks whether parsing the given body could omit trivial expressions of an aggregate initializer.
+	 * Such bodies are parsed right away, {@link IASTTranslationUnit#hasNodesOmitted()} cannot be set
+	 * once the AST is frozen.
+	 */
+	private boolean mayOmitInitializerClauses(TokenBuffer tokens) {
+		if (maximumTrivialExpressionsInAggregateInitializers == Integer.MAX_VALUE)
+			return false;
+		int commas = 0;
+		for (int i = 0; i < tokens.size(); i++) {
+			if (tokens.getKind(i) == IToken.tCOMMA && ++commas >= maximumTrivialExpressionsInAggregateInitializers)
+				return true;
+		}
+		return false;
+	}
+
+	private GNUCPPSourceParser getBodyParserConfiguration() {
+		if (fBodyParserConfiguration == null) {
+			// Don't keep a reference to the preprocessor.
+			fBodyParserConfiguration = new GNUCPPSourceParser(this, null);
+			fBodyParserConfiguration.fBodyParserConfiguration = fBodyParserConfiguration;
+		}
+		return fBodyParserConfiguration;
+	}
+
+	/**
+	 * Parses a function body that has been skipped because of {@link #setLazyFunctionBodies(boolean)}.
+	 *
+	 * @param tokens the tokens of the body including the enclosing braces.
+	 * @param tu the translation unit the body belongs to.
+	 * @return the parsed body, or {@code null} if it could not be parsed.
+	 */
+	IASTCompoundStatement parseFunctionBody(TokenBuffer tokens, IASTTranslationUnit tu) {
+		final GNUCPPSourceParser parser = new GNUCPPSourceParser(this, new TokenBufferScanner(tokens));
+		parser.translationUnit = (ICPPASTTranslationUnit) tu;
+		parser.fBodyParserConfiguration = this;
+		try {
+			return parser.functionBody();
+		} catch (BacktrackException e) {
+			final IASTNode node = e.getNodeBeforeProblem();
+			return node instanceof IASTCompoundStatement ? (IASTCompoundStatement) node : null;
+		} catch (EndOfFileException e) {
+			return null;
+		}
+	}
+
 	@Override
 	protected IASTCompoundStatement functionBody() throws EndOfFileException, BacktrackException {
 		++functionBodyCount;
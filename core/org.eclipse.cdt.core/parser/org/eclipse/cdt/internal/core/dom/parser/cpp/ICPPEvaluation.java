@@ -15,6 +15,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IType;
@@ -100,19 +102,47 @@ public interface ICPPEvaluation {
 	 */
 	public final class ConstexprEvaluationContext {
 		/**
-		 * The maximum number of steps allowed in a single constexpr evaluation.
-		 * This is used to prevent a buggy constexpr function from causing the
-		 * IDE to hang.
+		 * The default for the maximum number of steps allowed in a single constexpr evaluation.
+		 * This is used to prevent a buggy constexpr function from causing the IDE to hang.
 		 */
 		public static final int MAX_CONSTEXPR_EVALUATION_STEPS = 1024;
+		/**
+		 * The default for the maximum number of values, i.e. parameters and local variables of
+		 * all function calls, that may be allocated in a single constexpr evaluation.
+		 */
+		public static final int MAX_CONSTEXPR_EVALUATION_VALUES = 65536;
+
+		/** System property overriding {@link #MAX_CONSTEXPR_EVALUATION_STEPS}. */
+		public static final String MAX_STEPS_PROPERTY = "org.eclipse.cdt.core.parser.constexpr.maxSteps"; //$NON-NLS-1$
+		/** System property overriding {@link #MAX_CONSTEXPR_EVALUATION_VALUES}. */
+		public static final String MAX_VALUES_PROPERTY = "org.eclipse.cdt.core.parser.constexpr.maxValues"; //$NON-NLS-1$
+
+		private static final int MAX_STEPS = Integer.getInteger(MAX_STEPS_PROPERTY, MAX_CONSTEXPR_EVALUATION_STEPS);
+		private static final int MAX_VALUES = Integer.getInteger(MAX_VALUES_PROPERTY, MAX_CONSTEXPR_EVALUATION_VALUES);
 
+		private static final LongAdder sStepBudgetExceeded = new LongAdder();
+		private static final LongAdder sMemoryBudgetExceeded = new LongAdder();
+
+		private final int fMaxSteps;
+		private final int fMaxValues;
 		private int fStepsPerformed;
+		private int fValuesAllocated;
+		private boolean fBudgetExceeded;
 
 		/**
 		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation.
 		 */
 		public ConstexprEvaluationContext() {
-			fStepsPerformed = 0;
+			this(MAX_STEPS, MAX_VALUES);
+		}
+
+		/**
+		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation with the given
+		 * budget.
+		 */
+		public ConstexprEvaluationContext(int maxSteps, int maxValues) {
+			fMaxSteps = maxSteps;
+			fMaxValues = maxValues;
 		}
 
 		/**
@@ -125,12 +155,65 @@ public interface ICPPEvaluation {
 			return this;
 		}
 
+		/**
+		 * Records the allocation of the given number of values, e.g. for the parameters of a
+		 * function call.
+		 *
+		 * @return this constexpr evaluation
+		 */
+		public ConstexprEvaluationContext recordValues(int count) {
+			fValuesAllocated += count;
+			return this;
+		}
+
 		/**
 		 * Returns the number of steps performed so far in the constexpr evaluation.
 		 */
 		public int getStepsPerformed() {
 			return fStepsPerformed;
 		}
+
+		/**
+		 * Returns the number of values allocated so far in the constexpr evaluation.
+		 */
+		public int getValuesAllocated() {
+			return fValuesAllocated;
+		}
+
+		/**
+		 * Checks whether the evaluation has used up its budget of steps or values, in which case
+		 * it has to give up. The first time this happens it is counted, see
+		 * {@link #getStepBudgetExceededCount()} and {@link #getMemoryBudgetExceededCount()}.
+		 */
+		public boolean isBudgetExceeded() {
+			if (fBudgetExceeded)
+				return true;
+			if (fStepsPerformed >= fMaxSteps) {
+				sStepBudgetExceeded.increment();
+			} else if (fValuesAllocated >= fMaxValues) {
+				sMemoryBudgetExceeded.increment();
+			} else {
+				return false;
+			}
+			fBudgetExceeded = true;
+			return true;
+		}
+
+		/**
+		 * Returns the number of constexpr evaluations that gave up because they performed too
+		 * many steps.
+		 */
+		public static long getStepBudgetExceededCount() {
+			return sStepBudgetExceeded.sum();
+		}
+
+		/**
+		 * Returns the number of constexpr evaluations that gave up because they allocated too
+		 * many values.
+		 */
+		public static long getMemoryBudgetExceededCount() {
+			return sMemoryBudgetExceeded.sum();
+		}
 	}
 
 	/**
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.CVTYPE;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.getNestedType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPParameter;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
+
+/**
+ * Cache for the constexpr evaluation in a translation unit.
+ * <p>
+ * Calls of constexpr functions whose arguments are numbers passed by value are pure, their
+ * results are memoized by the values of the arguments. The executions of the bodies of functions
+ * that are called repeatedly are kept, such that they are not loaded from the index or
+ * instantiated for each call.
+ */
+public final class ConstexprCache {
+	/** Number of calls after which the execution of the body of a function is kept. */
+	private static final int HOT_FUNCTION_CALLS = 2;
+	private static final int MAX_RESULTS = 1 << 14;
+
+	private static final class CallKey {
+		final ICPPFunction fFunction;
+		final Number[] fArguments;
+		final int fHashCode;
+
+		CallKey(ICPPFunction function, Number[] arguments) {
+			fFunction = function;
+			fArguments = arguments;
+			fHashCode = 31 * function.hashCode() + Arrays.hashCode(arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CallKey))
+				return false;
+			CallKey other = (CallKey) obj;
+			return fHashCode == other.fHashCode && fFunction.equals(other.fFunction)
+					&& Arrays.equals(fArguments, other.fArguments);
+		}
+	}
+
+	private final Map<CallKey, ICPPEvaluation> fResults = new HashMap<>();
+	private final Map<ICPPFunction, ICPPExecution> fBodies = new HashMap<>();
+	private final Map<ICPPFunction, Integer> fCallCounts = new HashMap<>();
+	private int fHits;
+	private int fMisses;
+
+	/**
+	 * Returns the cache of the translation unit of the current lookup point, or {@code null}.
+	 */
+	public static ConstexprCache getCurrent() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Creates the key for memoizing a call of the given function, or returns {@code null} if the
+	 * result of the call may depend on more than the values of the arguments.
+	 *
+	 * @param arguments the evaluation of the function followed by the evaluations of the arguments
+	 */
+	static Object createCallKey(ICPPFunction function, ICPPEvaluation[] arguments) {
+		if (function instanceof ICPPMethod && !((ICPPMethod) function).isStatic())
+			return null;
+		ICPPParameter[] parameters = function.getParameters();
+		if (parameters.length != arguments.length - 1)
+			return null;
+		Number[] values = new Number[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			if (parameters[i].isParameterPack())
+				return null;
+			IType type = getNestedType(parameters[i].getType(), TDEF | CVTYPE);
+			if (type instanceof ICPPReferenceType || type instanceof IPointerType)
+				return null;
+			values[i] = arguments[i + 1].getValue().numberValue();
+			if (values[i] == null)
+				return null;
+		}
+		return new CallKey(function, values);
+	}
+
+	ICPPEvaluation getResult(Object callKey) {
+		ICPPEvaluation result = fResults.get(callKey);
+		if (result == null) {
+			fMisses++;
+		} else {
+			fHits++;
+		}
+		return result;
+	}
+
+	void putResult(Object callKey, ICPPEvaluation result) {
+		if (result == EvalFixed.INCOMPLETE)
+			return;
+		// Only numbers are immutable and independent of the activation record of the call.
+		IValue value = result.getValue();
+		if (value.numberValue() == null)
+			return;
+		if (!(result instanceof EvalFixed)) {
+			result = new EvalFixed(result.getType(), result.getValueCategory(), value);
+		}
+		if (fResults.size() >= MAX_RESULTS) {
+			fResults.clear();
+		}
+		fResults.put((CallKey) callKey, result);
+	}
+
+	/**
+	 * Returns the execution of the body of the given function, see
+	 * {@link CPPFunction#getFunctionBodyExecution(ICPPFunction)}.
+	 */
+	ICPPExecution getFunctionBodyExecution(ICPPFunction function) {
+		ICPPExecution body = fBodies.get(function);
+		if (body == null) {
+			body = CPPFunction.getFunctionBodyExecution(function);
+			if (body != null && fCallCounts.merge(function, 1, Integer::sum) >= HOT_FUNCTION_CALLS) {
+				fCallCounts.remove(function);
+				fBodies.put(function, body);
+			}
+		}
+		return body;
+	}
+
+	public int getHits() {
+		return fHits;
+	}
+
+	public int getMisses() {
+		return fMisses;
+	}
+}
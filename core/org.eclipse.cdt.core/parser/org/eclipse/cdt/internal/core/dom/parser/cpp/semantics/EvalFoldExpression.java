@@ -257,7 +257,7 @@ public class EvalFoldExpression extends CPPDependentEvaluation {
 
 	@Override
 	public ICPPEvaluation computeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.isBudgetExceeded()) {
 			return EvalFixed.INCOMPLETE;
 		}
 
@@ -279,7 +279,7 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public ICPPEvaluation computeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.isBudgetExceeded()) {
 			return EvalFixed.INCOMPLETE;
 		}
 
@@ -348,8 +348,28 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
-		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
-		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
+		ConstexprCache cache = ConstexprCache.getCurrent();
+		Object callKey = cache != null ? ConstexprCache.createCallKey(function, fArguments) : null;
+		if (callKey != null) {
+			ICPPEvaluation result = cache.getResult(callKey);
+			if (result != null)
+				return result;
+		}
+		ICPPEvaluation result = executeFunctionBody(function, cache, context);
+		if (callKey != null) {
+			cache.putResult(callKey, result);
+		}
+		return result;
+	}
+
+	private ICPPEvaluation executeFunctionBody(ICPPFunction function, ConstexprCache cache,
+			ConstexprEvaluationContext context) {
+		ICPPParameter[] parameters = function.getParameters();
+		if (context.recordValues(parameters.length + 1).isBudgetExceeded())
+			return EvalFixed.INCOMPLETE;
+
+		ActivationRecord record = createActivationRecord(parameters, fArguments, getImplicitThis());
+		ICPPExecution bodyExec = getFunctionBodyExecution(function, cache);
 		if (bodyExec == null) {
 			if (!(function instanceof ICPPTemplateInstance)
 					|| ((ICPPTemplateInstance) function).isExplicitSpecialization()) {
@@ -359,7 +379,7 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 			IBinding specialized = functionInstance.getSpecializedBinding();
 			if (!(specialized instanceof ICPPFunction))
 				return this;
-			bodyExec = CPPFunction.getFunctionBodyExecution((ICPPFunction) specialized);
+			bodyExec = getFunctionBodyExecution((ICPPFunction) specialized, cache);
 		}
 		if (bodyExec != null) {
 			bodyExec = bodyExec.executeForFunctionCall(record, context.recordStep());
@@ -387,6 +407,12 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		return EvalFixed.INCOMPLETE;
 	}
 
+	private static ICPPExecution getFunctionBodyExecution(ICPPFunction function, ConstexprCache cache) {
+		if (cache != null)
+			return cache.getFunctionBodyExecution(function);
+		return CPPFunction.getFunctionBodyExecution(function);
+	}
+
 	public ICPPFunction resolveFunctionBinding() {
 		ICPPFunction function = getOverload();
 		if (function == null) {
@@ -58,6 +58,7 @@ public final class ExecDeclarator implements ICPPExecution {
 		if (initialValue == null || initialValue == EvalFixed.INCOMPLETE)
 			return ExecIncomplete.INSTANCE;
 
+		context.recordValues(1);
 		record.update(declaredBinding, initialValue);
 		return this;
 	}
@@ -140,7 +140,7 @@ public class ExecRangeBasedFor implements ICPPExecution {
 
 	@Override
 	public ICPPExecution executeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.isBudgetExceeded()) {
 			return ExecIncomplete.INSTANCE;
 		}
 
@@ -746,6 +746,12 @@ public class CIndex implements IIndex {
 		}
 	}
 
+	protected void clearResultCache(int linkageID) {
+		for (IIndexFragment frag : fFragments) {
+			frag.clearResultCache(linkageID);
+		}
+	}
+
 	@Override
 	public IIndexFileSet createFileSet() {
 		return new IndexFileSet();
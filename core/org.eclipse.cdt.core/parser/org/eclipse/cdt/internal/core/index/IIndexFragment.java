@@ -353,6 +353,12 @@ public interface IIndexFragment {
 	 */
 	void clearResultCache();
 
+	/**
+	 * Removes the results computed for the given linkage, and the ones not associated with a
+	 * linkage, from the result cache.
+	 */
+	void clearResultCache(int linkageID);
+
 	/**
 	 * Returns the global inline namespaces.
 	 * @throws CoreException
@@ -178,6 +178,12 @@ public interface IWritableIndex extends IIndex {
 	 */
 	void clearResultCache();
 
+	/**
+	 * Removes the results computed for the given linkage from the result cache, caller needs to
+	 * hold a write-lock.
+	 */
+	void clearResultCache(int linkageID);
+
 	/**
 	 * Changes the inclusions pointing to 'source' to point to 'target', instead.
 	 * Both files must belong to the writable fragment.
@@ -43,6 +43,7 @@ import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.FileVersion;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.InclusionKind;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenCache;
 import org.eclipse.cdt.internal.core.pdom.ASTFilePathResolver;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask.IndexFileContent;
@@ -67,6 +68,7 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 
 	private boolean fIndexAllHeaderVersions;
+	private TokenCache fTokenCache;
 
 	public IndexBasedFileContentProvider(IIndex index, ASTFilePathResolver pathResolver, int linkage,
 			IncludeFileContentProvider fallbackFactory) {
@@ -90,6 +92,21 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 		fFileSizeLimit = limit;
 	}
 
+	public void setTokenCache(TokenCache cache) {
+		fTokenCache = cache;
+	}
+
+	@Override
+	public TokenCache getTokenCache(String filePath) {
+		if (fTokenCache != null) {
+			// Files in the workspace change too often to be worth caching.
+			IIndexFileLocation ifl = fPathResolver.resolveASTPath(filePath);
+			if (ifl != null && ifl.getFullPath() == null)
+				return fTokenCache;
+		}
+		return null;
+	}
+
 	public void setLinkage(int linkageID) {
 		fLinkage = linkageID;
 	}
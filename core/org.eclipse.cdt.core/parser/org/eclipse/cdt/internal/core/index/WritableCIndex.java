@@ -163,6 +163,12 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		super.clearResultCache();
 	}
 
+	@Override
+	public void clearResultCache(int linkageID) {
+		assert fIsWriteLocked : "Need to hold a write lock to clear result caches"; //$NON-NLS-1$
+		super.clearResultCache(linkageID);
+	}
+
 	@Override
 	public void flush() throws CoreException {
 		assert !fIsWriteLocked;
@@ -371,9 +371,10 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		fFileContentProvider.resetForTranslationUnit();
 	}
 
-	private char[] detectIncludeGuard(String filePath, AbstractCharArray source, ScannerContext ctx) {
+	private char[] detectIncludeGuard(String filePath, AbstractCharArray source, LexedTokens tokens,
+			ScannerContext ctx) {
 		if (!fFileContentProvider.shouldIndexAllHeaderVersions(filePath)) {
-			final char[] guard = IncludeGuardDetection.detectIncludeGuard(source, fLexOptions, fPPKeywords);
+			final char[] guard = IncludeGuardDetection.detectIncludeGuard(source, tokens, fLexOptions, fPPKeywords);
 			if (guard != null) {
 				IFileNomination nom = fLocationMap.reportPragmaOnceSemantics(ctx.getLocationCtx());
 				fFileContentProvider.reportPragmaOnceSemantics(filePath, nom);
@@ -575,7 +576,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			processInclusionFromIndex(0, content, false);
 		}
 
-		detectIncludeGuard(location, fRootContent.getSource(), fRootContext);
+		detectIncludeGuard(location, fRootContent.getSource(), null, fRootContext);
 		fLocationMap.parsingFile(fFileContentProvider, fRootContent);
 		fRootContent = null;
 	}
@@ -1782,10 +1783,20 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			if (source != null) {
 				ILocationCtx ctx = fLocationMap.pushInclusion(poundOffset, nameOffsets[0], nameOffsets[1],
 						condEndOffset, source, path, headerName, userInclude, isHeuristic, fi.isSource());
-				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext,
-						new Lexer(source, fLexOptions, this, this));
+				final Lexer includedLexer = new Lexer(source, fLexOptions, this, this);
+				final TokenCache tokenCache = fFileContentProvider.getTokenCache(path);
+				LexedTokens tokens = null;
+				if (tokenCache != null) {
+					tokens = tokenCache.get(source, fLexOptions);
+					if (tokens != null) {
+						includedLexer.replay(tokens);
+					} else {
+						includedLexer.startRecording(recorded -> tokenCache.put(source, fLexOptions, recorded));
+					}
+				}
+				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext, includedLexer);
 				fctx.setFoundOnPath(fi.getFoundOnPath(), includeDirective);
-				detectIncludeGuard(path, source, fctx);
+				detectIncludeGuard(path, source, tokens, fctx);
 				fCurrentContext = fctx;
 				stmt = ctx.getInclusionStatement();
 				stmt.setIncludedFileTimestamp(fi.getTimestamp());
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache for the listings of the directories that are searched for included files, shared by
+ * the indexer and the parsers of the editors. Checking whether an include file exists in one of
+ * the directories of the include search path becomes a lookup in the listing of the directory.
+ * <p>
+ * The listings are kept current with a {@link WatchService}. Listings of directories that cannot
+ * be watched are validated against the modification time of the directory, at most once in
+ * {@link #UNWATCHED_VALIDITY_MS}. The listings can be saved and loaded, such that they survive
+ * a restart. Loaded listings are validated against the modification time of the directory once,
+ * before they are used.
+ * <p>
+ * The cache handles local paths only and can be used by multiple threads at once.
+ */
+public final class DirectoryListingCache {
+	/**
+	 * System property to disable the cache, by default it is enabled.
+	 */
+	public static final String ENABLED_PROPERTY = "org.eclipse.cdt.core.parser.directoryListingCache"; //$NON-NLS-1$
+	/**
+	 * System property for the maximum number of directories watched for changes.
+	 */
+	public static final String MAX_WATCHED_PROPERTY = ENABLED_PROPERTY + ".maxWatched"; //$NON-NLS-1$
+	public static final int DEFAULT_MAX_WATCHED = 4096;
+	public static final int DEFAULT_MAX_LISTINGS = 20000;
+	/** Time after which the listing of a directory that is not watched is validated again. */
+	public static final long UNWATCHED_VALIDITY_MS = 2000;
+
+	private static final int FILE_FORMAT_VERSION = 1;
+	private static final byte KIND_UNKNOWN = 0;
+	private static final byte KIND_FILE = 1;
+	private static final byte KIND_OTHER = 2;
+	private static final byte CASE_UNKNOWN = 0;
+	private static final byte CASE_SENSITIVE = 1;
+	private static final byte CASE_INSENSITIVE = 2;
+	// Sorted such that a name can be found with and without ignoring case.
+	private static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER
+			.thenComparing(Comparator.naturalOrder());
+
+	private static DirectoryListingCache sInstance;
+
+	private static final class Listing {
+		final String[] fNames;
+		final byte[] fKinds;
+		final long fLastModified;
+		// The key watching the directory, or null.
+		final WatchKey fWatchKey;
+		volatile long fValidUntil;
+		// Whether the file system of the directory ignores case, found out by exists(String).
+		volatile byte fCaseSensitivity = CASE_UNKNOWN;
+
+		Listing(String[] names, byte[] kinds, long lastModified, WatchKey watchKey, long validUntil) {
+			fNames = names;
+			fKinds = kinds;
+			fLastModified = lastModified;
+			fWatchKey = watchKey;
+			fValidUntil = validUntil;
+		}
+
+		/**
+		 * Returns whether the directory is still watched, the key is cancelled by {@link #clear()}.
+		 */
+		boolean isWatched() {
+			return fWatchKey != null && fWatchKey.isValid();
+		}
+	}
+
+	private final int fMaxWatched;
+	private final int fMaxListings;
+	private final ConcurrentHashMap<String, Listing> fListings = new ConcurrentHashMap<>();
+	private final Map<WatchKey, String> fWatchedDirectories = new ConcurrentHashMap<>();
+	// Incremented for every change reported by the watch service.
+	private final AtomicLong fChanges = new AtomicLong();
+	private WatchService fWatchService;
+	private boolean fWatchServiceFailed;
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fListed = new LongAdder();
+	private final LongAdder fInvalidations = new LongAdder();
+
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the cache shared by all parsers.
+	 */
+	public static synchronized DirectoryListingCache getInstance() {
+		if (sInstance == null) {
+			sInstance = new DirectoryListingCache(Integer.getInteger(MAX_WATCHED_PROPERTY, DEFAULT_MAX_WATCHED),
+					DEFAULT_MAX_LISTINGS);
+		}
+		return sInstance;
+	}
+
+	public DirectoryListingCache(int maxWatched, int maxListings) {
+		fMaxWatched = maxWatched;
+		fMaxListings = maxListings;
+	}
+
+	/**
+	 * Checks whether the given path denotes an existing file or directory.
+	 */
+	public boolean exists(String path, boolean ignoreCase) {
+		File file = new File(path);
+		String parent = file.getParent();
+		String name = file.getName();
+		if (parent == null || !isPlainName(name))
+			return file.exists();
+
+		return find(getListing(parent), name, ignoreCase) >= 0;
+	}
+
+	/**
+	 * Checks whether the given path denotes an existing file or directory, comparing names like
+	 * the file system of the directory does. The case sensitivity depends on the file system
+	 * rather than the platform, e.g. volumes on macOS can be case-sensitive. It is checked for
+	 * each directory the first time a name differs from an entry of the listing in case only.
+	 */
+	public boolean exists(String path) {
+		File file = new File(path);
+		String parent = file.getParent();
+		String name = file.getName();
+		if (parent == null || !isPlainName(name))
+			return file.exists();
+
+		Listing listing = getListing(parent);
+		if (find(listing, name, false) >= 0)
+			return true;
+		if (find(listing, name, true) < 0)
+			return false;
+
+		byte caseSensitivity = listing.fCaseSensitivity;
+		if (caseSensitivity == CASE_UNKNOWN) {
+			// Concurrent threads may compute the same value, that's harmless.
+			caseSensitivity = file.exists() ? CASE_INSENSITIVE : CASE_SENSITIVE;
+			listing.fCaseSensitivity = caseSensitivity;
+		}
+		return caseSensitivity == CASE_INSENSITIVE;
+	}
+
+	/**
+	 * Checks whether the given path denotes an existing file.
+	 */
+	public boolean isFile(String path, boolean ignoreCase) {
+		File file = new File(path);
+		String parent = file.getParent();
+		String name = file.getName();
+		if (parent == null || !isPlainName(name))
+			return file.isFile();
+
+		Listing listing = getListing(parent);
+		int idx = find(listing, name, ignoreCase);
+		if (idx < 0)
+			return false;
+
+		byte kind = listing.fKinds[idx];
+		if (kind == KIND_UNKNOWN) {
+			// Concurrent threads may compute the same value, that's harmless.
+			kind = new File(parent, listing.fNames[idx]).isFile() ? KIND_FILE : KIND_OTHER;
+			listing.fKinds[idx] = kind;
+		}
+		return kind == KIND_FILE;
+	}
+
+	private static boolean isPlainName(String name) {
+		return !name.isEmpty() && !name.equals(".") && !name.equals(".."); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static int find(Listing listing, String name, boolean ignoreCase) {
+		return Arrays.binarySearch(listing.fNames, name, ignoreCase ? String.CASE_INSENSITIVE_ORDER : NAME_ORDER);
+	}
+
+	private Listing getListing(String directory) {
+		Listing listing = fListings.get(directory);
+		if (listing != null) {
+			if (System.currentTimeMillis() < listing.fValidUntil) {
+				fHits.increment();
+				return listing;
+			}
+			listing = validate(directory, listing);
+			if (listing != null) {
+				fHits.increment();
+				return listing;
+			}
+		}
+		return readListing(directory);
+	}
+
+	/**
+	 * Checks a listing that has not been watched for a while, or has been loaded, against the
+	 * modification time of the directory. Returns the valid listing or {@code null}.
+	 */
+	private Listing validate(String directory, Listing listing) {
+		WatchKey watchKey = listing.isWatched() ? listing.fWatchKey : watch(directory);
+		long changes = fChanges.get();
+		if (new File(directory).lastModified() != listing.fLastModified)
+			return null;
+
+		if (watchKey != listing.fWatchKey) {
+			Listing update = new Listing(listing.fNames, listing.fKinds, listing.fLastModified, watchKey, 0);
+			if (!fListings.replace(directory, listing, update))
+				return null;
+			listing = update;
+		}
+		listing.fValidUntil = getValidUntil(watchKey != null, changes);
+		return listing;
+	}
+
+	private long getValidUntil(boolean watched, long changesBeforeListing) {
+		if (watched && fChanges.get() == changesBeforeListing)
+			return Long.MAX_VALUE;
+		// Unwatched, or a change may have been reported before the listing was stored.
+		return System.currentTimeMillis() + UNWATCHED_VALIDITY_MS;
+	}
+
+	private Listing readListing(String directory) {
+		if (fListings.size() >= fMaxListings) {
+			// Listings are cheap to recompute compared to tracking their use, start over. This
+			// stops watching all directories, so it has to happen before watching this one.
+			clear();
+		}
+		// Start watching before listing the directory, such that no change can be missed.
+		WatchKey watchKey = watch(directory);
+		long changes = fChanges.get();
+		File dir = new File(directory);
+		long lastModified = dir.lastModified();
+		String[] names = dir.list();
+		if (names == null) {
+			names = new String[0];
+		} else {
+			Arrays.sort(names, NAME_ORDER);
+		}
+		fListed.increment();
+		Listing listing = new Listing(names, new byte[names.length], lastModified, watchKey, 0);
+		fListings.put(directory, listing);
+		listing.fValidUntil = getValidUntil(watchKey != null, changes);
+		return listing;
+	}
+
+	/**
+	 * Starts watching the given directory, returns the key or {@code null} if the directory
+	 * cannot be watched.
+	 */
+	private WatchKey watch(String directory) {
+		WatchService watchService = getWatchService();
+		if (watchService == null || fWatchedDirectories.size() >= fMaxWatched)
+			return null;
+		try {
+			WatchKey key = Paths.get(directory).register(watchService, ENTRY_CREATE, ENTRY_DELETE);
+			fWatchedDirectories.put(key, directory);
+			return key;
+		} catch (IOException | RuntimeException e) {
+			// The directory does not exist or cannot be watched.
+			return null;
+		}
+	}
+
+	private synchronized WatchService getWatchService() {
+		if (fWatchService == null && !fWatchServiceFailed) {
+			try {
+				WatchService watchService = FileSystems.getDefault().newWatchService();
+				if (watchService.getClass().getName().endsWith("PollingWatchService")) { //$NON-NLS-1$
+					// Polling reports changes with a delay, validating the listings is more reliable.
+					watchService.close();
+					fWatchServiceFailed = true;
+					return null;
+				}
+				Thread watcher = new Thread(() -> processWatchEvents(watchService), "Directory Listing Watcher"); //$NON-NLS-1$
+				watcher.setDaemon(true);
+				watcher.start();
+				fWatchService = watchService;
+			} catch (IOException | UnsupportedOperationException e) {
+				fWatchServiceFailed = true;
+			}
+		}
+		return fWatchService;
+	}
+
+	private void processWatchEvents(WatchService watchService) {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				key.pollEvents();
+				fChanges.incrementAndGet();
+				String directory = fWatchedDirectories.get(key);
+				if (!key.reset()) {
+					fWatchedDirectories.remove(key);
+				}
+				if (directory != null) {
+					invalidate(directory);
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// The cache has been disposed.
+		}
+	}
+
+	/**
+	 * Removes the listing of the given directory.
+	 */
+	public void invalidate(String directory) {
+		if (fListings.remove(directory) != null) {
+			fInvalidations.increment();
+		}
+	}
+
+	/**
+	 * Removes all listings and stops watching the directories.
+	 */
+	public void clear() {
+		fListings.clear();
+		for (WatchKey key : fWatchedDirectories.keySet()) {
+			key.cancel();
+		}
+		fWatchedDirectories.clear();
+		// A listing stored concurrently may use a cancelled key, it must not be valid forever.
+		fChanges.incrementAndGet();
+	}
+
+	/**
+	 * Removes all listings and stops the watch service.
+	 */
+	public synchronized void dispose() {
+		clear();
+		if (fWatchService != null) {
+			try {
+				fWatchService.close();
+			} catch (IOException e) {
+				// Nothing to do.
+			}
+			fWatchService = null;
+		}
+	}
+
+	/**
+	 * Stores the current listings in the given file.
+	 */
+	public void save(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_FORMAT_VERSION);
+			for (Map.Entry<String, Listing> entry : fListings.entrySet()) {
+				Listing listing = entry.getValue();
+				out.writeBoolean(true);
+				out.writeUTF(entry.getKey());
+				out.writeLong(listing.fLastModified);
+				out.writeInt(listing.fNames.length);
+				for (int i = 0; i < listing.fNames.length; i++) {
+					out.writeUTF(listing.fNames[i]);
+					out.writeByte(listing.fKinds[i]);
+				}
+			}
+			out.writeBoolean(false);
+		}
+	}
+
+	/**
+	 * Adds the listings stored in the given file. The listings are validated before they are used.
+	 */
+	public void load(File file) throws IOException {
+		if (!file.isFile())
+			return;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_FORMAT_VERSION)
+				return;
+			while (in.readBoolean() && fListings.size() < fMaxListings) {
+				String directory = in.readUTF();
+				long lastModified = in.readLong();
+				int length = in.readInt();
+				String[] names = new String[length];
+				byte[] kinds = new byte[length];
+				for (int i = 0; i < length; i++) {
+					names[i] = in.readUTF();
+					kinds[i] = in.readByte();
+				}
+				fListings.putIfAbsent(directory, new Listing(names, kinds, lastModified, null, 0));
+			}
+		}
+	}
+
+	public int size() {
+		return fListings.size();
+	}
+
+	public int getWatchedDirectoryCount() {
+		return fWatchedDirectories.size();
+	}
+
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of directories that have been listed.
+	 */
+	public long getListed() {
+		return fListed.sum();
+	}
+
+	public long getInvalidations() {
+		return fInvalidations.sum();
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		return size() + " directories, " + getWatchedDirectoryCount() + " watched, " + getHits() + " hits, "
+				+ getListed() + " listed, " + getInvalidations() + " invalidations";
+	}
+}
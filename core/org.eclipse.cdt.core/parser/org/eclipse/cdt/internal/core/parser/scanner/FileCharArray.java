@@ -33,7 +33,26 @@ import org.eclipse.cdt.core.CCorePlugin;
 public class FileCharArray extends LazyCharArray {
 	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
 
+	/**
+	 * System property that controls whether large files in UTF-8 or US-ASCII encoding are mapped
+	 * into memory, see {@link MappedFileCharArray}. By default this is done on all platforms but
+	 * Windows, where mapped files cannot be modified or deleted until the mapping is collected.
+	 */
+	public static final String MAP_FILES_PROPERTY = "org.eclipse.cdt.core.parser.mmapFiles"; //$NON-NLS-1$
+	private static final boolean MAP_FILES = Boolean.parseBoolean(System.getProperty(MAP_FILES_PROPERTY,
+			String.valueOf(!System.getProperty("os.name", "").startsWith("Windows")))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
 	public static AbstractCharArray create(String fileName, String charSet, InputStream in) throws IOException {
+		return create(fileName, charSet, in, MAP_FILES);
+	}
+
+	/**
+	 * Creates the char array for a local file.
+	 * @param mapFile whether large files in UTF-8 or US-ASCII encoding are mapped into memory
+	 *     rather than decoded in chunks.
+	 */
+	public static AbstractCharArray create(String fileName, String charSet, InputStream in, boolean mapFile)
+			throws IOException {
 		// No support for non-local files.
 		if (!(in instanceof FileInputStream)) {
 			return null;
@@ -47,6 +66,11 @@ public class FileCharArray extends LazyCharArray {
 		if (lsize < CHUNK_SIZE) {
 			return decodeSmallFile(channel, (int) lsize, charSet);
 		}
+		if (mapFile) {
+			AbstractCharArray mapped = MappedFileCharArray.create(channel, charSet);
+			if (mapped != null)
+				return mapped;
+		}
 
 		return new FileCharArray(fileName, charSet);
 	}
@@ -30,7 +30,19 @@ public class IncludeGuardDetection {
 
 	public static char[] detectIncludeGuard(AbstractCharArray content, Lexer.LexerOptions lexOptions,
 			CharArrayIntMap ppKeywords) {
+		return detectIncludeGuard(content, null, lexOptions, ppKeywords);
+	}
+
+	/**
+	 * Same as {@link #detectIncludeGuard(AbstractCharArray, Lexer.LexerOptions, CharArrayIntMap)},
+	 * replays the given tokens of the content rather than lexing it, if they are not {@code null}.
+	 */
+	public static char[] detectIncludeGuard(AbstractCharArray content, LexedTokens tokens,
+			Lexer.LexerOptions lexOptions, CharArrayIntMap ppKeywords) {
 		Lexer l = new Lexer(content, lexOptions, ILexerLog.NULL, null);
+		if (tokens != null) {
+			l.replay(tokens);
+		}
 		char[] guard = findIncludeGuard(l, ppKeywords);
 		if (guard != null && currentIfSpansFile(l, ppKeywords)) {
 			return guard;
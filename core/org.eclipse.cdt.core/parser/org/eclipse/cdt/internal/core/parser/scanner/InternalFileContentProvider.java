@@ -67,6 +67,9 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 				return false;
 			}
 		}
+		if (DirectoryListingCache.isEnabled()) {
+			return DirectoryListingCache.getInstance().exists(path);
+		}
 
 		return new File(path).exists();
 	}
@@ -162,6 +165,14 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 		return null;
 	}
 
+	/**
+	 * Returns the cache for the tokens of the given included file, or {@code null} if the tokens
+	 * of the file shall not be cached.
+	 */
+	public TokenCache getTokenCache(String filePath) {
+		return null;
+	}
+
 	/**
 	 * Returns whether or not the header file should be indexed for all versions
 	 */
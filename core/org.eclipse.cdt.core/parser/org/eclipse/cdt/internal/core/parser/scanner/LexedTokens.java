@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Recording of the output of the {@link Lexer} for a complete file: the tokens, comments and
+ * problems in the order they were found. A lexer can replay the recording instead of lexing the
+ * file again, see {@link Lexer#replay(LexedTokens)}. The recording does not contain the images
+ * of the tokens, they are taken from the input, except for tokens containing trigraphs or
+ * line-splices.
+ */
+public final class LexedTokens {
+	static final int TOKEN = 0;
+	static final int DIGRAPH = 1;
+	/** Token with an image equal to the input between its offsets. */
+	static final int IMAGE = 2;
+	/** Token with an image that differs from the input. */
+	static final int EXPLICIT_IMAGE = 3;
+	static final int BLOCK_COMMENT = 4;
+	static final int LINE_COMMENT = 5;
+	/** Problem found in the token that follows, the argument of the problem is stored as image. */
+	static final int PROBLEM = 6;
+
+	private static final int TAG_BITS = 4;
+	private static final int TAG_MASK = (1 << TAG_BITS) - 1;
+	// Every event is stored as kind and tag, offset and end offset.
+	private static final int STRIDE = 3;
+
+	private final int[] fEvents;
+	// Sorted indexes of the events with images.
+	private final int[] fImageEvents;
+	private final char[][] fImages;
+
+	private LexedTokens(int[] events, int[] imageEvents, char[][] images) {
+		fEvents = events;
+		fImageEvents = imageEvents;
+		fImages = images;
+	}
+
+	/**
+	 * Returns the number of recorded events.
+	 */
+	public int size() {
+		return fEvents.length / STRIDE;
+	}
+
+	int getTag(int event) {
+		return fEvents[event * STRIDE] & TAG_MASK;
+	}
+
+	/**
+	 * Returns the kind of the token, or the id of the problem.
+	 */
+	int getKind(int event) {
+		return fEvents[event * STRIDE] >> TAG_BITS;
+	}
+
+	int getOffset(int event) {
+		return fEvents[event * STRIDE + 1];
+	}
+
+	int getEndOffset(int event) {
+		return fEvents[event * STRIDE + 2];
+	}
+
+	char[] getImage(int event) {
+		final int idx = Arrays.binarySearch(fImageEvents, event);
+		return idx < 0 ? null : fImages[idx];
+	}
+
+	public void write(DataOutput out) throws IOException {
+		final int size = size();
+		out.writeInt(size);
+		int lastOffset = 0;
+		for (int i = 0; i < size; i++) {
+			final int offset = getOffset(i);
+			writeVarInt(out, zigzag(fEvents[i * STRIDE]));
+			writeVarInt(out, zigzag(offset - lastOffset));
+			writeVarInt(out, getEndOffset(i) - offset);
+			lastOffset = offset;
+		}
+		out.writeInt(fImageEvents.length);
+		for (int i = 0; i < fImageEvents.length; i++) {
+			final char[] image = fImages[i];
+			writeVarInt(out, fImageEvents[i]);
+			writeVarInt(out, image.length);
+			for (char c : image) {
+				out.writeChar(c);
+			}
+		}
+	}
+
+	public static LexedTokens read(DataInput in) throws IOException {
+		final int size = in.readInt();
+		if (size < 0 || size > Integer.MAX_VALUE / STRIDE)
+			throw new IOException("Invalid number of events: " + size); //$NON-NLS-1$
+		final int[] events = new int[size * STRIDE];
+		int lastOffset = 0;
+		for (int i = 0; i < events.length; i += STRIDE) {
+			events[i] = unzigzag(readVarInt(in));
+			final int offset = lastOffset + unzigzag(readVarInt(in));
+			events[i + 1] = offset;
+			events[i + 2] = offset + readVarInt(in);
+			lastOffset = offset;
+		}
+		final int imageCount = in.readInt();
+		if (imageCount < 0 || imageCount > size)
+			throw new IOException("Invalid number of images: " + imageCount); //$NON-NLS-1$
+		final int[] imageEvents = new int[imageCount];
+		final char[][] images = new char[imageCount][];
+		for (int i = 0; i < imageCount; i++) {
+			imageEvents[i] = readVarInt(in);
+			final char[] image = new char[readVarInt(in)];
+			for (int j = 0; j < image.length; j++) {
+				image[j] = in.readChar();
+			}
+			images[i] = image;
+		}
+		return new LexedTokens(events, imageEvents, images);
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeVarInt(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7f) != 0) {
+			out.writeByte((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final byte b = in.readByte();
+			value |= (b & 0x7f) << shift;
+			if (b >= 0)
+				return value;
+		}
+		throw new IOException("Malformed variable length integer"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Records the output of a lexer. Comments and problems are passed on to the log of the lexer.
+	 */
+	static final class Recorder implements ILexerLog {
+		private final ILexerLog fDelegate;
+		private int[] fEvents = new int[STRIDE * 1024];
+		private int fSize;
+		private int[] fImageEvents = new int[8];
+		private char[][] fImages = new char[8][];
+		private int fImageCount;
+
+		Recorder(ILexerLog delegate) {
+			fDelegate = delegate;
+		}
+
+		ILexerLog getDelegate() {
+			return fDelegate;
+		}
+
+		@Override
+		public void handleComment(boolean isBlockComment, int offset, int endOffset, AbstractCharArray input) {
+			add(isBlockComment ? BLOCK_COMMENT : LINE_COMMENT, 0, offset, endOffset);
+			fDelegate.handleComment(isBlockComment, offset, endOffset, input);
+		}
+
+		@Override
+		public void handleProblem(int problemID, char[] info, int offset, int endOffset) {
+			addImage(info);
+			add(PROBLEM, problemID, offset, endOffset);
+			fDelegate.handleProblem(problemID, info, offset, endOffset);
+		}
+
+		void addToken(Token token) {
+			final int offset = token.getOffset();
+			final int endOffset = token.getEndOffset();
+			int tag = TOKEN;
+			if (token instanceof TokenForDigraph) {
+				tag = DIGRAPH;
+			} else if (token instanceof TokenWithImage) {
+				final char[] image = token.getCharImage();
+				if (image.length == endOffset - offset) {
+					tag = IMAGE;
+				} else {
+					addImage(image);
+					tag = EXPLICIT_IMAGE;
+				}
+			}
+			add(tag, token.getType(), offset, endOffset);
+		}
+
+		private void addImage(char[] image) {
+			if (fImageCount == fImages.length) {
+				fImageEvents = Arrays.copyOf(fImageEvents, fImageCount * 2);
+				fImages = Arrays.copyOf(fImages, fImageCount * 2);
+			}
+			fImageEvents[fImageCount] = fSize / STRIDE;
+			fImages[fImageCount++] = image.clone();
+		}
+
+		private void add(int tag, int kind, int offset, int endOffset) {
+			if (fSize == fEvents.length) {
+				fEvents = Arrays.copyOf(fEvents, fSize * 2);
+			}
+			fEvents[fSize++] = (kind << TAG_BITS) | tag;
+			fEvents[fSize++] = offset;
+			fEvents[fSize++] = endOffset;
+		}
+
+		int getEventCount() {
+			return fSize;
+		}
+
+		int getImageCount() {
+			return fImageCount;
+		}
+
+		/**
+		 * Discards the events recorded after the given number of events and images.
+		 */
+		void truncate(int eventCount, int imageCount) {
+			fSize = eventCount;
+			Arrays.fill(fImages, imageCount, fImageCount, null);
+			fImageCount = imageCount;
+		}
+
+		LexedTokens build() {
+			return new LexedTokens(Arrays.copyOf(fEvents, fSize), Arrays.copyOf(fImageEvents, fImageCount),
+					Arrays.copyOf(fImages, fImageCount));
+		}
+	}
+}
@@ -16,6 +16,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.parser.scanner;
 
+import java.util.function.Consumer;
+
 import org.eclipse.cdt.core.parser.IGCCToken;
 import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.IToken;
@@ -74,12 +76,38 @@ final public class Lexer implements ITokenSequence {
 				return null;
 			}
 		}
+
+		/**
+		 * Returns a bit-set of the options that affect the tokens returned by the lexer.
+		 */
+		public int getLexingFlags() {
+			int flags = 0;
+			if (fSupportDollarInIdentifiers)
+				flags |= 0x1;
+			if (fSupportAtSignInIdentifiers)
+				flags |= 0x2;
+			if (fSupportMinAndMax)
+				flags |= 0x4;
+			if (fSupportSlashPercentComments)
+				flags |= 0x8;
+			if (fSupportUTFLiterals)
+				flags |= 0x10;
+			if (fSupportRawStringLiterals)
+				flags |= 0x20;
+			if (fSupportUserDefinedLiterals)
+				flags |= 0x40;
+			if (fSupportDigitSeparators)
+				flags |= 0x80;
+			if (fSupportThreeWayComparisonOperator)
+				flags |= 0x100;
+			return flags;
+		}
 	}
 
 	// configuration
 	private final LexerOptions fOptions;
 	private boolean fSupportContentAssist = false;
-	private final ILexerLog fLog;
+	private ILexerLog fLog;
 	private final Object fSource;
 
 	// the input to the lexer
@@ -112,6 +140,21 @@ final public class Lexer implements ITokenSequence {
 	private Token fMarkToken;
 	private Token fMarkLastToken;
 
+	// Replay of a recording of the input, see replay(LexedTokens).
+	private LexedTokens fReplay;
+	private int fReplayIndex;
+	// End of the last replayed token or comment.
+	private int fReplayOffset;
+	private LexedTokens fMarkReplay;
+	private int fMarkReplayIndex;
+	private int fMarkReplayOffset;
+
+	// Recording of the input, see startRecording(Consumer).
+	private LexedTokens.Recorder fRecorder;
+	private Consumer<LexedTokens> fRecordingConsumer;
+	private int fMarkRecordedEvents;
+	private int fMarkRecordedImages;
+
 	public Lexer(char[] input, LexerOptions options, ILexerLog log, Object source) {
 		this(new CharArray(input), 0, input.length, options, log, source);
 	}
@@ -150,6 +193,8 @@ final public class Lexer implements ITokenSequence {
 	 */
 	public void setContentAssistMode(int offset) {
 		fSupportContentAssist = true;
+		fReplay = null;
+		stopRecording();
 		if (isValidOffset(offset)) {
 			fLimit = offset;
 		}
@@ -162,6 +207,41 @@ final public class Lexer implements ITokenSequence {
 		return fSupportContentAssist;
 	}
 
+	/**
+	 * Causes the lexer to return the tokens, comments and problems of the given recording rather
+	 * than lexing the input. The recording must have been made from the same input with the same
+	 * options. Has to be called before the first token is fetched.
+	 */
+	public void replay(LexedTokens tokens) {
+		assert fToken.getType() == tBEFORE_INPUT && fStart == 0;
+		if (!fSupportContentAssist) {
+			fReplay = tokens;
+			fReplayIndex = 0;
+			fReplayOffset = fStart;
+		}
+	}
+
+	/**
+	 * Records the tokens, comments and problems of the input. When the end of the input is
+	 * reached, the recording is passed to the given consumer. Has to be called before the first
+	 * token is fetched.
+	 */
+	public void startRecording(Consumer<LexedTokens> consumer) {
+		assert fToken.getType() == tBEFORE_INPUT && fStart == 0;
+		if (!fSupportContentAssist && fRecorder == null) {
+			fLog = fRecorder = new LexedTokens.Recorder(fLog);
+			fRecordingConsumer = consumer;
+		}
+	}
+
+	private void stopRecording() {
+		if (fRecorder != null) {
+			fLog = fRecorder.getDelegate();
+			fRecorder = null;
+			fRecordingConsumer = null;
+		}
+	}
+
 	/**
 	 * Call this before consuming the name-token in the include directive. It causes the header-file
 	 * tokens to be created.
@@ -261,10 +341,109 @@ final public class Lexer implements ITokenSequence {
 		return fToken = t1;
 	}
 
+	private Token fetchToken() throws OffsetLimitReachedException {
+		if (fReplay != null) {
+			if (fReplayIndex < fReplay.size())
+				return replayToken();
+			stopReplay();
+		}
+		final Token t = lexToken();
+		if (fRecorder != null) {
+			fRecorder.addToken(t);
+			if (t.getType() == IToken.tEND_OF_INPUT) {
+				final LexedTokens tokens = fRecorder.build();
+				final Consumer<LexedTokens> consumer = fRecordingConsumer;
+				stopRecording();
+				consumer.accept(tokens);
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * Returns the next token of the recording. Tokens lexed differently because of the include
+	 * directive mode are lexed from the input, the replay continues after them.
+	 */
+	private Token replayToken() throws OffsetLimitReachedException {
+		final LexedTokens r = fReplay;
+		int i = fReplayIndex;
+		int tag;
+		while ((tag = r.getTag(i)) == LexedTokens.BLOCK_COMMENT || tag == LexedTokens.LINE_COMMENT) {
+			fReplayOffset = r.getEndOffset(i);
+			fLog.handleComment(tag == LexedTokens.BLOCK_COMMENT, r.getOffset(i), fReplayOffset, fInput);
+			i++;
+		}
+		fReplayIndex = i;
+		// Problems precede the token they were found in.
+		int tokenIdx = i;
+		while (r.getTag(tokenIdx) == LexedTokens.PROBLEM) {
+			tokenIdx++;
+		}
+		final int kind = r.getKind(tokenIdx);
+		final boolean isHeaderName = kind == tQUOTE_HEADER_NAME || kind == tSYSTEM_HEADER_NAME;
+		if (isHeaderName != fInsideIncludeDirective) {
+			return lexTokenDuringReplay();
+		}
+		for (; i < tokenIdx; i++) {
+			fLog.handleProblem(r.getKind(i), r.getImage(i), r.getOffset(i), r.getEndOffset(i));
+		}
+		final int offset = r.getOffset(tokenIdx);
+		final int endOffset = r.getEndOffset(tokenIdx);
+		fReplayIndex = tokenIdx + 1;
+		fReplayOffset = endOffset;
+		switch (r.getTag(tokenIdx)) {
+		case LexedTokens.DIGRAPH:
+			return new TokenForDigraph(kind, fSource, offset, endOffset);
+		case LexedTokens.IMAGE:
+			final char[] image = new char[endOffset - offset];
+			fInput.arraycopy(offset, image, 0, image.length);
+			return new TokenWithImage(kind, fSource, offset, endOffset, image);
+		case LexedTokens.EXPLICIT_IMAGE:
+			return new TokenWithImage(kind, fSource, offset, endOffset, r.getImage(tokenIdx).clone());
+		}
+		if (kind == tNEWLINE) {
+			fInsideIncludeDirective = false;
+		}
+		return new Token(kind, fSource, offset, endOffset);
+	}
+
+	/**
+	 * Lexes the next token from the input and skips the events of the recording it covers. When
+	 * the token ends in the middle of a recorded token or comment, the replay is stopped.
+	 */
+	private Token lexTokenDuringReplay() throws OffsetLimitReachedException {
+		final LexedTokens r = fReplay;
+		stopReplay();
+		final Token t = lexToken();
+		final int endOffset = t.getEndOffset();
+		final int size = r.size();
+		int i = fReplayIndex;
+		while (i < size && r.getOffset(i) < endOffset) {
+			if (r.getTag(i) != LexedTokens.PROBLEM && r.getEndOffset(i) > endOffset) {
+				// Continue lexing from the end of the token.
+				return t;
+			}
+			i++;
+		}
+		fReplay = r;
+		fReplayIndex = i;
+		fReplayOffset = endOffset;
+		return t;
+	}
+
+	/**
+	 * Stops the replay, the lexer continues at the end of the last replayed token or comment.
+	 */
+	private void stopReplay() {
+		fReplay = null;
+		fEndOffset = fReplayOffset;
+		nextCharPhase3();
+	}
+
 	/**
 	 * Computes the next token.
 	 */
-	private Token fetchToken() throws OffsetLimitReachedException {
+	private Token lexToken() throws OffsetLimitReachedException {
 		while (true) {
 			final int start = fOffset;
 			final int c = fCharPhase3;
@@ -1476,6 +1655,11 @@ final public class Lexer implements ITokenSequence {
 		fMarkInsideIncludeDirective = fInsideIncludeDirective;
 		fMarkToken = fToken;
 		fMarkLastToken = fLastToken;
+		fMarkReplay = fReplay;
+		fMarkReplayIndex = fReplayIndex;
+		fMarkReplayOffset = fReplayOffset;
+		fMarkRecordedEvents = fRecorder != null ? fRecorder.getEventCount() : 0;
+		fMarkRecordedImages = fRecorder != null ? fRecorder.getImageCount() : 0;
 	}
 
 	public void restoreState() {
@@ -1485,5 +1669,12 @@ final public class Lexer implements ITokenSequence {
 		fInsideIncludeDirective = fMarkInsideIncludeDirective;
 		fToken = fMarkToken;
 		fLastToken = fMarkLastToken;
+		fReplay = fMarkReplay;
+		fReplayIndex = fMarkReplayIndex;
+		fReplayOffset = fMarkReplayOffset;
+		// The tokens after the mark are lexed again, they must not be recorded twice.
+		if (fRecorder != null) {
+			fRecorder.truncate(fMarkRecordedEvents, fMarkRecordedImages);
+		}
 	}
 }
@@ -16,6 +16,7 @@ package org.eclipse.cdt.internal.core.parser.scanner;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -88,6 +89,7 @@ public class MacroExpander {
 		public Token fetchFirst() throws OffsetLimitReachedException {
 			Token t = removeFirst();
 			if (t == null && fLexer != null) {
+				markContextDependent();
 				t = fLexer.currentToken();
 				if (t.getType() != IToken.tEND_OF_INPUT) {
 					fEndOffset = t.getEndOffset();
@@ -115,6 +117,7 @@ public class MacroExpander {
 			}
 
 			if (fLexer != null) {
+				markContextDependent();
 				t = fLexer.currentToken();
 				while (t.getType() == Lexer.tNEWLINE) {
 					t = fLexer.nextToken();
@@ -125,6 +128,52 @@ public class MacroExpander {
 		}
 	}
 
+	/**
+	 * The result of expanding an object-style macro, which can be reused as long as the macros
+	 * that were looked up during the expansion have not been defined or undefined.
+	 */
+	private static final class CachedExpansion {
+		final Token[] fTokens;
+		final ImageLocationInfo[] fImageLocationInfos;
+		final PreprocessorMacro[] fImplicitMacros;
+		final ImageLocationInfo[] fImplicitLocationInfos;
+		final char[][] fNames;
+		final PreprocessorMacro[] fDefinitions;
+
+		CachedExpansion(Token[] tokens, ImageLocationInfo[] imageLocationInfos, ExpansionRecording recording) {
+			fTokens = tokens;
+			fImageLocationInfos = imageLocationInfos;
+			fImplicitMacros = recording.fImplicitMacros.toArray(new PreprocessorMacro[0]);
+			fImplicitLocationInfos = recording.fImplicitLocationInfos.toArray(new ImageLocationInfo[0]);
+			fNames = recording.fNames.toArray(new char[0][]);
+			fDefinitions = recording.fDefinitions.toArray(new PreprocessorMacro[0]);
+		}
+
+		boolean isValid(CharArrayMap<PreprocessorMacro> dictionary) {
+			for (int i = 0; i < fNames.length; i++) {
+				if (dictionary.get(fNames[i]) != fDefinitions[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Collects the data for a {@link CachedExpansion} while an expansion is performed.
+	 */
+	private static final class ExpansionRecording {
+		final ArrayList<PreprocessorMacro> fImplicitMacros = new ArrayList<>();
+		final ArrayList<ImageLocationInfo> fImplicitLocationInfos = new ArrayList<>();
+		final ArrayList<char[]> fNames = new ArrayList<>();
+		final ArrayList<PreprocessorMacro> fDefinitions = new ArrayList<>();
+		boolean fContextDependent;
+
+		void lookup(char[] name, PreprocessorMacro definition) {
+			fNames.add(name);
+			fDefinitions.add(definition);
+		}
+	}
+
 	private final ILexerLog fLog;
 	private final MacroDefinitionParser fDefinitionParser;
 	private final CharArrayMap<PreprocessorMacro> fDictionary;
@@ -143,6 +192,10 @@ public class MacroExpander {
 	private ScannerContext fReportMacros;
 	private boolean fReportUndefined;
 
+	// expansions of object-style macros that do not depend on the context of the invocation
+	private final IdentityHashMap<PreprocessorMacro, CachedExpansion> fExpansionCache = new IdentityHashMap<>();
+	private ExpansionRecording fRecording;
+
 	public MacroExpander(ILexerLog log, CharArrayMap<PreprocessorMacro> macroDictionary, LocationMap locationMap,
 			LexerOptions lexOptions) {
 		fDictionary = macroDictionary;
@@ -173,6 +226,20 @@ public class MacroExpander {
 		fEndOffset = identifier.getEndOffset();
 		fCompletionMode = completionMode;
 
+		fRecording = null;
+		if (macro instanceof ObjectStyleMacro && !completionMode && !protectIntrinsics) {
+			CachedExpansion cached = fExpansionCache.get(macro);
+			if (cached != null) {
+				if (cached.isValid(fDictionary)) {
+					TokenList result = replay(macro, cached);
+					fReportMacros = null;
+					return result;
+				}
+				fExpansionCache.remove(macro);
+			}
+			fRecording = new ExpansionRecording();
+		}
+
 		IdentityHashMap<PreprocessorMacro, PreprocessorMacro> forbidden = new IdentityHashMap<>();
 
 		// setup input sequence
@@ -197,10 +264,64 @@ public class MacroExpander {
 			result = e.getParameterTokens().cloneTokens();
 		}
 		postProcessTokens(result);
+		if (fRecording != null) {
+			if (!fRecording.fContextDependent) {
+				fExpansionCache.put(macro, new CachedExpansion(cloneToArray(result),
+						fImageLocationInfos.toArray(new ImageLocationInfo[fImageLocationInfos.size()]), fRecording));
+			}
+			fRecording = null;
+		}
 		fReportMacros = null;
 		return result;
 	}
 
+	/**
+	 * Reproduces the effects of an expansion that has been cached.
+	 */
+	private TokenList replay(PreprocessorMacro macro, CachedExpansion cached) {
+		if (fReportMacros != null) {
+			fReportMacros.significantMacro(macro);
+			for (int i = 0; i < cached.fNames.length; i++) {
+				final PreprocessorMacro definition = cached.fDefinitions[i];
+				if (definition != null) {
+					fReportMacros.significantMacro(definition);
+				} else if (fReportUndefined) {
+					fReportMacros.significantMacroUndefined(cached.fNames[i]);
+				}
+			}
+		}
+		if (fLocationMap != null) {
+			for (int i = 0; i < cached.fImplicitMacros.length; i++) {
+				fImplicitMacroExpansions.add(fLocationMap.encounterImplicitMacroExpansion(cached.fImplicitMacros[i],
+						cached.fImplicitLocationInfos[i]));
+			}
+		}
+		Collections.addAll(fImageLocationInfos, cached.fImageLocationInfos);
+		TokenList result = new TokenList();
+		for (Token t : cached.fTokens) {
+			result.append(t.clone());
+		}
+		return result;
+	}
+
+	private static Token[] cloneToArray(TokenList tokens) {
+		ArrayList<Token> result = new ArrayList<>();
+		for (Token t = tokens.first(); t != null; t = (Token) t.getNext()) {
+			result.add(t.clone());
+		}
+		return result.toArray(new Token[result.size()]);
+	}
+
+	/**
+	 * Called when the expansion being performed depends on the context of the invocation and
+	 * therefore cannot be cached.
+	 */
+	private void markContextDependent() {
+		if (fRecording != null) {
+			fRecording.fContextDependent = true;
+		}
+	}
+
 	/**
 	 * Method for tracking macro expansions.
 	 * @since 5.0
@@ -213,6 +334,7 @@ public class MacroExpander {
 		fFixedCurrentFilename = filePath;
 		fFixedLineNumber = lineNumber;
 		fReportMacros = null;
+		fRecording = null;
 		Lexer lexer = new Lexer(fFixedInput, fLexOptions, fLog, this);
 
 		try {
@@ -261,6 +383,8 @@ public class MacroExpander {
 			MacroExpansionTracker tracker) throws OffsetLimitReachedException {
 		if (fReportMacros != null)
 			fReportMacros.significantMacro(macro);
+		if (macro.isDynamic())
+			markContextDependent();
 
 		if (macro.isFunctionStyle()) {
 			final int paramCount = macro.getParameterPlaceholderList().length;
@@ -366,6 +490,9 @@ public class MacroExpander {
 			case IToken.tIDENTIFIER:
 				final char[] image = t.getCharImage();
 				PreprocessorMacro macro = fDictionary.get(image);
+				if (fRecording != null) {
+					fRecording.lookup(image, macro);
+				}
 				if (protect || (tracker != null && tracker.isDone())) {
 					result.append(t);
 				} else if (protectIntrinsics && Arrays.equals(image, Keywords.cDEFINED)) {
@@ -402,6 +529,10 @@ public class MacroExpander {
 							info = createImageLocationInfo(t);
 						}
 						fImplicitMacroExpansions.add(fLocationMap.encounterImplicitMacroExpansion(macro, info));
+						if (fRecording != null) {
+							fRecording.fImplicitMacros.add(macro);
+							fRecording.fImplicitLocationInfos.add(info);
+						}
 					}
 					TokenList replacement = new TokenList();
 
@@ -471,6 +602,21 @@ public class MacroExpander {
 		target.append(new Token(CPreprocessor.tNOSPACE, null, 0, 0));
 	}
 
+	/**
+	 * Same as {@link #addSpacemarker(Token, Token, TokenList)} for two tokens of a replacement list
+	 * given by their indices. An index out of range stands for a missing token.
+	 */
+	private static void addSpacemarker(TokenBuffer tokens, int l, int t, Object source, TokenList target) {
+		if (l >= 0 && t < tokens.size()) {
+			final int from = tokens.getEndOffset(l);
+			final int to = tokens.getOffset(t);
+			if (from != to) {
+				target.append(new Token(CPreprocessor.tSPACE, source, from, to));
+			}
+		}
+		target.append(new Token(CPreprocessor.tNOSPACE, null, 0, 0));
+	}
+
 	/**
 	 * Expects that the identifier has been consumed.
 	 */
@@ -602,24 +748,24 @@ public class MacroExpander {
 	}
 
 	private void handleProblem(int problemID, char[] arg) {
+		markContextDependent();
 		fLog.handleProblem(problemID, arg, fStartOffset, fEndOffset);
 	}
 
 	private void replaceArgs(PreprocessorMacro macro, TokenList[] args, TokenList[] expandedArgs, TokenList result) {
-		TokenList replacement = clone(macro.getTokens(fDefinitionParser, fLexOptions, this));
+		// Walk the packed replacement, tokens are created only when they become part of the result.
+		final TokenBuffer replacement = macro.getTokenBuffer(fDefinitionParser, fLexOptions, this);
+		final int size = replacement.size();
 
-		Token l = null;
-		Token n;
 		Token pasteArg1 = null;
-		for (Token t = replacement.first(); t != null; l = t, t = n) {
-			n = (Token) t.getNext();
-
-			switch (t.getType()) {
+		for (int i = 0; i < size; i++) {
+			int idx;
+			switch (replacement.getKind(i)) {
 			case CPreprocessor.tMACRO_PARAMETER:
-				int idx = ((TokenParameterReference) t).getIndex();
+				idx = replacement.getParameterIndex(i);
 				if (idx < args.length) { // be defensive
-					addSpacemarker(l, t, result); // start argument replacement
-					if (isKind(n, IToken.tPOUNDPOUND)) {
+					addSpacemarker(replacement, i - 1, i, macro, result); // start argument replacement
+					if (replacement.getKindOrNone(i + 1) == IToken.tPOUNDPOUND) {
 						TokenList arg = clone(args[idx]);
 						pasteArg1 = arg.last();
 						if (pasteArg1 != null) {
@@ -629,22 +775,20 @@ public class MacroExpander {
 					} else {
 						TokenList arg = clone(expandedArgs[idx]);
 						result.appendAll(arg);
-						addSpacemarker(t, n, result); // end argument replacement
+						addSpacemarker(replacement, i, i + 1, macro, result); // end argument replacement
 					}
 				}
 				break;
 
 			case IToken.tPOUND:
-				addSpacemarker(l, t, result); // start stringify
+				addSpacemarker(replacement, i - 1, i, macro, result); // start stringify
 				StringBuilder buf = new StringBuilder();
 				buf.append('"');
-				if (isKind(n, CPreprocessor.tMACRO_PARAMETER)) {
-					idx = ((TokenParameterReference) n).getIndex();
+				if (replacement.getKindOrNone(i + 1) == CPreprocessor.tMACRO_PARAMETER) {
+					idx = replacement.getParameterIndex(++i);
 					if (idx < args.length) { // be defensive
 						stringify(args[idx], buf);
 					}
-					t = n;
-					n = (Token) n.getNext();
 				}
 				buf.append('"');
 				final int length = buf.length();
@@ -652,23 +796,26 @@ public class MacroExpander {
 				buf.getChars(0, length, image, 0);
 
 				Token generated = new TokenWithImage(IToken.tSTRING, null, 0, 0, image);
-				if (isKind(n, IToken.tPOUNDPOUND)) { // start token paste, same as start stringify
+				if (replacement.getKindOrNone(i + 1) == IToken.tPOUNDPOUND) {
+					// start token paste, same as start stringify
 					pasteArg1 = generated;
 				} else {
 					result.append(generated);
-					addSpacemarker(t, n, result); // end stringify
+					addSpacemarker(replacement, i, i + 1, macro, result); // end stringify
 				}
 				break;
 
 			case IToken.tPOUNDPOUND:
-				Token pasteArg2 = null;
-				TokenList rest = null;
-				if (n != null) {
-					Token spaceDef0 = n;
-					Token spaceDef1 = (Token) n.getNext();
-					if (n.getType() == CPreprocessor.tMACRO_PARAMETER) {
+				if (i + 1 < size) {
+					final int n = ++i;
+					Token pasteArg2 = null;
+					TokenList rest = null;
+					// Without tokens of an argument the spaces are defined by the replacement.
+					Token spaceDef0 = null;
+					Token spaceDef1 = null;
+					if (replacement.getKind(n) == CPreprocessor.tMACRO_PARAMETER) {
 						TokenList arg;
-						idx = ((TokenParameterReference) n).getIndex();
+						idx = replacement.getParameterIndex(n);
 						if (idx < args.length) { // be defensive
 							arg = clone(args[idx]);
 							pasteArg2 = arg.first();
@@ -681,12 +828,10 @@ public class MacroExpander {
 						}
 					} else {
 						idx = -1;
-						pasteArg2 = n;
+						pasteArg2 = replacement.createToken(n, macro);
 					}
 
-					t = n;
-					n = (Token) n.getNext();
-					final boolean pasteNext = isKind(n, IToken.tPOUNDPOUND);
+					final boolean pasteNext = replacement.getKindOrNone(n + 1) == IToken.tPOUNDPOUND;
 
 					generated = tokenpaste(pasteArg1, pasteArg2, macro);
 					if (generated == null) {
@@ -707,7 +852,11 @@ public class MacroExpander {
 							pasteArg1 = generated; // no need to mark spaces, done ahead
 						} else {
 							result.append(generated);
-							addSpacemarker(spaceDef0, spaceDef1, result); // end token paste
+							if (spaceDef0 == null) {
+								addSpacemarker(replacement, n, n + 1, macro, result); // end token paste
+							} else {
+								addSpacemarker(spaceDef0, spaceDef1, result); // end token paste
+							}
 						}
 					}
 					if (rest != null) {
@@ -720,7 +869,7 @@ public class MacroExpander {
 						} else {
 							result.appendAll(rest);
 							if (idx >= 0) {
-								addSpacemarker(t, n, result); // end argument replacement
+								addSpacemarker(replacement, n, n + 1, macro, result); // end argument replacement
 							}
 						}
 					}
@@ -728,93 +877,84 @@ public class MacroExpander {
 				break;
 
 			case IToken.tCOMMA:
-				if (isKind(n, IToken.tPOUNDPOUND)) {
-					final Token nn = (Token) n.getNext();
-					if (isKind(nn, CPreprocessor.tMACRO_PARAMETER)) {
-						idx = ((TokenParameterReference) nn).getIndex();
+				if (replacement.getKindOrNone(i + 1) == IToken.tPOUNDPOUND) {
+					final int nn = i + 2;
+					if (replacement.getKindOrNone(nn) == CPreprocessor.tMACRO_PARAMETER) {
+						idx = replacement.getParameterIndex(nn);
 
 						// check for gcc-extension preventing the paste operation
 						if (idx == args.length - 1 && macro.hasVarArgs() != FunctionStyleMacro.NO_VAARGS
-								&& !isKind(nn.getNext(), IToken.tPOUNDPOUND)) {
-							final Token nnn = (Token) nn.getNext();
+								&& replacement.getKindOrNone(nn + 1) != IToken.tPOUNDPOUND) {
 							TokenList arg = clone(expandedArgs[idx]);
 							if (arg.isEmpty()) {
-								addSpacemarker(l, t, result);
-								addSpacemarker(nn, nnn, result);
+								addSpacemarker(replacement, i - 1, i, macro, result);
+								addSpacemarker(replacement, nn, nn + 1, macro, result);
 							} else {
-								result.append(t);
-								addSpacemarker(t, n, result);
+								result.append(replacement.createToken(i, macro));
+								addSpacemarker(replacement, i, i + 1, macro, result);
 								result.appendAll(arg);
-								addSpacemarker(nn, nnn, result);
+								addSpacemarker(replacement, nn, nn + 1, macro, result);
 							}
-							t = nn;
-							n = nnn;
+							i = nn;
 							break;
 						}
 					}
 
-					addSpacemarker(l, t, result);
-					pasteArg1 = t;
+					addSpacemarker(replacement, i - 1, i, macro, result);
+					pasteArg1 = replacement.createToken(i, macro);
 				} else {
-					result.append(t);
+					result.append(replacement.createToken(i, macro));
 				}
 				break;
 
 			default:
-				if (isKind(n, IToken.tPOUNDPOUND)) {
-					addSpacemarker(l, t, result); // start token paste
-					pasteArg1 = t;
+				if (replacement.getKindOrNone(i + 1) == IToken.tPOUNDPOUND) {
+					addSpacemarker(replacement, i - 1, i, macro, result); // start token paste
+					pasteArg1 = replacement.createToken(i, macro);
 				} else {
-					result.append(t);
+					result.append(replacement.createToken(i, macro));
 				}
 				break;
 			}
 		}
 	}
 
-	private boolean isKind(final IToken t, final int kind) {
-		return t != null && t.getType() == kind;
-	}
-
 	private BitSet getParamUsage(PreprocessorMacro macro) {
 		final BitSet result = new BitSet();
-		final TokenList replacement = macro.getTokens(fDefinitionParser, fLexOptions, this);
-
-		Token l = null;
-		Token n;
-		for (Token t = replacement.first(); t != null; l = t, t = n) {
-			n = (Token) t.getNext();
-			switch (t.getType()) {
+		// Scan the packed replacement, no tokens need to be created.
+		final TokenBuffer replacement = macro.getTokenBuffer(fDefinitionParser, fLexOptions, this);
+		final int size = replacement.size();
+		for (int i = 0; i < size; i++) {
+			switch (replacement.getKind(i)) {
 			case CPreprocessor.tMACRO_PARAMETER:
-				int idx = 2 * ((TokenParameterReference) t).getIndex();
-				if (!isKind(n, IToken.tPOUNDPOUND)) {
+				int idx = 2 * replacement.getParameterIndex(i);
+				if (replacement.getKindOrNone(i + 1) != IToken.tPOUNDPOUND) {
 					idx++;
 				}
 				result.set(idx);
 				break;
 
 			case IToken.tPOUND:
-				if (isKind(n, CPreprocessor.tMACRO_PARAMETER)) {
-					idx = ((TokenParameterReference) n).getIndex();
+				if (replacement.getKindOrNone(i + 1) == CPreprocessor.tMACRO_PARAMETER) {
+					idx = replacement.getParameterIndex(i + 1);
 					result.set(2 * idx);
-					t = n;
-					n = (Token) n.getNext();
+					i++;
 				}
 				break;
 
 			case IToken.tPOUNDPOUND:
-				if (isKind(n, CPreprocessor.tMACRO_PARAMETER)) {
-					idx = ((TokenParameterReference) n).getIndex();
+				if (replacement.getKindOrNone(i + 1) == CPreprocessor.tMACRO_PARAMETER) {
+					idx = replacement.getParameterIndex(i + 1);
 					// gcc-extension
-					if (isKind(l, IToken.tCOMMA) && macro.hasVarArgs() != FunctionStyleMacro.NO_VAARGS
+					if (replacement.getKindOrNone(i - 1) == IToken.tCOMMA
+							&& macro.hasVarArgs() != FunctionStyleMacro.NO_VAARGS
 							&& idx == macro.getParameterPlaceholderList().length - 1
-							&& !isKind(n.getNext(), IToken.tPOUNDPOUND)) {
+							&& replacement.getKindOrNone(i + 2) != IToken.tPOUNDPOUND) {
 						result.set(2 * idx + 1);
 					} else {
 						result.set(2 * idx);
 					}
-					t = n;
-					n = (Token) n.getNext();
+					i++;
 				}
 				break;
 			}
@@ -823,44 +963,51 @@ public class MacroExpander {
 	}
 
 	private void objStyleTokenPaste(PreprocessorMacro macro, TokenList result) {
-		TokenList replacement = clone(macro.getTokens(fDefinitionParser, fLexOptions, this));
+		if (macro.isDynamic()) {
+			result.appendAll(macro.getTokens(fDefinitionParser, fLexOptions, this));
+			return;
+		}
+		// Walk the packed replacement, tokens are created only when they become part of the result.
+		final TokenBuffer replacement = macro.getTokenBuffer(fDefinitionParser, fLexOptions, this);
+		final int size = replacement.size();
 
-		Token l = null;
-		Token n;
+		// Index of the previous token, -1 after a token paste
+		int l = -1;
 		Token pasteArg1 = null;
-		for (Token t = replacement.first(); t != null; l = t, t = n) {
-			n = (Token) t.getNext();
-
-			switch (t.getType()) {
+		for (int i = 0; i < size; i++) {
+			switch (replacement.getKind(i)) {
 			case IToken.tPOUNDPOUND:
 				if (pasteArg1 != null) {
 					Token pasteArg2 = null;
-					if (n != null) {
-						pasteArg2 = n;
-						n = (Token) n.getNext();
+					if (i + 1 < size) {
+						pasteArg2 = replacement.createToken(++i, macro);
 					}
 
-					t = tokenpaste(pasteArg1, pasteArg2, macro);
+					Token t = tokenpaste(pasteArg1, pasteArg2, macro);
 					if (t != null) {
-						if (isKind(n, IToken.tPOUNDPOUND)) {
+						if (replacement.getKindOrNone(i + 1) == IToken.tPOUNDPOUND) {
 							pasteArg1 = t;
 						} else {
 							result.append(t);
-							addSpacemarker(pasteArg2, n, result); // end token paste
+							addSpacemarker(replacement, i, i + 1, macro, result); // end token paste
 						}
 					}
+					// The pasted token is not a neighbor of the next one in the source
+					l = -1;
+					continue;
 				}
 				break;
 
 			default:
-				if (isKind(n, IToken.tPOUNDPOUND)) {
-					addSpacemarker(l, t, result); // start token paste
-					pasteArg1 = t;
+				if (replacement.getKindOrNone(i + 1) == IToken.tPOUNDPOUND) {
+					addSpacemarker(replacement, l, i, macro, result); // start token paste
+					pasteArg1 = replacement.createToken(i, macro);
 				} else {
-					result.append(t);
+					result.append(replacement.createToken(i, macro));
 				}
 				break;
 			}
+			l = i;
 		}
 	}
 
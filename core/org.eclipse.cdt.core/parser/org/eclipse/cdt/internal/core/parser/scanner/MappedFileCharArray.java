@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implementation of char array for a file in an ASCII compatible encoding that is mapped into
+ * memory. Characters are served directly from the mapped bytes as long as the file contains ASCII
+ * characters, only. The part of the file starting with the first non-ASCII byte is decoded in
+ * chunks that are referenced via soft references, like in {@link LazyCharArray}.
+ */
+public final class MappedFileCharArray extends AbstractCharArray {
+	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
+	private static final int HASH_BLOCK_SIZE = 1 << 16;
+
+	/**
+	 * Maps the file of the given channel, returns {@code null} if the encoding is neither UTF-8
+	 * nor US-ASCII.
+	 */
+	static MappedFileCharArray create(FileChannel channel, String charSet) throws IOException {
+		final Charset charset = Charset.forName(charSet);
+		if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.US_ASCII))
+			return null;
+
+		final long size = channel.size();
+		if (size > Integer.MAX_VALUE)
+			return null;
+
+		final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		int start = 0;
+		// Same check as in FileCharArray.
+		if (charSet.equals(UTF8_CHARSET_NAME) && size >= 3 && mapped.get(0) == (byte) 0xEF
+				&& mapped.get(1) == (byte) 0xBB && mapped.get(2) == (byte) 0xBF) {
+			start = 3;
+		}
+		return new MappedFileCharArray(mapped.slice(start, (int) size - start), charset);
+	}
+
+	/**
+	 * The decoded characters of the part of the file starting with the first non-ASCII byte.
+	 */
+	private static final class DecodedTail extends LazyCharArray {
+		private final ByteBuffer fBytes;
+		private final Charset fCharset;
+		private int fNextByteOffset;
+		private int fNextCharOffset;
+
+		DecodedTail(ByteBuffer bytes, Charset charset) {
+			fBytes = bytes;
+			fCharset = charset;
+		}
+
+		private CharsetDecoder newDecoder() {
+			return fCharset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+
+		@Override
+		protected Chunk nextChunk() {
+			final int limit = fBytes.limit();
+			if (fNextByteOffset >= limit)
+				return null;
+
+			final ByteBuffer in = fBytes.slice(fNextByteOffset, limit - fNextByteOffset);
+			final CharBuffer dest = CharBuffer.allocate(CHUNK_SIZE);
+			newDecoder().decode(in, dest, true);
+			dest.flip();
+			if (dest.remaining() == 0) {
+				fNextByteOffset = limit;
+				return null;
+			}
+			final char[] chars = new char[dest.remaining()];
+			dest.get(chars);
+			final int byteEndOffset = fNextByteOffset + in.position();
+			Chunk chunk = newChunk(fNextByteOffset, byteEndOffset, fNextCharOffset, chars);
+			fNextByteOffset = byteEndOffset;
+			fNextCharOffset += chars.length;
+			return chunk;
+		}
+
+		@Override
+		protected void rereadChunkData(Chunk chunk, char[] data) {
+			final int offset = (int) chunk.fSourceOffset;
+			final ByteBuffer in = fBytes.slice(offset, (int) chunk.fSourceEndOffset - offset);
+			newDecoder().decode(in, CharBuffer.wrap(data), true);
+		}
+
+		@Override
+		public boolean hasError() {
+			return false;
+		}
+	}
+
+	private final ByteBuffer fBytes;
+	// Number of leading ASCII characters, they are at the same offsets as their bytes.
+	private final int fAsciiLength;
+	// The characters of the rest of the file, null if the file contains ASCII characters, only.
+	private final DecodedTail fTail;
+	private long fHash64;
+	private boolean fHashComputed;
+
+	private MappedFileCharArray(ByteBuffer bytes, Charset charset) {
+		fBytes = bytes;
+		fAsciiLength = findNonAscii(bytes);
+		fTail = fAsciiLength == bytes.limit() ? null
+				: new DecodedTail(bytes.slice(fAsciiLength, bytes.limit() - fAsciiLength), charset);
+	}
+
+	private static int findNonAscii(ByteBuffer bytes) {
+		final int limit = bytes.limit();
+		int i = 0;
+		// Check eight bytes at a time.
+		for (; i + 8 <= limit; i += 8) {
+			if ((bytes.getLong(i) & 0x8080808080808080L) != 0)
+				break;
+		}
+		for (; i < limit; i++) {
+			if (bytes.get(i) < 0)
+				return i;
+		}
+		return limit;
+	}
+
+	/**
+	 * Returns whether all characters are served from the mapped bytes.
+	 */
+	public boolean isAscii() {
+		return fTail == null;
+	}
+
+	@Override
+	public int tryGetLength() {
+		if (isAscii())
+			return fAsciiLength;
+		final int tailLength = fTail.tryGetLength();
+		return tailLength < 0 ? -1 : fAsciiLength + tailLength;
+	}
+
+	@Override
+	public int getLength() {
+		if (isAscii())
+			return fAsciiLength;
+		return fAsciiLength + fTail.getLength();
+	}
+
+	@Override
+	public boolean isValidOffset(int offset) {
+		if (offset < fAsciiLength)
+			return offset >= 0;
+		return !isAscii() && fTail.isValidOffset(offset - fAsciiLength);
+	}
+
+	@Override
+	public long getContentsHash() {
+		if (!fHashComputed) {
+			final StreamHasher hasher = new StreamHasher();
+			final int length = getLength();
+			final char[] block = new char[Math.min(HASH_BLOCK_SIZE, length)];
+			for (int offset = 0; offset < length; offset += block.length) {
+				final int blockLength = Math.min(block.length, length - offset);
+				final char[] chars = blockLength == block.length ? block : new char[blockLength];
+				arraycopy(offset, chars, 0, blockLength);
+				hasher.addChunk(chars);
+			}
+			fHash64 = hasher.computeHash();
+			fHashComputed = true;
+		}
+		return fHash64;
+	}
+
+	@Override
+	public char get(int offset) {
+		if (offset < fAsciiLength || isAscii())
+			return (char) fBytes.get(offset);
+		return fTail.get(offset - fAsciiLength);
+	}
+
+	@Override
+	public void arraycopy(int offset, char[] destination, int destinationPos, int length) {
+		final int asciiEnd = Math.min(offset + length, fAsciiLength);
+		int i = offset;
+		for (; i < asciiEnd; i++) {
+			destination[destinationPos++] = (char) fBytes.get(i);
+		}
+		if (i < offset + length) {
+			fTail.arraycopy(i - fAsciiLength, destination, destinationPos, offset + length - i);
+		}
+	}
+
+	@Override
+	public boolean hasError() {
+		return false;
+	}
+}
@@ -21,7 +21,7 @@ public class ObjectStyleMacro extends PreprocessorMacro {
 	private final AbstractCharArray fExpansion;
 	private final int fExpansionOffset;
 	private final int fEndOffset;
-	private TokenList fExpansionTokens;
+	private TokenBuffer fExpansionTokens;
 
 	public ObjectStyleMacro(char[] name, char[] expansion) {
 		this(name, 0, expansion.length, null, new CharArray(expansion));
@@ -33,9 +33,8 @@ public class ObjectStyleMacro extends PreprocessorMacro {
 		fExpansionOffset = expansionOffset;
 		fEndOffset = endOffset;
 		fExpansion = source;
-		fExpansionTokens = expansion;
 		if (expansion != null) {
-			setSource(expansion.first());
+			fExpansionTokens = TokenBuffer.pack(expansion, -fExpansionOffset);
 		}
 	}
 
@@ -47,15 +46,6 @@ public class ObjectStyleMacro extends PreprocessorMacro {
 		return fEndOffset;
 	}
 
-	private void setSource(Token t) {
-		final int shift = -fExpansionOffset;
-		while (t != null) {
-			t.fSource = this;
-			t.shiftOffset(shift);
-			t = (Token) t.getNext();
-		}
-	}
-
 	@Override
 	public char[] getExpansion() {
 		return MacroDefinitionParser.getExpansion(fExpansion, fExpansionOffset, fEndOffset);
@@ -71,15 +61,20 @@ public class ObjectStyleMacro extends PreprocessorMacro {
 
 	@Override
 	public TokenList getTokens(MacroDefinitionParser mdp, LexerOptions lexOptions, MacroExpander expander) {
+		return getTokenBuffer(mdp, lexOptions, expander).toTokenList(this);
+	}
+
+	@Override
+	public TokenBuffer getTokenBuffer(MacroDefinitionParser mdp, LexerOptions lexOptions, MacroExpander expander) {
 		if (fExpansionTokens == null) {
-			fExpansionTokens = new TokenList();
+			TokenList tokens = new TokenList();
 			Lexer lex = new Lexer(fExpansion, fExpansionOffset, fEndOffset, lexOptions, ILexerLog.NULL, this);
 			try {
 				lex.nextToken(); // consume the start token
-				mdp.parseExpansion(lex, ILexerLog.NULL, getNameCharArray(), getParameterPlaceholderList(),
-						fExpansionTokens);
+				mdp.parseExpansion(lex, ILexerLog.NULL, getNameCharArray(), getParameterPlaceholderList(), tokens);
 			} catch (OffsetLimitReachedException e) {
 			}
+			fExpansionTokens = TokenBuffer.pack(tokens, 0);
 		}
 		return fExpansionTokens;
 	}
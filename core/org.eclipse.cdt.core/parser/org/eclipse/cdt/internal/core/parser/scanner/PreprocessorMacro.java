@@ -103,5 +103,18 @@ public abstract class PreprocessorMacro implements IMacroBinding {
 		return buf.toString();
 	}
 
+	/**
+	 * Returns a new list of the tokens of the replacement, the caller may modify the list and
+	 * its tokens.
+	 */
 	public abstract TokenList getTokens(MacroDefinitionParser parser, LexerOptions lexOptions, MacroExpander expander);
+
+	/**
+	 * Returns the tokens of the replacement in packed form, the buffer must not be modified.
+	 * Macros with a fixed replacement compute it once.
+	 */
+	public TokenBuffer getTokenBuffer(MacroDefinitionParser parser, LexerOptions lexOptions, MacroExpander expander) {
+		final TokenList tokens = getTokens(parser, lexOptions, expander);
+		return tokens == null ? TokenBuffer.EMPTY : TokenBuffer.pack(tokens, 0);
+	}
 }
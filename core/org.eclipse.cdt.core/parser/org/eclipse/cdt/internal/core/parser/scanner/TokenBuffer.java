@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.internal.core.parser.scanner.MacroDefinitionParser.TokenParameterReference;
+
+/**
+ * Packed, immutable sequence of tokens. The kinds, offsets and end offsets of the tokens are
+ * stored in a single int array, the images of tokens are kept in a pool. In contrast to a
+ * {@link TokenList} no objects are needed per token, {@link Token} objects are created only
+ * when the tokens are handed out, see {@link #toTokenList(Object)}.
+ * <p>
+ * The buffer is used for the replacement lists of macros, which are kept for the lifetime of the
+ * preprocessor and are read many times, and for the tokens of function bodies that are parsed on
+ * demand. The {@link MacroExpander} walks the replacement list by index and creates tokens only
+ * for the ones that become part of the expansion, references to parameters and the operators for
+ * stringification and token pasting are never materialized. The lexer still creates a
+ * {@link Token} object per token.
+ */
+public final class TokenBuffer {
+	private static final char[][] NO_IMAGES = {};
+	public static final TokenBuffer EMPTY = new TokenBuffer(new TokenList(), 0);
+
+	private static final int TOKEN = 0;
+	private static final int DIGRAPH = 1;
+	private static final int IMAGE = 2;
+	private static final int PARAMETER = 3;
+	private static final int TAG_BITS = 2;
+	private static final int TAG_MASK = (1 << TAG_BITS) - 1;
+
+	// Per token the kind, the offset, the end offset, the flags and the index into the image pool
+	// or -1. The flags contain the tag of the token and the index of macro parameters.
+	private static final int KIND = 0;
+	private static final int OFFSET = 1;
+	private static final int END_OFFSET = 2;
+	private static final int FLAGS = 3;
+	private static final int IMAGE_INDEX = 4;
+	private static final int STRIDE = 5;
+
+	private final int[] fData;
+	private final char[][] fImages;
+
+	/**
+	 * Packs the given tokens, their offsets are shifted by the given amount.
+	 */
+	public TokenBuffer(TokenList tokens, int shift) {
+		this(tokens.first(), null, shift);
+	}
+
+	/**
+	 * Packs the given tokens, their offsets are shifted by the given amount. Returns {@link #EMPTY}
+	 * for an empty list, e.g. for macros without replacement like include guards.
+	 */
+	public static TokenBuffer pack(TokenList tokens, int shift) {
+		return tokens.isEmpty() ? EMPTY : new TokenBuffer(tokens, shift);
+	}
+
+	/**
+	 * Packs the tokens from {@code first} up to and including {@code last}. The tokens must be
+	 * packable, see {@link #isPackable(IToken, IToken)}.
+	 */
+	public TokenBuffer(IToken first, IToken last) {
+		this(first, last, 0);
+	}
+
+	private TokenBuffer(IToken first, IToken last, int shift) {
+		int size = 0;
+		for (IToken t = first; t != null; t = t == last ? null : t.getNext()) {
+			size++;
+		}
+		fData = new int[size * STRIDE];
+		char[][] images = new char[size][];
+		int imageCount = 0;
+		int i = 0;
+		for (IToken t = first; t != null; t = t == last ? null : t.getNext(), i += STRIDE) {
+			fData[i + KIND] = t.getType();
+			fData[i + OFFSET] = t.getOffset() + shift;
+			fData[i + END_OFFSET] = t.getEndOffset() + shift;
+			fData[i + IMAGE_INDEX] = -1;
+			if (t instanceof TokenForDigraph) {
+				fData[i + FLAGS] = DIGRAPH;
+			} else if (t instanceof TokenWithImage) {
+				if (t instanceof TokenParameterReference ref) {
+					fData[i + FLAGS] = (ref.getIndex() << TAG_BITS) | PARAMETER;
+				} else {
+					fData[i + FLAGS] = IMAGE;
+				}
+				fData[i + IMAGE_INDEX] = imageCount;
+				images[imageCount++] = t.getCharImage();
+			} else {
+				fData[i + FLAGS] = TOKEN;
+			}
+		}
+		fImages = imageCount == 0 ? NO_IMAGES : Arrays.copyOf(images, imageCount);
+	}
+
+	/**
+	 * Checks whether the tokens from {@code first} up to and including {@code last} can be packed
+	 * without losing information. This is not the case for tokens carrying additional data, like
+	 * the ones marking inactive code.
+	 */
+	public static boolean isPackable(IToken first, IToken last) {
+		for (IToken t = first; t != null; t = t == last ? null : t.getNext()) {
+			final Class<?> c = t.getClass();
+			if (c != Token.class && c != TokenWithImage.class && c != TokenForDigraph.class)
+				return false;
+		}
+		return true;
+	}
+
+	public int size() {
+		return fData.length / STRIDE;
+	}
+
+	public boolean isEmpty() {
+		return fData.length == 0;
+	}
+
+	public int getKind(int i) {
+		return fData[i * STRIDE + KIND];
+	}
+
+	/**
+	 * Returns the kind of the token at the given index, or {@code -1} if the index is out of range.
+	 */
+	public int getKindOrNone(int i) {
+		return i >= 0 && i < size() ? getKind(i) : -1;
+	}
+
+	public int getOffset(int i) {
+		return fData[i * STRIDE + OFFSET];
+	}
+
+	public int getEndOffset(int i) {
+		return fData[i * STRIDE + END_OFFSET];
+	}
+
+	/**
+	 * Returns the index of the parameter referenced by the token at the given index, or
+	 * {@code -1} if it is not a reference to a macro parameter.
+	 */
+	public int getParameterIndex(int i) {
+		final int flags = fData[i * STRIDE + FLAGS];
+		return (flags & TAG_MASK) == PARAMETER ? flags >> TAG_BITS : -1;
+	}
+
+	/**
+	 * Returns the image of the token at the given index.
+	 */
+	public char[] getCharImage(int i) {
+		final int base = i * STRIDE;
+		final int imageIndex = fData[base + IMAGE_INDEX];
+		if (imageIndex >= 0)
+			return fImages[imageIndex];
+		if ((fData[base + FLAGS] & TAG_MASK) == DIGRAPH)
+			return TokenUtil.getDigraphImage(fData[base + KIND]);
+		return TokenUtil.getImage(fData[base + KIND]);
+	}
+
+	/**
+	 * Creates a token object for the token at the given index.
+	 */
+	public Token createToken(int i, Object source) {
+		final int base = i * STRIDE;
+		final int kind = fData[base + KIND];
+		final int offset = fData[base + OFFSET];
+		final int endOffset = fData[base + END_OFFSET];
+		final int flags = fData[base + FLAGS];
+		switch (flags & TAG_MASK) {
+		case DIGRAPH:
+			return new TokenForDigraph(kind, source, offset, endOffset);
+		case IMAGE:
+			return new TokenWithImage(kind, source, offset, endOffset, fImages[fData[base + IMAGE_INDEX]]);
+		case PARAMETER:
+			return new TokenParameterReference(kind, flags >> TAG_BITS, source, offset, endOffset,
+					fImages[fData[base + IMAGE_INDEX]]);
+		}
+		return new Token(kind, source, offset, endOffset);
+	}
+
+	/**
+	 * Creates a list with new token objects for all tokens of this buffer.
+	 */
+	public TokenList toTokenList(Object source) {
+		final TokenList result = new TokenList();
+		final int size = size();
+		for (int i = 0; i < size; i++) {
+			result.append(createToken(i, source));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IMacroBinding;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+
+/**
+ * Scanner that replays tokens that have been preprocessed before, e.g. for parsing a function
+ * body on demand. The tokens keep their offsets, such that the locations of the nodes created from
+ * them can be resolved with the location resolver of the original translation unit.
+ */
+public final class TokenBufferScanner implements IScanner {
+	private final TokenBuffer fTokens;
+	private int fNext;
+
+	public TokenBufferScanner(TokenBuffer tokens) {
+		fTokens = tokens;
+	}
+
+	@Override
+	public IToken nextToken() throws EndOfFileException {
+		if (fNext >= fTokens.size()) {
+			throw new EndOfFileException(fNext == 0 ? 0 : fTokens.getEndOffset(fNext - 1));
+		}
+		return fTokens.createToken(fNext++, null);
+	}
+
+	@Override
+	public Map<String, IMacroBinding> getMacroDefinitions() {
+		return Collections.emptyMap();
+	}
+
+	@Override
+	public boolean isOnTopContext() {
+		return true;
+	}
+
+	@Override
+	public void cancel() {
+	}
+
+	@Override
+	public ILocationResolver getLocationResolver() {
+		return null;
+	}
+
+	@Override
+	public void setContentAssistMode(int offset) {
+	}
+
+	@Override
+	public void setSplitShiftROperator(boolean val) {
+	}
+
+	@Override
+	public void setComputeImageLocations(boolean val) {
+	}
+
+	@Override
+	public void setTrackIncludeExport(IncludeExportPatterns patterns) {
+	}
+
+	@Override
+	public void setProcessInactiveCode(boolean val) {
+	}
+
+	@Override
+	public void skipInactiveCode() {
+	}
+
+	@Override
+	public int getCodeBranchNesting() {
+		return 0;
+	}
+
+	@Override
+	public char[] getAdditionalNumericLiteralSuffixes() {
+		return CharArrayUtils.EMPTY;
+	}
+}
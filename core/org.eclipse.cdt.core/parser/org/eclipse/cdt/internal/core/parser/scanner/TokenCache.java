@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
+
+/**
+ * Persistent cache of the {@link LexedTokens} of files, such that files that did not change do
+ * not have to be lexed again, also after a restart. The recordings are stored in a directory,
+ * one file per content hash, length of the content and lexer options. Recently used recordings
+ * are kept in memory.
+ * <p>
+ * The cache is used by multiple parser threads at once. Failures to read or write the cache
+ * are ignored, the files are lexed in that case.
+ */
+public class TokenCache {
+	private static final int MAGIC = 0x43544f4b; // CTOK
+	private static final int VERSION = 1;
+	private static final String SUFFIX = ".tok"; //$NON-NLS-1$
+	private static final int MEMORY_CACHE_ENTRIES = 100;
+
+	private final File fDirectory;
+	private final long fSizeLimit;
+	private final Map<String, LexedTokens> fMemoryCache = new LRUCache<>(MEMORY_CACHE_ENTRIES);
+	private long fSize = -1;
+	private long fHits;
+	private long fMisses;
+
+	/**
+	 * @param directory the directory for the recordings, created if needed.
+	 * @param sizeLimit the maximum number of bytes used in the directory.
+	 */
+	public TokenCache(File directory, long sizeLimit) {
+		fDirectory = directory;
+		fSizeLimit = sizeLimit;
+	}
+
+	/**
+	 * Returns the recording for the given content, or {@code null} if there is none.
+	 */
+	public LexedTokens get(AbstractCharArray content, LexerOptions options) {
+		if (content.hasError())
+			return null;
+
+		final int length = content.getLength();
+		final long hash = content.getContentsHash();
+		final int flags = options.getLexingFlags();
+		final String name = getName(hash, length, flags);
+		LexedTokens result;
+		synchronized (fMemoryCache) {
+			result = fMemoryCache.get(name);
+		}
+		if (result == null) {
+			result = read(new File(fDirectory, name), hash, length, flags);
+			if (result != null) {
+				synchronized (fMemoryCache) {
+					fMemoryCache.put(name, result);
+				}
+			}
+		}
+		synchronized (this) {
+			if (result != null) {
+				fHits++;
+			} else {
+				fMisses++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Stores the recording made while lexing the given content.
+	 */
+	public void put(AbstractCharArray content, LexerOptions options, LexedTokens tokens) {
+		if (content.hasError())
+			return;
+
+		final int length = content.getLength();
+		final long hash = content.getContentsHash();
+		final int flags = options.getLexingFlags();
+		final String name = getName(hash, length, flags);
+		synchronized (fMemoryCache) {
+			fMemoryCache.put(name, tokens);
+		}
+		final long size = write(new File(fDirectory, name), hash, length, flags, tokens);
+		if (size > 0) {
+			boolean prune;
+			synchronized (this) {
+				if (fSize < 0) {
+					fSize = computeSize();
+				} else {
+					fSize += size;
+				}
+				prune = fSize > fSizeLimit;
+			}
+			if (prune) {
+				prune();
+			}
+		}
+	}
+
+	/**
+	 * Removes the least recently used recordings from the directory until it uses no more than
+	 * three quarters of the size limit.
+	 */
+	public synchronized void prune() {
+		final File[] files = listFiles();
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		long size = 0;
+		for (File file : files) {
+			size += file.length();
+		}
+		final long target = fSizeLimit / 4 * 3;
+		for (int i = 0; i < files.length && size > target; i++) {
+			final long length = files[i].length();
+			if (files[i].delete()) {
+				size -= length;
+			}
+		}
+		fSize = size;
+	}
+
+	/**
+	 * Removes all recordings.
+	 */
+	public synchronized void clear() {
+		synchronized (fMemoryCache) {
+			fMemoryCache.clear();
+		}
+		for (File file : listFiles()) {
+			file.delete();
+		}
+		fSize = 0;
+	}
+
+	public synchronized long getHits() {
+		return fHits;
+	}
+
+	public synchronized long getMisses() {
+		return fMisses;
+	}
+
+	private File[] listFiles() {
+		final File[] files = fDirectory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+		return files == null ? new File[0] : files;
+	}
+
+	private long computeSize() {
+		long size = 0;
+		for (File file : listFiles()) {
+			size += file.length();
+		}
+		return size;
+	}
+
+	private static String getName(long hash, int length, int flags) {
+		return Long.toHexString(hash) + '-' + Integer.toHexString(length) + '-' + Integer.toHexString(flags) + SUFFIX;
+	}
+
+	private static LexedTokens read(File file, long hash, int length, int flags) {
+		if (!file.isFile())
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != hash || in.readInt() != length
+					|| in.readInt() != flags) {
+				return null;
+			}
+			final LexedTokens result = LexedTokens.read(in);
+			// Used for pruning the least recently used recordings.
+			file.setLastModified(System.currentTimeMillis());
+			return result;
+		} catch (IOException | RuntimeException e) {
+			// Corrupt or concurrently replaced file, lex the input.
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the recording to the given file and returns the size of the file, or {@code 0} if
+	 * the recording could not be written.
+	 */
+	private long write(File file, long hash, int length, int flags, LexedTokens tokens) {
+		File tmp = null;
+		try {
+			fDirectory.mkdirs();
+			tmp = File.createTempFile("tokens", ".tmp", fDirectory); //$NON-NLS-1$ //$NON-NLS-2$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(hash);
+				out.writeInt(length);
+				out.writeInt(flags);
+				tokens.write(out);
+			}
+			// Readers see either the old or the new file.
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			return file.length();
+		} catch (IOException e) {
+			if (tmp != null) {
+				tmp.delete();
+			}
+			return 0;
+		}
+	}
+}
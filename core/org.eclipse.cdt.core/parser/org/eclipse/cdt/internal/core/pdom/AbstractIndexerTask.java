@@ -64,6 +64,7 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
@@ -75,12 +76,14 @@ import org.eclipse.cdt.internal.core.parser.ParserLogService;
 import org.eclipse.cdt.internal.core.parser.ParserSettings2;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider.DependsOnOutdatedFileException;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenCache;
 import org.eclipse.cdt.internal.core.parser.util.LRUCache;
 import org.eclipse.cdt.utils.EFSExtensionManager;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
@@ -97,6 +100,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	private static final int MAX_ERRORS = 500;
+	/** The maximum time the writer waits for one of the parser threads to parse a file. */
+	private static final long PARSER_TIMEOUT_MS = 30 * 60 * 1000;
 
 	// Order of constants is important. Stronger update types have to precede the weaker ones.
 	private static enum UpdateKind {
@@ -339,6 +344,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
 	private int fSwallowOutOfMemoryError = 5;
+	private int fParserThreads = 1;
+	private IndexerSourceParser fConcurrentParser;
+	private TokenCache fTokenCache;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
 	 * The files from the urgent tasks are indexed before all not yet processed files.
@@ -394,6 +402,23 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fHeadersToIndexAllVersions = headers;
 	}
 
+	/**
+	 * Sets the number of threads used to parse the source files that need to be indexed. The ASTs
+	 * are always written to the index by the thread running the task. A value of {@code 1} parses
+	 * all files in that thread.
+	 */
+	public final void setParserThreads(int threads) {
+		fParserThreads = Math.max(1, threads);
+	}
+
+	/**
+	 * Sets the cache for the tokens of included files outside of the workspace, or {@code null}
+	 * for lexing all files.
+	 */
+	public void setTokenCache(TokenCache cache) {
+		fTokenCache = cache;
+	}
+
 	public void setPragmaPrivatePattern(Pattern pattern) {
 		fPragmaPrivatePattern = pattern;
 	}
@@ -540,13 +565,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			fTodoTaskUpdater = createTodoTaskUpdater();
 
 			fASTOptions = ILanguage.OPTION_NO_IMAGE_LOCATIONS
-					| ILanguage.OPTION_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS;
+					| ILanguage.OPTION_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS | ILanguage.OPTION_COMPACT_AST;
 
 			if (getSkipReferences() == SKIP_ALL_REFERENCES) {
 				fASTOptions |= ILanguage.OPTION_SKIP_FUNCTION_BODIES;
 			}
 
 			fIndex.resetCacheCounters();
+			// The counters are global, count the evaluations that gave up during this task.
+			final long stepBudgetExceeded = ConstexprEvaluationContext.getStepBudgetExceededCount();
+			final long memoryBudgetExceeded = ConstexprEvaluationContext.getMemoryBudgetExceededCount();
 			fIndex.acquireReadLock();
 
 			try {
@@ -625,6 +653,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			} catch (CoreException e) {
 				logException(e);
 			} finally {
+				fStatistics.fConstexprStepBudgetExceededCount = ConstexprEvaluationContext.getStepBudgetExceededCount()
+						- stepBudgetExceeded;
+				fStatistics.fConstexprMemoryBudgetExceededCount = ConstexprEvaluationContext
+						.getMemoryBudgetExceededCount() - memoryBudgetExceeded;
 				fIndex.releaseReadLock();
 			}
 		} finally {
@@ -817,8 +849,12 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				locTask.fStoredAVersion = true;
 			}
 		}
-		fIndexContentCache.remove(ifile);
-		fIndexFilesCache.remove(file.fileContentKey.getLocation());
+		synchronized (fIndexContentCache) {
+			fIndexContentCache.remove(ifile);
+		}
+		synchronized (fIndexFilesCache) {
+			fIndexFilesCache.remove(file.fileContentKey.getLocation());
+		}
 
 		LocationTask task = fOneLinkageTasks.remove(location);
 		if (task != null && task != locTask) {
@@ -897,17 +933,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fParserThreads > 1) {
+				if (!parseRequiredSourcesConcurrently(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -1141,6 +1182,175 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return null;
 	}
 
+	/**
+	 * Parses the required sources among the given files with {@link #fParserThreads} threads and
+	 * writes the resulting ASTs to the index from the calling thread.
+	 * @return {@code false} if indexing of the linkage has to be interrupted for urgent tasks.
+	 */
+	private boolean parseRequiredSourcesConcurrently(int linkageID, LinkageTask map,
+			List<IIndexFileLocation> files, SubMonitor progress) throws CoreException, InterruptedException {
+		List<ParsedSource> sources = new ArrayList<>();
+		for (Iterator<IIndexFileLocation> it = files.iterator(); it.hasNext();) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				final Object tu = locTask.fTu;
+				sources.add(new ParsedSource(tu, getLanguage(tu, linkageID), ifl, getScannerInfo(linkageID, tu)));
+			}
+		}
+		if (sources.size() < 2) {
+			for (ParsedSource source : sources) {
+				if (hasUrgentTasks())
+					return false;
+				parseFile(source.fTu, source.fLanguage, source.fLocation, source.fScannerInfo, null,
+						progress.split(1));
+			}
+			return true;
+		}
+
+		IndexerSourceParser parser = new IndexerSourceParser(linkageID, sources);
+		fConcurrentParser = parser;
+		try {
+			parser.start();
+			for (int i = 0; i < sources.size(); i++) {
+				ParsedSource parsed = parser.take(progress);
+				if (hasUrgentTasks())
+					return false;
+				writeParsedSource(parsed, progress.split(1));
+				parsed.fAST = null; // Allow the AST to be garbage collected.
+				parsed.fCodeReader = null;
+				parser.resumeParsing();
+			}
+		} finally {
+			fConcurrentParser = null;
+			parser.stop();
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a source parsed by a {@link ConcurrentSourceParser} to the index, the errors are
+	 * handled in the same way as in {@link #parseFile}.
+	 */
+	private void writeParsedSource(ParsedSource parsed, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 11);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(parsed.fLocation);
+		Throwable th = parsed.fError;
+		fStatistics.fParsingTime += parsed.fParsingTime;
+		if (th == null) {
+			try {
+				if (parsed.fAST == null) {
+					++fStatistics.fTooManyTokensCount;
+				} else {
+					writeToIndex(parsed.fLanguage.getLinkageID(), parsed.fAST, parsed.fCodeReader, null,
+							progress.split(10));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+				}
+				if (fShowActivity) {
+					trace("Indexer: processed " + path.toOSString() + " [" + parsed.fParsingTime + " ms parsing]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
+			} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+				th = e;
+			}
+		}
+		if (th instanceof OperationCanceledException) {
+			th = null;
+		} else if (th instanceof RuntimeException && th.getCause() instanceof DependsOnOutdatedFileException) {
+			return;
+		} else if (th instanceof OutOfMemoryError && --fSwallowOutOfMemoryError < 0) {
+			throw (OutOfMemoryError) th;
+		}
+		if (th != null) {
+			swallowError(path, th);
+		}
+
+		if (!resultCacheCleared) {
+			fIndex.acquireWriteLock(progress.split(1));
+			try {
+				fIndex.clearResultCache();
+			} finally {
+				fIndex.releaseWriteLock();
+			}
+		}
+	}
+
+	/**
+	 * A required source together with the result of parsing it.
+	 */
+	private static class ParsedSource {
+		final Object fTu;
+		final AbstractLanguage fLanguage;
+		final IIndexFileLocation fLocation;
+		final IScannerInfo fScannerInfo;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		Throwable fError;
+		long fParsingTime;
+
+		ParsedSource(Object tu, AbstractLanguage language, IIndexFileLocation location, IScannerInfo scannerInfo) {
+			fTu = tu;
+			fLanguage = language;
+			fLocation = location;
+			fScannerInfo = scannerInfo;
+		}
+	}
+
+	/**
+	 * Parses sources with the parser threads of a {@link ConcurrentSourceParser}.
+	 * <p>
+	 * Every parser thread holds a read lock on the index while it parses a file. Because waiting
+	 * readers take precedence over a writer, the parser threads do not start parsing another file
+	 * while the writer has ASTs to store. Parsing and writing therefore alternate in phases, where
+	 * up to one AST per thread is parsed concurrently and then written sequentially. The parser
+	 * threads access the state of the task only under a read lock, which excludes the updates the
+	 * writer makes under the write lock.
+	 */
+	private final class IndexerSourceParser extends ConcurrentSourceParser<ParsedSource> {
+		private final int fLinkageID;
+
+		IndexerSourceParser(int linkageID, List<ParsedSource> sources) {
+			super("Indexer Parser", fParserThreads, sources, PARSER_TIMEOUT_MS); //$NON-NLS-1$
+			fLinkageID = linkageID;
+		}
+
+		@Override
+		protected IThreadParser<ParsedSource> createThreadParser() {
+			final InternalFileContentProvider fileContentProvider = createFileContentProvider(fLinkageID, null);
+			final IIndexFragment fragment = fIndex.getWritableFragment();
+			return (source, monitor) -> parse(source, fileContentProvider, fragment, monitor);
+		}
+
+		private void parse(ParsedSource source, InternalFileContentProvider fileContentProvider,
+				IIndexFragment fragment, IProgressMonitor monitor) throws InterruptedException {
+			if (fShowActivity) {
+				trace("Indexer: parsing " + getLabel(source.fLocation).toOSString()); //$NON-NLS-1$
+			}
+			long start = System.currentTimeMillis();
+			try {
+				FileContent codeReader = fResolver.getCodeReader(source.fTu);
+				source.fCodeReader = codeReader;
+				if (!isSkipped(codeReader)) {
+					fragment.acquireReadLock();
+					try {
+						source.fAST = createAST(source.fLanguage, codeReader, source.fScannerInfo,
+								fileContentProvider, fASTOptions, monitor);
+					} finally {
+						fragment.releaseReadLock();
+					}
+				}
+			} catch (InterruptedException e) {
+				throw e;
+			} catch (Exception | StackOverflowError | AssertionError | OutOfMemoryError e) {
+				source.fError = e;
+			}
+			source.fParsingTime = System.currentTimeMillis() - start;
+		}
+	}
+
 	private AbstractLanguage getLanguage(Object tu, int linkageID) {
 		for (AbstractLanguage language : fResolver.getLanguages(tu, UnusedHeaderStrategy.useBoth)) {
 			if (language.getLinkageID() == linkageID) {
@@ -1210,38 +1420,30 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
 			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
-		if (codeReader == null) {
-			return null;
-		}
-		if (fTranslationUnitSizeLimit > 0
-				&& fResolver.getFileSize(codeReader.getFileLocation()) > fTranslationUnitSizeLimit) {
-			if (fShowActivity) {
-				trace("Indexer: Skipping large file " + codeReader.getFileLocation()); //$NON-NLS-1$
-			}
+		if (isSkipped(codeReader)) {
 			return null;
 		}
 		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
 		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
-			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
-				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
-			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
+			fCodeReaderFactory = createFileContentProvider(language.getLinkageID(), ctx2header);
 		} else if (fIsFastIndexer) {
 			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
 			ibfcp.setContextToHeaderGap(ctx2header);
 			ibfcp.setLinkage(language.getLinkageID());
 		}
+		return createAST(language, codeReader, scanInfo, fCodeReaderFactory, options, monitor);
+	}
 
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+	private IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader, IScannerInfo scanInfo,
+			InternalFileContentProvider fileContentProvider, int options, IProgressMonitor monitor)
+			throws CoreException {
+		if ((options & ILanguage.OPTION_SKIP_FUNCTION_BODIES) != 0
+				&& language.getLinkageID() == ILinkage.CPP_LINKAGE_ID) {
+			// Parse the bodies on demand, they are needed for evaluating constexpr functions and for
+			// deducing return types. The references in the bodies are skipped by the PDOMWriter.
+			options = (options & ~ILanguage.OPTION_SKIP_FUNCTION_BODIES) | ILanguage.OPTION_LAZY_FUNCTION_BODIES;
+		}
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fileContentProvider, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1249,6 +1451,36 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	private boolean isSkipped(FileContent codeReader) {
+		if (codeReader == null) {
+			return true;
+		}
+		if (fTranslationUnitSizeLimit > 0
+				&& fResolver.getFileSize(codeReader.getFileLocation()) > fTranslationUnitSizeLimit) {
+			if (fShowActivity) {
+				trace("Indexer: Skipping large file " + codeReader.getFileLocation()); //$NON-NLS-1$
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private InternalFileContentProvider createFileContentProvider(int linkageID, IIndexFile[] ctx2header) {
+		InternalFileContentProvider result = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver, linkageID,
+					result, this);
+			ibfcp.setContextToHeaderGap(ctx2header);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			ibfcp.setTokenCache(fTokenCache);
+			result = ibfcp;
+		}
+		result.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return result;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
@@ -1337,8 +1569,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
-	private void withdrawRequests(int linkageID, FileInAST[] fileKeys) {
-		LinkageTask map = findRequestMap(linkageID);
+	private void withdrawRequests(int linkageID, FileInAST[] fileKeys) throws InterruptedException {
+		// Parser threads read the state of the requests under a read lock, see IndexerSourceParser.
+		final boolean lock = fConcurrentParser != null;
+		if (lock) {
+			fIndex.acquireWriteLock(new NullProgressMonitor());
+		}
+		try {
+			withdrawRequests(findRequestMap(linkageID), fileKeys);
+		} finally {
+			if (lock) {
+				fIndex.releaseWriteLock();
+			}
+		}
+	}
+
+	private void withdrawRequests(LinkageTask map, FileInAST[] fileKeys) {
 		if (map != null) {
 			for (FileInAST fileKey : fileKeys) {
 				LocationTask locTask = map.find(fileKey.fileContentKey.getLocation());
@@ -1444,12 +1690,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					throw new DependsOnOutdatedFileException(request.fTu, task.fIndexFile);
 			}
 		}
-		IndexFileContent fc = fIndexContentCache.get(file);
-		if (fc == null) {
-			fc = new IndexFileContent(file);
-			fIndexContentCache.put(file, fc);
+		// The caches are shared by the parser threads, see IndexerSourceParser.
+		synchronized (fIndexContentCache) {
+			IndexFileContent fc = fIndexContentCache.get(file);
+			if (fc == null) {
+				fc = new IndexFileContent(file);
+				fIndexContentCache.put(file, fc);
+			}
+			return fc;
 		}
-		return fc;
 	}
 
 	IIndexFragmentFile selectIndexFile(int linkageID, IIndexFileLocation ifl, ISignificantMacros sigMacros)
@@ -1499,7 +1748,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	public IIndexFragmentFile[] getAvailableIndexFiles(int linkageID, IIndexFileLocation ifl) throws CoreException {
-		IIndexFragmentFile[] files = fIndexFilesCache.get(ifl);
+		IIndexFragmentFile[] files;
+		synchronized (fIndexFilesCache) {
+			files = fIndexFilesCache.get(ifl);
+		}
 		if (files == null) {
 			IIndexFragmentFile[] fragFiles = fIndex.getWritableFiles(linkageID, ifl);
 			int j = 0;
@@ -1516,7 +1768,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				files = new IIndexFragmentFile[j];
 				System.arraycopy(fragFiles, 0, files, 0, j);
 			}
-			fIndexFilesCache.put(ifl, files);
+			synchronized (fIndexFilesCache) {
+				fIndexFilesCache.put(ifl, files);
+			}
 		}
 		return files;
 	}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Parses sources in multiple threads and hands them over one by one to a single consumer, the
+ * thread running the indexer task, which is the only one that writes to the index.
+ * <p>
+ * The consumer suspends the parser threads while it writes a parsed source, see
+ * {@link #take(IProgressMonitor)} and {@link #resumeParsing()}. Every parser thread reports when
+ * it finishes, normally or because of a failure. A failure is rethrown in the consumer, and the
+ * consumer stops waiting if all threads have finished or no source is parsed within the timeout.
+ */
+public abstract class ConcurrentSourceParser<T> {
+	/**
+	 * Parses sources in one of the parser threads.
+	 */
+	public interface IThreadParser<T> {
+		/**
+		 * Parses the given source, the result is stored in the source. Failures to parse the source
+		 * have to be stored in the source as well, anything thrown terminates the parser thread.
+		 */
+		void parse(T source, IProgressMonitor monitor) throws InterruptedException;
+	}
+
+	private static final long POLL_INTERVAL_MS = 100;
+
+	/**
+	 * An element of the queue of results, either a parsed source, or the notification that a
+	 * parser thread has finished.
+	 */
+	private static class Result<T> {
+		final T fSource;
+		final Throwable fFailure;
+
+		Result(T source, Throwable failure) {
+			fSource = source;
+			fFailure = failure;
+		}
+	}
+
+	private final Iterator<T> fSources;
+	private final BlockingQueue<Result<T>> fResults;
+	private final Thread[] fThreads;
+	private final long fTimeout;
+	private final IProgressMonitor fMonitor = new NullProgressMonitor();
+	private boolean fParsingSuspended;
+	private int fFinishedThreads;
+
+	/**
+	 * @param name the name of the parser threads
+	 * @param threadCount the number of parser threads
+	 * @param sources the sources to parse, in the order they are handed out to the parser threads
+	 * @param timeout the maximum time in milliseconds {@link #take(IProgressMonitor)} waits for a source
+	 */
+	public ConcurrentSourceParser(String name, int threadCount, List<T> sources, long timeout) {
+		fSources = sources.iterator();
+		fTimeout = timeout;
+		threadCount = Math.max(1, Math.min(threadCount, sources.size()));
+		fResults = new ArrayBlockingQueue<>(threadCount);
+		fThreads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			fThreads[i] = new Thread(this::run, name + ' ' + (i + 1));
+			fThreads[i].setDaemon(true);
+		}
+	}
+
+	/**
+	 * Creates the parser for one of the parser threads, called in that thread.
+	 */
+	protected abstract IThreadParser<T> createThreadParser();
+
+	public void start() {
+		for (Thread thread : fThreads) {
+			thread.start();
+		}
+	}
+
+	/**
+	 * Waits for the next parsed source. Parser threads do not start with new sources until
+	 * {@link #resumeParsing()} is called.
+	 *
+	 * @throws CoreException if the parser threads finished before parsing another source, or
+	 *     no source was parsed within the timeout
+	 * @throws OperationCanceledException if the monitor is cancelled while waiting
+	 */
+	public T take(IProgressMonitor monitor) throws InterruptedException, CoreException {
+		final long deadline = System.currentTimeMillis() + fTimeout;
+		Result<T> result = fResults.poll();
+		while (result == null || result.fSource == null) {
+			if (result != null) {
+				threadFinished(result.fFailure);
+				result = fResults.poll();
+				continue;
+			}
+			// Nothing to write, let the parser threads continue.
+			setParsingSuspended(false);
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+			if (fFinishedThreads == fThreads.length)
+				throw new CoreException(createStatus("Parser threads finished unexpectedly", null)); //$NON-NLS-1$
+			if (System.currentTimeMillis() >= deadline)
+				throw new CoreException(createStatus("Timed out waiting for parser threads", null)); //$NON-NLS-1$
+			result = fResults.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+		}
+		setParsingSuspended(true);
+		return result.fSource;
+	}
+
+	private void threadFinished(Throwable failure) throws CoreException {
+		fFinishedThreads++;
+		if (failure instanceof Error e)
+			throw e;
+		if (failure instanceof RuntimeException e)
+			throw e;
+		if (failure != null)
+			throw new CoreException(createStatus("Parser thread failed", failure)); //$NON-NLS-1$
+	}
+
+	private static IStatus createStatus(String message, Throwable exception) {
+		return new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, message, exception);
+	}
+
+	/**
+	 * Lets the parser threads continue once all parsed sources have been taken.
+	 */
+	public void resumeParsing() {
+		if (fResults.isEmpty()) {
+			setParsingSuspended(false);
+		}
+	}
+
+	/**
+	 * Stops the parser threads and waits for them to finish parsing their current sources.
+	 */
+	public void stop() throws InterruptedException {
+		fMonitor.setCanceled(true);
+		synchronized (this) {
+			notifyAll();
+		}
+		fResults.clear();
+		for (Thread thread : fThreads) {
+			thread.join();
+		}
+	}
+
+	private synchronized void setParsingSuspended(boolean suspended) {
+		fParsingSuspended = suspended;
+		if (!suspended) {
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Returns the next source to parse, or {@code null} if there is none or parsing was stopped.
+	 */
+	private synchronized T nextSource() throws InterruptedException {
+		while (fParsingSuspended && !fMonitor.isCanceled()) {
+			wait();
+		}
+		if (fMonitor.isCanceled() || !fSources.hasNext())
+			return null;
+		return fSources.next();
+	}
+
+	private void run() {
+		Throwable failure = null;
+		try {
+			IThreadParser<T> parser = createThreadParser();
+			T source;
+			while ((source = nextSource()) != null) {
+				parser.parse(source, fMonitor);
+				if (!post(new Result<>(source, null)))
+					return;
+			}
+		} catch (Throwable e) {
+			failure = e;
+		}
+		post(new Result<>(null, failure));
+	}
+
+	/**
+	 * Adds a result to the queue, unless parsing is stopped while waiting for space in the queue.
+	 */
+	private boolean post(Result<T> result) {
+		try {
+			while (!fResults.offer(result, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+				if (fMonitor.isCanceled())
+					return false;
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
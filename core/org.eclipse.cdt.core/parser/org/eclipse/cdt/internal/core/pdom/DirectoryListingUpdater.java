@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Removes the listings of workspace folders from the {@link DirectoryListingCache} when resources
+ * are added or removed. The watch service reports such changes asynchronously, the resource
+ * change events make them visible to a parser started right after the workspace operation.
+ */
+class DirectoryListingUpdater implements IResourceChangeListener, IResourceDeltaVisitor {
+	private final DirectoryListingCache fCache;
+
+	DirectoryListingUpdater(DirectoryListingCache cache) {
+		fCache = cache;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta != null) {
+			try {
+				delta.accept(this);
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+			}
+		}
+	}
+
+	@Override
+	public boolean visit(IResourceDelta delta) {
+		switch (delta.getKind()) {
+		case IResourceDelta.ADDED:
+		case IResourceDelta.REMOVED:
+			IResource resource = delta.getResource();
+			IPath location = resource.getLocation();
+			if (location != null && location.segmentCount() > 0) {
+				fCache.invalidate(location.removeLastSegments(1).toOSString());
+				if (resource.getType() != IResource.FILE) {
+					fCache.invalidate(location.toOSString());
+				}
+			}
+			break;
+		}
+		return true;
+	}
+}
@@ -26,4 +26,8 @@ public class IndexerStatistics {
 	public int fPreprocessorProblemCount = 0;
 	public int fSyntaxProblemsCount = 0;
 	public int fTooManyTokensCount = 0;
+	public long fConstexprCacheHits = 0;
+	public long fConstexprCacheMisses = 0;
+	public long fConstexprStepBudgetExceededCount = 0;
+	public long fConstexprMemoryBudgetExceededCount = 0;
 }
@@ -20,7 +20,7 @@
 package org.eclipse.cdt.internal.core.pdom;
 
 import java.io.File;
-import java.lang.ref.WeakReference;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -32,6 +32,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -116,6 +117,8 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private static final int LONG_WRITE_LOCK_REPORT_THRESHOLD = 1000;
 	private static final int LONG_READ_LOCK_WAIT_REPORT_THRESHOLD = 1000;
 	static boolean sDEBUG_LOCKS; // Initialized in the PDOMManager, because IBM needs PDOM independent of runtime plugin.
+	/** Receives the names looked up in the index, initialized in the PDOMManager. */
+	static volatile PrintStream sQueryTrace;
 
 	/**
 	 * Identifier for PDOM format
@@ -123,6 +126,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 */
 	public static final String FRAGMENT_PROPERTY_VALUE_FORMAT_ID = "org.eclipse.cdt.internal.core.pdom.PDOM"; //$NON-NLS-1$
 
+	/** System property for the maximum number of entries in the result cache of each index. */
+	public static final String RESULT_CACHE_SIZE_PROPERTY = "org.eclipse.cdt.core.parser.pdom.resultCacheSize"; //$NON-NLS-1$
+	private static final int DEFAULT_RESULT_CACHE_SIZE = 50000;
+	/** Maximum number of file lookups by location cached in between two modifications of the PDOM. */
+	private static final int FILE_LOOKUP_CACHE_SIZE = 1024;
+
 	/*
 	 * PDOM internal format history
 	 *
@@ -311,10 +320,13 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 10.4 development
 	 *  220.0 - Changed marshalling of CPPBasicType to store new "from literal" flag, bug 573764
+	 *
+	 *  CDT 12.0 development
+	 *  221.0 - Bloom filter over the member names of C++ classes.
 	 */
-	private static final int MIN_SUPPORTED_VERSION = version(220, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(220, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(220, 0);
+	private static final int MIN_SUPPORTED_VERSION = version(221, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(221, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(221, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -419,11 +431,25 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private File fPath;
 	private final IIndexLocationConverter locationConverter;
 	private final Map<String, IPDOMLinkageFactory> fPDOMLinkageFactoryCache;
-	private final HashMap<Object, Object> fResultCache = new HashMap<>();
-	private final Map<Long, WeakReference<IValue>> fVariableResultCache = new HashMap<>();
+	private final PDOMResultCache fResultCache = new PDOMResultCache(
+			Integer.getInteger(RESULT_CACHE_SIZE_PROPERTY, DEFAULT_RESULT_CACHE_SIZE));
+	private volatile FileLookupCache fFileLookupCache;
 	private List<IListener> listeners;
 	protected ChangeEvent fEvent = new ChangeEvent();
 
+	/**
+	 * The records of the files found by location. The cache is valid as long as its stamp, see
+	 * {@link PDOM#tryOptimisticRead()}, is valid, it is replaced after the PDOM has been modified.
+	 */
+	private static class FileLookupCache {
+		final long fStamp;
+		final Map<String, long[]> fRecords = new ConcurrentHashMap<>();
+
+		FileLookupCache(long stamp) {
+			fStamp = stamp;
+		}
+	}
+
 	public PDOM(File dbPath, IIndexLocationConverter locationConverter,
 			Map<String, IPDOMLinkageFactory> linkageFactoryMappings) throws CoreException {
 		this(dbPath, locationConverter, ChunkCache.getSharedInstance(), linkageFactoryMappings);
@@ -449,10 +475,11 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	private void loadDatabase(File dbPath, ChunkCache cache) throws CoreException {
 		fPath = dbPath;
-		final boolean lockDB = db == null || lockCount != 0;
+		final boolean lockDB = db == null || fLock.isLocked();
 
 		clearCaches();
 		db = new Database(fPath, cache, getDefaultVersion(), isPermanentlyReadOnly());
+		db.setLockState(fLock::isLocked);
 
 		db.setLocked(lockDB);
 		try {
@@ -460,7 +487,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 				readLinkages();
 			}
 		} finally {
-			db.setLocked(lockCount != 0);
+			db.setLocked(false);
 		}
 	}
 
@@ -600,12 +627,56 @@ public class PDOM extends PlatformObject implements IPDOM {
 		PDOMLinkage linkage = getLinkage(linkageID);
 		if (linkage == null)
 			return IIndexFragmentFile.EMPTY_ARRAY;
-		return PDOMFile.findFiles(linkage, getFileIndex(), location, locationConverter);
+		long[] records = findFileRecords(linkageID, location);
+		IIndexFragmentFile[] result = new IIndexFragmentFile[records.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = new PDOMFile(linkage, records[i]);
+		}
+		return result;
 	}
 
 	@Override
 	public IIndexFragmentFile[] getFiles(IIndexFileLocation location) throws CoreException {
-		return PDOMFile.findFiles(this, getFileIndex(), location, locationConverter);
+		long[] records = findFileRecords(-1, location);
+		IIndexFragmentFile[] result = new IIndexFragmentFile[records.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = PDOMFile.recreateFile(this, records[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the records of the files at the given location. Headers are looked up repeatedly,
+	 * for every translation unit including them, therefore the results are cached until the PDOM
+	 * is write-locked the next time. A result is only cached if the stamp is still valid after the
+	 * lookup, such that a lookup that was not protected by a read lock does not pollute the cache.
+	 *
+	 * @param linkageID the linkage of the files, or -1 for files of all linkages
+	 */
+	private long[] findFileRecords(int linkageID, IIndexFileLocation location) throws CoreException {
+		final String internalRepresentation = locationConverter.toInternalFormat(location);
+		if (internalRepresentation == null)
+			return new long[0];
+
+		FileLookupCache cache = fFileLookupCache;
+		if (cache == null || !validate(cache.fStamp)) {
+			final long stamp = tryOptimisticRead();
+			if (stamp == 0) {
+				// The PDOM is being modified, a cached result would be outdated right away.
+				return PDOMFile.findFileRecords(db, getFileIndex(), internalRepresentation, linkageID);
+			}
+			cache = new FileLookupCache(stamp);
+			fFileLookupCache = cache;
+		}
+		final String key = linkageID + ":" + internalRepresentation; //$NON-NLS-1$
+		long[] records = cache.fRecords.get(key);
+		if (records == null) {
+			records = PDOMFile.findFileRecords(db, getFileIndex(), internalRepresentation, linkageID);
+			if (validate(cache.fStamp) && cache.fRecords.size() < FILE_LOOKUP_CACHE_SIZE) {
+				cache.fRecords.put(key, records);
+			}
+		}
+		return records;
 	}
 
 	@Override
@@ -660,7 +731,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	}
 
 	protected void clear() throws CoreException {
-		assert lockCount < 0; // needs write-lock.
+		assert fLock.isWriteLocked(); // needs write-lock.
 
 		// Clear out the database, everything is set to zero.
 		int vers = getDefaultVersion();
@@ -670,7 +741,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	}
 
 	void reloadFromFile(File file) throws CoreException {
-		assert lockCount < 0; // must have write lock.
+		assert fLock.isWriteLocked(); // must have write lock.
 		File oldFile = fPath;
 		clearCaches();
 		try {
@@ -1002,51 +1073,39 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	// Read-write lock rules. Readers don't conflict with other readers,
 	// Writers conflict with readers, and everyone conflicts with writers.
-	private final Object mutex = new Object();
-	private int lockCount;
-	private int waitingReaders;
+	private final PDOMLock fLock = new PDOMLock(CANCELLATION_CHECK_INTERVAL, LONG_WRITE_LOCK_REPORT_THRESHOLD);
 	private long lastWriteAccess = 0;
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
+	private long timeBlockedWriteLockReported;
 
 	@Override
 	public void acquireReadLock() throws InterruptedException {
 		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
-		synchronized (mutex) {
-			++waitingReaders;
-			try {
-				while (lockCount < 0)
-					mutex.wait();
-			} finally {
-				--waitingReaders;
-			}
-			++lockCount;
-			db.setLocked(true);
+		fLock.acquireReadLock();
 
-			if (sDEBUG_LOCKS) {
-				t = (System.nanoTime() - t) / 1000000;
-				if (t >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
-					System.out.println("Acquired index read lock after " + t + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
-				}
-				incReadLock(fLockDebugging);
+		if (sDEBUG_LOCKS) {
+			t = System.nanoTime() - t;
+			if (t / 1000000 >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
+				System.out.println("Acquired index read lock after " + t / 1000000 + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
+			}
+			synchronized (fLockDebugging) {
+				incReadLock(fLockDebugging, t);
 			}
 		}
 	}
 
 	@Override
 	public void releaseReadLock() {
-		synchronized (mutex) {
-			assert lockCount > 0 : "No lock to release"; //$NON-NLS-1$
-			if (sDEBUG_LOCKS) {
+		assert fLock.getLockCount() > 0 : "No lock to release"; //$NON-NLS-1$
+		if (sDEBUG_LOCKS) {
+			synchronized (fLockDebugging) {
 				decReadLock(fLockDebugging);
 			}
-
-			lastReadAccess = System.currentTimeMillis();
-			if (lockCount > 0)
-				--lockCount;
-			mutex.notifyAll();
-			db.setLocked(lockCount != 0);
 		}
+
+		lastReadAccess = System.currentTimeMillis();
+		fLock.releaseReadLock();
 		// A lock release probably means that some AST is going away. The result cache has to be
 		// cleared since it may contain objects belonging to the AST that is going away. A failure
 		// to release an AST object would cause a memory leak since the whole AST would remain
@@ -1073,42 +1132,34 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 */
 	public void acquireWriteLock(int giveupReadLocks, IProgressMonitor monitor) throws InterruptedException {
 		assert !isPermanentlyReadOnly();
-		synchronized (mutex) {
-			if (sDEBUG_LOCKS) {
+		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
+		if (sDEBUG_LOCKS) {
+			synchronized (fLockDebugging) {
 				incWriteLock(giveupReadLocks);
 			}
+			timeBlockedWriteLockReported = System.currentTimeMillis();
+		}
 
-			if (giveupReadLocks > 0) {
-				// give up on read locks
-				assert lockCount >= giveupReadLocks : "Not enough locks to release"; //$NON-NLS-1$
-				if (lockCount < giveupReadLocks) {
-					giveupReadLocks = lockCount;
-				}
-			} else {
-				giveupReadLocks = 0;
+		if (giveupReadLocks > 0) {
+			// give up on read locks
+			final int lockCount = fLock.getLockCount();
+			assert lockCount >= giveupReadLocks : "Not enough locks to release"; //$NON-NLS-1$
+			if (lockCount < giveupReadLocks) {
+				giveupReadLocks = Math.max(lockCount, 0);
 			}
+		} else {
+			giveupReadLocks = 0;
+		}
 
-			// Let the readers go first
-			long start = sDEBUG_LOCKS ? System.currentTimeMillis() : 0;
-			int count = 0;
-			while (lockCount > giveupReadLocks || waitingReaders > 0) {
-				mutex.wait(CANCELLATION_CHECK_INTERVAL);
-				if (monitor != null && monitor.isCanceled()) {
-					throw new OperationCanceledException();
-				}
-				count++;
-				if (monitor != null && count == LONG_WRITE_LOCK_REPORT_THRESHOLD / CANCELLATION_CHECK_INTERVAL) {
-					monitor.subTask(Messages.PDOM_waitingForWriteLock);
-				}
-				if (sDEBUG_LOCKS) {
-					start = reportBlockedWriteLock(start, giveupReadLocks);
-				}
+		// Let the readers go first
+		fLock.acquireWriteLock(giveupReadLocks, monitor, sDEBUG_LOCKS ? this::reportBlockedWriteLock : null);
+		if (sDEBUG_LOCKS) {
+			timeWriteLockAcquired = System.currentTimeMillis();
+			synchronized (fLockDebugging) {
+				getLockInfo(fLockDebugging).fWriteLockWaitTime += System.nanoTime() - t;
 			}
-			lockCount = -1;
-			if (sDEBUG_LOCKS)
-				timeWriteLockAcquired = System.currentTimeMillis();
-			db.setExclusiveLock();
 		}
+		db.setExclusiveLock();
 		if (monitor != null)
 			monitor.subTask(""); //$NON-NLS-1$
 	}
@@ -1128,33 +1179,50 @@ public class PDOM extends PlatformObject implements IPDOM {
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		}
-		assert lockCount == -1;
+		assert fLock.isWriteLocked();
 		if (!fEvent.isTrivial())
 			lastWriteAccess = System.currentTimeMillis();
 		final ChangeEvent event = fEvent;
 		fEvent = new ChangeEvent();
-		synchronized (mutex) {
-			if (sDEBUG_LOCKS) {
-				long timeHeld = lastWriteAccess - timeWriteLockAcquired;
-				if (timeHeld >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
-					System.out.println("Index write lock held for " + timeHeld + " ms");
-				}
-				decWriteLock(establishReadLocks);
+		if (sDEBUG_LOCKS) {
+			long timeHeld = System.currentTimeMillis() - timeWriteLockAcquired;
+			if (timeHeld >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
+				System.out.println("Index write lock held for " + timeHeld + " ms");
+			}
+			synchronized (fLockDebugging) {
+				decWriteLock(establishReadLocks, timeHeld);
 			}
-
-			if (lockCount < 0)
-				lockCount = establishReadLocks;
-			mutex.notifyAll();
-			db.setLocked(lockCount != 0);
 		}
+
+		db.setLocked(false);
+		fLock.releaseWriteLock(establishReadLocks);
 		fireChange(event);
 	}
 
 	@Override
 	public boolean hasWaitingReaders() {
-		synchronized (mutex) {
-			return waitingReaders > 0;
-		}
+		return fLock.hasWaitingReaders();
+	}
+
+	/**
+	 * Returns a stamp that can later be checked with {@link #validate(long)} to find out whether
+	 * the PDOM has been modified in the meantime, or {@code 0} if the PDOM is currently write-locked.
+	 * <p>
+	 * Obtaining and validating a stamp does not block and does not interfere with other readers
+	 * or writers. It allows short-lived results, e.g. the files looked up by location, to be
+	 * reused without accessing the database again. The content of the PDOM must still be accessed
+	 * under a read lock only.
+	 */
+	public long tryOptimisticRead() {
+		return fLock.tryOptimisticRead();
+	}
+
+	/**
+	 * Returns {@code true} if the PDOM has not been write-locked since the stamp was obtained
+	 * from {@link #tryOptimisticRead()}.
+	 */
+	public boolean validate(long stamp) {
+		return fLock.validate(stamp);
 	}
 
 	@Override
@@ -1355,6 +1423,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return fPath;
 	}
 
+	/**
+	 * Appends a lookup to the query trace, if enabled. Each line consists of the kind of the
+	 * query and the name, the format is understood by the storage benchmarks.
+	 */
+	private static void traceQuery(String kind, char[] name) {
+		final PrintStream trace = sQueryTrace;
+		if (trace != null) {
+			trace.println(kind + ' ' + new String(name));
+		}
+	}
+
 	@Override
 	public IIndexFragmentBinding[] findBindingsForPrefix(char[] prefix, boolean filescope, IndexFilter filter,
 			IProgressMonitor monitor) throws CoreException {
@@ -1375,6 +1454,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private IIndexFragmentBinding[] findBindingsForPrefixOrContentAssist(char[] prefix, boolean filescope,
 			boolean isContentAssist, boolean caseSensitive, IndexFilter filter, IProgressMonitor monitor)
 			throws CoreException {
+		traceQuery("prefix", prefix); //$NON-NLS-1$
 		ArrayList<IIndexFragmentBinding> result = new ArrayList<>();
 		for (PDOMLinkage linkage : getLinkageList()) {
 			if (filter.acceptLinkage(linkage)) {
@@ -1409,6 +1489,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	public IIndexFragmentBinding[] findBindings(char[] name, boolean filescope, boolean isCaseSensitive,
 			IndexFilter filter, IProgressMonitor monitor) throws CoreException {
+		traceQuery("find", name); //$NON-NLS-1$
 		ArrayList<IIndexFragmentBinding> result = new ArrayList<>();
 		try {
 			for (PDOMLinkage linkage : getLinkageList()) {
@@ -1522,12 +1603,19 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public void clearResultCache() {
-		synchronized (fResultCache) {
-			fResultCache.clear();
-		}
-		synchronized (fVariableResultCache) {
-			fVariableResultCache.clear();
-		}
+		fResultCache.clear();
+	}
+
+	@Override
+	public void clearResultCache(int linkageID) {
+		fResultCache.invalidate(linkageID);
+	}
+
+	/**
+	 * Returns the cache for results computed from this index, for collecting statistics.
+	 */
+	public PDOMResultCache getResultCache() {
+		return fResultCache;
 	}
 
 	@Override
@@ -1551,9 +1639,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public Object getCachedResult(Object key) {
-		synchronized (fResultCache) {
-			return fResultCache.get(key);
-		}
+		return fResultCache.get(key);
 	}
 
 	public void putCachedResult(Object key, Object result) {
@@ -1562,42 +1648,41 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public Object putCachedResult(Object key, Object result, boolean replace) {
-		synchronized (fResultCache) {
-			Object old = fResultCache.put(key, result);
-			if (old != null && !replace) {
-				fResultCache.put(key, old);
-				return old;
-			}
-			return result;
-		}
+		return fResultCache.put(PDOMResultCache.ANY_LINKAGE, key, result, replace);
+	}
+
+	/**
+	 * Caches a result computed for the given linkage, it is removed from the cache when the
+	 * result cache is cleared for the linkage, see {@link #clearResultCache(int)}.
+	 */
+	public void putCachedResult(int linkageID, Object key, Object result) {
+		putCachedResult(linkageID, key, result, true);
+	}
+
+	/**
+	 * Caches a result computed for the given linkage, see {@link #putCachedResult(int, Object, Object)}.
+	 * @param replace if <code>false</code> an existing entry will not be replaced, and the result is
+	 *     not evicted from the cache until it is cleared for the linkage.
+	 * @return the value that is actually stored.
+	 */
+	public Object putCachedResult(int linkageID, Object key, Object result, boolean replace) {
+		return fResultCache.put(linkageID, key, result, replace);
 	}
 
 	public void removeCachedResult(Object key) {
-		synchronized (fResultCache) {
-			fResultCache.remove(key);
-		}
+		fResultCache.remove(key);
 	}
 
-	public IValue getCachedVariableResult(Long key) {
-		synchronized (fVariableResultCache) {
-			WeakReference<IValue> variableResult = fVariableResultCache.get(key);
-			if (variableResult != null) {
-				return variableResult.get();
-			}
-			return null;
-		}
+	public IValue getCachedVariableResult(long record) {
+		return fResultCache.getValue(record);
 	}
 
-	public void removeCachedVariableResult(Long key) {
-		synchronized (fVariableResultCache) {
-			fVariableResultCache.remove(key);
-		}
+	public void removeCachedVariableResult(long record) {
+		fResultCache.removeValue(record);
 	}
 
-	public void putCachedVariableResult(Long key, IValue result) {
-		synchronized (fVariableResultCache) {
-			fVariableResultCache.put(key, new WeakReference<>(result));
-		}
+	public void putCachedVariableResult(int linkageID, long record, IValue result) {
+		fResultCache.putValue(linkageID, record, result);
 	}
 
 	public String createKeyForCache(long record, char[] name) {
@@ -1786,6 +1871,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 		int fReadLocks;
 		int fWriteLocks;
 		List<StackTraceElement[]> fTraces = new ArrayList<>();
+		// Times in nanoseconds, accumulated as long as the thread holds locks.
+		long fReadLockWaitTime;
+		long fWriteLockWaitTime;
+		long fReadLockHoldStart;
+		long fReadLockHoldTime;
+		long fWriteLockHoldTime;
 
 		public int addTrace() {
 			fTraces.add(Thread.currentThread().getStackTrace());
@@ -1796,6 +1887,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		public void write(String threadName) {
 			System.out.println(
 					"Thread: '" + threadName + "': " + fReadLocks + " readlocks, " + fWriteLocks + " writelocks");
+			writeTimes();
 			for (StackTraceElement[] trace : fTraces) {
 				System.out.println("  Stacktrace:");
 				for (StackTraceElement ste : trace) {
@@ -1804,13 +1896,31 @@ public class PDOM extends PlatformObject implements IPDOM {
 			}
 		}
 
+		@SuppressWarnings("nls")
+		void writeTimes() {
+			System.out.println("  Waited " + fReadLockWaitTime / 1000000 + " ms for readlocks, "
+					+ fWriteLockWaitTime / 1000000 + " ms for writelocks; held readlocks for "
+					+ fReadLockHoldTime / 1000000 + " ms, writelocks for " + fWriteLockHoldTime / 1000000 + " ms");
+		}
+
 		public void inc(DebugLockInfo val) {
 			fReadLocks += val.fReadLocks;
 			fWriteLocks += val.fWriteLocks;
 			fTraces.addAll(val.fTraces);
+			addTimes(val);
+		}
+
+		void addTimes(DebugLockInfo val) {
+			fReadLockWaitTime += val.fReadLockWaitTime;
+			fWriteLockWaitTime += val.fWriteLockWaitTime;
+			fReadLockHoldTime += val.fReadLockHoldTime;
+			fWriteLockHoldTime += val.fWriteLockHoldTime;
 		}
 	}
 
+	// For debugging lock issues, lock times per thread name accumulated over all PDOMs.
+	private static final Map<String, DebugLockInfo> sLockTimes = new HashMap<>();
+
 	// For debugging lock issues
 	private Map<Thread, DebugLockInfo> fLockDebugging;
 
@@ -1829,8 +1939,16 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	// For debugging lock issues
 	static void incReadLock(Map<Thread, DebugLockInfo> lockDebugging) {
+		incReadLock(lockDebugging, 0);
+	}
+
+	// For debugging lock issues
+	static void incReadLock(Map<Thread, DebugLockInfo> lockDebugging, long waitTime) {
 		DebugLockInfo info = getLockInfo(lockDebugging);
-		info.fReadLocks++;
+		info.fReadLockWaitTime += waitTime;
+		if (info.fReadLocks++ == 0) {
+			info.fReadLockHoldStart = System.nanoTime();
+		}
 		if (info.addTrace() > 10) {
 			outputReadLocks(lockDebugging);
 		}
@@ -1849,7 +1967,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 			throw new AssertionError("Releasing readlock while holding write lock");
 		}
 		if (--info.fReadLocks == 0) {
+			info.fReadLockHoldTime += System.nanoTime() - info.fReadLockHoldStart;
 			lockDebugging.remove(Thread.currentThread());
+			recordLockTimes(info);
 		} else {
 			info.addTrace();
 		}
@@ -1869,7 +1989,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	}
 
 	// For debugging lock issues
-	private void decWriteLock(int establishReadLocks) throws AssertionError {
+	private void decWriteLock(int establishReadLocks, long holdTime) throws AssertionError {
 		DebugLockInfo info = getLockInfo(fLockDebugging);
 		if (info.fReadLocks != establishReadLocks)
 			throw new AssertionError(
@@ -1877,24 +1997,55 @@ public class PDOM extends PlatformObject implements IPDOM {
 		if (info.fWriteLocks != 1)
 			throw new AssertionError("Wrong release write lock"); //$NON-NLS-1$
 		info.fWriteLocks = 0;
+		info.fWriteLockHoldTime += holdTime * 1000000;
 		if (info.fReadLocks == 0) {
 			fLockDebugging.remove(Thread.currentThread());
+			recordLockTimes(info);
 		}
 	}
 
+	// For debugging lock issues
+	private static void recordLockTimes(DebugLockInfo info) {
+		String key = Thread.currentThread().getName();
+		synchronized (sLockTimes) {
+			DebugLockInfo times = sLockTimes.get(key);
+			if (times == null) {
+				times = new DebugLockInfo();
+				sLockTimes.put(key, times);
+			}
+			times.addTimes(info);
+		}
+		info.fReadLockWaitTime = info.fWriteLockWaitTime = info.fReadLockHoldTime = info.fWriteLockHoldTime = 0;
+	}
+
 	// For debugging lock issues
 	@SuppressWarnings("nls")
-	private long reportBlockedWriteLock(long start, int giveupReadLocks) {
+	static void outputLockTimes() {
+		System.out.println("---------------------  Lock Times -----------------------------");
+		synchronized (sLockTimes) {
+			for (Map.Entry<String, DebugLockInfo> entry : sLockTimes.entrySet()) {
+				System.out.println("Thread: '" + entry.getKey() + "'");
+				entry.getValue().writeTimes();
+			}
+		}
+		System.out.println("---------------------------------------------------------------");
+	}
+
+	// For debugging lock issues
+	@SuppressWarnings("nls")
+	private void reportBlockedWriteLock(int giveupReadLocks) {
 		long now = System.currentTimeMillis();
-		if (now >= start + BLOCKED_WRITE_LOCK_OUTPUT_INTERVAL) {
+		if (now >= timeBlockedWriteLockReported + BLOCKED_WRITE_LOCK_OUTPUT_INTERVAL) {
 			System.out.println();
 			System.out.println("Blocked writeLock");
-			System.out.println("  lockcount= " + lockCount + ", giveupReadLocks=" + giveupReadLocks
-					+ ", waitingReaders=" + waitingReaders);
-			outputReadLocks(fLockDebugging);
-			start = now;
+			System.out.println("  lockcount= " + fLock.getLockCount() + ", giveupReadLocks=" + giveupReadLocks
+					+ ", waitingReaders=" + fLock.hasWaitingReaders());
+			synchronized (fLockDebugging) {
+				outputReadLocks(fLockDebugging);
+			}
+			outputLockTimes();
+			timeBlockedWriteLockReported = now;
 		}
-		return start;
 	}
 
 	// For debugging lock issues
@@ -1910,6 +2061,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	// For debugging lock issues
 	public void adjustThreadForReadLock(Map<Thread, DebugLockInfo> lockDebugging) {
+		synchronized (fLockDebugging) {
+			adjustThreadForReadLockDebugging(lockDebugging);
+		}
+	}
+
+	private void adjustThreadForReadLockDebugging(Map<Thread, DebugLockInfo> lockDebugging) {
 		for (Thread th : lockDebugging.keySet()) {
 			DebugLockInfo val = lockDebugging.get(th);
 			if (val.fReadLocks > 0) {
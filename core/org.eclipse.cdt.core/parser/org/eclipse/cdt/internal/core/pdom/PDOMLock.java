@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Read-write lock of a {@link PDOM}.
+ * <p>
+ * Readers don't conflict with other readers, writers conflict with readers, and everyone conflicts
+ * with writers. Read locks are not owned by a thread and may be nested, therefore readers take
+ * precedence over writers: a reader is only blocked while the write lock is held. A writer waits
+ * until all read locks except the ones it gives up are released, and until the readers that were
+ * blocked by the previous writer got their lock.
+ * <p>
+ * Read locks are acquired and released with a single compare-and-set, the monitor of the lock is
+ * only used when threads have to wait. When the last read lock blocking a writer is released, the
+ * lock is handed over to the writer directly, such that readers arriving in the meantime cannot
+ * starve it.
+ * <p>
+ * Similar to {@link java.util.concurrent.locks.StampedLock}, the lock supports optimistic reading:
+ * {@link #tryOptimisticRead()} returns a stamp that stays valid until the next write lock is
+ * acquired. A stamp can also be used to find out whether the index was modified between two
+ * read locks.
+ */
+final class PDOMLock {
+	private static final VarHandle STATE;
+	static {
+		try {
+			STATE = MethodHandles.lookup().findVarHandle(PDOMLock.class, "fState", int.class); //$NON-NLS-1$
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	private static final int WRITE_LOCKED = -1;
+
+	/**
+	 * Callback invoked periodically while a writer is blocked.
+	 */
+	interface IBlockedWriterListener {
+		void writerBlocked(int giveupReadLocks);
+	}
+
+	private final int fCancellationCheckInterval;
+	private final int fLongWriteLockReportThreshold;
+
+	/** Number of read locks, or {@link #WRITE_LOCKED}. */
+	private volatile int fState;
+	/** Incremented whenever the write lock is acquired or released, odd while write-locked. */
+	private volatile long fVersion;
+	/** Number of threads waiting for the write lock, used to skip the monitor when releasing read locks. */
+	private volatile int fWaitingWriters;
+
+	private final Object fMonitor = new Object();
+	// The following fields are modified while holding fMonitor.
+	private volatile int fWaitingReaders;
+	/** Read locks given up by the writer the lock is handed over to, or -1. */
+	private int fHandOffGiveup = -1;
+	private boolean fHandedOff;
+
+	PDOMLock(int cancellationCheckInterval, int longWriteLockReportThreshold) {
+		fCancellationCheckInterval = cancellationCheckInterval;
+		fLongWriteLockReportThreshold = longWriteLockReportThreshold;
+	}
+
+	void acquireReadLock() throws InterruptedException {
+		for (int s; (s = fState) >= 0;) {
+			if (STATE.compareAndSet(this, s, s + 1))
+				return;
+		}
+		synchronized (fMonitor) {
+			++fWaitingReaders;
+			try {
+				while (true) {
+					final int s = fState;
+					if (s >= 0) {
+						if (STATE.compareAndSet(this, s, s + 1))
+							return;
+					} else {
+						fMonitor.wait();
+					}
+				}
+			} finally {
+				--fWaitingReaders;
+				if (fWaitingReaders == 0 && fWaitingWriters > 0) {
+					fMonitor.notifyAll();
+				}
+			}
+		}
+	}
+
+	void releaseReadLock() {
+		while (true) {
+			final int s = fState;
+			assert s > 0 : "No lock to release"; //$NON-NLS-1$
+			if (s <= 0)
+				return;
+			if (STATE.compareAndSet(this, s, s - 1))
+				break;
+		}
+		if (fWaitingWriters > 0) {
+			synchronized (fMonitor) {
+				handOffToWriter();
+				fMonitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Acquires the write lock, giving up the specified number of read locks held by the caller.
+	 * If the caller is interrupted or the monitor is canceled, the read locks are kept.
+	 */
+	void acquireWriteLock(int giveupReadLocks, IProgressMonitor monitor, IBlockedWriterListener listener)
+			throws InterruptedException {
+		synchronized (fMonitor) {
+			++fWaitingWriters;
+			final boolean receivesHandOff = fHandOffGiveup < 0;
+			if (receivesHandOff) {
+				fHandOffGiveup = giveupReadLocks;
+			}
+			try {
+				int count = 0;
+				while (true) {
+					if (receivesHandOff && fHandedOff) {
+						fHandedOff = false;
+						break;
+					}
+					if (fWaitingReaders == 0 && STATE.compareAndSet(this, giveupReadLocks, WRITE_LOCKED)) {
+						fVersion++;
+						break;
+					}
+					fMonitor.wait(fCancellationCheckInterval);
+					if (monitor != null && monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					count++;
+					if (monitor != null && count == fLongWriteLockReportThreshold / fCancellationCheckInterval) {
+						monitor.subTask(Messages.PDOM_waitingForWriteLock);
+					}
+					if (listener != null) {
+						listener.writerBlocked(giveupReadLocks);
+					}
+				}
+			} finally {
+				--fWaitingWriters;
+				if (receivesHandOff) {
+					fHandOffGiveup = -1;
+					if (fHandedOff) {
+						// The lock was handed over after an interrupt or cancellation, give it back.
+						fHandedOff = false;
+						fVersion++;
+						fState = giveupReadLocks;
+						fMonitor.notifyAll();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Releases the write lock, the caller keeps the specified number of read locks.
+	 */
+	void releaseWriteLock(int establishReadLocks) {
+		assert fState == WRITE_LOCKED;
+		fVersion++;
+		synchronized (fMonitor) {
+			fState = establishReadLocks;
+			fMonitor.notifyAll();
+		}
+	}
+
+	/**
+	 * Must be called while holding the monitor.
+	 */
+	private void handOffToWriter() {
+		if (fHandOffGiveup >= 0 && !fHandedOff && fWaitingReaders == 0
+				&& STATE.compareAndSet(this, fHandOffGiveup, WRITE_LOCKED)) {
+			fVersion++;
+			fHandedOff = true;
+		}
+	}
+
+	/**
+	 * Returns a stamp for optimistic reading, or {@code 0} if the lock is currently write-locked.
+	 */
+	long tryOptimisticRead() {
+		final long version = fVersion;
+		return (version & 1) == 0 ? version + 2 : 0;
+	}
+
+	/**
+	 * Returns {@code true} if the write lock has not been acquired since the given stamp was
+	 * obtained from {@link #tryOptimisticRead()}. Always returns {@code false} for a stamp of
+	 * {@code 0}.
+	 */
+	boolean validate(long stamp) {
+		VarHandle.acquireFence();
+		return stamp != 0 && fVersion + 2 == stamp;
+	}
+
+	boolean hasWaitingReaders() {
+		return fWaitingReaders > 0;
+	}
+
+	/**
+	 * Returns the number of read locks, or {@code -1} if the lock is write-locked.
+	 */
+	int getLockCount() {
+		return fState;
+	}
+
+	boolean isLocked() {
+		return fState != 0;
+	}
+
+	boolean isWriteLocked() {
+		return fState == WRITE_LOCKED;
+	}
+}
@@ -27,6 +27,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
@@ -79,6 +81,8 @@ import org.eclipse.cdt.internal.core.index.IndexFactory;
 import org.eclipse.cdt.internal.core.index.IndexFileSet;
 import org.eclipse.cdt.internal.core.index.IndexerStateEvent;
 import org.eclipse.cdt.internal.core.index.provider.IndexProviderManager;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenCache;
 import org.eclipse.cdt.internal.core.pdom.PDOM.IListener;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
@@ -199,10 +203,30 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 	boolean fTraceIndexerSetup;
 
+	/**
+	 * System property for the size limit of the token cache in megabytes, {@code 0} disables the cache.
+	 */
+	public static final String TOKEN_CACHE_SIZE_PROPERTY = "org.eclipse.cdt.core.parser.tokenCacheMB"; //$NON-NLS-1$
+	private static final int DEFAULT_TOKEN_CACHE_SIZE_MB = 256;
+	private static final String TOKEN_CACHE_DIRECTORY = "tokens"; //$NON-NLS-1$
+	private TokenCache fTokenCache;
+	private boolean fTokenCacheInitialized;
+	private static final String DIRECTORY_LISTINGS_FILE = "directoryListings.dat"; //$NON-NLS-1$
+	private DirectoryListingUpdater fDirectoryListingUpdater;
+
 	public PDOMManager() {
 		PDOM.sDEBUG_LOCKS = Boolean.parseBoolean(Platform.getDebugOption(CCorePlugin.PLUGIN_ID + "/debug/index/locks")); //$NON-NLS-1$
 		IndexFileSet.sDEBUG = Boolean
 				.parseBoolean(Platform.getDebugOption(CCorePlugin.PLUGIN_ID + "/debug/index/IndexFileSet")); //$NON-NLS-1$
+		String queryTrace = Platform.getDebugOption(CCorePlugin.PLUGIN_ID + "/debug/index/queryTrace"); //$NON-NLS-1$
+		if (queryTrace != null && !queryTrace.isEmpty()) {
+			try {
+				PDOM.sQueryTrace = new PrintStream(new FileOutputStream(queryTrace, true), true,
+						StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				CCorePlugin.log(e);
+			}
+		}
 		addIndexerSetupParticipant(new WaitForRefreshJobs());
 		fProjectDescriptionListener = new CProjectDescriptionListener(this);
 		fJobChangeListener = new JobChangeListener(this);
@@ -249,6 +273,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		final CoreModel model = CoreModel.getDefault();
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(fCModelListener, IResourceChangeEvent.POST_BUILD);
 		model.addElementChangedListener(fCModelListener);
+		startDirectoryListingCache();
 		LanguageManager.getInstance().registerLanguageChangeListener(fLanguageChangeListener);
 		LanguageSettingsManager.registerLanguageSettingsChangeListener(fLanguageSettingsChangeListener);
 		final int types = CProjectDescriptionEvent.APPLIED;
@@ -275,6 +300,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(fCModelListener);
 		LanguageSettingsManager.unregisterLanguageSettingsChangeListener(fLanguageSettingsChangeListener);
 		LanguageManager.getInstance().unregisterLanguageChangeListener(fLanguageChangeListener);
+		stopDirectoryListingCache();
 		PDOMIndexerJob jobToCancel = null;
 		synchronized (fTaskQueue) {
 			fTaskQueue.clear();
@@ -449,6 +475,53 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		return dbName;
 	}
 
+	/**
+	 * Returns the cache for the tokens of files outside of the workspace, shared by all indexers,
+	 * or {@code null} if it is disabled.
+	 */
+	public synchronized TokenCache getTokenCache() {
+		if (!fTokenCacheInitialized) {
+			fTokenCacheInitialized = true;
+			final long sizeMB = Long.getLong(TOKEN_CACHE_SIZE_PROPERTY, DEFAULT_TOKEN_CACHE_SIZE_MB);
+			if (sizeMB > 0) {
+				fTokenCache = new TokenCache(fileFromDatabaseName(TOKEN_CACHE_DIRECTORY), sizeMB * 1024 * 1024);
+			}
+		}
+		return fTokenCache;
+	}
+
+	/**
+	 * Loads the directory listings of the previous session and keeps the listings of workspace
+	 * folders current.
+	 */
+	private void startDirectoryListingCache() {
+		if (!DirectoryListingCache.isEnabled())
+			return;
+		DirectoryListingCache cache = DirectoryListingCache.getInstance();
+		try {
+			cache.load(fileFromDatabaseName(DIRECTORY_LISTINGS_FILE));
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+		fDirectoryListingUpdater = new DirectoryListingUpdater(cache);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(fDirectoryListingUpdater,
+				IResourceChangeEvent.POST_CHANGE);
+	}
+
+	private void stopDirectoryListingCache() {
+		if (fDirectoryListingUpdater == null)
+			return;
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(fDirectoryListingUpdater);
+		fDirectoryListingUpdater = null;
+		DirectoryListingCache cache = DirectoryListingCache.getInstance();
+		try {
+			cache.save(fileFromDatabaseName(DIRECTORY_LISTINGS_FILE));
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+		cache.dispose();
+	}
+
 	private File fileFromDatabaseName(String dbName) {
 		return CCorePlugin.getDefault().getStateLocation().append(dbName).toFile();
 	}
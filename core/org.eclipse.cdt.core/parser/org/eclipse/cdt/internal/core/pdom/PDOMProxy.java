@@ -357,6 +357,12 @@ public class PDOMProxy implements IPDOM {
 			fDelegate.clearResultCache();
 	}
 
+	@Override
+	public void clearResultCache(int linkageID) {
+		if (fDelegate != null)
+			fDelegate.clearResultCache(linkageID);
+	}
+
 	@Override
 	public IIndexScope[] getInlineNamespaces() throws CoreException {
 		if (fDelegate != null)
@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.core.dom.ast.IValue;
+
+/**
+ * Cache for results computed from the index, see {@link PDOM#getCachedResult(Object)}. The cache
+ * may be used by multiple threads at once.
+ * <p>
+ * The number of entries is bounded, when it is exceeded entries that were not used recently are
+ * evicted. Entries stored without replacing an existing one are pinned, callers rely on getting
+ * the same object back for as long as they hold the lock on the index, see
+ * {@link #put(int, Object, Object, boolean)}. They are typically caches of their own, e.g. the
+ * instances of a template, and have a separate bound. They are evicted only when that bound is
+ * exceeded, and only the ones that were not used since the last eviction. Each of them is
+ * evicted as a whole.
+ * <p>
+ * Entries are associated with the linkage they were computed for, such that they can be
+ * invalidated when the content of a linkage changes. Entries stored without a linkage are
+ * invalidated together with any linkage.
+ * <p>
+ * The values of variables are cached separately in a table indexed by the record of the value,
+ * colliding records replace each other.
+ */
+public final class PDOMResultCache {
+	/** Linkage of entries that are not associated with a specific linkage. */
+	public static final int ANY_LINKAGE = -1;
+
+	private static final class Entry {
+		final Object fValue;
+		final int fLinkageID;
+		final boolean fPinned;
+		volatile boolean fReferenced;
+
+		Entry(Object value, int linkageID, boolean pinned) {
+			fValue = value;
+			fLinkageID = linkageID;
+			fPinned = pinned;
+		}
+	}
+
+	private static final class ValueReference extends WeakReference<IValue> {
+		final long fRecord;
+		final int fLinkageID;
+
+		ValueReference(long record, int linkageID, IValue value) {
+			super(value);
+			fRecord = record;
+			fLinkageID = linkageID;
+		}
+	}
+
+	private final int fMaxSize;
+	private final int fMaxPinned;
+	private final ConcurrentHashMap<Object, Entry> fEntries = new ConcurrentHashMap<>();
+	private final AtomicBoolean fEvicting = new AtomicBoolean();
+	private final AtomicInteger fPinned = new AtomicInteger();
+	private final AtomicReferenceArray<ValueReference> fValues;
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
+	private final LongAdder fValueHits = new LongAdder();
+	private final LongAdder fValueMisses = new LongAdder();
+	// Hits and stores per type of the cached objects.
+	private final ConcurrentHashMap<Class<?>, LongAdder> fHitsByType = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Class<?>, LongAdder> fStoresByType = new ConcurrentHashMap<>();
+
+	/**
+	 * @param maxSize the maximum number of entries, also the number of slots for the values of
+	 *     variables and the maximum number of pinned entries.
+	 */
+	public PDOMResultCache(int maxSize) {
+		this(maxSize, maxSize);
+	}
+
+	/**
+	 * @param maxSize the maximum number of entries that are not pinned, also the number of slots
+	 *     for the values of variables.
+	 * @param maxPinned the maximum number of pinned entries.
+	 */
+	public PDOMResultCache(int maxSize, int maxPinned) {
+		fMaxSize = Math.max(1, maxSize);
+		fMaxPinned = Math.max(1, maxPinned);
+		fValues = new AtomicReferenceArray<>(Math.max(16, Integer.highestOneBit(fMaxSize - 1) << 1));
+	}
+
+	public Object get(Object key) {
+		final Entry entry = fEntries.get(key);
+		if (entry == null) {
+			fMisses.increment();
+			return null;
+		}
+		entry.fReferenced = true;
+		fHits.increment();
+		count(fHitsByType, entry.fValue);
+		return entry.fValue;
+	}
+
+	/**
+	 * Stores a result.
+	 * @param linkageID the linkage the result was computed for, or {@link #ANY_LINKAGE}.
+	 * @param replace if <code>false</code> an existing entry will not be replaced, and the entry
+	 *     is pinned.
+	 * @return the value that is actually stored.
+	 */
+	public Object put(int linkageID, Object key, Object value, boolean replace) {
+		if (value == null) {
+			remove(key);
+			return null;
+		}
+		final Entry entry = new Entry(value, linkageID, !replace);
+		if (replace) {
+			removed(fEntries.put(key, entry));
+		} else {
+			final Entry existing = fEntries.putIfAbsent(key, entry);
+			if (existing != null) {
+				existing.fReferenced = true;
+				return existing.fValue;
+			}
+			fPinned.incrementAndGet();
+		}
+		count(fStoresByType, value);
+		if (count(!replace) > (replace ? fMaxSize : fMaxPinned)) {
+			evict(!replace);
+		}
+		return value;
+	}
+
+	public void remove(Object key) {
+		removed(fEntries.remove(key));
+	}
+
+	private void removed(Entry entry) {
+		if (entry != null && entry.fPinned) {
+			fPinned.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Removes pinned entries or the other ones until they fill their bound to seven eighths, entries
+	 * that were used since the last eviction get a second chance. Only one thread evicts at a time.
+	 */
+	private void evict(boolean pinned) {
+		if (!fEvicting.compareAndSet(false, true))
+			return;
+		try {
+			final int target = pinned ? fMaxPinned - fMaxPinned / 8 : fMaxSize - fMaxSize / 8;
+			for (int pass = 0; pass < 2 && count(pinned) > target; pass++) {
+				for (Iterator<Map.Entry<Object, Entry>> it = fEntries.entrySet().iterator(); it.hasNext()
+						&& count(pinned) > target;) {
+					final Map.Entry<Object, Entry> mapEntry = it.next();
+					final Entry entry = mapEntry.getValue();
+					if (entry.fPinned != pinned) {
+						continue;
+					} else if (entry.fReferenced) {
+						entry.fReferenced = false;
+					} else if (fEntries.remove(mapEntry.getKey(), entry)) {
+						removed(entry);
+						fEvictions.increment();
+					}
+				}
+			}
+		} finally {
+			fEvicting.set(false);
+		}
+	}
+
+	private int count(boolean pinned) {
+		final int pinnedCount = fPinned.get();
+		return pinned ? pinnedCount : fEntries.size() - pinnedCount;
+	}
+
+	public IValue getValue(long record) {
+		final ValueReference ref = fValues.get(slot(record));
+		if (ref != null && ref.fRecord == record) {
+			final IValue value = ref.get();
+			if (value != null) {
+				fValueHits.increment();
+				return value;
+			}
+		}
+		fValueMisses.increment();
+		return null;
+	}
+
+	public void putValue(int linkageID, long record, IValue value) {
+		fValues.set(slot(record), new ValueReference(record, linkageID, value));
+	}
+
+	public void removeValue(long record) {
+		final int slot = slot(record);
+		final ValueReference ref = fValues.get(slot);
+		if (ref != null && ref.fRecord == record) {
+			fValues.compareAndSet(slot, ref, null);
+		}
+	}
+
+	private int slot(long record) {
+		// Records are aligned to the block size of the database, mix in the higher bits.
+		final long h = record * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> 32) & (fValues.length() - 1);
+	}
+
+	/**
+	 * Removes the entries computed for the given linkage and the ones without a linkage.
+	 */
+	public void invalidate(int linkageID) {
+		for (Iterator<Entry> it = fEntries.values().iterator(); it.hasNext();) {
+			final Entry entry = it.next();
+			if (entry.fLinkageID == linkageID || entry.fLinkageID == ANY_LINKAGE) {
+				it.remove();
+				removed(entry);
+			}
+		}
+		for (int i = 0; i < fValues.length(); i++) {
+			final ValueReference ref = fValues.get(i);
+			if (ref != null && (ref.fLinkageID == linkageID || ref.fLinkageID == ANY_LINKAGE)) {
+				fValues.compareAndSet(i, ref, null);
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		fEntries.clear();
+		fPinned.set(0);
+		for (int i = 0; i < fValues.length(); i++) {
+			fValues.set(i, null);
+		}
+	}
+
+	public int size() {
+		return fEntries.size();
+	}
+
+	public int getMaxSize() {
+		return fMaxSize;
+	}
+
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	public long getMisses() {
+		return fMisses.sum();
+	}
+
+	public long getEvictions() {
+		return fEvictions.sum();
+	}
+
+	public long getValueHits() {
+		return fValueHits.sum();
+	}
+
+	public long getValueMisses() {
+		return fValueMisses.sum();
+	}
+
+	/**
+	 * Returns the number of hits per simple name of the type of the cached objects.
+	 */
+	public Map<String, Long> getHitsByType() {
+		return sums(fHitsByType);
+	}
+
+	/**
+	 * Returns the number of stored objects per simple name of their type. Since results are stored
+	 * after they were not found, this approximates the number of misses per type.
+	 */
+	public Map<String, Long> getStoresByType() {
+		return sums(fStoresByType);
+	}
+
+	public void resetCounters() {
+		fHits.reset();
+		fMisses.reset();
+		fEvictions.reset();
+		fValueHits.reset();
+		fValueMisses.reset();
+		fHitsByType.clear();
+		fStoresByType.clear();
+	}
+
+	private static void count(ConcurrentHashMap<Class<?>, LongAdder> counters, Object value) {
+		counters.computeIfAbsent(value.getClass(), c -> new LongAdder()).increment();
+	}
+
+	private static Map<String, Long> sums(ConcurrentHashMap<Class<?>, LongAdder> counters) {
+		final Map<String, Long> result = new TreeMap<>();
+		counters.forEach((type, counter) -> result.merge(type.getSimpleName(), counter.sum(), Long::sum));
+		return result;
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		final long hits = getHits();
+		final long lookups = hits + getMisses();
+		final long valueHits = getValueHits();
+		final long valueLookups = valueHits + getValueMisses();
+		return size() + " of " + fMaxSize + " entries, " + hits + " hits of " + lookups + " lookups ("
+				+ (lookups == 0 ? 0 : hits * 100 / lookups) + "%), " + getEvictions() + " evictions, " + valueHits
+				+ " hits of " + valueLookups + " value lookups";
+	}
+}
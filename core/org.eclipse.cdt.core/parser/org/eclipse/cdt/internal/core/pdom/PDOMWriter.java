@@ -36,6 +36,7 @@ import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorUndefStatement;
 import org.eclipse.cdt.core.dom.ast.IASTProblem;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.ICompositeType;
@@ -65,6 +66,7 @@ import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalDeclaredVariable;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
@@ -359,9 +361,11 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 					// locked it once we failed to reacquire the lock.
 					if (hasLock) {
 						// Because the caller holds a read-lock, the result cache of the index is never cleared.
-						// Before releasing the lock for the last time in this AST, we clear the result cache.
+						// Before releasing the lock for the last time in this AST, we clear the results of
+						// the linkage of the AST. Results for other linkages, e.g. of ASTs parsed in other
+						// threads, are not affected by the changes.
 						if (i == data.fSelectedFiles.length - 1) {
-							data.fIndex.clearResultCache();
+							data.fIndex.clearResultCache(storageLinkageID);
 						}
 						lock.release();
 					}
@@ -518,6 +522,17 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		final IndexerASTVisitor visitor = new IndexerASTVisitor((fSkipReferences & SKIP_IMPLICIT_REFERENCES) == 0) {
 			private int cancelationCheckThrottler;
 
+			{
+				// Function bodies contain no declarations that are indexed when all references are skipped.
+				// Not visiting them avoids parsing the bodies that are parsed on demand.
+				shouldVisitStatements = fSkipReferences == SKIP_ALL_REFERENCES;
+			}
+
+			@Override
+			public int visit(IASTStatement statement) {
+				return PROCESS_SKIP;
+			}
+
 			@Override
 			public void visit(IASTName name, IASTName caller) {
 				checkForCancellation();
@@ -599,6 +614,10 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 				reportProblem(problem);
 			}
 		}
+		if (ast instanceof CPPASTTranslationUnit cppAST) {
+			fStatistics.fConstexprCacheHits += cppAST.getConstexprCache().getHits();
+			fStatistics.fConstexprCacheMisses += cppAST.getConstexprCache().getMisses();
+		}
 
 		return ast.getLinkage().getLinkageID();
 	}
@@ -17,6 +17,7 @@ package org.eclipse.cdt.internal.core.pdom;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -37,8 +38,10 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IWritableIndex.IncludeInformation;
 import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.model.TranslationUnit;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
@@ -48,14 +51,22 @@ import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroReferenceName;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 public class WritablePDOM extends PDOM implements IWritableIndexFragment {
+	/** Number of chunks whose free blocks are merged before the lock is yielded during compaction. */
+	private static final int COMPACTION_CHUNKS_PER_STEP = 1024;
+
 	private boolean fClearedBecauseOfVersionMismatch = false;
 	private boolean fCreatedFromScratch = false;
 	private ASTFilePathResolver fPathResolver;
 	private PDOMFile fileBeingUpdated;
 	private PDOMFile uncommittedFile;
 	private FileContentKey uncommittedKey;
+	/** Bytes in free blocks that the last compaction could not reclaim. */
+	private long fFreeBytesAfterCompaction;
+	private boolean fDeferNestedBindingsIndexes;
 
 	public WritablePDOM(File dbPath, IIndexLocationConverter locationConverter,
 			Map<String, IPDOMLinkageFactory> linkageFactoryMappings) throws CoreException {
@@ -232,15 +243,20 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 
 		clearFileIndex();
 		final List<PDOMFile> notConverted = new ArrayList<>();
+		final long[] records = new long[pdomfiles.size()];
+		int count = 0;
 		for (PDOMFile file : pdomfiles) {
 			String internalFormat = newConverter.toInternalFormat(file.getLocation());
 			if (internalFormat != null) {
 				file.setInternalLocation(internalFormat);
-				getFileIndex().insert(file.getRecord());
+				records[count++] = file.getRecord();
 			} else {
 				notConverted.add(file);
 			}
 		}
+		// The file index is empty, build it from the sorted records.
+		BTree.sort(records, count, new PDOMFile.Comparator(getDB()));
+		getFileIndex().bulkLoad(Arrays.stream(records, 0, count).iterator());
 
 		// remove content where converter returns null
 		for (PDOMFile file : notConverted) {
@@ -249,6 +265,105 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		}
 	}
 
+	/**
+	 * Defers the insertion of nested bindings into the indexes of the linkages, the bindings are
+	 * collected instead and the indexes are bulk loaded by {@link #loadNestedBindingsIndexes()}.
+	 * Other than the remaining B-trees the nested bindings indexes are not searched while the index
+	 * is written, they are only needed for queries. Meant to be called on an empty database before
+	 * it is filled, readers do not find nested bindings until the indexes have been loaded.
+	 *
+	 * <b>A write-lock must be obtained before calling this method</b>
+	 */
+	public void deferNestedBindingsIndexes() {
+		fDeferNestedBindingsIndexes = true;
+	}
+
+	/**
+	 * Returns whether nested bindings are collected rather than inserted into the indexes of the
+	 * linkages, see {@link #deferNestedBindingsIndexes()}.
+	 */
+	public boolean isDeferringNestedBindingsIndexes() {
+		return fDeferNestedBindingsIndexes;
+	}
+
+	/**
+	 * Builds the nested bindings indexes of the linkages from the bindings collected since
+	 * {@link #deferNestedBindingsIndexes()}, and inserts subsequent nested bindings one at a time.
+	 *
+	 * <b>A write-lock must be obtained before calling this method</b>
+	 *
+	 * @throws CoreException
+	 */
+	public void loadNestedBindingsIndexes() throws CoreException {
+		if (!fDeferNestedBindingsIndexes)
+			return;
+
+		fDeferNestedBindingsIndexes = false;
+		for (PDOMLinkage linkage : getLinkageImpls()) {
+			linkage.loadNestedBindingsIndex();
+		}
+	}
+
+	/**
+	 * Rebuilds the file index and the binding and macro indexes of the linkages with completely
+	 * filled nodes. The B-trees built by inserting one record at a time have nodes that are only
+	 * partially filled. The lock is yielded to waiting readers after each B-tree, and no further
+	 * B-tree is repacked once the monitor is cancelled.
+	 *
+	 * <b>A write-lock must be obtained before calling this method</b>
+	 *
+	 * @throws CoreException
+	 * @throws FailedToReAcquireLockException
+	 */
+	public void repackIndexes(YieldableIndexLock lock, IProgressMonitor monitor)
+			throws CoreException, FailedToReAcquireLockException {
+		List<BTree> indexes = new ArrayList<>();
+		indexes.add(getFileIndex());
+		for (PDOMLinkage linkage : getLinkageImpls()) {
+			indexes.add(linkage.getIndex());
+			indexes.add(linkage.getNestedBindingsIndex());
+			indexes.add(linkage.getMacroIndex());
+		}
+		for (BTree index : indexes) {
+			if (monitor.isCanceled())
+				return;
+			index.repack();
+			lock.yield();
+		}
+	}
+
+	/**
+	 * Reclaims space that is lost to the free lists of the database. The B-trees are rebuilt with
+	 * completely filled nodes, adjacent free blocks are merged, the free lists are ordered such that
+	 * subsequent allocations fill the beginning of the file, and chunks at the end of the file that
+	 * are no longer used are truncated. The lock is yielded to waiting readers between the steps.
+	 *
+	 * <b>A write-lock must be obtained before calling this method</b>
+	 *
+	 * @throws CoreException
+	 * @throws FailedToReAcquireLockException
+	 */
+	public void compact(YieldableIndexLock lock) throws CoreException, FailedToReAcquireLockException {
+		repackIndexes(lock, new NullProgressMonitor());
+		// Merge from the end of the file to its beginning, such that the free lists are ordered by address.
+		final Database db = getDB();
+		for (int end = db.getChunkCount(); end > 1; end -= COMPACTION_CHUNKS_PER_STEP) {
+			db.mergeFreeBlocks(end - COMPACTION_CHUNKS_PER_STEP, end);
+			lock.yield();
+		}
+		db.truncateFreeChunks();
+		fFreeBytesAfterCompaction = db.getFragmentation().getFreeBytes();
+	}
+
+	/**
+	 * Returns the number of bytes in free blocks that were left behind by the last compaction, or 0
+	 * if the database has not been compacted since it was opened. Free blocks between live records
+	 * are not reclaimed by compaction, only the ones freed after it may justify another one.
+	 */
+	public long getFreeBytesAfterCompaction() {
+		return fFreeBytesAfterCompaction;
+	}
+
 	boolean isClearedBecauseOfVersionMismatch() {
 		return fClearedBecauseOfVersionMismatch;
 	}
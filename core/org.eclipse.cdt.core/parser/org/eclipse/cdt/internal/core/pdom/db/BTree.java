@@ -17,6 +17,8 @@
 package org.eclipse.cdt.internal.core.pdom.db;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -154,7 +156,12 @@ public class BTree {
 				putRecord(chunk, node, MEDIAN_RECORD, 0);
 
 				// Set the node to the correct one to follow.
-				if (cmp.compare(record, median) > 0) {
+				final int compare = cmp.compare(record, median);
+				if (compare == 0) {
+					// The median moved to the parent, it matches the record.
+					return median;
+				}
+				if (compare > 0) {
 					node = newnode;
 					chunk = newchunk;
 				}
@@ -215,6 +222,227 @@ public class BTree {
 		return db.malloc((2 * MAX_RECORDS + 1) * Database.INT_SIZE);
 	}
 
+	/**
+	 * Builds the B-tree from records sorted according to the comparator of the tree. Other than
+	 * with {@link #insert(long)} the nodes are created bottom-up and filled completely, only the
+	 * nodes along the right edge of the tree may contain fewer records. Records that compare equal
+	 * to their predecessor are skipped, like {@link #insert(long)} does.
+	 * <p>
+	 * The B-tree must be empty. The records become visible once the tree has been built completely.
+	 *
+	 * @param sortedRecords the records in ascending order
+	 * @throws IllegalStateException if the B-tree is not empty
+	 * @throws IllegalArgumentException if the records are not sorted
+	 */
+	public void bulkLoad(PrimitiveIterator.OfLong sortedRecords) throws CoreException {
+		if (getRoot() != 0)
+			throw new IllegalStateException(Messages.getString("BTree.BulkLoadIntoNonEmptyTree")); //$NON-NLS-1$
+
+		BulkLoader loader = new BulkLoader();
+		long previous = 0;
+		while (sortedRecords.hasNext()) {
+			final long record = sortedRecords.nextLong();
+			if (previous != 0) {
+				final int compare = cmp.compare(previous, record);
+				if (compare == 0)
+					continue;
+				if (compare > 0)
+					throw new IllegalArgumentException(Messages.getString("BTree.UnsortedRecords")); //$NON-NLS-1$
+			}
+			loader.add(record);
+			previous = record;
+		}
+		loader.finish();
+	}
+
+	/**
+	 * Rebuilds the B-tree with completely filled nodes, see {@link #bulkLoad(PrimitiveIterator.OfLong)}.
+	 * The root is switched to the new nodes once they have been built, then the nodes of the previous
+	 * tree are freed. The records are kept.
+	 */
+	public void repack() throws CoreException {
+		if (getRoot() == 0)
+			return;
+
+		final long[][] records = { new long[256] };
+		final long[][] nodes = { new long[64] };
+		final int[] counts = new int[2];
+		accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) {
+				if (counts[0] == records[0].length) {
+					records[0] = Arrays.copyOf(records[0], counts[0] * 2);
+				}
+				records[0][counts[0]++] = record;
+				return true;
+			}
+
+			@Override
+			public void preVisit(long node) {
+				if (counts[1] == nodes[0].length) {
+					nodes[0] = Arrays.copyOf(nodes[0], counts[1] * 2);
+				}
+				nodes[0][counts[1]++] = node;
+			}
+		});
+
+		// The records are visited in order and are unique, no need to compare them again. The new
+		// tree replaces the current one only once it is complete, the old nodes are freed afterwards.
+		BulkLoader loader = new BulkLoader();
+		for (int i = 0; i < counts[0]; i++) {
+			loader.add(records[0][i]);
+		}
+		loader.finish();
+
+		for (int i = 0; i < counts[1]; i++) {
+			db.free(nodes[0][i]);
+		}
+	}
+
+	/**
+	 * Sorts records according to the given comparator, such that they can be passed to
+	 * {@link #bulkLoad(PrimitiveIterator.OfLong)}.
+	 *
+	 * @param records the array containing the records
+	 * @param length the number of records at the beginning of the array to sort
+	 * @param cmp the comparator of the B-tree
+	 */
+	public static void sort(long[] records, int length, IBTreeComparator cmp) throws CoreException {
+		if (length > 1) {
+			mergeSort(records, Arrays.copyOf(records, length), 0, length, cmp);
+		}
+	}
+
+	/**
+	 * Sorts {@code src[from..to)} into {@code dst[from..to)}, both ranges must contain the same records.
+	 */
+	private static void mergeSort(long[] dst, long[] src, int from, int to, IBTreeComparator cmp)
+			throws CoreException {
+		if (to - from < 8) {
+			for (int i = from + 1; i < to; i++) {
+				final long record = dst[i];
+				int j = i;
+				for (; j > from && cmp.compare(dst[j - 1], record) > 0; j--) {
+					dst[j] = dst[j - 1];
+				}
+				dst[j] = record;
+			}
+			return;
+		}
+		final int middle = (from + to) >>> 1;
+		mergeSort(src, dst, from, middle, cmp);
+		mergeSort(src, dst, middle, to, cmp);
+		int i = from;
+		int j = middle;
+		for (int k = from; k < to; k++) {
+			if (j >= to || (i < middle && cmp.compare(src[i], src[j]) <= 0)) {
+				dst[k] = src[i++];
+			} else {
+				dst[k] = src[j++];
+			}
+		}
+	}
+
+	/**
+	 * Builds a B-tree bottom-up from sorted records. For every level the rightmost node is kept,
+	 * a record is added to the lowest level whose rightmost node is not yet full. All nodes below
+	 * that level are full, they are closed and new rightmost nodes are started.
+	 */
+	private class BulkLoader {
+		/** The rightmost node of each level, level 0 holds the leaves. */
+		private long[] fNodes = new long[8];
+		/** The number of records in the rightmost node of each level. */
+		private int[] fCounts = new int[8];
+		private int fHeight;
+
+		void add(long record) throws CoreException {
+			if (fHeight == 0) {
+				fNodes[0] = allocateNode();
+				fHeight = 1;
+			}
+			int level = 0;
+			while (fCounts[level] == MAX_RECORDS) {
+				if (++level == fHeight) {
+					// The tree grows by one level, the new root gets the old one as its first child.
+					if (fHeight == fNodes.length) {
+						fNodes = Arrays.copyOf(fNodes, fHeight * 2);
+						fCounts = Arrays.copyOf(fCounts, fHeight * 2);
+					}
+					final long root = allocateNode();
+					putChild(db.getChunk(root), root, 0, fNodes[level - 1]);
+					fNodes[level] = root;
+					fCounts[level] = 0;
+					fHeight++;
+				}
+			}
+			final long node = fNodes[level];
+			putRecord(db.getChunk(node), node, fCounts[level]++, record);
+
+			// The new record separates the full nodes below from their new right siblings.
+			while (--level >= 0) {
+				final long parent = fNodes[level + 1];
+				final long child = allocateNode();
+				putChild(db.getChunk(parent), parent, fCounts[level + 1], child);
+				fNodes[level] = child;
+				fCounts[level] = 0;
+			}
+		}
+
+		void finish() throws CoreException {
+			// Only the rightmost nodes can have too few records. Fix them top-down, such that
+			// the parent of a node always has a record separating it from its left sibling.
+			for (int level = fHeight - 2; level >= 0; level--) {
+				if (fCounts[level] < MIN_RECORDS) {
+					moveFromLeftSibling(level);
+				}
+			}
+			db.putRecPtr(rootPointer, fHeight == 0 ? 0 : fNodes[fHeight - 1]);
+		}
+
+		/**
+		 * Moves records from the full left sibling to the rightmost node of the given level, such
+		 * that both have at least {@link #MIN_RECORDS} records.
+		 */
+		private void moveFromLeftSibling(int level) throws CoreException {
+			final long parent = fNodes[level + 1];
+			final Chunk pChunk = db.getChunk(parent);
+			final int iSeparator = fCounts[level + 1] - 1;
+			final long left = getChild(pChunk, parent, iSeparator);
+			final long right = fNodes[level];
+			final Chunk lChunk = db.getChunk(left);
+			final Chunk rChunk = db.getChunk(right);
+			final int count = fCounts[level];
+			final int move = (MAX_RECORDS + count) / 2 - count;
+
+			// Make room at the beginning of the right node.
+			for (int i = count - 1; i >= 0; i--) {
+				putRecord(rChunk, right, i + move, getRecord(rChunk, right, i));
+			}
+			for (int i = count; i >= 0; i--) {
+				putChild(rChunk, right, i + move, getChild(rChunk, right, i));
+			}
+			// Rotate the records through the parent.
+			putRecord(rChunk, right, move - 1, getRecord(pChunk, parent, iSeparator));
+			final int first = MAX_RECORDS - move + 1;
+			for (int i = 0; i < move - 1; i++) {
+				putRecord(rChunk, right, i, getRecord(lChunk, left, first + i));
+				putRecord(lChunk, left, first + i, 0);
+			}
+			for (int i = 0; i < move; i++) {
+				putChild(rChunk, right, i, getChild(lChunk, left, first + i));
+				putChild(lChunk, left, first + i, 0);
+			}
+			putRecord(pChunk, parent, iSeparator, getRecord(lChunk, left, first - 1));
+			putRecord(lChunk, left, first - 1, 0);
+			fCounts[level] = count + move;
+		}
+	}
+
 	/**
 	 * Deletes the specified record from the B-tree.
 	 * <p>
@@ -23,26 +23,49 @@ import org.eclipse.core.runtime.CoreException;
 
 /**
  * Caches the content of a piece of the database.
+ * <p>
+ * The content is either held in a buffer on the heap that is filled by {@link #read()} and written back
+ * by {@link #flush()}, or, for chunks served from a memory-mapped region of the database file, in a
+ * slice of that region. In the latter case reading and flushing do not copy any data.
  */
 final class Chunk {
-	final private byte[] fBuffer = new byte[Database.CHUNK_SIZE];
+	private static final byte[] ZEROS = new byte[Database.CHUNK_SIZE];
+
+	final private ByteBuffer fBuffer;
 
 	final Database fDatabase;
 	final int fSequenceNumber;
+	final boolean fMapped;
 
 	boolean fCacheHitFlag;
 	boolean fDirty;
 	boolean fLocked; // locked chunks must not be released from cache.
-	int fCacheIndex = -1;
+	volatile int fCacheIndex = -1; // index within the page table of the cache segment.
 
 	Chunk(Database db, int sequenceNumber) {
 		fDatabase = db;
 		fSequenceNumber = sequenceNumber;
+		fBuffer = ByteBuffer.allocate(Database.CHUNK_SIZE);
+		fMapped = false;
+	}
+
+	/**
+	 * Creates a chunk that is backed by a slice of a memory-mapped region of the database file.
+	 */
+	Chunk(Database db, int sequenceNumber, ByteBuffer mappedSlice) {
+		assert mappedSlice.capacity() == Database.CHUNK_SIZE;
+		fDatabase = db;
+		fSequenceNumber = sequenceNumber;
+		fBuffer = mappedSlice;
+		fMapped = true;
 	}
 
 	void read() throws CoreException {
+		if (fMapped)
+			return; // The mapped region already reflects the file.
 		try {
-			final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
+			final ByteBuffer buf = fBuffer.duplicate();
+			buf.clear();
 			fDatabase.read(buf, (long) fSequenceNumber * Database.CHUNK_SIZE);
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
@@ -50,8 +73,15 @@ final class Chunk {
 	}
 
 	void flush() throws CoreException {
+		if (fMapped) {
+			// The changes are already in the mapped region, the database forces it to disk.
+			fDatabase.markRegionDirty(fSequenceNumber);
+			fDirty = false;
+			return;
+		}
 		try {
-			final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
+			final ByteBuffer buf = fBuffer.duplicate();
+			buf.clear();
 			fDatabase.write(buf, (long) fSequenceNumber * Database.CHUNK_SIZE);
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
@@ -66,30 +96,29 @@ final class Chunk {
 	public void putByte(final long offset, final byte value) {
 		assert fLocked;
 		fDirty = true;
-		fBuffer[recPtrToIndex(offset)] = value;
+		fBuffer.put(recPtrToIndex(offset), value);
 	}
 
 	public byte getByte(final long offset) {
-		return fBuffer[recPtrToIndex(offset)];
+		return fBuffer.get(recPtrToIndex(offset));
 	}
 
 	public byte[] getBytes(final long offset, final int length) {
 		final byte[] bytes = new byte[length];
-		System.arraycopy(fBuffer, recPtrToIndex(offset), bytes, 0, length);
+		fBuffer.get(recPtrToIndex(offset), bytes, 0, length);
 		return bytes;
 	}
 
 	public void putBytes(final long offset, final byte[] bytes) {
 		assert fLocked;
 		fDirty = true;
-		System.arraycopy(bytes, 0, fBuffer, recPtrToIndex(offset), bytes.length);
+		fBuffer.put(recPtrToIndex(offset), bytes, 0, bytes.length);
 	}
 
 	public void putInt(final long offset, final int value) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		putInt(value, fBuffer, idx);
+		fBuffer.putInt(recPtrToIndex(offset), value);
 	}
 
 	static final void putInt(final int value, final byte[] buffer, int idx) {
@@ -100,7 +129,7 @@ final class Chunk {
 	}
 
 	public int getInt(final long offset) {
-		return getInt(fBuffer, recPtrToIndex(offset));
+		return fBuffer.getInt(recPtrToIndex(offset));
 	}
 
 	static final int getInt(final byte[] buffer, int idx) {
@@ -142,8 +171,8 @@ final class Chunk {
 	public void putRecPtr(final long offset, final long value) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		Database.putRecPtr(value, fBuffer, idx);
+		final int denseValue = value == 0 ? 0 : compressFreeRecPtr(value - Database.BLOCK_HEADER_SIZE);
+		fBuffer.putInt(recPtrToIndex(offset), denseValue);
 	}
 
 	/**
@@ -153,18 +182,16 @@ final class Chunk {
 	public void putFreeRecPtr(final long offset, final long value) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		putInt(compressFreeRecPtr(value), fBuffer, idx);
+		fBuffer.putInt(recPtrToIndex(offset), compressFreeRecPtr(value));
 	}
 
 	public long getRecPtr(final long offset) {
-		final int idx = recPtrToIndex(offset);
-		return Database.getRecPtr(fBuffer, idx);
+		long address = getFreeRecPtr(offset);
+		return address != 0 ? (address + Database.BLOCK_HEADER_SIZE) : address;
 	}
 
 	public long getFreeRecPtr(final long offset) {
-		final int idx = recPtrToIndex(offset);
-		int value = getInt(fBuffer, idx);
+		int value = fBuffer.getInt(recPtrToIndex(offset));
 		return expandToFreeRecPtr(value);
 	}
 
@@ -172,109 +199,80 @@ final class Chunk {
 		assert fLocked;
 		fDirty = true;
 		int idx = recPtrToIndex(offset);
-		fBuffer[idx] = (byte) (value >> 16);
-		fBuffer[++idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		fBuffer.put(idx, (byte) (value >> 16));
+		fBuffer.putShort(++idx, (short) value);
 	}
 
 	public int get3ByteUnsignedInt(final long offset) {
 		int idx = recPtrToIndex(offset);
-		return ((fBuffer[idx] & 0xff) << 16) | ((fBuffer[++idx] & 0xff) << 8) | ((fBuffer[++idx] & 0xff) << 0);
+		return ((fBuffer.get(idx) & 0xff) << 16) | (fBuffer.getShort(++idx) & 0xffff);
 	}
 
 	public void putShort(final long offset, final short value) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		fBuffer[idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		fBuffer.putShort(recPtrToIndex(offset), value);
 	}
 
 	public short getShort(final long offset) {
-		int idx = recPtrToIndex(offset);
-		return (short) (((fBuffer[idx] << 8) | (fBuffer[++idx] & 0xff)));
+		return fBuffer.getShort(recPtrToIndex(offset));
 	}
 
 	public long getLong(final long offset) {
-		int idx = recPtrToIndex(offset);
-		return ((((long) fBuffer[idx] & 0xff) << 56) | (((long) fBuffer[++idx] & 0xff) << 48)
-				| (((long) fBuffer[++idx] & 0xff) << 40) | (((long) fBuffer[++idx] & 0xff) << 32)
-				| (((long) fBuffer[++idx] & 0xff) << 24) | (((long) fBuffer[++idx] & 0xff) << 16)
-				| (((long) fBuffer[++idx] & 0xff) << 8) | (((long) fBuffer[++idx] & 0xff) << 0));
+		return fBuffer.getLong(recPtrToIndex(offset));
 	}
 
 	public void putLong(final long offset, final long value) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-
-		fBuffer[idx] = (byte) (value >> 56);
-		fBuffer[++idx] = (byte) (value >> 48);
-		fBuffer[++idx] = (byte) (value >> 40);
-		fBuffer[++idx] = (byte) (value >> 32);
-		fBuffer[++idx] = (byte) (value >> 24);
-		fBuffer[++idx] = (byte) (value >> 16);
-		fBuffer[++idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		fBuffer.putLong(recPtrToIndex(offset), value);
 	}
 
 	public void putChar(final long offset, final char value) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		fBuffer[idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		fBuffer.putChar(recPtrToIndex(offset), value);
 	}
 
 	public void putChars(final long offset, char[] chars, int start, int len) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset) - 1;
+		int idx = recPtrToIndex(offset);
 		final int end = start + len;
-		for (int i = start; i < end; i++) {
-			char value = chars[i];
-			fBuffer[++idx] = (byte) (value >> 8);
-			fBuffer[++idx] = (byte) (value);
+		for (int i = start; i < end; i++, idx += 2) {
+			fBuffer.putChar(idx, chars[i]);
 		}
 	}
 
 	public void putCharsAsBytes(final long offset, char[] chars, int start, int len) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset) - 1;
+		int idx = recPtrToIndex(offset);
 		final int end = start + len;
 		for (int i = start; i < end; i++) {
-			char value = chars[i];
-			fBuffer[++idx] = (byte) (value);
+			fBuffer.put(idx++, (byte) chars[i]);
 		}
 	}
 
 	public char getChar(final long offset) {
-		int idx = recPtrToIndex(offset);
-		return (char) (((fBuffer[idx] << 8) | (fBuffer[++idx] & 0xff)));
+		return fBuffer.getChar(recPtrToIndex(offset));
 	}
 
 	public void getChars(final long offset, final char[] result, int start, int len) {
-		final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
-		buf.position(recPtrToIndex(offset));
-		buf.asCharBuffer().get(result, start, len);
+		fBuffer.slice(recPtrToIndex(offset), 2 * len).asCharBuffer().get(result, start, len);
 	}
 
 	public void getCharsFromBytes(final long offset, final char[] result, int start, int len) {
 		final int pos = recPtrToIndex(offset);
 		for (int i = 0; i < len; i++) {
-			result[start + i] = (char) (fBuffer[pos + i] & 0xff);
+			result[start + i] = (char) (fBuffer.get(pos + i) & 0xff);
 		}
 	}
 
 	void clear(final long offset, final int length) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		final int end = idx + length;
-		for (; idx < end; idx++) {
-			fBuffer[idx] = 0;
-		}
+		fBuffer.put(recPtrToIndex(offset), ZEROS, 0, length);
 	}
 
 	void put(final long offset, final byte[] data, final int len) {
@@ -284,8 +282,7 @@ final class Chunk {
 	void put(final long offset, final byte[] data, int dataPos, final int len) {
 		assert fLocked;
 		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		System.arraycopy(data, dataPos, fBuffer, idx, len);
+		fBuffer.put(recPtrToIndex(offset), data, dataPos, len);
 	}
 
 	public void get(final long offset, byte[] data) {
@@ -293,7 +290,6 @@ final class Chunk {
 	}
 
 	public void get(final long offset, byte[] data, int dataPos, int len) {
-		int idx = recPtrToIndex(offset);
-		System.arraycopy(fBuffer, idx, data, dataPos, len);
+		fBuffer.get(recPtrToIndex(offset), data, dataPos, len);
 	}
 }
@@ -13,12 +13,138 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of chunks shared by multiple databases.
+ * <p>
+ * The page table is split into segments, each with its own lock and CLOCK hand. A chunk is always
+ * managed by the same segment, which is determined by its database and sequence number. Hits on
+ * chunks that are already in the cache just set the reference flag and do not need any lock.
+ */
 public final class ChunkCache {
+	private static final int MAX_SEGMENTS = 16;
+	private static final int MIN_SEGMENT_LENGTH = 64;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private final Segment[] fSegments;
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	/**
+	 * A part of the page table, chunks are evicted using the CLOCK algorithm.
+	 */
+	private static final class Segment {
+		private Chunk[] fPageTable;
+		private boolean fTableIsFull;
+		private int fPointer;
+
+		Segment(int length) {
+			fPageTable = new Chunk[length];
+		}
+
+		synchronized void add(Chunk chunk, boolean locked) {
+			if (locked) {
+				chunk.fLocked = true;
+			}
+			if (chunk.fCacheIndex >= 0) {
+				chunk.fCacheHitFlag = true;
+				return;
+			}
+			if (fTableIsFull) {
+				evictChunk();
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+			} else {
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+
+				fPointer++;
+				if (fPointer == fPageTable.length) {
+					fPointer = 0;
+					fTableIsFull = true;
+				}
+			}
+		}
+
+		/**
+		 * Evicts a chunk from the page table and the chunk table.
+		 * After this method returns, {@link #fPointer}  will contain
+		 * the index of the evicted chunk within the page table.
+		 */
+		private void evictChunk() {
+			/*
+			 * Use the CLOCK algorithm to determine which chunk to evict.
+			 * i.e., if the chunk in the current slot of the page table has been
+			 * recently referenced (i.e. the reference flag is set), unset the
+			 * reference flag and move to the next slot.  Otherwise, evict the
+			 * chunk in the current slot.
+			 */
+			while (true) {
+				Chunk chunk = fPageTable[fPointer];
+				if (chunk.fCacheHitFlag) {
+					chunk.fCacheHitFlag = false;
+					fPointer = (fPointer + 1) % fPageTable.length;
+				} else {
+					chunk.fDatabase.releaseChunk(chunk);
+					chunk.fCacheIndex = -1;
+					fPageTable[fPointer] = null;
+					return;
+				}
+			}
+		}
+
+		synchronized void remove(Chunk chunk) {
+			final int idx = chunk.fCacheIndex;
+			if (idx >= 0) {
+				if (fTableIsFull) {
+					fPointer = fPageTable.length - 1;
+					fTableIsFull = false;
+				} else {
+					fPointer--;
+				}
+				chunk.fCacheIndex = -1;
+				final Chunk move = fPageTable[fPointer];
+				fPageTable[idx] = move;
+				move.fCacheIndex = idx;
+				fPageTable[fPointer] = null;
+			}
+		}
+
+		synchronized void unlock(Chunk chunk) {
+			chunk.fLocked = false;
+			if (chunk.fCacheIndex < 0) {
+				chunk.fDatabase.releaseChunk(chunk);
+			}
+		}
+
+		synchronized int getLength() {
+			return fPageTable.length;
+		}
+
+		synchronized void setLength(int newLength) {
+			final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
+			if (newLength > oldLength) {
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
+				fTableIsFull = false;
+				fPointer = oldLength;
+				fPageTable = newTable;
+			} else {
+				for (int i = newLength; i < oldLength; i++) {
+					final Chunk chunk = fPageTable[i];
+					chunk.fDatabase.releaseChunk(chunk);
+					chunk.fCacheIndex = -1;
+				}
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, newLength);
+				fTableIsFull = true;
+				fPointer = 0;
+				fPageTable = newTable;
+			}
+		}
+	}
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,82 +155,57 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
-	}
-
-	public synchronized void add(Chunk chunk, boolean locked) {
-		if (locked) {
-			chunk.fLocked = true;
-		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
+		final int length = computeLength(maxSize);
+		final int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, length / MIN_SEGMENT_LENGTH)));
+		fSegments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			fSegments[i] = new Segment(segmentLength(length, i));
 		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
+	}
 
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
-		}
+	private Segment segmentFor(Chunk chunk) {
+		if (fSegments.length == 1)
+			return fSegments[0];
+		int hash = System.identityHashCode(chunk.fDatabase) * 31 + chunk.fSequenceNumber;
+		hash ^= hash >>> 16;
+		return fSegments[hash & (fSegments.length - 1)];
 	}
 
-	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
-	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
+	public void add(Chunk chunk, boolean locked) {
+		if (chunk.fCacheIndex >= 0) {
+			fHits.increment();
+			if (!locked) {
+				// Lock-free path for readers, a concurrent eviction of the chunk is harmless.
+				chunk.fCacheHitFlag = true;
 				return;
 			}
+		} else {
+			fMisses.increment();
 		}
+		segmentFor(chunk).add(chunk, locked);
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
-			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
-		}
+	public void remove(Chunk chunk) {
+		segmentFor(chunk).remove(chunk);
+	}
+
+	/**
+	 * Allows the chunk to be released from the cache. If the chunk has already been evicted from the
+	 * page table it is released from its database immediately.
+	 */
+	void unlock(Chunk chunk) {
+		segmentFor(chunk).unlock(chunk);
 	}
 
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
-	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+	public long getMaxSize() {
+		long length = 0;
+		for (Segment segment : fSegments) {
+			length += segment.getLength();
+		}
+		return length * Database.CHUNK_SIZE;
 	}
 
 	/**
@@ -112,29 +213,38 @@ public final class ChunkCache {
 	 * maximum total memory of <code>maxSize</code>.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
-	public synchronized void setMaxSize(long maxSize) {
+	public void setMaxSize(long maxSize) {
 		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
+		for (int i = 0; i < fSegments.length; i++) {
+			fSegments[i].setLength(segmentLength(newLength, i));
 		}
 	}
 
+	/**
+	 * Returns the number of lookups that found the chunk in the cache, summed up over all databases.
+	 */
+	public long getCacheHits() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that had to add the chunk to the cache, summed up over all databases.
+	 */
+	public long getCacheMisses() {
+		return fMisses.sum();
+	}
+
+	public void resetCacheCounters() {
+		fHits.reset();
+		fMisses.reset();
+	}
+
+	private int segmentLength(int length, int segmentIndex) {
+		final int segmentCount = fSegments.length;
+		final int segmentLength = length / segmentCount + (segmentIndex < length % segmentCount ? 1 : 0);
+		return Math.max(1, segmentLength);
+	}
+
 	private int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
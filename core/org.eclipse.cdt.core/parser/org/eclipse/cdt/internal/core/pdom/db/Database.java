@@ -22,17 +22,17 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +71,12 @@ import org.eclipse.osgi.util.NLS;
  * PREV_OFFSET      | pointer to previous block (of same size) (only in free blocks)
  * NEXT_OFFSET      | pointer to next block (of same size) (only in free blocks)
  *
+ * ===== memory-mapped mode
+ *
+ * Optionally chunks are not copied to the heap but served from slices of memory-mapped regions of
+ * MAPPED_REGION_SIZE bytes. Only chunks that already exist in the file are mapped, new chunks and the
+ * header chunk always live on the heap. When a region cannot be mapped (e.g. because the address space
+ * is exhausted) the database falls back to reading chunks through the file channel.
  */
 public class Database {
 	// Public for tests only, you shouldn't need these.
@@ -99,56 +105,81 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/**
+	 * System property that enables the memory-mapped mode for databases created without an explicit
+	 * choice.
+	 */
+	public static final String USE_MAPPED_REGIONS_PROPERTY = "org.eclipse.cdt.core.parser.pdom.mmap"; //$NON-NLS-1$
+	private static final int CHUNKS_PER_MAPPED_REGION = 16 * 1024;
+	private static final long MAPPED_REGION_SIZE = (long) CHUNKS_PER_MAPPED_REGION * CHUNK_SIZE;
+
+	/** System property for the number of strings cached per database. */
+	public static final String STRING_CACHE_SIZE_PROPERTY = "org.eclipse.cdt.core.parser.pdom.stringCacheSize"; //$NON-NLS-1$
+	private static final int DEFAULT_STRING_CACHE_SIZE = 16 * 1024;
+
+	private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Chunk[].class);
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
 	private boolean fExclusiveLock; // Necessary for any write operation.
-	private boolean fLocked; // Necessary for any operation.
+	private volatile boolean fLocked; // Necessary for any operation.
+	private BooleanSupplier fLockState; // Alternative to fLocked, provided by the owner of the lock.
 	private boolean fIsMarkedIncomplete;
 
 	private int fVersion;
 	private final Chunk fHeaderChunk;
-	private Chunk[] fChunks;
+	/**
+	 * Elements are published with release semantics, such that readers can find cached chunks
+	 * without locking. Any other modification is protected by {@link #fMutex}.
+	 */
+	private volatile Chunk[] fChunks;
 	private int fChunksUsed;
 	private int fChunksAllocated;
 	private ChunkCache fCache;
+	private final Object fMutex = new Object();
+
+	private boolean fUseMappedRegions;
+	private MappedByteBuffer[] fMappedRegions = new MappedByteBuffer[0]; // protected by fMutex
+	private boolean[] fDirtyRegions = new boolean[0]; // protected by fMutex
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
 
-	/** Soft reference wrapper to keep track of the record for disposed strings. */
-	private static class SoftStringRef extends SoftReference<IString> {
-		private final long record;
+	// a cache for strings which is used for btree lookups
+	private final StringCache stringCache = new StringCache(
+			Integer.getInteger(STRING_CACHE_SIZE_PROPERTY, DEFAULT_STRING_CACHE_SIZE));
 
-		public SoftStringRef(IString referent, ReferenceQueue<? super IString> q) {
-			super(referent, q);
-			record = referent.getRecord();
-		}
-
-		public long getRecord() {
-			return record;
-		}
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, Boolean.getBoolean(USE_MAPPED_REGIONS_PROPERTY));
 	}
 
-	// a cache for strings which is used for btree lookups; soft refs ensure garbage collection
-	private final Map<Long, Reference<IString>> stringCache = new ConcurrentHashMap<>();
-	private final ReferenceQueue<IString> stringDisposal = new ReferenceQueue<>();
-
 	/**
 	 * Construct a new Database object, creating a backing file if necessary.
 	 * @param location the local file path for the database
 	 * @param cache the cache to be used optimization
 	 * @param version the version number to store in the database (only applicable for new databases)
 	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param useMappedRegions whether chunks shall be served from memory-mapped regions of the file
 	 * @throws CoreException
 	 */
-	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean useMappedRegions)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
 			fCache = cache;
+			fUseMappedRegions = useMappedRegions;
 			openFile();
 
 			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
@@ -208,7 +239,7 @@ public class Database {
 	}
 
 	public void transferTo(FileChannel target) throws IOException {
-		assert fLocked;
+		assert isLocked();
 		final FileChannel from = fFile.getChannel();
 		long nRead = 0;
 		long position = 0;
@@ -247,6 +278,7 @@ public class Database {
 		// Chunks have been removed from the cache, so we may just reset the array of chunks.
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		releaseMappedRegions();
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
@@ -274,12 +306,13 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
-			for (int i = 1; i < fChunks.length; i++) {
-				Chunk chunk = fChunks[i];
+		synchronized (fMutex) {
+			final Chunk[] chunks = fChunks;
+			for (int i = 1; i < chunks.length; i++) {
+				Chunk chunk = chunks[i];
 				if (chunk != null) {
 					fCache.remove(chunk);
-					fChunks[i] = null;
+					CHUNKS.setRelease(chunks, i, null);
 				}
 			}
 		}
@@ -295,28 +328,150 @@ public class Database {
 		}
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
+		assert isLocked();
+		final int index = (int) long_index;
+
+		if (!fExclusiveLock) {
+			// Readers find cached chunks without locking.
+			final Chunk[] chunks = fChunks;
+			if (index >= 0 && index < chunks.length) {
+				final Chunk chunk = (Chunk) CHUNKS.getAcquire(chunks, index);
+				if (chunk != null) {
+					cacheHits.increment();
+					fCache.add(chunk, false);
+					return chunk;
+				}
+			}
+		}
 
-		synchronized (fCache) {
-			assert fLocked;
-			final int index = (int) long_index;
+		synchronized (fMutex) {
 			if (index < 0 || index >= fChunks.length) {
 				databaseCorruptionDetected();
 			}
 			Chunk chunk = fChunks[index];
 			if (chunk == null) {
-				cacheMisses++;
-				chunk = new Chunk(this, index);
+				cacheMisses.increment();
+				chunk = newChunkForRead(index);
 				chunk.read();
 				// Put the chunk in fChunks after it was read successfully.
-				fChunks[index] = chunk;
+				CHUNKS.setRelease(fChunks, index, chunk);
 			} else {
-				cacheHits++;
+				cacheHits.increment();
+			}
+			if (chunk.fMapped && fExclusiveLock) {
+				// Changes to mapped chunks reach the file without a flush.
+				markFileIncomplete();
 			}
 			fCache.add(chunk, fExclusiveLock);
 			return chunk;
 		}
 	}
 
+	/**
+	 * Creates the chunk for an existing part of the file, served from a mapped region if possible.
+	 * Protected by {@link #fMutex}.
+	 */
+	private Chunk newChunkForRead(int index) {
+		if (fUseMappedRegions) {
+			final ByteBuffer region = getMappedRegion(index);
+			if (region != null) {
+				final int offsetInRegion = (index % CHUNKS_PER_MAPPED_REGION) * CHUNK_SIZE;
+				return new Chunk(this, index, region.slice(offsetInRegion, CHUNK_SIZE));
+			}
+		}
+		return new Chunk(this, index);
+	}
+
+	/**
+	 * Returns the mapped region containing the chunk with the given index, or {@code null} if
+	 * the chunk cannot be served from a mapped region. Protected by {@link #fMutex}.
+	 */
+	private MappedByteBuffer getMappedRegion(int chunkIndex) {
+		final int regionIndex = chunkIndex / CHUNKS_PER_MAPPED_REGION;
+		final long regionStart = regionIndex * MAPPED_REGION_SIZE;
+		final long requiredSize = (long) (chunkIndex + 1) * CHUNK_SIZE - regionStart;
+		if (regionIndex < fMappedRegions.length) {
+			final MappedByteBuffer region = fMappedRegions[regionIndex];
+			if (region != null && region.capacity() >= requiredSize) {
+				return region;
+			}
+		}
+		try {
+			final FileChannel channel = fFile.getChannel();
+			final long available = channel.size() - regionStart;
+			if (available < requiredSize) {
+				return null; // The chunk has not been written to the file, yet.
+			}
+			// A region that was mapped while the file was shorter is replaced by a larger one.
+			final MappedByteBuffer region = channel.map(
+					fReadOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, regionStart,
+					Math.min(available, MAPPED_REGION_SIZE));
+			if (regionIndex >= fMappedRegions.length) {
+				final int newLength = regionIndex + 1;
+				MappedByteBuffer[] newRegions = new MappedByteBuffer[newLength];
+				System.arraycopy(fMappedRegions, 0, newRegions, 0, fMappedRegions.length);
+				boolean[] newDirtyRegions = new boolean[newLength];
+				System.arraycopy(fDirtyRegions, 0, newDirtyRegions, 0, fDirtyRegions.length);
+				fMappedRegions = newRegions;
+				fDirtyRegions = newDirtyRegions;
+			}
+			fMappedRegions[regionIndex] = region;
+			return region;
+		} catch (ClosedChannelException e) {
+			// Bug 219834, let the regular read path deal with the closed channel.
+			return null;
+		} catch (IOException e) {
+			// Typically the address space is exhausted, continue without mapping.
+			fUseMappedRegions = false;
+			CCorePlugin.log(NLS.bind("Cannot map {0}, falling back to reading chunks.", fLocation), e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/**
+	 * Called when a mapped chunk is flushed, the region is forced to disk together with the header.
+	 */
+	void markRegionDirty(int chunkIndex) {
+		synchronized (fMutex) {
+			final int regionIndex = chunkIndex / CHUNKS_PER_MAPPED_REGION;
+			if (regionIndex < fDirtyRegions.length) {
+				fDirtyRegions[regionIndex] = true;
+			}
+		}
+	}
+
+	private void forceDirtyRegions() {
+		ArrayList<MappedByteBuffer> dirtyRegions = new ArrayList<>();
+		synchronized (fMutex) {
+			for (int i = 0; i < fDirtyRegions.length; i++) {
+				if (fDirtyRegions[i]) {
+					fDirtyRegions[i] = false;
+					if (fMappedRegions[i] != null) {
+						dirtyRegions.add(fMappedRegions[i]);
+					}
+				}
+			}
+		}
+		for (MappedByteBuffer region : dirtyRegions) {
+			region.force();
+		}
+	}
+
+	private void releaseMappedRegions() {
+		synchronized (fMutex) {
+			// The mappings are unmapped by the garbage collector.
+			fMappedRegions = new MappedByteBuffer[0];
+			fDirtyRegions = new boolean[0];
+		}
+	}
+
+	/**
+	 * Returns whether chunks of this database may be served from memory-mapped regions of the file.
+	 */
+	public boolean usesMappedRegions() {
+		return fUseMappedRegions;
+	}
+
 	private void databaseCorruptionDetected() throws CoreException {
 		String msg = MessageFormat.format(Messages.getString("Database.CorruptedDatabase"), //$NON-NLS-1$
 				new Object[] { fLocation.getName() });
@@ -376,7 +531,7 @@ public class Database {
 
 	private long createNewChunk() throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		synchronized (fMutex) {
 			final int newChunkIndex = fChunksUsed; // fChunks.length;
 
 			final Chunk chunk = new Chunk(this, newChunkIndex);
@@ -391,7 +546,7 @@ public class Database {
 				fChunksAllocated += increment;
 			}
 			fChunksUsed += 1;
-			fChunks[newChunkIndex] = chunk;
+			CHUNKS.setRelease(fChunks, newChunkIndex, chunk);
 
 			fCache.add(chunk, true);
 			long address = (long) newChunkIndex * CHUNK_SIZE;
@@ -417,7 +572,7 @@ public class Database {
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		synchronized (fMutex) {
 			final int oldLen = fChunks.length;
 			Chunk[] newchunks = new Chunk[oldLen + numChunks];
 			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
@@ -436,7 +591,7 @@ public class Database {
 	}
 
 	private long getFirstBlock(int blocksize) throws CoreException {
-		assert fLocked;
+		assert isLocked();
 		return fHeaderChunk.getFreeRecPtr((blocksize / BLOCK_SIZE_DELTA - MIN_BLOCK_DELTAS + 1) * INT_SIZE);
 	}
 
@@ -494,6 +649,220 @@ public class Database {
 		stringCache.remove(offset); // also remove record from string cache (if it exists)
 	}
 
+	/**
+	 * Merges adjacent free blocks within the chunks {@code fromChunk} (inclusive) to {@code toChunk}
+	 * (exclusive) and adds all free blocks of these chunks to the heads of the free lists. When the
+	 * chunks are processed from the end of the file to its beginning, the free lists end up ordered
+	 * by address and subsequent allocations fill the beginning of the file first.
+	 *
+	 * @return the number of blocks that were merged into other blocks
+	 */
+	public int mergeFreeBlocks(int fromChunk, int toChunk) throws CoreException {
+		assert fExclusiveLock;
+		int merged = 0;
+		final long[] freeBlocks = new long[MAX_BLOCK_DELTAS / MIN_BLOCK_DELTAS];
+		for (int i = Math.min(toChunk, fChunksUsed) - 1; i >= Math.max(fromChunk, 1); i--) {
+			final long chunkStart = (long) i * CHUNK_SIZE;
+			final Chunk chunk = getChunk(chunkStart);
+			if (!isDividedIntoBlocks(chunk, chunkStart)) {
+				continue;
+			}
+			int count = 0;
+			for (long block = chunkStart; block < chunkStart + CHUNK_SIZE;) {
+				final int blocksize = chunk.getShort(block);
+				if (blocksize > 0) {
+					freeBlocks[count++] = block;
+				}
+				block += Math.abs(blocksize);
+			}
+			// Process the chunk backwards, such that its first free block ends up at the head of its list.
+			for (int j = count - 1; j >= 0;) {
+				// Find the run of adjacent free blocks ending with freeBlocks[j].
+				int first = j;
+				while (first > 0
+						&& freeBlocks[first - 1] + chunk.getShort(freeBlocks[first - 1]) == freeBlocks[first]) {
+					first--;
+				}
+				final long block = freeBlocks[first];
+				final long runEnd = freeBlocks[j] + chunk.getShort(freeBlocks[j]);
+				for (int k = first; k <= j; k++) {
+					removeBlock(chunk, chunk.getShort(freeBlocks[k]), freeBlocks[k]);
+				}
+				addBlock(chunk, (int) (runEnd - block), block);
+				merged += j - first;
+				j = first - 1;
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Checks that the chunk is completely covered by blocks. This is not the case for chunks that
+	 * have been set aside for testing.
+	 */
+	private boolean isDividedIntoBlocks(Chunk chunk, long chunkStart) {
+		final long chunkEnd = chunkStart + CHUNK_SIZE;
+		long block = chunkStart;
+		while (block < chunkEnd) {
+			final int blocksize = Math.abs(chunk.getShort(block));
+			if (blocksize < MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA || blocksize % BLOCK_SIZE_DELTA != 0) {
+				return false;
+			}
+			block += blocksize;
+		}
+		return block == chunkEnd;
+	}
+
+	/**
+	 * Removes the chunks at the end of the file that consist of a single free block and truncates
+	 * the file accordingly. Adjacent free blocks need to be merged beforehand, see
+	 * {@link #mergeFreeBlocks(int, int)}.
+	 *
+	 * @return the number of chunks that were removed
+	 */
+	public int truncateFreeChunks() throws CoreException {
+		assert fExclusiveLock;
+		int chunksUsed = fChunksUsed;
+		while (chunksUsed > 1) {
+			final long block = (long) (chunksUsed - 1) * CHUNK_SIZE;
+			final Chunk chunk = getChunk(block);
+			if (chunk.getShort(block) != CHUNK_SIZE) {
+				break;
+			}
+			removeBlock(chunk, CHUNK_SIZE, block);
+			chunksUsed--;
+		}
+		final int removed = fChunksUsed - chunksUsed;
+		if (removed == 0) {
+			return 0;
+		}
+
+		synchronized (fMutex) {
+			for (int i = chunksUsed; i < fChunksUsed; i++) {
+				final Chunk chunk = fChunks[i];
+				if (chunk != null) {
+					// The chunk is discarded, there is no need to write it.
+					chunk.fDirty = false;
+					fCache.remove(chunk);
+					CHUNKS.setRelease(fChunks, i, null);
+				}
+			}
+			fChunksUsed = chunksUsed;
+		}
+		// The free lists in the header chunk refer to the removed chunks until it is flushed.
+		markFileIncomplete();
+		// Mapped regions may extend beyond the new end of the file, they are mapped again on demand.
+		releaseMappedRegions();
+		try {
+			final FileChannel channel = fFile.getChannel();
+			final long length = (long) chunksUsed * CHUNK_SIZE;
+			if (channel.size() > length) {
+				channel.truncate(length);
+			}
+		} catch (IOException e) {
+			// The chunks are reused by subsequent allocations, the file is truncated by the next compaction.
+			CCorePlugin.log(e);
+		}
+		return removed;
+	}
+
+	/**
+	 * Returns the number of chunks of the database, including the header chunk.
+	 */
+	public int getChunkCount() {
+		return fChunksUsed;
+	}
+
+	/**
+	 * Computes the fragmentation of the database from its free lists.
+	 */
+	public Fragmentation getFragmentation() throws CoreException {
+		assert isLocked();
+		final int[] freeBlockCounts = new int[MAX_BLOCK_DELTAS + 1];
+		for (int deltas = MIN_BLOCK_DELTAS; deltas <= MAX_BLOCK_DELTAS; deltas++) {
+			int count = 0;
+			long block = getFirstBlock(deltas * BLOCK_SIZE_DELTA);
+			while (block != 0) {
+				++count;
+				block = getFreeRecPtr(block + BLOCK_NEXT_OFFSET);
+			}
+			freeBlockCounts[deltas] = count;
+		}
+		return new Fragmentation((long) fChunksUsed * CHUNK_SIZE, freeBlockCounts);
+	}
+
+	/**
+	 * Describes how much space of the database is lost to the free lists, see
+	 * {@link Database#getFragmentation()}.
+	 */
+	public static final class Fragmentation {
+		private final long fSize;
+		// Number of free blocks per number of block size deltas.
+		private final int[] fFreeBlockCounts;
+
+		Fragmentation(long size, int[] freeBlockCounts) {
+			fSize = size;
+			fFreeBlockCounts = freeBlockCounts;
+		}
+
+		/**
+		 * Returns the size of the database in bytes.
+		 */
+		public long getSize() {
+			return fSize;
+		}
+
+		/**
+		 * Returns the number of bytes in free blocks.
+		 */
+		public long getFreeBytes() {
+			long bytes = 0;
+			for (int deltas = MIN_BLOCK_DELTAS; deltas <= MAX_BLOCK_DELTAS; deltas++) {
+				bytes += (long) fFreeBlockCounts[deltas] * deltas * BLOCK_SIZE_DELTA;
+			}
+			return bytes;
+		}
+
+		/**
+		 * Returns the number of free blocks.
+		 */
+		public int getFreeBlocks() {
+			int count = 0;
+			for (int deltas = MIN_BLOCK_DELTAS; deltas <= MAX_BLOCK_DELTAS; deltas++) {
+				count += fFreeBlockCounts[deltas];
+			}
+			return count;
+		}
+
+		/**
+		 * Returns the number of free blocks of the given size in bytes.
+		 */
+		public int getFreeBlocks(int blocksize) {
+			return fFreeBlockCounts[blocksize / BLOCK_SIZE_DELTA];
+		}
+
+		/**
+		 * Returns the number of chunks that consist of a single free block.
+		 */
+		public int getFreeChunks() {
+			return fFreeBlockCounts[MAX_BLOCK_DELTAS];
+		}
+
+		/**
+		 * Returns the fraction of the database that is lost to free blocks.
+		 */
+		public double getFreeRatio() {
+			return fSize == 0 ? 0 : (double) getFreeBytes() / fSize;
+		}
+
+		@Override
+		@SuppressWarnings("nls")
+		public String toString() {
+			return fSize + " bytes, " + getFreeBytes() + " bytes in " + getFreeBlocks() + " free blocks ("
+					+ Math.round(getFreeRatio() * 100) + "%), " + getFreeChunks() + " free chunks";
+		}
+	}
+
 	public void putByte(long offset, byte value) throws CoreException {
 		getChunk(offset).putByte(offset, value);
 	}
@@ -608,12 +977,9 @@ public class Database {
 	}
 
 	public IString getString(long offset) throws CoreException {
-		final Reference<IString> cachedStringReference = stringCache.get(offset);
-		if (cachedStringReference != null) {
-			final IString cachedString = cachedStringReference.get();
-			if (cachedString != null) {
-				return cachedString; // string already cached, no need to re-retrieve it :-)
-			}
+		final IString cachedString = stringCache.get(offset);
+		if (cachedString != null) {
+			return cachedString; // string already cached, no need to re-retrieve it :-)
 		}
 		final int l = getInt(offset);
 		int bytelen = l < 0 ? -l : 2 * l;
@@ -624,16 +990,7 @@ public class Database {
 	}
 
 	private IString addStringToCache(IString string) {
-		// add string to cache
-		stringCache.put(string.getRecord(), new SoftStringRef(string, stringDisposal));
-		// also remove keys from cache list upon garbage collection
-		if (stringDisposal != null) {
-			Reference<? extends IString> disposedRef = stringDisposal.poll();
-			while (disposedRef instanceof SoftStringRef) {
-				stringCache.remove(((SoftStringRef) disposedRef).getRecord());
-				disposedRef = stringDisposal.poll();
-			}
-		}
+		stringCache.put(string);
 		return string;
 	}
 
@@ -641,18 +998,14 @@ public class Database {
 	 * For debugging purposes, only.
 	 */
 	public void reportFreeBlocks() throws CoreException {
+		final Fragmentation fragmentation = getFragmentation();
 		System.out.println("Allocated size: " + fChunksUsed * CHUNK_SIZE); //$NON-NLS-1$
 		System.out.println("malloc'ed: " + malloced); //$NON-NLS-1$
 		System.out.println("free'd: " + freed); //$NON-NLS-1$
 		System.out.println("wasted: " + (fChunksUsed * CHUNK_SIZE - (malloced - freed))); //$NON-NLS-1$
-		System.out.println("Free blocks"); //$NON-NLS-1$
+		System.out.println("Free blocks: " + fragmentation); //$NON-NLS-1$
 		for (int bs = MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA; bs <= CHUNK_SIZE; bs += BLOCK_SIZE_DELTA) {
-			int count = 0;
-			long block = getFirstBlock(bs);
-			while (block != 0) {
-				++count;
-				block = getFreeRecPtr(block + BLOCK_NEXT_OFFSET);
-			}
+			final int count = fragmentation.getFreeBlocks(bs);
 			if (count != 0)
 				System.out.println("Block size: " + bs + "=" + count); //$NON-NLS-1$ //$NON-NLS-2$
 		}
@@ -674,6 +1027,7 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		releaseMappedRegions();
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -690,11 +1044,19 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread via the cache, protected by the lock of the cache segment holding
+	 * the chunk. Must not acquire {@link #fMutex}, the cache may be called while it is held.
+	 * <p>
+	 * In case the chunk table is grown concurrently the chunk may stay in the table even though it
+	 * is no longer cached. That is harmless, it is added to the cache again when it is accessed.
 	 */
 	void releaseChunk(final Chunk chunk) {
 		if (!chunk.fLocked) {
-			fChunks[chunk.fSequenceNumber] = null;
+			final Chunk[] chunks = fChunks;
+			final int index = chunk.fSequenceNumber;
+			if (index < chunks.length) {
+				CHUNKS.compareAndSet(chunks, index, chunk, null);
+			}
 		}
 	}
 
@@ -719,11 +1081,25 @@ public class Database {
 		fLocked = val;
 	}
 
+	/**
+	 * Sets a supplier that tells whether the database is locked. Once set, the database is considered
+	 * to be locked if either the supplier returns {@code true} or {@link #setLocked(boolean)} was called
+	 * with {@code true}. This allows for locks that are acquired without synchronization.
+	 */
+	public void setLockState(BooleanSupplier lockState) {
+		fLockState = lockState;
+	}
+
+	private boolean isLocked() {
+		final BooleanSupplier lockState = fLockState;
+		return fLocked || (lockState != null && lockState.getAsBoolean());
+	}
+
 	public void giveUpExclusiveLock(final boolean flush) throws CoreException {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
+				synchronized (fMutex) {
 					for (int i = 1; i < fChunksUsed; i++) {
 						Chunk chunk = fChunks[i];
 						if (chunk != null) {
@@ -732,8 +1108,7 @@ public class Database {
 								if (chunk.fDirty) {
 									dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
 								} else {
-									chunk.fLocked = false;
-									fChunks[i] = null;
+									fCache.unlock(chunk); // Releases the chunk from fChunks.
 								}
 							} else if (chunk.fLocked) {
 								// Locked chunk, still in cache.
@@ -742,7 +1117,7 @@ public class Database {
 										dirtyChunks.add(chunk);
 									}
 								} else {
-									chunk.fLocked = false;
+									fCache.unlock(chunk);
 								}
 							} else {
 								assert !chunk.fDirty; // Dirty chunks must be locked.
@@ -759,7 +1134,7 @@ public class Database {
 	}
 
 	public void flush() throws CoreException {
-		assert fLocked;
+		assert isLocked();
 		if (fExclusiveLock) {
 			try {
 				giveUpExclusiveLock(true);
@@ -771,7 +1146,7 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
+		synchronized (fMutex) {
 			for (int i = 1; i < fChunksUsed; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null && chunk.fDirty) {
@@ -789,12 +1164,10 @@ public class Database {
 
 	private void clearStringCache() {
 		stringCache.clear();
-		while (stringDisposal.poll() != null) {
-		}
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
+		assert !Thread.holdsLock(fMutex);
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
 			if (haveDirtyChunks || fHeaderChunk.fDirty) {
@@ -808,18 +1181,15 @@ public class Database {
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
-					for (Chunk chunk : dirtyChunks) {
-						chunk.fLocked = false;
-						if (chunk.fCacheIndex < 0) {
-							fChunks[chunk.fSequenceNumber] = null;
-						}
-					}
+				for (Chunk chunk : dirtyChunks) {
+					fCache.unlock(chunk);
 				}
 			}
 
 			if (isComplete) {
 				if (fHeaderChunk.fDirty || fIsMarkedIncomplete) {
+					// Changes in mapped regions need to be on disk before the file is marked complete.
+					forceDirtyRegions();
 					fHeaderChunk.putInt(VERSION_OFFSET, fVersion);
 					fHeaderChunk.flush();
 					fIsMarkedIncomplete = false;
@@ -841,15 +1211,35 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
+		stringCache.resetCounters();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
+	}
+
+	/**
+	 * Returns the number of strings that were found in the string cache.
+	 */
+	public long getStringCacheHits() {
+		return stringCache.getHits();
+	}
+
+	/**
+	 * Returns the number of strings that had to be read from the chunks.
+	 */
+	public long getStringCacheMisses() {
+		return stringCache.getMisses();
+	}
+
+	public int getStringCacheCapacity() {
+		return stringCache.getCapacity();
 	}
 
 	public long getSizeBytes() {
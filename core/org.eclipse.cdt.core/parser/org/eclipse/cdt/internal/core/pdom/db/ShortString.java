@@ -121,7 +121,7 @@ public class ShortString implements IString {
 				if (getLength() != chars.length)
 					return false;
 
-				return CharArrayUtils.equals(getChars(), chars);
+				return compare(chars, true) == 0;
 			} else if (obj instanceof String) {
 				String string = (String) obj;
 				if (getLength() != string.length())
@@ -168,7 +168,29 @@ public class ShortString implements IString {
 
 	@Override
 	public int compare(char[] other, boolean caseSensitive) throws CoreException {
-		return compare(getChars(), other, caseSensitive);
+		if (cachedChars != null)
+			return compare(cachedChars, other, caseSensitive);
+
+		// Compare against the content of the chunk without creating the char array.
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		for (int i = 0; i < n; i++) {
+			int cmp = compareChars(charAt(chunk, l < 0, i), other[i], caseSensitive);
+			if (cmp != 0)
+				return cmp;
+		}
+		return length - other.length;
+	}
+
+	/**
+	 * Returns the character at the given index, read from the chunk holding this string.
+	 */
+	private char charAt(Chunk chunk, boolean useBytes, int index) {
+		if (useBytes)
+			return (char) (chunk.getByte(record + CHARS + index) & 0xff);
+		return chunk.getChar(record + CHARS + 2 * index);
 	}
 
 	@Override
@@ -188,7 +210,32 @@ public class ShortString implements IString {
 
 	@Override
 	public int compareCompatibleWithIgnoreCase(char[] other) throws CoreException {
-		return compareCompatibleWithIgnoreCase(getChars(), other);
+		if (cachedChars != null)
+			return compareCompatibleWithIgnoreCase(cachedChars, other);
+
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		int sensitiveCmp = 0;
+		for (int i = 0; i < n; i++) {
+			final char c1 = charAt(chunk, l < 0, i);
+			final char c2 = other[i];
+			if (c1 != c2) {
+				int cmp = compareChars(c1, c2, false); // insensitive
+				if (cmp != 0)
+					return cmp;
+
+				if (sensitiveCmp == 0) {
+					sensitiveCmp = c1 < c2 ? -1 : 1;
+				}
+			}
+		}
+		int cmp = length - other.length;
+		if (cmp != 0)
+			return cmp;
+
+		return sensitiveCmp;
 	}
 
 	public static int compareCompatibleWithIgnoreCase(final char[] chars, char[] other) {
@@ -221,7 +268,22 @@ public class ShortString implements IString {
 
 	@Override
 	public int comparePrefix(char[] other, boolean caseSensitive) throws CoreException {
-		return comparePrefix(getChars(), other, caseSensitive);
+		if (cachedChars != null)
+			return comparePrefix(cachedChars, other, caseSensitive);
+
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		for (int i = 0; i < n; i++) {
+			int cmp = compareChars(charAt(chunk, l < 0, i), other[i], caseSensitive);
+			if (cmp != 0)
+				return cmp;
+		}
+		if (length < other.length)
+			return -1;
+
+		return 0;
 	}
 
 	public static int comparePrefix(final char[] chars, char[] other, boolean caseSensitive) {
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache for the strings of a database keyed by their record. The cache is an open-addressed table
+ * with a fixed capacity, a string is stored in one of {@link #PROBES} consecutive slots. When all of
+ * them are occupied, one of them is replaced in round-robin order. Lookups and insertions do not
+ * allocate.
+ * <p>
+ * The record of a string is stored in the string itself, therefore the table holds the strings,
+ * only. The fields of strings that are compared are final, so the table can be read by multiple
+ * threads without synchronization. A thread may miss a string that is concurrently stored by
+ * another thread, which just causes the string to be read from the database again.
+ */
+final class StringCache {
+	static final int PROBES = 4;
+
+	private final IString[] fTable;
+	private final int fMask;
+	private int fVictim; // benign data race, any value selects a slot.
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	/**
+	 * @param capacity the number of strings that can be cached, rounded up to a power of two.
+	 */
+	StringCache(int capacity) {
+		int size = Integer.highestOneBit(Math.max(PROBES, capacity) - 1) << 1;
+		fTable = new IString[size];
+		fMask = size - 1;
+	}
+
+	private int slot(long record) {
+		// Records are aligned to the block size, mix in the higher bits.
+		return (int) ((record * 0x9E3779B97F4A7C15L) >>> 32) & fMask;
+	}
+
+	IString get(long record) {
+		final IString[] table = fTable;
+		final int slot = slot(record);
+		for (int i = 0; i < PROBES; i++) {
+			final IString string = table[(slot + i) & fMask];
+			if (string != null && string.getRecord() == record) {
+				fHits.increment();
+				return string;
+			}
+		}
+		fMisses.increment();
+		return null;
+	}
+
+	void put(IString string) {
+		final IString[] table = fTable;
+		final long record = string.getRecord();
+		final int slot = slot(record);
+		int free = -1;
+		for (int i = 0; i < PROBES; i++) {
+			final int idx = (slot + i) & fMask;
+			final IString s = table[idx];
+			if (s == null) {
+				if (free < 0) {
+					free = idx;
+				}
+			} else if (s.getRecord() == record) {
+				table[idx] = string;
+				return;
+			}
+		}
+		if (free < 0) {
+			free = (slot + (fVictim++ & (PROBES - 1))) & fMask;
+		}
+		table[free] = string;
+	}
+
+	void remove(long record) {
+		final IString[] table = fTable;
+		final int slot = slot(record);
+		for (int i = 0; i < PROBES; i++) {
+			final int idx = (slot + i) & fMask;
+			final IString s = table[idx];
+			if (s != null && s.getRecord() == record) {
+				table[idx] = null;
+			}
+		}
+	}
+
+	void clear() {
+		Arrays.fill(fTable, null);
+	}
+
+	int getCapacity() {
+		return fTable.length;
+	}
+
+	long getHits() {
+		return fHits.sum();
+	}
+
+	long getMisses() {
+		return fMisses.sum();
+	}
+
+	void resetCounters() {
+		fHits.reset();
+		fMisses.reset();
+	}
+}
@@ -767,9 +767,7 @@ public class PDOMFile implements IIndexFragmentFile {
 			IIndexLocationConverter strategy) throws CoreException {
 		String internalRepresentation = strategy.toInternalFormat(location);
 		if (internalRepresentation != null) {
-			Finder finder = new Finder(linkage.getDB(), internalRepresentation, linkage.getLinkageID(), null);
-			btree.accept(finder);
-			long[] records = finder.getRecords();
+			long[] records = findFileRecords(linkage.getDB(), btree, internalRepresentation, linkage.getLinkageID());
 			IIndexFragmentFile[] result = new IIndexFragmentFile[records.length];
 			for (int i = 0; i < result.length; i++) {
 				result[i] = new PDOMFile(linkage, records[i]);
@@ -823,9 +821,7 @@ public class PDOMFile implements IIndexFragmentFile {
 			IIndexLocationConverter strategy) throws CoreException {
 		String internalRepresentation = strategy.toInternalFormat(location);
 		if (internalRepresentation != null) {
-			Finder finder = new Finder(pdom.getDB(), internalRepresentation, -1, null);
-			btree.accept(finder);
-			long[] records = finder.getRecords();
+			long[] records = findFileRecords(pdom.getDB(), btree, internalRepresentation, -1);
 			PDOMFile[] result = new PDOMFile[records.length];
 			for (int i = 0; i < result.length; i++) {
 				result[i] = recreateFile(pdom, records[i]);
@@ -835,6 +831,21 @@ public class PDOMFile implements IIndexFragmentFile {
 		return IIndexFragmentFile.EMPTY_ARRAY;
 	}
 
+	/**
+	 * Returns the records of the files with the given internal representation of their location.
+	 *
+	 * @param db The database.
+	 * @param btree The file index.
+	 * @param internalRepresentation The location of the files in the format of the index location converter.
+	 * @param linkageID The linkage of the files, or -1 for files of all linkages.
+	 */
+	public static long[] findFileRecords(Database db, BTree btree, String internalRepresentation, int linkageID)
+			throws CoreException {
+		Finder finder = new Finder(db, internalRepresentation, linkageID, null);
+		btree.accept(finder);
+		return finder.getRecords();
+	}
+
 	public static PDOMFile recreateFile(PDOM pdom, final long record) throws CoreException {
 		final Database db = pdom.getDB();
 		final int linkageID = db.get3ByteUnsignedInt(record + LINKAGE_ID);
@@ -20,6 +20,7 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -82,6 +83,14 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	private BTree fMacroIndex = null; // No need for volatile, all fields of BTree are final.
 	private final PDOM fPDOM;
 	private final Database fDatabase;
+	/** Nested bindings not yet in the index, see {@link WritablePDOM#deferNestedBindingsIndexes()}. */
+	private long[] fDeferredNestedBindings = {};
+	private int fDeferredNestedBindingsCount;
+	/**
+	 * Deferred nested bindings that have been removed again. Their records may have been reused by
+	 * other nodes, they are skipped when the index is loaded.
+	 */
+	private final Set<Long> fRemovedNestedBindings = new HashSet<>();
 
 	/**
 	 * The set of types currently being loaded from the index on each thread, represented as record numbers.
@@ -338,10 +347,47 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	 */
 	protected final void insertIntoNestedBindingsIndex(PDOMBinding pdomBinding) throws CoreException {
 		if (pdomBinding.getParentNodeRec() != record) {
-			getNestedBindingsIndex().insert(pdomBinding.getRecord());
+			if (isDeferringNestedBindingsIndex()) {
+				final long rec = pdomBinding.getRecord();
+				// The record of a removed binding may have been reused for this one.
+				fRemovedNestedBindings.remove(rec);
+				if (fDeferredNestedBindingsCount == fDeferredNestedBindings.length) {
+					fDeferredNestedBindings = Arrays.copyOf(fDeferredNestedBindings,
+							Math.max(256, fDeferredNestedBindingsCount * 2));
+				}
+				fDeferredNestedBindings[fDeferredNestedBindingsCount++] = rec;
+			} else {
+				getNestedBindingsIndex().insert(pdomBinding.getRecord());
+			}
 		}
 	}
 
+	private boolean isDeferringNestedBindingsIndex() {
+		return fPDOM instanceof WritablePDOM && ((WritablePDOM) fPDOM).isDeferringNestedBindingsIndexes();
+	}
+
+	/**
+	 * Builds the nested bindings index from the bindings collected while the index was deferred,
+	 * see {@link WritablePDOM#deferNestedBindingsIndexes()}.
+	 * @throws CoreException
+	 */
+	public void loadNestedBindingsIndex() throws CoreException {
+		final long[] records = fDeferredNestedBindings;
+		int count = 0;
+		for (int i = 0; i < fDeferredNestedBindingsCount; i++) {
+			if (!fRemovedNestedBindings.contains(records[i])) {
+				records[count++] = records[i];
+			}
+		}
+		fDeferredNestedBindings = new long[0];
+		fDeferredNestedBindingsCount = 0;
+		fRemovedNestedBindings.clear();
+
+		// A binding whose record was reused is contained twice, the duplicate is skipped when loading.
+		BTree.sort(records, count, getNestedBindingsComparator());
+		getNestedBindingsIndex().bulkLoad(Arrays.stream(records, 0, count).iterator());
+	}
+
 	/**
 	 * Call-back informing the linkage that a binding is about to be removed. Used to index nested bindings.
 	 * @param pdomBinding
@@ -350,7 +396,11 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	 */
 	public void beforeRemoveBinding(PDOMBinding pdomBinding) throws CoreException {
 		if (pdomBinding.getParentNodeRec() != record) {
-			getNestedBindingsIndex().delete(pdomBinding.getRecord());
+			if (isDeferringNestedBindingsIndex()) {
+				fRemovedNestedBindings.add(pdomBinding.getRecord());
+			} else {
+				getNestedBindingsIndex().delete(pdomBinding.getRecord());
+			}
 		}
 	}
 
@@ -380,7 +430,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		getMacroIndex().accept(visitor);
 		PDOMMacroContainer container = visitor.getMacroContainer();
 		if (container != null) {
-			fPDOM.putCachedResult(key, container);
+			fPDOM.putCachedResult(getLinkageID(), key, container);
 		}
 		return container;
 	}
@@ -391,14 +441,14 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		if (result == null) {
 			result = new PDOMMacroContainer(this, name);
 			getMacroIndex().insert(result.getRecord());
-			fPDOM.putCachedResult(key, result);
+			fPDOM.putCachedResult(getLinkageID(), key, result);
 		}
 		return result;
 	}
 
 	public void removeMacroContainer(PDOMMacroContainer container) throws CoreException {
 		String key = fPDOM.createKeyForCache(record, container.getNameCharArray());
-		fPDOM.putCachedResult(key, null);
+		fPDOM.putCachedResult(getLinkageID(), key, null);
 		getMacroIndex().delete(container.getRecord());
 	}
 
@@ -441,7 +491,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		CharArrayMap<PDOMBinding[]> map = cached == null ? null : cached.get();
 		if (map == null) {
 			map = new CharArrayMap<>();
-			pdom.putCachedResult(key, new SoftReference<CharArrayMap<?>>(map));
+			pdom.putCachedResult(getLinkageID(), key, new SoftReference<CharArrayMap<?>>(map));
 		}
 		return map;
 	}
@@ -696,8 +746,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	}
 
 	public IValue loadValue(long offset) throws CoreException {
-		Long cacheKey = Long.valueOf(offset);
-		IValue value = fPDOM.getCachedVariableResult(cacheKey);
+		IValue value = fPDOM.getCachedVariableResult(offset);
 		if (value != null)
 			return value;
 		TypeMarshalBuffer buffer = loadBuffer(offset, Database.VALUE_SIZE);
@@ -705,7 +754,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 			return null;
 		value = buffer.unmarshalValue();
 		if (value != null)
-			fPDOM.putCachedVariableResult(cacheKey, value);
+			fPDOM.putCachedVariableResult(getLinkageID(), offset, value);
 		return value;
 	}
 
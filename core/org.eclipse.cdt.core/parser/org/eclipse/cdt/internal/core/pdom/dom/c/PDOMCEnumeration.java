@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMNode;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
@@ -104,7 +105,7 @@ class PDOMCEnumeration extends PDOMBinding implements IEnumeration, IIndexType,
 		if (result == null && create) {
 			// there is no cache, build it:
 			result = loadEnumerators();
-			pdom.putCachedResult(key, new SoftReference<>(result));
+			pdom.putCachedResult(ILinkage.C_LINKAGE_ID, key, new SoftReference<>(result));
 		}
 		return result;
 	}
@@ -103,7 +103,7 @@ class PDOMCLinkage extends PDOMLinkage implements IIndexCBindingConstants {
 			if (pdomBinding == null) {
 				pdomBinding = createBinding(parent, binding, localToFileHolder[0]);
 				if (pdomBinding != null) {
-					getPDOM().putCachedResult(inputBinding, pdomBinding);
+					getPDOM().putCachedResult(getLinkageID(), inputBinding, pdomBinding);
 				}
 
 				// Synchronize the tags associated with the persistent binding to match the set that
@@ -113,7 +113,7 @@ class PDOMCLinkage extends PDOMLinkage implements IIndexCBindingConstants {
 				return pdomBinding;
 			}
 
-			getPDOM().putCachedResult(inputBinding, pdomBinding);
+			getPDOM().putCachedResult(getLinkageID(), inputBinding, pdomBinding);
 		}
 
 		if (shouldUpdate(pdomBinding, fromName)) {
@@ -288,7 +288,7 @@ class PDOMCLinkage extends PDOMLinkage implements IIndexCBindingConstants {
 
 		result = doAdaptBinding(parent, binding, localToFileHolder);
 		if (result != null) {
-			getPDOM().putCachedResult(inputBinding, result);
+			getPDOM().putCachedResult(getLinkageID(), inputBinding, result);
 		}
 		return result;
 	}
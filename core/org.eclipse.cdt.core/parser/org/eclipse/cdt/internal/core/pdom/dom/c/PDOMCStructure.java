@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMNode;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.EScopeKind;
@@ -225,7 +226,7 @@ public class PDOMCStructure extends PDOMBinding
 			}
 		}
 		if (result != null) {
-			pdom.putCachedResult(key, result);
+			pdom.putCachedResult(ILinkage.C_LINKAGE_ID, key, result);
 		}
 		return result;
 	}
@@ -44,6 +44,11 @@ public interface IPDOMCPPClassType extends ICPPClassType, IPDOMBinding, IIndexTy
 	 */
 	void addMember(PDOMNode member, int visibility) throws CoreException;
 
+	/**
+	 * Returns the filter over the names of the members of this class type.
+	 */
+	PDOMCPPMemberNameFilter getMemberNameFilter();
+
 	/**
 	 * Returns true if this class type is visible to ADL only.
 	 * A class type is visible to ADL only if it's only declaration so far
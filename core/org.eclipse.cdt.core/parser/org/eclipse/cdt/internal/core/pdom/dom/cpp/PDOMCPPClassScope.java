@@ -50,7 +50,6 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.cdt.internal.core.index.DeclaredBindingsFilter;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
-import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
@@ -192,7 +191,13 @@ class PDOMCPPClassScope implements ICPPClassScope, IIndexScope {
 
 	public static IBinding[] getBindingsViaCache(IPDOMCPPClassType ct, final char[] name, IndexFilter filter)
 			throws CoreException {
-		CharArrayObjectMap<List<PDOMBinding>> map = getBindingMap(ct);
+		CharArrayObjectMap<List<PDOMBinding>> map = getCachedBindingMap(ct);
+		if (map == null) {
+			// Avoid loading the members for names the class doesn't have, the class itself is part of the map.
+			if (!ct.getMemberNameFilter().mayContain(name) && !CharArrayUtils.equals(ct.getNameCharArray(), name))
+				return IBinding.EMPTY_BINDING_ARRAY;
+			map = getBindingMap(ct);
+		}
 		List<PDOMBinding> cached = map.get(name);
 		if (cached == null)
 			return IBinding.EMPTY_BINDING_ARRAY;
@@ -233,33 +238,31 @@ class PDOMCPPClassScope implements ICPPClassScope, IIndexScope {
 
 	public static void updateCache(IPDOMCPPClassType ct, PDOMNode member) throws CoreException {
 		if (member instanceof PDOMBinding) {
-			final Long key = ct.getRecord() + PDOMCPPLinkage.CACHE_MEMBERS;
-			final PDOM pdom = ct.getPDOM();
-			@SuppressWarnings("unchecked")
-			Reference<CharArrayObjectMap<List<PDOMBinding>>> cached = (Reference<CharArrayObjectMap<List<PDOMBinding>>>) pdom
-					.getCachedResult(key);
-			CharArrayObjectMap<List<PDOMBinding>> map = cached == null ? null : cached.get();
+			CharArrayObjectMap<List<PDOMBinding>> map = getCachedBindingMap(ct);
 			if (map != null) {
 				new PopulateMap(map).visit(member);
 			}
 		}
 	}
 
-	public static CharArrayObjectMap<List<PDOMBinding>> getBindingMap(IPDOMCPPClassType ct) throws CoreException {
+	private static CharArrayObjectMap<List<PDOMBinding>> getCachedBindingMap(IPDOMCPPClassType ct) {
 		final Long key = ct.getRecord() + PDOMCPPLinkage.CACHE_MEMBERS;
-		final PDOM pdom = ct.getPDOM();
 		@SuppressWarnings("unchecked")
-		Reference<CharArrayObjectMap<List<PDOMBinding>>> cached = (Reference<CharArrayObjectMap<List<PDOMBinding>>>) pdom
-				.getCachedResult(key);
-		CharArrayObjectMap<List<PDOMBinding>> map = cached == null ? null : cached.get();
+		Reference<CharArrayObjectMap<List<PDOMBinding>>> cached = (Reference<CharArrayObjectMap<List<PDOMBinding>>>) ct
+				.getPDOM().getCachedResult(key);
+		return cached == null ? null : cached.get();
+	}
 
+	public static CharArrayObjectMap<List<PDOMBinding>> getBindingMap(IPDOMCPPClassType ct) throws CoreException {
+		CharArrayObjectMap<List<PDOMBinding>> map = getCachedBindingMap(ct);
 		if (map == null) {
 			// There is no cache, build it:
 			map = new CharArrayObjectMap<>(8);
 			IPDOMVisitor visitor = new PopulateMap(map);
 			visitor.visit(ct);
 			ct.acceptUncached(visitor);
-			pdom.putCachedResult(key, new SoftReference<>(map));
+			ct.getPDOM().putCachedResult(ILinkage.CPP_LINKAGE_ID, ct.getRecord() + PDOMCPPLinkage.CACHE_MEMBERS,
+					new SoftReference<>(map));
 		}
 		return map;
 	}
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IBinding;
@@ -62,7 +63,8 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 		implements ICPPClassSpecialization, IPDOMMemberOwner, IPDOMCPPClassType {
 	private static final int FIRST_BASE = PDOMCPPSpecialization.RECORD_SIZE + 0;
 	private static final int MEMBERLIST = FIRST_BASE + 4;
-	private static final int FLAGS = MEMBERLIST + PDOMCPPMemberBlock.RECORD_SIZE; // byte
+	private static final int MEMBER_NAMES = MEMBERLIST + PDOMCPPMemberBlock.RECORD_SIZE;
+	private static final int FLAGS = MEMBER_NAMES + PDOMCPPMemberNameFilter.RECORD_SIZE; // byte
 
 	/**
 	 * The size in bytes of a PDOMCPPClassSpecialization record in the database.
@@ -138,7 +140,7 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 				} catch (CoreException e) {
 					CCorePlugin.log(e);
 				}
-				specializationMap = (ObjectMap) getPDOM().putCachedResult(key, newMap, false);
+				specializationMap = (ObjectMap) getPDOM().putCachedResult(ILinkage.CPP_LINKAGE_ID, key, newMap, false);
 			}
 		}
 		synchronized (specializationMap) {
@@ -263,7 +265,7 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 			}
 			Collections.reverse(list);
 			bases = list.toArray(new ICPPBase[list.size()]);
-			getPDOM().putCachedResult(key, bases);
+			getPDOM().putCachedResult(ILinkage.CPP_LINKAGE_ID, key, bases);
 			return bases;
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
@@ -551,11 +553,17 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 		try {
 			PDOMCPPMemberBlock members = new PDOMCPPMemberBlock(getLinkage(), record + MEMBERLIST);
 			members.addMember(member, visibility);
+			getMemberNameFilter().add(member);
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		}
 	}
 
+	@Override
+	public PDOMCPPMemberNameFilter getMemberNameFilter() {
+		return new PDOMCPPMemberNameFilter(getLinkage(), this, record + MEMBER_NAMES);
+	}
+
 	@Override
 	public int getVisibility(IBinding member) {
 		try {
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
 import org.eclipse.cdt.core.dom.ast.IBinding;
@@ -56,7 +57,8 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 	private static final int FIRSTBASE = PDOMCPPBinding.RECORD_SIZE;
 	private static final int MEMBERLIST = FIRSTBASE + 4;
 	private static final int FIRSTFRIEND = MEMBERLIST + PDOMCPPMemberBlock.RECORD_SIZE;
-	private static final int KEY = FIRSTFRIEND + 4; // byte
+	private static final int MEMBER_NAMES = FIRSTFRIEND + 4;
+	private static final int KEY = MEMBER_NAMES + PDOMCPPMemberNameFilter.RECORD_SIZE; // byte
 	private static final int ANONYMOUS = KEY + 1; // byte
 	private static final int FINAL = ANONYMOUS + 1; // byte
 	private static final int VISIBLE_TO_ADL_ONLY = FINAL + 1; // byte
@@ -354,7 +356,7 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 			}
 			Collections.reverse(list);
 			bases = list.toArray(new ICPPBase[list.size()]);
-			getPDOM().putCachedResult(key, bases);
+			getPDOM().putCachedResult(ILinkage.CPP_LINKAGE_ID, key, bases);
 			return bases;
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
@@ -471,12 +473,18 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 		try {
 			PDOMCPPMemberBlock members = new PDOMCPPMemberBlock(getLinkage(), record + MEMBERLIST);
 			members.addMember(member, visibility);
+			getMemberNameFilter().add(member);
 			PDOMCPPClassScope.updateCache(this, member);
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		}
 	}
 
+	@Override
+	public PDOMCPPMemberNameFilter getMemberNameFilter() {
+		return new PDOMCPPMemberNameFilter(getLinkage(), this, record + MEMBER_NAMES);
+	}
+
 	@Override
 	public int getVisibility(IBinding member) {
 		try {
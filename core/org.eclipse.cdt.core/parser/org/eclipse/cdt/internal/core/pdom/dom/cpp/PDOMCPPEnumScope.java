@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.EScopeKind;
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -163,7 +164,7 @@ class PDOMCPPEnumScope implements ICPPEnumScope, IIndexScope {
 			for (IPDOMCPPEnumerator enumerator : enumerators) {
 				map.put(enumerator.getNameCharArray(), enumerator);
 			}
-			pdom.putCachedResult(key, new SoftReference<>(map));
+			pdom.putCachedResult(ILinkage.CPP_LINKAGE_ID, key, new SoftReference<>(map));
 		}
 		return map;
 	}
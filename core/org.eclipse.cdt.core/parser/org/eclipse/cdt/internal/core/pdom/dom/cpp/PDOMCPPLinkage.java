@@ -709,7 +709,7 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 					try {
 						pdomBinding = createBinding(parent, binding, fileLocalRec[0]);
 						if (pdomBinding != null) {
-							getPDOM().putCachedResult(inputBinding, pdomBinding);
+							getPDOM().putCachedResult(getLinkageID(), inputBinding, pdomBinding);
 							if (inputBinding instanceof CPPClosureType) {
 								addImplicitMethods(pdomBinding, (ICPPClassType) binding);
 							}
@@ -724,7 +724,7 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 					return pdomBinding;
 				}
 
-				getPDOM().putCachedResult(inputBinding, pdomBinding);
+				getPDOM().putCachedResult(getLinkageID(), inputBinding, pdomBinding);
 			}
 
 			if (fromName != null && shouldUpdate(pdomBinding, fromName)) {
@@ -1204,7 +1204,7 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 
 		result = doAdaptBinding(parent, binding, fileLocalRecHolder);
 		if (result != null) {
-			getPDOM().putCachedResult(inputBinding, result);
+			getPDOM().putCachedResult(getLinkageID(), inputBinding, result);
 		}
 		return result;
 	}
@@ -1221,7 +1221,7 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 			} else {
 				result = nslist.toArray(new PDOMCPPNamespace[nslist.size()]);
 			}
-			getPDOM().putCachedResult(key, result, true);
+			getPDOM().putCachedResult(getLinkageID(), key, result, true);
 		}
 		return result;
 	}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom.cpp;
+
+import org.eclipse.cdt.core.dom.IPDOMNode;
+import org.eclipse.cdt.core.dom.IPDOMVisitor;
+import org.eclipse.cdt.core.dom.ast.ICompositeType;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Bloom filter over the names of the members of a class, including the members of nested
+ * anonymous composites. Allows to answer lookups of names that are not members of the class
+ * without loading the member list.
+ * <p>
+ * The filter is stored in a separate block referenced by a pointer in the record of the class.
+ * The block is allocated with the first member and doubles in size when the number of names
+ * exceeds its capacity, up to {@link #MAX_BYTES}. Since members are never removed from a class,
+ * the filter only ever grows.
+ */
+public class PDOMCPPMemberNameFilter {
+	private static final int COUNT = 0; // int, number of names added
+	private static final int SIZE = 4; // int, number of bytes of the bit set
+	private static final int BITS = 8;
+
+	private static final int MIN_BYTES = 8;
+	static final int MAX_BYTES = 2048;
+	private static final int BITS_PER_NAME = 8;
+	private static final int HASH_COUNT = 3;
+
+	protected static final int RECORD_SIZE = Database.PTR_SIZE;
+
+	private final PDOMLinkage linkage;
+	private final IPDOMCPPClassType owner;
+	private final long record;
+
+	/**
+	 * @param owner the class the filter belongs to
+	 * @param record the location of the pointer to the filter within the record of the class
+	 */
+	public PDOMCPPMemberNameFilter(PDOMLinkage linkage, IPDOMCPPClassType owner, long record) {
+		this.linkage = linkage;
+		this.owner = owner;
+		this.record = record;
+	}
+
+	private Database getDB() {
+		return linkage.getDB();
+	}
+
+	/**
+	 * Returns {@code false} if the class has no member with the given name.
+	 */
+	public boolean mayContain(char[] name) throws CoreException {
+		final Database db = getDB();
+		long block = db.getRecPtr(record);
+		if (block == 0)
+			return false;
+
+		int bits = db.getInt(block + SIZE) * 8;
+		int h1 = hash(name);
+		int h2 = secondHash(h1);
+		for (int i = 0; i < HASH_COUNT; i++) {
+			int bit = (h1 + i * h2) & (bits - 1);
+			if ((db.getByte(block + BITS + (bit >>> 3)) & (1 << (bit & 7))) == 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the name of a member that has been added to the member list of the class. The name is
+	 * also added to the filters of the classes enclosing an anonymous class.
+	 */
+	public void add(PDOMNode member) throws CoreException {
+		if (member instanceof PDOMBinding) {
+			add(((PDOMBinding) member).getNameCharArray());
+		}
+	}
+
+	private void add(char[] name) throws CoreException {
+		final Database db = getDB();
+		long block = db.getRecPtr(record);
+		int count = block == 0 ? 1 : db.getInt(block + COUNT) + 1;
+		int size = block == 0 ? 0 : db.getInt(block + SIZE);
+		if (size < MAX_BYTES && count * BITS_PER_NAME > size * 8) {
+			if (block != 0) {
+				db.free(block);
+			}
+			size = Math.max(size * 2, MIN_BYTES);
+			while (size < MAX_BYTES && count * BITS_PER_NAME > size * 8) {
+				size *= 2;
+			}
+			block = db.malloc(BITS + size);
+			db.putInt(block + SIZE, size);
+			db.putRecPtr(record, block);
+			// The new name is part of the member list already.
+			owner.acceptUncached(new IPDOMVisitor() {
+				@Override
+				public boolean visit(IPDOMNode node) throws CoreException {
+					if (node instanceof PDOMBinding) {
+						PDOMBinding binding = (PDOMBinding) node;
+						setBits(db, binding.getNameCharArray());
+						return binding instanceof ICompositeType && ((ICompositeType) binding).isAnonymous();
+					}
+					return false;
+				}
+
+				@Override
+				public void leave(IPDOMNode node) {
+				}
+			});
+		} else {
+			setBits(db, name);
+		}
+		db.putInt(block + COUNT, count);
+
+		if (owner.isAnonymous()) {
+			PDOMNode parent = ((PDOMBinding) owner).getParentNode();
+			if (parent instanceof IPDOMCPPClassType) {
+				((IPDOMCPPClassType) parent).getMemberNameFilter().add(name);
+			}
+		}
+	}
+
+	private void setBits(Database db, char[] name) throws CoreException {
+		long block = db.getRecPtr(record);
+		int bits = db.getInt(block + SIZE) * 8;
+		int h1 = hash(name);
+		int h2 = secondHash(h1);
+		for (int i = 0; i < HASH_COUNT; i++) {
+			int bit = (h1 + i * h2) & (bits - 1);
+			long offset = block + BITS + (bit >>> 3);
+			db.putByte(offset, (byte) (db.getByte(offset) | (1 << (bit & 7))));
+		}
+	}
+
+	private static int hash(char[] name) {
+		int h = 0x811c9dc5;
+		for (char c : name) {
+			h = (h ^ c) * 0x01000193;
+		}
+		return h;
+	}
+
+	private static int secondHash(int h) {
+		h = (h ^ (h >>> 16)) * 0x85ebca6b;
+		h ^= h >>> 13;
+		return h | 1; // Odd, such that the probes differ for any size of the filter.
+	}
+}
@@ -16,6 +16,7 @@ package org.eclipse.cdt.internal.core.pdom.dom.cpp;
 import java.util.HashMap;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
@@ -46,7 +47,7 @@ public class PDOMInstanceCache {
 			CCorePlugin.log(e);
 		}
 
-		newCache = (PDOMInstanceCache) pdom.putCachedResult(key, newCache, false);
+		newCache = (PDOMInstanceCache) pdom.putCachedResult(ILinkage.CPP_LINKAGE_ID, key, newCache, false);
 		return newCache;
 	}
 
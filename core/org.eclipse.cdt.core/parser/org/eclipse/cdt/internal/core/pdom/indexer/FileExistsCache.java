@@ -23,6 +23,7 @@ import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
 import org.eclipse.cdt.utils.UNCPathConverter;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
@@ -31,7 +32,9 @@ import org.eclipse.core.runtime.CoreException;
 /**
  * A cache for checking whether a file exists. The cache shall be used for a limited amount of time,
  * only (e.g. one indexer task). It uses as much memory as it needs. To protect against OutOfMemory
- * situations, a soft reference is used.
+ * situations, a soft reference is used. The cache can be shared by multiple threads.
+ * Local paths are checked with the {@link DirectoryListingCache} shared with other parsers, unless
+ * it is disabled.
  * @since 5.0
  */
 public final class FileExistsCache {
@@ -60,7 +63,7 @@ public final class FileExistsCache {
 		fCache = new SoftReference<>(cache);
 	}
 
-	public boolean isFile(String path) {
+	public synchronized boolean isFile(String path) {
 		// Fast return when path was already queried. The method is potentially called multiple times with
 		// the same path on each return statement the returned value is stored in the cache (bug 471103).
 		Boolean cachedResult = fCacheIsFile.get(path);
@@ -97,10 +100,13 @@ public final class FileExistsCache {
 				return false;
 			}
 		} else {
-			file = new File(path);
 			if (BYPASS_CACHE) {
-				return file.isFile();
+				return new File(path).isFile();
+			}
+			if (DirectoryListingCache.isEnabled()) {
+				return DirectoryListingCache.getInstance().isFile(path, fCaseInSensitive);
 			}
+			file = new File(path);
 
 			parent = file.getParent();
 			if (parent == null)
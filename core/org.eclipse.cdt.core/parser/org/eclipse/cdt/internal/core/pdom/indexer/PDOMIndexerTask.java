@@ -34,12 +34,15 @@ import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMResultCache;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +74,9 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		setParserThreads(getIntProperty(IndexerPreferences.KEY_INDEXER_PARSER_THREADS,
+				IndexerPreferences.DEFAULT_INDEXER_PARSER_THREADS));
+		setTokenCache(CCoreInternals.getPDOMManager().getTokenCache());
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -300,6 +306,11 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			if (fStatistics.fTooManyTokensCount > 0)
 				System.out.println(indent + " Tokens: " //$NON-NLS-1$
 						+ fStatistics.fTooManyTokensCount + " TUs with too many tokens."); //$NON-NLS-1$
+			System.out.println(indent + " Constexpr: " //$NON-NLS-1$
+					+ fStatistics.fConstexprCacheHits + " cache hits, " //$NON-NLS-1$
+					+ fStatistics.fConstexprCacheMisses + " cache misses, " //$NON-NLS-1$
+					+ fStatistics.fConstexprStepBudgetExceededCount + " exceeded step budget, " //$NON-NLS-1$
+					+ fStatistics.fConstexprMemoryBudgetExceededCount + " exceeded memory budget."); //$NON-NLS-1$
 
 			NumberFormat nfPercent = NumberFormat.getPercentInstance();
 			nfPercent.setMaximumFractionDigits(2);
@@ -317,6 +328,12 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ ChunkCache.getSharedInstance().getMaxSize() / 1024 / 1024 + "MB]: " + //$NON-NLS-1$
 					+hits + " hits, " //$NON-NLS-1$
 					+ misses + "(" + nfPercent.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
+			if (index.getWritableFragment() instanceof PDOM pdom) {
+				PDOMResultCache resultCache = pdom.getResultCache();
+				System.out.println(indent + " Result cache: " + resultCache + '.'); //$NON-NLS-1$
+				System.out.println(indent + "  Hits by type: " + resultCache.getHitsByType() //$NON-NLS-1$
+						+ ", stores by type: " + resultCache.getStoresByType() + '.'); //$NON-NLS-1$
+			}
 
 			if (Boolean.parseBoolean(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) { //$NON-NLS-1$
 				Calendar cal = Calendar.getInstance();
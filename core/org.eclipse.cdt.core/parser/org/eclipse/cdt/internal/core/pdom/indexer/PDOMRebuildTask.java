@@ -66,6 +66,7 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 	@Override
 	public void run(IProgressMonitor monitor) throws InterruptedException {
 		fProgressMonitor = monitor;
+		IWritableIndex index = null;
 		try {
 			monitor.subTask(
 					NLS.bind(Messages.PDOMIndexerTask_collectingFilesTask, fIndexer.getProject().getElementName()));
@@ -74,8 +75,7 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 			IProject project = cproject.getProject();
 			if (project.isOpen() && project.exists()) {
 				try {
-					IWritableIndex index = ((IWritableIndexManager) CCorePlugin.getIndexManager())
-							.getWritableIndex(cproject);
+					index = ((IWritableIndexManager) CCorePlugin.getIndexManager()).getWritableIndex(cproject);
 					if (index != null) {
 						clearIndex(cproject, index);
 						if (!IPDOMManager.ID_NO_INDEXER.equals(fIndexer.getID())) {
@@ -94,6 +94,9 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 				fDelegate.run(monitor);
 			}
 		} finally {
+			if (index != null) {
+				loadNestedBindingsIndexes(index);
+			}
 			fProgressMonitor = null;
 		}
 	}
@@ -106,12 +109,34 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 			IWritableIndexFragment wf = index.getWritableFragment();
 			if (wf instanceof WritablePDOM) {
 				PDOMManager.writeProjectPDOMProperties((WritablePDOM) wf, project.getProject());
+				((WritablePDOM) wf).deferNestedBindingsIndexes();
 			}
 		} finally {
 			index.releaseWriteLock();
 		}
 	}
 
+	/**
+	 * The index has been filled starting from an empty database, builds the nested bindings
+	 * indexes from the bindings collected meanwhile. Also done when the rebuild is cancelled,
+	 * subsequent updates insert the nested bindings one at a time again.
+	 */
+	private void loadNestedBindingsIndexes(IWritableIndex index) throws InterruptedException {
+		try {
+			index.acquireWriteLock(null);
+			try {
+				IWritableIndexFragment wf = index.getWritableFragment();
+				if (wf instanceof WritablePDOM) {
+					((WritablePDOM) wf).loadNestedBindingsIndexes();
+				}
+			} finally {
+				index.releaseWriteLock();
+			}
+		} catch (CoreException e) {
+			CCorePlugin.log(NLS.bind(Messages.PDOMRebuildTask_0, fIndexer.getProject().getElementName()), e);
+		}
+	}
+
 	private void createDelegate(ICProject project, IProgressMonitor monitor) throws CoreException {
 		boolean allFiles = TRUE
 				.equals(fIndexer.getProperty(IndexerPreferences.KEY_INDEX_UNUSED_HEADERS_WITH_DEFAULT_LANG))
@@ -34,12 +34,19 @@ import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.internal.core.index.IWritableIndex;
+import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
+import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.ExternalTranslationUnit;
 import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
 import org.eclipse.cdt.internal.core.parser.scanner.IncludeSearchPath;
 import org.eclipse.cdt.internal.core.parser.scanner.IncludeSearchPathElement;
 import org.eclipse.cdt.internal.core.parser.scanner.ScannerUtility;
+import org.eclipse.cdt.internal.core.pdom.FailedToReAcquireLockException;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -53,6 +60,12 @@ import org.eclipse.osgi.util.NLS;
  */
 public class PDOMUpdateTask implements IPDOMIndexerTask {
 	private static final ITranslationUnit[] NO_TUS = {};
+	/**
+	 * Fraction of the database lost to free blocks since the last compaction that triggers another
+	 * compaction.
+	 */
+	private static final double COMPACTION_THRESHOLD = 0.25;
+	private static final long MIN_COMPACTION_SIZE = 16 * 1024 * 1024;
 
 	private final IPDOMIndexer fIndexer;
 	private final int fUpdateOptions;
@@ -94,6 +107,52 @@ public class PDOMUpdateTask implements IPDOMIndexerTask {
 
 		if (fDelegate != null) {
 			fDelegate.run(monitor);
+			if (!monitor.isCanceled()) {
+				try {
+					compactIndex(project, monitor);
+				} catch (CoreException e) {
+					CCorePlugin.log(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates leave free blocks behind in the database. Once the blocks freed since the last
+	 * compaction make up a considerable part of the database it is compacted, while readers may
+	 * still access the index.
+	 */
+	private void compactIndex(ICProject project, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		IWritableIndex index = ((IWritableIndexManager) CCorePlugin.getIndexManager()).getWritableIndex(project);
+		if (index == null)
+			return;
+
+		YieldableIndexLock lock = new YieldableIndexLock(index, true, monitor);
+		lock.acquire();
+		try {
+			IWritableIndexFragment wf = index.getWritableFragment();
+			if (wf instanceof WritablePDOM) {
+				WritablePDOM pdom = (WritablePDOM) wf;
+				Database.Fragmentation before = pdom.getDB().getFragmentation();
+				// Compaction cannot reclaim the free blocks between live records, compare with what the
+				// last compaction left behind to avoid compacting after every update.
+				long freedSinceCompaction = before.getFreeBytes() - pdom.getFreeBytesAfterCompaction();
+				if (freedSinceCompaction >= COMPACTION_THRESHOLD * before.getSize()
+						&& before.getSize() >= MIN_COMPACTION_SIZE) {
+					long start = System.currentTimeMillis();
+					pdom.compact(lock);
+					if (PDOMIndexerTask.checkDebugOption(TRACE_STATISTICS, "true")) { //$NON-NLS-1$
+						System.out.println("C/C++ Indexer: Compacted index of project '" //$NON-NLS-1$
+								+ project.getElementName() + "' in " + (System.currentTimeMillis() - start) //$NON-NLS-1$
+								+ " ms, before: " + before + ", after: " + pdom.getDB().getFragmentation()); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+			}
+		} catch (FailedToReAcquireLockException e) {
+			e.reThrow();
+		} finally {
+			lock.release();
 		}
 	}
 
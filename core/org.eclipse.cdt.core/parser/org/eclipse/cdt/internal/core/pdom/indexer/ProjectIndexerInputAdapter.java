@@ -15,7 +15,8 @@
 package org.eclipse.cdt.internal.core.pdom.indexer;
 
 import java.io.File;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
@@ -33,6 +34,7 @@ import org.eclipse.cdt.core.parser.FileContent;
 import org.eclipse.cdt.core.parser.IScannerInfo;
 import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.parser.InternalParserUtil;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask.UnusedHeaderStrategy;
 import org.eclipse.cdt.internal.core.pdom.IndexerInputAdapter;
 import org.eclipse.cdt.internal.core.resources.PathCanonicalizationStrategy;
@@ -55,7 +57,7 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 	private static final AbstractLanguage[] NO_LANGUAGE = new AbstractLanguage[0];
 
 	private final ICProject fCProject;
-	private final HashMap<String, IIndexFileLocation> fIflCache;
+	private final Map<String, IIndexFileLocation> fIflCache;
 	private final FileExistsCache fExistsCache;
 	private AbstractLanguage fLangC;
 	private AbstractLanguage fLangCpp;
@@ -69,7 +71,7 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 		fCProject = cproject;
 		fProjectPrefix = cproject.getProject().getFullPath().toString() + IPath.SEPARATOR;
 		if (useCache) {
-			fIflCache = new HashMap<>();
+			fIflCache = new ConcurrentHashMap<>(); // Accessed by parallel parser threads.
 			fExistsCache = new FileExistsCache(isCaseInsensitiveFileSystem());
 		} else {
 			fIflCache = null;
@@ -138,6 +140,9 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 		if (fExistsCache != null) {
 			return fExistsCache.isFile(includePath);
 		}
+		if (DirectoryListingCache.isEnabled() && !UNCPathConverter.isUNC(includePath)) {
+			return DirectoryListingCache.getInstance().isFile(includePath, isCaseInsensitiveFileSystem());
+		}
 		return new File(includePath).isFile();
 	}
 
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parses the lines of a {@link MITranscript} like the receiving thread of {@code AbstractMIControl} does,
+ * with {@link MIParser} and with the {@link LegacyMIParser former parser}. Each invocation parses the
+ * complete transcript, the transcript is given with {@code -p transcript=<file>}, by default a synthetic
+ * one is used whose largest replies have {@code size} frames and children.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MIParserBenchmark {
+	@Param({ "" })
+	public String transcript;
+
+	@Param({ "1000", "50000" })
+	public int size;
+
+	private String[] fLines;
+	private MIParser.RecordType[] fTypes;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fLines = MITranscript.load(transcript, size);
+		fTypes = new MIParser.RecordType[fLines.length];
+		MIParser parser = new MIParser();
+		for (int i = 0; i < fLines.length; i++) {
+			fTypes[i] = parser.getRecordType(fLines[i]);
+		}
+	}
+
+	@Benchmark
+	public void parse(Blackhole bh) {
+		MIParser parser = new MIParser();
+		for (int i = 0; i < fLines.length; i++) {
+			if (fTypes[i] == MIParser.RecordType.ResultRecord) {
+				bh.consume(parser.parseMIResultRecord(fLines[i]));
+			} else {
+				bh.consume(parser.parseMIOOBRecord(fLines[i]));
+			}
+		}
+	}
+
+	@Benchmark
+	public void parseLegacy(Blackhole bh) {
+		LegacyMIParser parser = new LegacyMIParser();
+		for (int i = 0; i < fLines.length; i++) {
+			if (fTypes[i] == MIParser.RecordType.ResultRecord) {
+				bh.consume(parser.parseMIResultRecord(fLines[i]));
+			} else {
+				bh.consume(parser.parseMIOOBRecord(fLines[i]));
+			}
+		}
+	}
+}
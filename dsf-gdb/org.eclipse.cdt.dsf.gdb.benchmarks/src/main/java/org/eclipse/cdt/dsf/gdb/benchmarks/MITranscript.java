@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The lines of output of GDB/MI to parse. A transcript is either the plain output of GDB, one MI record
+ * per line, or the contents of the 'gdb traces' console, where each line starts with a time stamp and
+ * long lines are split into chunks ending with a backslash. Only the result and out of band records are
+ * kept, the commands sent to GDB and the prompts are dropped.
+ */
+final class MITranscript {
+	/**
+	 * The time stamp written by {@code GdbPlugin.getDebugTime()} in front of each line of the traces.
+	 */
+	private static final Pattern TIME_STAMP = Pattern.compile("^\\d{3},\\d{3} ");
+
+	private MITranscript() {
+	}
+
+	/**
+	 * Loads the transcript in the given file, or creates a synthetic one with the given number
+	 * of frames and children if the path is empty.
+	 */
+	static String[] load(String path, int size) throws IOException {
+		if (path.isEmpty())
+			return synthetic(size);
+
+		try (InputStream in = new FileInputStream(path)) {
+			return read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+		}
+	}
+
+	static String[] read(BufferedReader reader) throws IOException {
+		List<String> lines = new ArrayList<>();
+		StringBuilder chunks = new StringBuilder();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (chunks.length() == 0) {
+				line = TIME_STAMP.matcher(line).replaceFirst("");
+			}
+			if (line.endsWith("\\")) {
+				chunks.append(line, 0, line.length() - 1);
+				continue;
+			}
+			if (chunks.length() != 0) {
+				line = chunks.append(line).toString();
+				chunks.setLength(0);
+			}
+			if (isRecord(line)) {
+				lines.add(line);
+			}
+		}
+		return lines.toArray(new String[lines.size()]);
+	}
+
+	/**
+	 * Returns whether the line is a result record or an out of band record of GDB.
+	 */
+	private static boolean isRecord(String line) {
+		int i = 0;
+		while (i < line.length() && Character.isDigit(line.charAt(i))) {
+			i++;
+		}
+		return i < line.length() && "^*+=~@&".indexOf(line.charAt(i)) >= 0;
+	}
+
+	/**
+	 * Creates the replies to the commands that produce the largest lines: the frames of a deep
+	 * recursion, the children of a large array and the registers of the target, followed by
+	 * the stop event and some console output like they occur when stepping.
+	 */
+	static String[] synthetic(int size) {
+		List<String> lines = new ArrayList<>();
+		lines.add("=thread-group-started,id=\"i1\",pid=\"4242\"");
+		lines.add("=thread-created,id=\"1\",group-id=\"i1\"");
+		lines.add("~\"Breakpoint 1, recurse (depth=0) at main.c:12\\n\"");
+		lines.add("*stopped,reason=\"breakpoint-hit\",disp=\"keep\",bkptno=\"1\",frame={addr=\"0x0000555555555149\","
+				+ "func=\"recurse\",args=[{name=\"depth\",value=\"0\"}],file=\"main.c\",fullname=\"/home/user/main.c\","
+				+ "line=\"12\",arch=\"i386:x86-64\"},thread-id=\"1\",stopped-threads=\"all\",core=\"3\"");
+
+		StringBuilder frames = new StringBuilder("12^done,stack=[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				frames.append(',');
+			}
+			frames.append("frame={level=\"").append(i).append("\",addr=\"0x0000555555555149\",func=\"recurse\",")
+					.append("file=\"main.c\",fullname=\"/home/user/main.c\",line=\"12\",arch=\"i386:x86-64\"}");
+		}
+		lines.add(frames.append(']').toString());
+
+		StringBuilder children = new StringBuilder("13^done,numchild=\"").append(size).append("\",children=[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				children.append(',');
+			}
+			children.append("child={name=\"var1.").append(i).append("\",exp=\"").append(i)
+					.append("\",numchild=\"0\",value=\"0x5555555592a0 \\\"item ").append(i)
+					.append("\\\"\",type=\"const char *\",thread-id=\"1\"}");
+		}
+		lines.add(children.append("],has_more=\"0\"").toString());
+
+		StringBuilder registers = new StringBuilder("14^done,register-values=[");
+		for (int i = 0; i < 200; i++) {
+			if (i > 0) {
+				registers.append(',');
+			}
+			registers.append("{number=\"").append(i).append("\",value=\"0x").append(Integer.toHexString(i * 4099))
+					.append("\"}");
+		}
+		lines.add(registers.append(']').toString());
+
+		for (int i = 0; i < 20; i++) {
+			lines.add("&\"next\\n\"");
+			lines.add((15 + i) + "^running");
+			lines.add("*running,thread-id=\"all\"");
+			lines.add("*stopped,reason=\"end-stepping-range\",frame={addr=\"0x0000555555555160\",func=\"recurse\","
+					+ "args=[{name=\"depth\",value=\"" + i + "\"}],file=\"main.c\",fullname=\"/home/user/main.c\","
+					+ "line=\"13\",arch=\"i386:x86-64\"},thread-id=\"1\",stopped-threads=\"all\",core=\"3\"");
+		}
+		return lines.toArray(new String[lines.size()]);
+	}
+}
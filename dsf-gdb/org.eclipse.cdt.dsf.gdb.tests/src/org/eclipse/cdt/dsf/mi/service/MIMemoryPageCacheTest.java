@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Test;
+
+public class MIMemoryPageCacheTest {
+	private static final int PAGE_SIZE = 16;
+	private static final long MAX_32 = 0xffffffffL;
+
+	private static MemoryByte[] block(int length, int value) {
+		MemoryByte[] block = new MemoryByte[length];
+		for (int i = 0; i < length; i++) {
+			block[i] = new MemoryByte((byte) (value + i));
+		}
+		return block;
+	}
+
+	private static void assertRanges(List<long[]> ranges, long... expected) {
+		assertEquals(expected.length / 2, ranges.size());
+		for (int i = 0; i < ranges.size(); i++) {
+			assertArrayEquals(new long[] { expected[2 * i], expected[2 * i + 1] }, ranges.get(i));
+		}
+	}
+
+	@Test
+	public void testMissingRangesAreAlignedToPages() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(1, PAGE_SIZE, 1024, MAX_32);
+		assertRanges(cache.getMissingRanges(0x1008, 0x10, 0), 0x1000, 0x20);
+		assertRanges(cache.getMissingRanges(0x1008, 0x10, 2), 0x1000, 0x40);
+
+		cache.put(0x1010, block(PAGE_SIZE, 0), cache.getGeneration());
+		assertRanges(cache.getMissingRanges(0x1008, 0x20, 1), 0x1000, 0x10, 0x1020, 0x20);
+		// No read ahead if the end of the request is cached
+		assertRanges(cache.getMissingRanges(0x1008, 0x10, 1), 0x1000, 0x10);
+		assertTrue(cache.getMissingRanges(0x1010, 0x10, 1).isEmpty());
+	}
+
+	@Test
+	public void testMissingRangesAtEndOfAddressSpace() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(1, PAGE_SIZE, 1024, MAX_32);
+		assertRanges(cache.getMissingRanges(0xfffffff8L, 0x100, 4), 0xfffffff0L, 0x10);
+
+		MIMemoryPageCache cache64 = new MIMemoryPageCache(1, PAGE_SIZE, 1024, -1L);
+		assertRanges(cache64.getMissingRanges(0xfffffffffffffff8L, 8, 4), 0xfffffffffffffff0L, 0x10);
+	}
+
+	@Test
+	public void testOnlyCompletePagesAreCached() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(1, PAGE_SIZE, 1024, MAX_32);
+		// The block starts and ends in the middle of a page
+		cache.put(0x1008, block(3 * PAGE_SIZE, 0), cache.getGeneration());
+		assertEquals(2 * PAGE_SIZE, cache.getSize());
+		assertRanges(cache.getMissingRanges(0x1000, 0x40, 0), 0x1000, 0x10, 0x1030, 0x10);
+
+		MemoryByte[] result = new MemoryByte[PAGE_SIZE];
+		cache.copyTo(0x1010, result);
+		assertEquals(8, result[0].getValue());
+
+		// Nothing is cached from a block within a single page
+		cache = new MIMemoryPageCache(1, PAGE_SIZE, 1024, MAX_32);
+		cache.put(0xfffffff4L, block(8, 0), cache.getGeneration());
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void testCopy() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(2, PAGE_SIZE, 1024, MAX_32);
+		cache.put(0x20, block(4 * PAGE_SIZE, 0), cache.getGeneration());
+		assertEquals(4 * PAGE_SIZE, cache.getSize());
+
+		MemoryByte[] result = new MemoryByte[2 * 0x20];
+		cache.copyTo(0x18, result);
+		assertNull(result[0]);
+		assertNull(result[15]);
+		assertEquals(0, result[16].getValue());
+		assertEquals(47, result[63].getValue());
+		assertTrue(result[63].isReadable());
+	}
+
+	@Test
+	public void testIncompletePagesAreNotCached() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(1, PAGE_SIZE, 1024, MAX_32);
+		cache.put(0, block(PAGE_SIZE + 4, 0), cache.getGeneration());
+		assertEquals(PAGE_SIZE, cache.getSize());
+		assertFalse(cache.containsAny(PAGE_SIZE, 1));
+	}
+
+	@Test
+	public void testInvalidateRange() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(1, PAGE_SIZE, 1024, MAX_32);
+		long generation = cache.getGeneration();
+		cache.put(0, block(4 * PAGE_SIZE, 0), generation);
+
+		cache.invalidate(0x14, 0x10);
+		assertTrue(cache.containsAny(0, 0x10));
+		assertFalse(cache.containsAny(0x10, 0x20));
+		assertTrue(cache.containsAny(0x30, 0x10));
+		assertEquals(2 * PAGE_SIZE, cache.getSize());
+
+		// Memory read before the invalidation is outdated
+		cache.put(0x10, block(2 * PAGE_SIZE, 0), generation);
+		assertFalse(cache.containsAny(0x10, 0x20));
+	}
+
+	@Test
+	public void testUpdate() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(1, PAGE_SIZE, 1024, MAX_32);
+		cache.put(0, block(PAGE_SIZE, 0), cache.getGeneration());
+
+		assertFalse(cache.update(0, block(4, 0)));
+		assertTrue(cache.update(0x0c, block(8, 100)));
+		assertFalse(cache.containsAny(0x10, 4));
+
+		MemoryByte[] result = new MemoryByte[PAGE_SIZE];
+		cache.copyTo(0, result);
+		assertEquals(11, result[11].getValue());
+		assertEquals(103, result[15].getValue());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedPagesAreEvicted() {
+		MIMemoryPageCache cache = new MIMemoryPageCache(1, PAGE_SIZE, 3 * PAGE_SIZE, MAX_32);
+		cache.put(0, block(3 * PAGE_SIZE, 0), cache.getGeneration());
+		cache.copyTo(0, new MemoryByte[1]);
+
+		cache.put(0x100, block(PAGE_SIZE, 0), cache.getGeneration());
+		assertEquals(3 * PAGE_SIZE, cache.getSize());
+		assertTrue(cache.containsAny(0, 1));
+		assertFalse(cache.containsAny(0x10, 1));
+		assertTrue(cache.containsAny(0x20, 1));
+		assertTrue(cache.containsAny(0x100, 1));
+
+		cache.clear();
+		assertEquals(0, cache.getSize());
+		assertFalse(cache.containsAny(0, 0x1000));
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIVarChange;
+import org.junit.Test;
+
+/**
+ * Tests the processing of batched variable object updates and the windows of array elements created
+ * together, see {@link MIVariableManager}.
+ */
+public class MIVariableManagerBatchTest {
+	private static final int WINDOW = MIVariableManager.ARRAY_ELEMENTS_WINDOW;
+
+	private static MIVarChange[] changes(String... names) {
+		MIVarChange[] changes = new MIVarChange[names.length];
+		for (int i = 0; i < names.length; i++) {
+			changes[i] = new MIVarChange(names[i]);
+		}
+		return changes;
+	}
+
+	private static void assertNames(MIVarChange[] changes, String... expected) {
+		String[] names = new String[changes.length];
+		for (int i = 0; i < changes.length; i++) {
+			names[i] = changes[i].getVarName();
+		}
+		assertArrayEquals(expected, names);
+	}
+
+	@Test
+	public void testChangesAreGroupedByRoot() {
+		Map<String, List<MIVarChange>> changesByRoot = MIVariableManager.groupChangesByRoot(
+				changes("var1", "var1.public.x", "var2.1", "var12", "var1.public.y", "var2"));
+		assertEquals(3, changesByRoot.size());
+
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var1"),
+				"var1", "var1.public.x", "var1.public.y");
+		// The change of the root comes first, even if GDB reported a child before it
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var2"), "var2", "var2.1");
+		// A root whose name starts with the name of another root is a root of its own
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var12"), "var12");
+		assertTrue(changesByRoot.isEmpty());
+	}
+
+	@Test
+	public void testChildrenWithoutTheirRoot() {
+		Map<String, List<MIVarChange>> changesByRoot = MIVariableManager
+				.groupChangesByRoot(changes("var3.[0]", "var3.[1]"));
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var3"), "var3.[0]", "var3.[1]");
+	}
+
+	@Test
+	public void testRootsMissingFromTheReply() {
+		Map<String, List<MIVarChange>> changesByRoot = MIVariableManager.groupChangesByRoot(changes("var1"));
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var2"));
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var1"), "var1");
+		// The changes of a root are only processed once
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var1"));
+
+		changesByRoot = MIVariableManager.groupChangesByRoot(new MIVarChange[0]);
+		assertNames(MIVariableManager.removeChangesOfRoot(changesByRoot, "var1"));
+	}
+
+	@Test
+	public void testArrayElementsWindow() {
+		assertArrayEquals(new int[] { 0, WINDOW }, MIVariableManager.getArrayElementsWindow(0, 1000));
+		assertArrayEquals(new int[] { 0, WINDOW }, MIVariableManager.getArrayElementsWindow(WINDOW - 1, 1000));
+		assertArrayEquals(new int[] { WINDOW, 2 * WINDOW },
+				MIVariableManager.getArrayElementsWindow(WINDOW + WINDOW / 2, 1000));
+	}
+
+	@Test
+	public void testArrayElementsWindowAtEndOfArray() {
+		assertArrayEquals(new int[] { 0, 1 }, MIVariableManager.getArrayElementsWindow(0, 1));
+		assertArrayEquals(new int[] { 0, WINDOW / 2 }, MIVariableManager.getArrayElementsWindow(3, WINDOW / 2));
+		assertArrayEquals(new int[] { WINDOW, WINDOW + 5 },
+				MIVariableManager.getArrayElementsWindow(WINDOW + 4, WINDOW + 5));
+		assertArrayEquals(new int[] { 2 * WINDOW, 2 * WINDOW + 1 },
+				MIVariableManager.getArrayElementsWindow(2 * WINDOW, 2 * WINDOW + 1));
+	}
+}
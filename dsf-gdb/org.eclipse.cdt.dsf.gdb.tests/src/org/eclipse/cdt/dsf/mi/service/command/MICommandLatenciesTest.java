@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class MICommandLatenciesTest {
+	private static final long MICROS = 1000;
+
+	@Test
+	public void testBuckets() {
+		MICommandLatencies latencies = new MICommandLatencies();
+		latencies.record("-stack-list-frames", 0);
+		latencies.record("-stack-list-frames", 3 * MICROS);
+		latencies.record("-stack-list-frames", 1000 * MICROS);
+		latencies.record("-stack-list-frames", Long.MAX_VALUE);
+
+		long[] expected = new long[MICommandLatencies.BUCKETS];
+		expected[0] = 1;
+		expected[1] = 1; // [2, 4)
+		expected[9] = 1; // [512, 1024)
+		expected[MICommandLatencies.BUCKETS - 1] = 1;
+		assertArrayEquals(expected, latencies.getHistogram("-stack-list-frames"));
+		assertEquals(4, latencies.getCount("-stack-list-frames"));
+		assertEquals(512, MICommandLatencies.getLowerBound(9));
+	}
+
+	@Test
+	public void testPercentiles() {
+		MICommandLatencies latencies = new MICommandLatencies();
+		for (int i = 0; i < 90; i++) {
+			latencies.record("-thread-info", 100 * MICROS);
+		}
+		for (int i = 0; i < 10; i++) {
+			latencies.record("-thread-info", 5000 * MICROS);
+		}
+		assertEquals(128, latencies.getPercentile("-thread-info", 50));
+		assertEquals(128, latencies.getPercentile("-thread-info", 90));
+		assertEquals(8192, latencies.getPercentile("-thread-info", 99));
+		assertEquals(0, latencies.getPercentile("-var-update", 50));
+	}
+
+	@Test
+	public void testOperations() {
+		MICommandLatencies latencies = new MICommandLatencies();
+		latencies.record("-var-update", MICROS);
+		latencies.record("-break-list", MICROS);
+		assertEquals(Arrays.asList("-break-list", "-var-update"), latencies.getOperations().stream().toList());
+		assertTrue(latencies.toString().contains("-var-update"));
+
+		latencies.reset();
+		assertTrue(latencies.getOperations().isEmpty());
+		assertEquals(0, latencies.getCount("-var-update"));
+	}
+}
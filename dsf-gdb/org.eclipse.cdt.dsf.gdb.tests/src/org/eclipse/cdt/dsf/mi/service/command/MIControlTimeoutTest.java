@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarEvaluateExpression;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIVarEvaluateExpressionInfo;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.core.runtime.IStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Verifies that the commands queued behind a timed out command, and the commands coalesced with it,
+ * still complete.
+ */
+public class MIControlTimeoutTest {
+	private static final long TIMEOUT = 10000;
+	private static final int STATUS_CODE_TIMED_OUT = 12345;
+
+	private DsfSession fSession;
+	private TestControl fControl;
+	private FakeGdb fGdb;
+
+	/**
+	 * Answers every command, except the ones for the variable objects named "hang".
+	 */
+	private static class FakeGdb extends Thread {
+		final BufferedReader fCommands;
+		final OutputStream fResults;
+		final BlockingQueue<String> fReceived = new LinkedBlockingQueue<>();
+
+		FakeGdb(PipedOutputStream commands, PipedInputStream results) throws IOException {
+			super("Fake GDB");
+			fCommands = new BufferedReader(new InputStreamReader(new PipedInputStream(commands)));
+			fResults = new PipedOutputStream(results);
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				String line;
+				while ((line = fCommands.readLine()) != null) {
+					fReceived.add(line);
+					if (!line.endsWith(" hang")) {
+						String token = line.substring(0, line.indexOf('-'));
+						fResults.write((token + "^done,value=\"1\"\n").getBytes());
+						fResults.flush();
+					}
+				}
+				fResults.close();
+			} catch (IOException e) {
+				// The control was shut down
+			}
+		}
+	}
+
+	private static class TestControl extends AbstractMIControl {
+		private MIControlDMContext fContext;
+
+		TestControl(DsfSession session) {
+			super(session, false, true, new CommandFactory());
+			fContext = new MIControlDMContext(session.getId(), getId());
+		}
+
+		@Override
+		protected boolean isConcurrentCommandsSupported() {
+			// A single command on the wire, the others wait in the queue
+			return false;
+		}
+
+		@Override
+		protected BundleContext getBundleContext() {
+			return GdbPlugin.getBundleContext();
+		}
+
+		@Override
+		public MIControlDMContext getControlDMContext() {
+			return fContext;
+		}
+
+		@Override
+		public ICommandControlDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public String getId() {
+			return "test";
+		}
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+		PipedOutputStream commands = new PipedOutputStream();
+		PipedInputStream results = new PipedInputStream();
+		fGdb = new FakeGdb(commands, results);
+		fControl = fSession.getExecutor().submit(() -> {
+			TestControl control = new TestControl(fSession);
+			control.startCommandProcessing(results, commands);
+			return control;
+		}).get();
+		fGdb.start();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fSession.getExecutor().submit(() -> {
+			fControl.stopCommandProcessing();
+			DsfSession.endSession(fSession);
+		}).get();
+		fSession.getExecutor().shutdown();
+		fGdb.join(TIMEOUT);
+	}
+
+	/**
+	 * Queues commands for the given variable objects in a single dispatch cycle, such that identical
+	 * commands are coalesced.
+	 */
+	private List<CompletableFuture<IStatus>> queueCommands(List<ICommandToken> tokens, String... names)
+			throws Exception {
+		return fSession.getExecutor().submit(() -> {
+			List<CompletableFuture<IStatus>> results = new ArrayList<>();
+			for (String name : names) {
+				final CompletableFuture<IStatus> result = new CompletableFuture<>();
+				tokens.add(fControl.queueCommand(new MIVarEvaluateExpression(fControl.getContext(), name),
+						new DataRequestMonitor<MIVarEvaluateExpressionInfo>(fSession.getExecutor(), null) {
+							@Override
+							protected void handleCompleted() {
+								result.complete(getStatus());
+							}
+						}));
+				results.add(result);
+			}
+			return results;
+		}).get();
+	}
+
+	private void timeOut(List<ICommandToken> tokens, List<CompletableFuture<IStatus>> results, int index)
+			throws Exception {
+		String sent = fGdb.fReceived.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+		assertNotNull(sent);
+		assertTrue(sent.endsWith(" hang"));
+		// The other commands wait for the one on the wire
+		assertFalse(results.get(2).isDone());
+
+		fSession.getExecutor()
+				.submit(() -> fControl.commandFailed(tokens.get(index), STATUS_CODE_TIMED_OUT, "Timed out"))
+				.get();
+	}
+
+	private void assertCompleted(List<CompletableFuture<IStatus>> results) throws Exception {
+		for (int i = 0; i < results.size(); i++) {
+			IStatus status = results.get(i).get(TIMEOUT, TimeUnit.MILLISECONDS);
+			if (i < 2) {
+				assertEquals(STATUS_CODE_TIMED_OUT, status.getCode());
+			} else {
+				assertTrue(status.isOK());
+			}
+		}
+	}
+
+	@Test
+	public void testCommandsCompleteAfterTimeout() throws Exception {
+		List<ICommandToken> tokens = new ArrayList<>();
+		List<CompletableFuture<IStatus>> results = queueCommands(tokens, "hang", "hang", "x", "x");
+		timeOut(tokens, results, 0);
+		assertCompleted(results);
+	}
+
+	@Test
+	public void testCoalescedCommandTimesOut() throws Exception {
+		List<ICommandToken> tokens = new ArrayList<>();
+		List<CompletableFuture<IStatus>> results = queueCommands(tokens, "hang", "hang", "x", "x");
+		timeOut(tokens, results, 1);
+		assertCompleted(results);
+	}
+}
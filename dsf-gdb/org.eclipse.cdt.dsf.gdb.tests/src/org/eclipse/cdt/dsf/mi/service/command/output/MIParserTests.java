@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MIParserTests {
+	private final MIParser fParser = new MIParser();
+
+	private static String value(MIResult result) {
+		return ((MIConst) result.getMIValue()).getCString();
+	}
+
+	@Test
+	public void testRecordType() {
+		assertEquals(MIParser.RecordType.ResultRecord, fParser.getRecordType("12^done"));
+		assertEquals(MIParser.RecordType.PrimaryPrompt, fParser.getRecordType("(gdb) "));
+		assertEquals(MIParser.RecordType.OOBRecord, fParser.getRecordType("*stopped"));
+	}
+
+	@Test
+	public void testResultRecord() {
+		MIResultRecord rr = fParser
+				.parseMIResultRecord("42^done,bkpt={number=\"1\",thread-groups=[\"i1\",\"i2\"]},value=\"a\\\"b\\\\c\\n\"");
+		assertEquals(42, rr.getToken());
+		assertEquals(MIResultRecord.DONE, rr.getResultClass());
+		MIResult[] results = rr.getMIResults();
+		assertEquals(2, results.length);
+		assertEquals("bkpt", results[0].getVariable());
+		MITuple bkpt = (MITuple) results[0].getMIValue();
+		assertEquals("1", value(bkpt.getMIResults()[0]));
+		MIList groups = (MIList) bkpt.getMIResults()[1].getMIValue();
+		assertEquals(2, groups.getMIValues().length);
+		assertEquals("i2", ((MIConst) groups.getMIValues()[1]).getCString());
+		assertEquals("a\"b\\c\\n", value(results[1]));
+	}
+
+	@Test
+	public void testResultRecordWithoutToken() {
+		MIResultRecord rr = fParser.parseMIResultRecord("^error,msg=\"No symbol \\\"x\\\" in current context.\"");
+		assertEquals(-1, rr.getToken());
+		assertEquals(MIResultRecord.ERROR, rr.getResultClass());
+		assertEquals("No symbol \"x\" in current context.", value(rr.getMIResults()[0]));
+	}
+
+	@Test
+	public void testAsyncRecord() {
+		MIExecAsyncOutput exec = (MIExecAsyncOutput) fParser
+				.parseMIOOBRecord("*stopped,reason=\"end-stepping-range\",frame={args=[{name=\"a\",value=\"1\"}]}");
+		assertEquals("stopped", exec.getAsyncClass());
+		assertEquals(2, exec.getMIResults().length);
+
+		MINotifyAsyncOutput notify = (MINotifyAsyncOutput) fParser.parseMIOOBRecord("=library-unloaded ");
+		assertEquals("library-unloaded", notify.getAsyncClass());
+	}
+
+	@Test
+	public void testValueOnlyResults() {
+		MINotifyAsyncOutput notify = (MINotifyAsyncOutput) fParser.parseMIOOBRecord("=cmd-param-changed,\"x\",{a=\"1\"}");
+		MIResult[] results = notify.getMIResults();
+		assertEquals(2, results.length);
+		assertEquals("", results[0].getVariable());
+		assertEquals("x", value(results[0]));
+		assertTrue(results[1].getMIValue() instanceof MITuple);
+	}
+
+	@Test
+	public void testStreamRecords() {
+		// Backslashes are not escaped in stream records.
+		MIStreamRecord console = (MIStreamRecord) fParser.parseMIOOBRecord("~\"C:\\\\dir \\\"x\\\"\\n\"");
+		assertTrue(console instanceof MIConsoleStreamOutput);
+		assertEquals("C:\\\\dir \"x\"\\n", console.getCString());
+		assertTrue(fParser.parseMIOOBRecord("&\"log\"") instanceof MILogStreamOutput);
+		assertTrue(fParser.parseMIOOBRecord("@\"target\"") instanceof MITargetStreamOutput);
+
+		MIStreamRecord garbage = (MIStreamRecord) fParser.parseMIOOBRecord("not MI");
+		assertTrue(garbage instanceof MITargetStreamOutput);
+		assertEquals("not MI\n", garbage.getCString());
+	}
+
+	@Test
+	public void testUnterminatedString() {
+		MIResultRecord rr = fParser.parseMIResultRecord("^done,a=\"abc");
+		assertEquals("abc", value(rr.getMIResults()[0]));
+	}
+
+	@Test
+	public void testLargeList() {
+		StringBuilder line = new StringBuilder("^done,stack=[");
+		for (int i = 0; i < 10000; i++) {
+			line.append(i == 0 ? "" : ",").append("frame={level=\"").append(i).append("\",func=\"f\"}");
+		}
+		MIResultRecord rr = fParser.parseMIResultRecord(line.append(']').toString());
+		MIResult[] frames = ((MIList) rr.getMIResults()[0].getMIValue()).getMIResults();
+		assertEquals(10000, frames.length);
+		MIResult level = ((MITuple) frames[9999].getMIValue()).getMIResults()[0];
+		assertEquals("9999", value(level));
+		// The variable names are shared.
+		assertSame(frames[0].getVariable(), frames[9999].getVariable());
+	}
+}
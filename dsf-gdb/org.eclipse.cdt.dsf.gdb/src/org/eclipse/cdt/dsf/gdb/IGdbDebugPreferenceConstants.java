@@ -261,4 +261,66 @@ public interface IGdbDebugPreferenceConstants {
 	 * @since 6.5
 	 */
 	public static final int SUSPEND_TIMEOUT_VALUE_DEFAULT = 10;
+
+	/**
+	 * The maximum number of MI commands that are sent to GDB before the results of the previous ones
+	 * have been received. Only used with versions of GDB that handle concurrent commands correctly.
+	 * Default is {@value #MAX_COMMANDS_IN_FLIGHT_DEFAULT}.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MAX_COMMANDS_IN_FLIGHT = "maxCommandsInFlight"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MAX_COMMANDS_IN_FLIGHT}
+	 *
+	 * @since 7.2
+	 */
+	public static final int MAX_COMMANDS_IN_FLIGHT_DEFAULT = 3;
+
+	/**
+	 * Whether variable objects are updated and created in batches: all variable objects are updated with
+	 * a single command when the first of them is needed after the target stopped, provided the views
+	 * needed all of them during the previous stop, and the elements of arrays are created together with
+	 * their neighbors.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_BATCH_VARIABLE_OBJECTS = "batchVariableObjects"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_BATCH_VARIABLE_OBJECTS}
+	 *
+	 * @since 7.2
+	 */
+	public static final boolean BATCH_VARIABLE_OBJECTS_DEFAULT = true;
+
+	/**
+	 * The maximum number of command results cached by all the services of a debug session together.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_COMMAND_CACHE_SIZE = "commandCacheSize"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_COMMAND_CACHE_SIZE}
+	 *
+	 * @since 7.2
+	 */
+	public static final int COMMAND_CACHE_SIZE_DEFAULT = 20000;
+
+	/**
+	 * The maximum number of command results a service caches for a single context, e.g., a thread or
+	 * a stack frame.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_COMMAND_CACHE_CONTEXT_SIZE = "commandCacheContextSize"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_COMMAND_CACHE_CONTEXT_SIZE}
+	 *
+	 * @since 7.2
+	 */
+	public static final int COMMAND_CACHE_CONTEXT_SIZE_DEFAULT = 1000;
 }
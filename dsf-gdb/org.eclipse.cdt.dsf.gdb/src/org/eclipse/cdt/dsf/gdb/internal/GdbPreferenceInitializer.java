@@ -73,5 +73,13 @@ public class GdbPreferenceInitializer extends AbstractPreferenceInitializer {
 				IGDBLaunchConfigurationConstants.DEBUGGER_REMOTE_TIMEOUT_VALUE_DEFAULT);
 		node.putInt(IGdbDebugPreferenceConstants.PREF_SUSPEND_TIMEOUT_VALUE,
 				IGdbDebugPreferenceConstants.SUSPEND_TIMEOUT_VALUE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MAX_COMMANDS_IN_FLIGHT,
+				IGdbDebugPreferenceConstants.MAX_COMMANDS_IN_FLIGHT_DEFAULT);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_BATCH_VARIABLE_OBJECTS,
+				IGdbDebugPreferenceConstants.BATCH_VARIABLE_OBJECTS_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_SIZE,
+				IGdbDebugPreferenceConstants.COMMAND_CACHE_SIZE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_CONTEXT_SIZE,
+				IGdbDebugPreferenceConstants.COMMAND_CACHE_CONTEXT_SIZE_DEFAULT);
 	}
 }
@@ -31,6 +31,7 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup.ISourceLookupDMContext;
 import org.eclipse.cdt.dsf.debug.service.IStack;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandCacheService;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.internal.service.IGDBFocusSynchronizer;
 import org.eclipse.cdt.dsf.gdb.service.IGDBHardwareAndOS;
@@ -51,6 +52,19 @@ public class ServicesLaunchSequence extends Sequence {
 	private CSourceLookup fSourceLookup;
 
 	private Step[] fSteps = new Step[] { new Step() {
+		@Override
+		public void execute(RequestMonitor requestMonitor) {
+			// The command caches of the other services register with this service when they are created.
+			// It is a new service, don't require it to exist/be supported by a backend.
+			ICommandCacheService service = fLaunch.getServiceFactory().createService(ICommandCacheService.class,
+					fSession);
+			if (service != null) {
+				service.initialize(requestMonitor);
+			} else {
+				requestMonitor.done();
+			}
+		}
+	}, new Step() {
 		@Override
 		public void execute(RequestMonitor requestMonitor) {
 			fLaunch.getServiceFactory().createService(IMIBackend.class, fSession, fLaunch.getLaunchConfiguration())
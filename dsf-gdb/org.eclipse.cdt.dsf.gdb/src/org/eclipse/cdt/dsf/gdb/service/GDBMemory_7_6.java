@@ -138,30 +138,19 @@ public class GDBMemory_7_6 extends GDBMemory_7_0 implements IEventListener {
 							IContainerDMContext containerDmc = procService
 									.createContainerContextFromGroupId(fConnection.getContext(), groupId);
 
-							// Now refresh our memory cache, it case it contained this address.  Don't have
-							// it send the potential IMemoryChangedEvent as we will send it ourselves (see below).
+							// Only remove the pages of our memory cache that contain the modified memory, they
+							// are read again when needed.
 							final IMemoryDMContext memoryDMC = DMContexts.getAncestorOfType(containerDmc,
 									IMemoryDMContext.class);
 
 							final IAddress address = new Addr64(addr);
-							getMemoryCache(memoryDMC).refreshMemory(memoryDMC, address, 0,
-									getAddressableSize(memoryDMC), count, false,
-									new RequestMonitor(getExecutor(), null) {
-										@Override
-										protected void handleCompleted() {
-											// Only once the memory cache is updated, we send the IMemoryChangedEvent.  If we were to do it
-											// earlier, the memory view may not show the updated value.
-											//
-											// We must always send this event when GDB reports a memory change because it can mean that
-											// an expression or register has changed, and therefore we must notify the different views
-											// and services of it.  We cannot rely on this event to be sent by the memory cache after being
-											// refreshed, because if the memory cache does not contain this address, it will not send
-											// the event.
-											getSession().dispatchEvent(
-													new MemoryChangedEvent(memoryDMC, new IAddress[] { address }),
-													getProperties());
-										}
-									});
+							getMemoryCache(memoryDMC).invalidateMemory(address, count);
+
+							// We must always send this event when GDB reports a memory change because it can mean that
+							// an expression or register has changed, and therefore we must notify the different views
+							// and services of it.
+							getSession().dispatchEvent(new MemoryChangedEvent(memoryDMC, new IAddress[] { address }),
+									getProperties());
 						}
 					}
 				}
@@ -39,7 +39,10 @@ import org.eclipse.cdt.dsf.debug.service.IRegisters;
 import org.eclipse.cdt.dsf.debug.service.IRunControl;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup;
 import org.eclipse.cdt.dsf.debug.service.IStack;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCacheService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandCacheService;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.internal.service.GDBFocusSynchronizer;
 import org.eclipse.cdt.dsf.gdb.internal.service.IGDBFocusSynchronizer;
@@ -65,6 +68,7 @@ import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.dsf.service.IDsfService;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
@@ -178,6 +182,8 @@ public class GdbDebugServicesFactory extends AbstractDsfDebugServicesFactory {
 			return (V) createBreakpointsSynchronizerService(session);
 		} else if (IGDBFocusSynchronizer.class.isAssignableFrom(clazz)) {
 			return (V) createFocusSynchronizerService(session);
+		} else if (ICommandCacheService.class.isAssignableFrom(clazz)) {
+			return (V) createCommandCacheService(session);
 		}
 
 		return super.createService(clazz, session, optionalArguments);
@@ -395,6 +401,19 @@ public class GdbDebugServicesFactory extends AbstractDsfDebugServicesFactory {
 		return new GDBFocusSynchronizer(session);
 	}
 
+	/**
+	 * @since 7.2
+	 */
+	protected ICommandCacheService createCommandCacheService(DsfSession session) {
+		return new CommandCacheService(session,
+				Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+						IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_SIZE,
+						IGdbDebugPreferenceConstants.COMMAND_CACHE_SIZE_DEFAULT, null),
+				Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+						IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_CONTEXT_SIZE,
+						IGdbDebugPreferenceConstants.COMMAND_CACHE_CONTEXT_SIZE_DEFAULT, null));
+	}
+
 	/**
 	 * Compares the GDB version of the current debug session with the one specified by
 	 * parameter 'version'.  Returns -1, 0, or 1 if the current version is less than,
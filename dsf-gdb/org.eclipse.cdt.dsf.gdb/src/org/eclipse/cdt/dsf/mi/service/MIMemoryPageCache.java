@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * The memory of a target cached in pages of a fixed number of addressable units, aligned to
+ * their size. The pages are the disjoint intervals of an address-ordered tree, such that the
+ * pages overlapping a range of addresses are found in logarithmic time. The total size of the
+ * pages is bounded, the least recently used pages are evicted first.
+ * <p>
+ * Addresses are given in addressable units and compared as unsigned values. The cached bytes are
+ * kept as arrays of values and flags rather than {@link MemoryByte} objects, which take about ten
+ * times as much space. This class is not thread safe, it is used on the DSF executor thread.
+ */
+final class MIMemoryPageCache {
+	private static class Page {
+		final long fIndex;
+		final byte[] fValues;
+		final byte[] fFlags;
+
+		Page(long index, int lengthInOctets) {
+			fIndex = index;
+			fValues = new byte[lengthInOctets];
+			fFlags = new byte[lengthInOctets];
+		}
+	}
+
+	private final int fWordSize;
+	private final int fPageShift;
+	private final long fMaxAddress;
+	private final long fMaxSize;
+
+	/** The pages by their index, which is their start address divided by the page size. */
+	private final TreeMap<Long, Page> fPages = new TreeMap<>();
+	/** The same pages, from the least to the most recently used one. */
+	private final LinkedHashMap<Long, Page> fLruPages = new LinkedHashMap<>(16, 0.75f, true);
+	private long fSize;
+
+	/** Incremented whenever pages are invalidated, see {@link #put(long, MemoryByte[], long)}. */
+	private long fGeneration;
+
+	/**
+	 * @param wordSize the number of octets of an addressable unit
+	 * @param pageSize the number of addressable units of a page, a power of two
+	 * @param maxSize the maximum number of octets cached
+	 * @param maxAddress the highest address of the target, as an unsigned value
+	 */
+	MIMemoryPageCache(int wordSize, int pageSize, long maxSize, long maxAddress) {
+		assert Integer.bitCount(pageSize) == 1;
+		fWordSize = wordSize;
+		fPageShift = Integer.numberOfTrailingZeros(pageSize);
+		fMaxSize = maxSize;
+		fMaxAddress = maxAddress;
+	}
+
+	int getWordSize() {
+		return fWordSize;
+	}
+
+	long getMaxAddress() {
+		return fMaxAddress;
+	}
+
+	/**
+	 * Returns the number of octets cached.
+	 */
+	long getSize() {
+		return fSize;
+	}
+
+	/**
+	 * Returns the number of the current generation of the pages. Memory read before pages are
+	 * invalidated may be outdated and must not be cached anymore.
+	 */
+	long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Returns the address of the last unit of the range of the given length, limited to the highest
+	 * address of the target.
+	 */
+	private long last(long address, long count) {
+		long last = address + count - 1;
+		if (Long.compareUnsigned(last, address) < 0 || Long.compareUnsigned(last, fMaxAddress) > 0)
+			return fMaxAddress;
+		return last;
+	}
+
+	private long pageStart(long index) {
+		return index << fPageShift;
+	}
+
+	/**
+	 * Returns the address of the last unit of the given page.
+	 */
+	private long pageLast(long index) {
+		return last(pageStart(index), 1L << fPageShift);
+	}
+
+	/**
+	 * Returns the ranges to read from the target to cache the given range. The ranges are the pages
+	 * overlapping the given range that are not cached, where contiguous pages are merged. If the end of
+	 * the given range is missing, the last range also covers up to <code>readAheadPages</code> following
+	 * pages that are not cached.
+	 *
+	 * @return the ranges as pairs of the start address and the number of addressable units
+	 */
+	List<long[]> getMissingRanges(long address, int wordCount, int readAheadPages) {
+		List<long[]> ranges = new ArrayList<>();
+		if (wordCount <= 0)
+			return ranges;
+
+		long firstPage = address >>> fPageShift;
+		long lastPage = last(address, wordCount) >>> fPageShift;
+		long maxPage = fMaxAddress >>> fPageShift;
+		// Keep the octets of a single read within an int
+		long maxPagesPerRange = Math.max(1, (Integer.MAX_VALUE / fWordSize) >>> fPageShift);
+
+		long rangeFirstPage = -1;
+		long rangePages = 0;
+		for (long page = firstPage; Long.compareUnsigned(page, lastPage) <= 0; page++) {
+			if (fPages.containsKey(page)) {
+				if (rangePages > 0) {
+					ranges.add(range(rangeFirstPage, rangePages));
+					rangePages = 0;
+				}
+				continue;
+			}
+			if (rangePages == maxPagesPerRange) {
+				ranges.add(range(rangeFirstPage, rangePages));
+				rangePages = 0;
+			}
+			if (rangePages++ == 0) {
+				rangeFirstPage = page;
+			}
+		}
+
+		if (rangePages > 0) {
+			// The end of the range is missing, read ahead as long as the following pages are missing too
+			for (long page = lastPage + 1; page <= maxPage && page - lastPage <= readAheadPages
+					&& rangePages < maxPagesPerRange && !fPages.containsKey(page); page++) {
+				rangePages++;
+			}
+			ranges.add(range(rangeFirstPage, rangePages));
+		}
+		return ranges;
+	}
+
+	private long[] range(long firstPage, long pages) {
+		long start = pageStart(firstPage);
+		return new long[] { start, pageLast(firstPage + pages - 1) - start + 1 };
+	}
+
+	/**
+	 * Caches the memory read from the target at the given address. Only the pages completely covered
+	 * by the block are cached, and nothing if pages were invalidated since the given generation.
+	 */
+	void put(long address, MemoryByte[] block, long generation) {
+		if (generation != fGeneration)
+			return;
+
+		long index = address >>> fPageShift;
+		int pos = 0;
+		if (pageStart(index) != address) {
+			// Skip the part of the first page that is covered
+			pos = (int) (pageLast(index) - address + 1) * fWordSize;
+			index++;
+		}
+		for (; pos < block.length; index++) {
+			int length = (int) ((pageLast(index) - pageStart(index) + 1) * fWordSize);
+			if (pos + length > block.length)
+				break;
+
+			Page page = new Page(index, length);
+			for (int i = 0; i < length; i++) {
+				page.fValues[i] = block[pos + i].getValue();
+				page.fFlags[i] = block[pos + i].getFlags();
+			}
+			Page previous = fPages.put(index, page);
+			if (previous != null) {
+				fSize -= previous.fValues.length;
+			}
+			fLruPages.put(index, page);
+			fSize += length;
+			pos += length;
+		}
+
+		Iterator<Page> eldest = fLruPages.values().iterator();
+		while (fSize > fMaxSize && eldest.hasNext()) {
+			Page page = eldest.next();
+			eldest.remove();
+			fPages.remove(page.fIndex);
+			fSize -= page.fValues.length;
+		}
+	}
+
+	/**
+	 * Returns the cached pages overlapping the given range.
+	 */
+	private NavigableMap<Long, Page> getPages(long address, long wordCount) {
+		return fPages.subMap(address >>> fPageShift, true, last(address, wordCount) >>> fPageShift, true);
+	}
+
+	/**
+	 * Copies the cached part of the given range to the given block of <code>wordCount * wordSize</code>
+	 * octets. The octets that are not cached are left untouched.
+	 */
+	void copyTo(long address, MemoryByte[] block) {
+		int wordCount = block.length / fWordSize;
+		if (wordCount == 0)
+			return;
+
+		for (Page page : getPages(address, wordCount).values()) {
+			fLruPages.get(page.fIndex);
+			long start = pageStart(page.fIndex);
+			long from = Long.compareUnsigned(start, address) < 0 ? address : start;
+			long to = Math.min(pageLast(page.fIndex) - from, last(address, wordCount) - from) + 1;
+			int pagePos = (int) (from - start) * fWordSize;
+			int blockPos = (int) (from - address) * fWordSize;
+			for (int i = 0; i < to * fWordSize; i++) {
+				block[blockPos + i] = new MemoryByte(page.fValues[pagePos + i], page.fFlags[pagePos + i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether any part of the given range is cached.
+	 */
+	boolean containsAny(long address, int wordCount) {
+		return wordCount > 0 && !getPages(address, wordCount).isEmpty();
+	}
+
+	/**
+	 * Replaces the cached octets of the given range with the given block, the octets that are not
+	 * cached remain so.
+	 *
+	 * @return whether the value of any cached octet has changed
+	 */
+	boolean update(long address, MemoryByte[] block) {
+		int wordCount = block.length / fWordSize;
+		if (wordCount == 0)
+			return false;
+
+		boolean changed = false;
+		for (Page page : getPages(address, wordCount).values()) {
+			long start = pageStart(page.fIndex);
+			long from = Long.compareUnsigned(start, address) < 0 ? address : start;
+			long to = Math.min(pageLast(page.fIndex) - from, last(address, wordCount) - from) + 1;
+			int pagePos = (int) (from - start) * fWordSize;
+			int blockPos = (int) (from - address) * fWordSize;
+			for (int i = 0; i < to * fWordSize; i++) {
+				MemoryByte b = block[blockPos + i];
+				changed |= page.fValues[pagePos + i] != b.getValue();
+				page.fValues[pagePos + i] = b.getValue();
+				page.fFlags[pagePos + i] = b.getFlags();
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Removes the pages overlapping the given range.
+	 */
+	void invalidate(long address, long wordCount) {
+		fGeneration++;
+		if (wordCount <= 0)
+			return;
+
+		NavigableMap<Long, Page> pages = getPages(address, wordCount);
+		for (Page page : pages.values()) {
+			fLruPages.remove(page.fIndex);
+			fSize -= page.fValues.length;
+		}
+		pages.clear();
+	}
+
+	/**
+	 * Removes all pages.
+	 */
+	void clear() {
+		fGeneration++;
+		fPages.clear();
+		fLruPages.clear();
+		fSize = 0;
+	}
+}
@@ -59,6 +59,8 @@ import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
 import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser.GDBType;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionInfo;
@@ -95,6 +97,7 @@ import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfServicesTracker;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
 /**
@@ -399,6 +402,9 @@ public class MIVariableManager implements ICommandControl {
 
 		private boolean fFetchingChildren = false;
 
+		// Whether this object was created along with another element of its array, see createArrayElements()
+		private boolean fCreatedInWindow = false;
+
 		/**
 		 * In case of base class variables that are accessed in a derived class
 		 * we cannot trust var-info-path-expression because of a bug in gdb.
@@ -2169,6 +2175,15 @@ public class MIVariableManager implements ICommandControl {
 
 		private boolean fOutOfDate = false;
 
+		// Whether this root was brought up-to-date by a batch update it did not wait for
+		private boolean fUpdatedByBatch = false;
+
+		// The last generation during which a view needed this root, see freezeStaleRoots()
+		private int fRequestedGeneration = fUpdateGeneration;
+
+		// Whether this root is frozen in GDB, such that -var-update * does not evaluate it
+		private boolean fFrozen = false;
+
 		/**
 		 * A modifiable descendant is any variable object that is a descendant and
 		 * for which the value (leaf variable objects and dynamic variable objects)
@@ -2192,6 +2207,9 @@ public class MIVariableManager implements ICommandControl {
 
 		public void setOutOfDate(boolean outOfDate) {
 			fOutOfDate = outOfDate;
+			if (outOfDate) {
+				fUpdatedByBatch = false;
+			}
 		}
 
 		public boolean getOutOfDate() {
@@ -2302,6 +2320,7 @@ public class MIVariableManager implements ICommandControl {
 
 		@Override
 		public void update(final DataRequestMonitor<Boolean> rm) {
+			fRequestedGeneration = fUpdateGeneration;
 
 			if (isOutOfScope()) {
 				rm.setData(false);
@@ -2311,6 +2330,11 @@ public class MIVariableManager implements ICommandControl {
 				// so add RequestMonitor to pending queue
 				updatesPending.add(rm);
 			} else if (!getOutOfDate()) {
+				if (fUpdatedByBatch) {
+					// A batch update spared us our own -var-update
+					fUpdatedByBatch = false;
+					fSavedUpdateCommands++;
+				}
 				rm.setData(false);
 				rm.done();
 			} else {
@@ -2332,84 +2356,94 @@ public class MIVariableManager implements ICommandControl {
 				// The simplest way to do this is that whenever we change the format
 				// of a variable object, we immediately set it back to natural with a second
 				// var-set-format command.  This is done in the getValue() method
-				fCommandControl.queueCommand(
-						fCommandFactory.createMIVarUpdate(getRootToUpdate().getControlDMContext(), getGdbName()),
-						new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), rm) {
-							@Override
-							protected void handleCompleted() {
-								if (isSuccess()) {
-									setOutOfDate(false);
+				DataRequestMonitor<MIVarChange[]> updateRm = new DataRequestMonitor<MIVarChange[]>(
+						fSession.getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						if (isSuccess()) {
+							setOutOfDate(false);
+							processUpdate(getData(), rm);
+						} else {
+							// We were not able to update for some reason
+							currentState = STATE_READY;
 
-									MIVarChange[] changes = getData().getMIVarChanges();
-									if (changes.length > 0 && !changes[0].isInScope()) {
-										// Object is out-of-scope
-										currentState = STATE_READY;
+							rm.setData(false);
+							rm.done();
 
-										outOfScope = true;
+							while (!updatesPending.isEmpty()) {
+								DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+								pendingRm.setStatus(getStatus());
+								pendingRm.done();
+							}
+						}
+					}
+				};
 
-										// We can delete this root in GDB right away.  This is safe, even
-										// if the root has children, because they are also out-of-scope.
-										// We -must- also remove this entry from our LRU.  If we don't
-										// we can end-up with a race condition that create this object
-										// twice, or have an infinite loop while never re-creating the object.
-										// The can happen if we update a child first then we request
-										// the root later,
-										lruVariableList.remove(getInternalId());
+				if (fBatchVariableObjects) {
+					queueBatchUpdate(this, updateRm);
+				} else {
+					queueUpdate(this, updateRm);
+				}
+			}
+		}
 
-										rm.setData(true);
-										rm.done();
+		/**
+		 * Processes the changes reported by -var-update for this root, which is updating.
+		 */
+		private void processUpdate(MIVarChange[] changes, final DataRequestMonitor<Boolean> rm) {
+			if (changes.length > 0 && !changes[0].isInScope()) {
+				// Object is out-of-scope
+				currentState = STATE_READY;
 
-										while (!updatesPending.isEmpty()) {
-											DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-											pendingRm.setData(false);
-											pendingRm.done();
-										}
-									} else {
-										// The root object is now up-to-date, we must parse the changes, if any.
-										processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
-											@Override
-											protected void handleCompleted() {
-												currentState = STATE_READY;
-
-												// We only mark this root as updated in our list if it is in-scope.
-												// For out-of-scope object, we don't ever need to re-update them so
-												// we don't need to add them to this list.
-												rootVariableUpdated(MIRootVariableObject.this);
-
-												if (isSuccess()) {
-													rm.setData(false);
-												} else {
-													rm.setStatus(getStatus());
-												}
-												rm.done();
+				outOfScope = true;
 
-												while (!updatesPending.isEmpty()) {
-													DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-													if (isSuccess()) {
-														pendingRm.setData(false);
-													} else {
-														pendingRm.setStatus(getStatus());
-													}
-													pendingRm.done();
-												}
-											}
-										});
-									}
-								} else {
-									// We were not able to update for some reason
-									currentState = STATE_READY;
+				// We can delete this root in GDB right away.  This is safe, even
+				// if the root has children, because they are also out-of-scope.
+				// We -must- also remove this entry from our LRU.  If we don't
+				// we can end-up with a race condition that create this object
+				// twice, or have an infinite loop while never re-creating the object.
+				// The can happen if we update a child first then we request
+				// the root later,
+				lruVariableList.remove(getInternalId());
 
-									rm.setData(false);
-									rm.done();
+				rm.setData(true);
+				rm.done();
 
-									while (!updatesPending.isEmpty()) {
-										DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-										pendingRm.setStatus(getStatus());
-										pendingRm.done();
-									}
-								}
+				while (!updatesPending.isEmpty()) {
+					DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+					pendingRm.setData(false);
+					pendingRm.done();
+				}
+			} else {
+				// The root object is now up-to-date, we must parse the changes, if any.
+				processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						currentState = STATE_READY;
+
+						// We only mark this root as updated in our list if it is in-scope.
+						// For out-of-scope object, we don't ever need to re-update them so
+						// we don't need to add them to this list.
+						rootVariableUpdated(MIRootVariableObject.this);
+
+						if (isSuccess()) {
+							rm.setData(false);
+						} else {
+							rm.setStatus(getStatus());
+						}
+						rm.done();
+
+						while (!updatesPending.isEmpty()) {
+							DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+							if (isSuccess()) {
+								pendingRm.setData(false);
+							} else {
+								pendingRm.setStatus(getStatus());
 							}
-						});
+							pendingRm.done();
+						}
+					}
+				});
 			}
 		}
 
@@ -2642,6 +2676,28 @@ public class MIVariableManager implements ICommandControl {
 	/** The list of root variable objects that have been updated */
 	private final LinkedList<MIRootVariableObject> updatedRootList = new LinkedList<>();
 
+	/** The number of consecutive elements of an array created with a single -var-list-children */
+	static final int ARRAY_ELEMENTS_WINDOW = 100;
+
+	/**
+	 * Whether all roots are updated with a single -var-update and the elements of arrays are
+	 * created in windows, see {@link IGdbDebugPreferenceConstants#PREF_BATCH_VARIABLE_OBJECTS}
+	 */
+	private final boolean fBatchVariableObjects;
+
+	private final IRunControl fRunControl;
+
+	// Incremented each time all roots are marked as out-of-date
+	private int fUpdateGeneration = 0;
+	// The generation during which the last batch update was issued
+	private int fBatchUpdateGeneration = -1;
+	// The roots waiting for the batch update in progress, null if there is none
+	private Map<MIRootVariableObject, DataRequestMonitor<MIVarChange[]>> fBatchUpdateWaiting;
+
+	// The number of MI commands the batch mode has spared since the last suspend
+	private int fSavedUpdateCommands = 0;
+	private int fSavedCreateCommands = 0;
+
 	/**
 	 * MIVariableManager constructor
 	 *
@@ -2657,6 +2713,10 @@ public class MIVariableManager implements ICommandControl {
 		fStackService = tracker.getService(IStack.class);
 		fExpressionService = tracker.getService(IExpressions.class);
 		fCommandFactory = tracker.getService(IMICommandControl.class).getCommandFactory();
+		fRunControl = tracker.getService(IRunControl.class);
+		fBatchVariableObjects = Platform.getPreferencesService().getBoolean(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_BATCH_VARIABLE_OBJECTS,
+				IGdbDebugPreferenceConstants.BATCH_VARIABLE_OBJECTS_DEFAULT, null);
 
 		// Register to receive service events for this session.
 		fSession.addServiceEventListener(this, null);
@@ -2694,6 +2754,214 @@ public class MIVariableManager implements ICommandControl {
 		return lruVariableList;
 	}
 
+	/**
+	 * Returns the number of -var-update commands that were not needed since the last suspend, because
+	 * a single -var-update updated several roots.
+	 *
+	 * @since 7.2
+	 */
+	public int getSavedUpdateCommands() {
+		return fSavedUpdateCommands;
+	}
+
+	/**
+	 * Returns the number of -var-create commands that were not needed since the last suspend, because
+	 * the elements of arrays were created together.
+	 *
+	 * @since 7.2
+	 */
+	public int getSavedCreateCommands() {
+		return fSavedCreateCommands;
+	}
+
+	/**
+	 * Updates the given root on its own.
+	 */
+	private void queueUpdate(MIRootVariableObject root, final DataRequestMonitor<MIVarChange[]> rm) {
+		fCommandControl.queueCommand(fCommandFactory.createMIVarUpdate(root.getControlDMContext(), root.getGdbName()),
+				new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						rm.done(getData().getMIVarChanges());
+					}
+				});
+	}
+
+	/**
+	 * Updates the given root with all others in GDB, using a single <code>-var-update *</code>.  The first
+	 * root to be updated after the variable objects were marked as out-of-date issues the command, and the
+	 * roots that need an update before it completes wait for it.  Since GDB reports each change only once,
+	 * the changes of the roots that did not wait are processed as well.
+	 * <p>
+	 * GDB evaluates every variable object that is not frozen for <code>-var-update *</code>, so the roots
+	 * that are no longer displayed are frozen before, see {@link #freezeStaleRoots()}.  A frozen root is
+	 * unfrozen and updated on its own once a view needs it again.
+	 */
+	private void queueBatchUpdate(MIRootVariableObject root, DataRequestMonitor<MIVarChange[]> rm) {
+		if (root.fFrozen) {
+			root.fFrozen = false;
+			fCommandControl.queueCommand(
+					fCommandFactory.createMIVarSetFrozen(root.getControlDMContext(), root.getGdbName(), false),
+					new DataRequestMonitor<MIInfo>(fSession.getExecutor(), null));
+			// -var-update * of this generation may have skipped the root
+			queueUpdate(root, rm);
+			return;
+		}
+
+		if (fBatchUpdateWaiting != null && fBatchUpdateGeneration == fUpdateGeneration) {
+			fBatchUpdateWaiting.put(root, rm);
+			return;
+		}
+
+		if (fBatchUpdateGeneration == fUpdateGeneration) {
+			// The batch update of this generation missed this root, e.g., because its thread was running
+			queueUpdate(root, rm);
+			return;
+		}
+
+		freezeStaleRoots();
+
+		final int generation = fUpdateGeneration;
+		final Map<MIRootVariableObject, DataRequestMonitor<MIVarChange[]>> waiting = new LinkedHashMap<>();
+		waiting.put(root, rm);
+		fBatchUpdateGeneration = generation;
+		fBatchUpdateWaiting = waiting;
+
+		fCommandControl.queueCommand(fCommandFactory.createMIVarUpdate(root.getControlDMContext(), "*"), //$NON-NLS-1$
+				new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						if (fBatchUpdateWaiting == waiting) {
+							fBatchUpdateWaiting = null;
+						}
+
+						if (isSuccess()) {
+							processBatchUpdate(getData().getMIVarChanges(), waiting, generation);
+						} else {
+							for (DataRequestMonitor<MIVarChange[]> waitingRm : waiting.values()) {
+								waitingRm.setStatus(getStatus());
+								waitingRm.done();
+							}
+						}
+					}
+				});
+	}
+
+	/**
+	 * Freezes the roots that the views needed neither during this generation nor the previous one, e.g.,
+	 * the roots of a caller after stepping into a callee, such that <code>-var-update *</code> only
+	 * evaluates displayed roots.  The commands are queued before the batch update, GDB processes them first.
+	 */
+	private void freezeStaleRoots() {
+		for (MIVariableObject varObj : lruVariableList.values()) {
+			if (!(varObj instanceof MIRootVariableObject)) {
+				continue;
+			}
+
+			final MIRootVariableObject root = (MIRootVariableObject) varObj;
+			if (root.fFrozen || root.currentState != MIVariableObject.STATE_READY || root.isOutOfScope()
+					|| root.getGdbName() == null || root.fRequestedGeneration >= fUpdateGeneration - 1) {
+				continue;
+			}
+
+			root.fFrozen = true;
+			fCommandControl.queueCommand(
+					fCommandFactory.createMIVarSetFrozen(root.getControlDMContext(), root.getGdbName(), true),
+					new DataRequestMonitor<MIInfo>(fSession.getExecutor(), null) {
+						@Override
+						protected void handleFailure() {
+							// GDB keeps updating the root, its changes must be processed
+							root.fFrozen = false;
+						}
+					});
+		}
+	}
+
+	private void processBatchUpdate(MIVarChange[] changes,
+			Map<MIRootVariableObject, DataRequestMonitor<MIVarChange[]>> waiting, int generation) {
+		Map<String, List<MIVarChange>> changesByRoot = groupChangesByRoot(changes);
+
+		fSavedUpdateCommands += waiting.size() - 1;
+
+		for (Map.Entry<MIRootVariableObject, DataRequestMonitor<MIVarChange[]>> entry : waiting.entrySet()) {
+			entry.getValue().done(removeChangesOfRoot(changesByRoot, entry.getKey().getGdbName()));
+		}
+
+		// The other roots were updated in GDB too.  Their changes will not be reported again, so they
+		// must be processed now, even if the root remains out-of-date.
+		for (MIVariableObject varObj : new ArrayList<>(lruVariableList.values())) {
+			if (!(varObj instanceof MIRootVariableObject) || waiting.containsKey(varObj)) {
+				continue;
+			}
+
+			MIRootVariableObject root = (MIRootVariableObject) varObj;
+			if (root.currentState != MIVariableObject.STATE_READY || root.isOutOfScope()
+					|| root.getGdbName() == null || root.fFrozen) {
+				// GDB did not update a frozen root, it remains out-of-date
+				continue;
+			}
+
+			// GDB does not update the variable objects of running threads.  A root that was marked as
+			// out-of-date after the command was sent may have changed again.
+			boolean upToDate = generation == fUpdateGeneration && root.getOutOfDate() && isSuspended(root);
+			if (upToDate) {
+				root.setOutOfDate(false);
+				root.fUpdatedByBatch = true;
+			}
+
+			MIVarChange[] rootChanges = removeChangesOfRoot(changesByRoot, root.getGdbName());
+			if (rootChanges.length > 0) {
+				root.currentState = MIVariableObject.STATE_UPDATING;
+				root.processUpdate(rootChanges, new DataRequestMonitor<Boolean>(fSession.getExecutor(), null));
+			} else if (upToDate) {
+				rootVariableUpdated(root);
+			}
+		}
+	}
+
+	/**
+	 * Groups the changes reported by <code>-var-update *</code> by the GDB name of their root.  GDB names
+	 * the children after their root, e.g., var1.public.x, the change of a root comes first in its group.
+	 */
+	static Map<String, List<MIVarChange>> groupChangesByRoot(MIVarChange[] changes) {
+		Map<String, List<MIVarChange>> changesByRoot = new HashMap<>();
+		for (MIVarChange change : changes) {
+			String name = change.getVarName();
+			int dot = name.indexOf('.');
+			String rootName = dot < 0 ? name : name.substring(0, dot);
+			List<MIVarChange> rootChanges = changesByRoot.computeIfAbsent(rootName, n -> new ArrayList<>());
+			if (dot < 0) {
+				rootChanges.add(0, change);
+			} else {
+				rootChanges.add(change);
+			}
+		}
+		return changesByRoot;
+	}
+
+	/**
+	 * Removes the changes of the given root from the grouped changes, a root that GDB did not report
+	 * has not changed.
+	 */
+	static MIVarChange[] removeChangesOfRoot(Map<String, List<MIVarChange>> changesByRoot, String rootName) {
+		List<MIVarChange> rootChanges = changesByRoot.remove(rootName);
+		return rootChanges == null ? new MIVarChange[0] : rootChanges.toArray(new MIVarChange[0]);
+	}
+
+	/**
+	 * Returns the start and the end (exclusive) of the window of array elements that are created together
+	 * with the element at the given index.
+	 */
+	static int[] getArrayElementsWindow(int index, int length) {
+		int start = index - index % ARRAY_ELEMENTS_WINDOW;
+		return new int[] { start, Math.min(start + ARRAY_ELEMENTS_WINDOW, length) };
+	}
+
+	private boolean isSuspended(MIRootVariableObject root) {
+		IExecutionDMContext execCtx = root.getInternalId().fExecContext;
+		return execCtx != null && fRunControl != null && fRunControl.isSuspended(execCtx);
+	}
+
 	private GDBTypeParser getGDBTypeParser() {
 		if (fGDBTypeParser == null) {
 			fGDBTypeParser = createGDBTypeParser();
@@ -2734,6 +3002,12 @@ public class MIVariableManager implements ICommandControl {
 			// We do not have this varObject, so we create it
 			createVariable(id, exprCtx, rm);
 		} else {
+			if (varObj.fCreatedInWindow) {
+				// The -var-create of this object was spared by creating it along with another element
+				varObj.fCreatedInWindow = false;
+				fSavedCreateCommands++;
+			}
+
 			// We have found a varObject, but it may not be updated yet.
 			// Updating the object will also tell us if it is out-of-scope
 			// and if we should re-create it.
@@ -2865,6 +3139,19 @@ public class MIVariableManager implements ICommandControl {
 			return;
 		}
 
+		if (fBatchVariableObjects && (parentInfo != null) && createArrayElements(id, miExprCtx, rm)) {
+			return;
+		}
+
+		createRootVariable(id, exprCtx, rm);
+	}
+
+	/**
+	 * This method creates a root variable object in GDB.
+	 */
+	private void createRootVariable(final VariableObjectId id, final IExpressionDMContext exprCtx,
+			final DataRequestMonitor<MIVariableObject> rm) {
+
 		// Variable objects that are created directly like this, are considered ROOT variable objects
 		// in comparison to variable objects that are children of other variable objects.
 		final MIRootVariableObject newVarObj = createRootVariableObject(id);
@@ -2908,6 +3195,118 @@ public class MIVariableManager implements ICommandControl {
 		});
 	}
 
+	/**
+	 * Creates the variable object of an element of an array as a child of the variable object of the
+	 * array, along with the other elements of its window that do not have a variable object yet, using a
+	 * single -var-list-children.  Otherwise, each element is created as a root when the view needs it.
+	 *
+	 * @return whether the creation was started, or <code>false</code> if the element must be created as a
+	 *         root because the variable object of the array is not available
+	 */
+	private boolean createArrayElements(final VariableObjectId id, final MIExpressionDMC exprCtx,
+			final DataRequestMonitor<MIVariableObject> rm) {
+		final ExpressionInfo exprInfo = exprCtx.getExpressionInfo();
+		final int index = exprInfo.getIndexInParentExpression();
+
+		final VariableObjectId parentId = createVariableObjectId();
+		parentId.generateId(exprInfo.getParent().getFullExpr(), id);
+		MIVariableObject parentObj = lruVariableList.get(parentId);
+
+		// The values listed for the elements are only current if the array is up-to-date
+		if (parentObj == null || parentObj.currentState != MIVariableObject.STATE_READY
+				|| parentObj.isOutOfScope() || parentObj.getGdbName() == null || !parentObj.isArray()
+				|| parentObj.getRootToUpdate().getOutOfDate()) {
+			return false;
+		}
+
+		final ExpressionInfo[] elementInfos = parentObj.getChildren();
+		if (elementInfos == null || index < 0 || index >= elementInfos.length
+				|| !elementInfos[index].getFullExpr().equals(exprInfo.getFullExpr())) {
+			return false;
+		}
+
+		final int[] window = getArrayElementsWindow(index, elementInfos.length);
+		final int windowStart = window[0];
+		final MIVariableObject[] elements = new MIVariableObject[window[1] - windowStart];
+		int from = index;
+		int to = index + 1;
+		for (int i = 0; i < elements.length; i++) {
+			int elementIndex = windowStart + i;
+			VariableObjectId elementId = id;
+			if (elementIndex != index) {
+				elementId = createVariableObjectId();
+				elementId.generateId(elementInfos[elementIndex].getFullExpr(), parentId);
+				if (lruVariableList.containsKey(elementId)) {
+					continue;
+				}
+			}
+
+			// We must put these objects in our map right away, in case they are
+			// requested before their creation completes.
+			elements[i] = createVariableObject(elementId, parentObj, true);
+			elements[i].currentState = MIVariableObject.STATE_CREATING;
+			elements[i].fCreatedInWindow = elementIndex != index;
+			lruVariableList.put(elementId, elements[i]);
+
+			from = Math.min(from, elementIndex);
+			to = Math.max(to, elementIndex + 1);
+		}
+
+		final int first = from;
+		fCommandControl.queueCommand(
+				fCommandFactory.createMIVarListChildren(parentObj.getRootToUpdate().getControlDMContext(),
+						parentObj.getGdbName(), from, to, true),
+				new DataRequestMonitor<MIVarListChildrenInfo>(fSession.getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						MIVar[] miVars = isSuccess() ? getData().getMIVars() : new MIVar[0];
+						MIVariableObject newVarObj = null;
+
+						for (int i = 0; i < elements.length; i++) {
+							MIVariableObject element = elements[i];
+							if (element == null) {
+								continue;
+							}
+
+							int elementIndex = windowStart + i;
+							if (elementIndex - first >= miVars.length) {
+								// Object was not created, remove it from our list before
+								// sending the notifications, see bug 231655
+								element.fCreatedInWindow = false;
+								lruVariableList.remove(element.getInternalId());
+								element.creationCompleted(false);
+								continue;
+							}
+
+							MIVar miVar = miVars[elementIndex - first];
+							ExpressionInfo elementInfo = elementIndex == index ? exprInfo : elementInfos[elementIndex];
+							elementInfo.setDynamic(miVar.isDynamic());
+							element.initFrom(miVar, elementInfo);
+
+							// --simple-values lists the values of the elements that are neither
+							// arrays nor structures
+							if (miVar.getRawFields().getField("value") != null && !element.isArray()) { //$NON-NLS-1$
+								element.setValue(element.getCurrentFormat(), miVar.getValue());
+							}
+
+							if (elementIndex == index) {
+								newVarObj = element;
+							}
+							element.creationCompleted(true);
+						}
+
+						if (newVarObj != null) {
+							rm.setData(newVarObj);
+							rm.done();
+						} else {
+							// Fall back to creating the element on its own
+							createRootVariable(id, exprCtx, rm);
+						}
+					}
+				});
+		return true;
+	}
+
 	private MIExpressionDMC createExpressionCtx(final IExpressionDMContext frameCtxProvider,
 			final ExpressionInfo exprInfo) {
 
@@ -3146,6 +3545,8 @@ public class MIVariableManager implements ICommandControl {
 	 * @since 1.1
 	 */
 	public void markAllOutOfDate() {
+		fUpdateGeneration++;
+
 		MIRootVariableObject root;
 		while ((root = updatedRootList.poll()) != null) {
 			root.setOutOfDate(true);
@@ -3160,10 +3561,17 @@ public class MIVariableManager implements ICommandControl {
 		// a list of all roots that have been updated, so we only have to
 		// set those to needing to be updated.
 		markAllOutOfDate();
+
+		if (GdbDebugOptions.DEBUG && (fSavedUpdateCommands > 0 || fSavedCreateCommands > 0)) {
+			GdbDebugOptions.trace(String.format("%s Saved %d -var-update and %d -var-create commands\n", //$NON-NLS-1$
+					GdbPlugin.getDebugTime(), fSavedUpdateCommands, fSavedCreateCommands));
+		}
 	}
 
 	@DsfServiceEventHandler
 	public void eventDispatched(IRunControl.ISuspendedDMEvent e) {
+		fSavedUpdateCommands = 0;
+		fSavedCreateCommands = 0;
 	}
 
 	@DsfServiceEventHandler
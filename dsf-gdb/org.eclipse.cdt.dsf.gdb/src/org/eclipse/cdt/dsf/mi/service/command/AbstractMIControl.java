@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -97,9 +98,20 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class AbstractMIControl extends AbstractDsfService implements IMICommandControl {
 	private static final String MI_TRACE_IDENTIFIER = "[MI]"; //$NON-NLS-1$
-	private static final int NUMBER_CONCURRENT_COMMANDS = 3;
 	private static final int DEVELOPMENT_TRACE_LIMIT_CHARS = 5000;
 
+	/**
+	 * Operations of the commands that only query the state of GDB or of the target. Identical queries
+	 * waiting in the queue are answered with the result of a single command.
+	 */
+	private static final Set<String> QUERY_OPERATIONS = new HashSet<>(Arrays.asList("-break-list", //$NON-NLS-1$
+			"-data-disassemble", "-data-list-register-names", "-data-list-register-values", "-data-read-memory", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"-data-read-memory-bytes", "-file-list-exec-source-files", "-gdb-show", "-info-os", "-list-features", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			"-list-thread-groups", "-stack-info-depth", "-stack-list-arguments", "-stack-list-frames", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"-stack-list-locals", "-thread-info", "-thread-list-ids", "-trace-list-variables", "-trace-status", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			"-var-evaluate-expression", "-var-info-expression", "-var-info-num-children", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"-var-info-path-expression", "-var-info-type", "-var-show-attributes", "-var-show-format")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
 	/*
 	 *  Thread control variables for the transmit and receive threads.
 	 */
@@ -109,6 +121,13 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	private ErrorThread fErrorThread;
 	private final int fNumberOfConcurrentCommands;
 
+	/**
+	 * Number of commands handed to the TX thread whose results have not been received yet.
+	 */
+	private int fCommandsInFlight = 0;
+
+	private final MICommandLatencies fCommandLatencies = new MICommandLatencies();
+
 	// MI did not always support the --thread/--frame options
 	// This boolean is used to know if we should use -thread-select and -stack-select-frame instead
 	private boolean fUseThreadAndFrameOptions;
@@ -199,7 +218,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		fCommandFactory = factory;
 
 		if (isConcurrentCommandsSupported()) {
-			fNumberOfConcurrentCommands = NUMBER_CONCURRENT_COMMANDS;
+			fNumberOfConcurrentCommands = Math.max(1,
+					Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+							IGdbDebugPreferenceConstants.PREF_MAX_COMMANDS_IN_FLIGHT,
+							IGdbDebugPreferenceConstants.MAX_COMMANDS_IN_FLIGHT_DEFAULT, null));
 		} else {
 			fNumberOfConcurrentCommands = 1;
 		}
@@ -312,10 +334,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		 *  First go through the commands which have been queueud and not yet sent to the backend.
 		 */
 		for (CommandHandle commandHandle : fCommandQueue) {
-			if (commandHandle.getRequestMonitor() == null)
-				continue;
-			commandHandle.getRequestMonitor().setStatus(genStatus("Connection is shut down")); //$NON-NLS-1$
-			commandHandle.getRequestMonitor().done();
+			cancelCommand(commandHandle);
 		}
 		fCommandQueue.clear();
 
@@ -330,14 +349,30 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		List<CommandHandle> txCommands = new ArrayList<>();
 		fTxCommands.drainTo(txCommands);
 		for (CommandHandle commandHandle : txCommands) {
-			if (commandHandle.getRequestMonitor() == null)
-				continue;
-			commandHandle.getRequestMonitor().setStatus(genStatus("Connection is shut down")); //$NON-NLS-1$
-			commandHandle.getRequestMonitor().done();
+			cancelCommand(commandHandle);
 		}
 
 		// Queue a null value to tell the send thread to shut down.
 		fTxCommands.add(fTerminatorHandle);
+
+		if (GdbDebugOptions.DEBUG) {
+			GdbDebugOptions.trace(String.format("%s %s  Command latencies:\n%s", GdbPlugin.getDebugTime(), //$NON-NLS-1$
+					MI_TRACE_IDENTIFIER, fCommandLatencies));
+		}
+	}
+
+	/**
+	 * Completes the request monitors of the given command and of the commands coalesced with it
+	 * with an error, as the connection is shut down.
+	 */
+	private void cancelCommand(CommandHandle commandHandle) {
+		if (commandHandle.getRequestMonitor() != null) {
+			commandHandle.getRequestMonitor().setStatus(genStatus("Connection is shut down")); //$NON-NLS-1$
+			commandHandle.getRequestMonitor().done();
+		}
+		for (CommandHandle coalesced : commandHandle.getCoalescedCommands()) {
+			cancelCommand(coalesced);
+		}
 	}
 
 	private void cancelRxCommands() {
@@ -347,10 +382,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			fRxCommands.clear();
 		}
 		for (CommandHandle commandHandle : rxCommandsCopy.values()) {
-			if (commandHandle.getRequestMonitor() == null)
-				continue;
-			commandHandle.getRequestMonitor().setStatus(genStatus("Connection is shut down")); //$NON-NLS-1$
-			commandHandle.getRequestMonitor().done();
+			cancelCommand(commandHandle);
 		}
 	}
 
@@ -384,6 +416,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		if (fStoppedCommandProcessing) {
 			rm.setStatus(genStatus("Connection is shut down")); //$NON-NLS-1$
 			rm.done();
+		} else if (coalesceCommand(handle)) {
+			processCommandQueued(handle);
 		} else {
 			/*
 			 *  We only allow three outstanding commands to be on the wire to the backend
@@ -407,11 +441,69 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		return handle;
 	}
 
+	/**
+	 * Attaches the given command to an identical query waiting in the queue, such that it receives
+	 * the result of that query. This is only done if no command that may change the state of GDB or
+	 * of the target is queued after the identical query.
+	 *
+	 * @return whether the command was attached to a queued one
+	 */
+	private boolean coalesceCommand(CommandHandle handle) {
+		MICommand<MIInfo> command = handle.getCommand();
+		if (!isCoalescable(command))
+			return false;
+
+		synchronized (fCommandQueue) {
+			for (int i = fCommandQueue.size() - 1; i >= 0; i--) {
+				CommandHandle queued = fCommandQueue.get(i);
+				MICommand<MIInfo> queuedCommand = queued.getCommand();
+				if (!isCoalescable(queuedCommand))
+					return false;
+				if (queuedCommand.getClass() == command.getClass() && queuedCommand.equals(command)) {
+					queued.getCoalescedCommands().add(handle);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given command only queries the state of GDB or of the target, such that
+	 * identical commands waiting in the queue can be answered with the result of a single one of them.
+	 *
+	 * @since 7.2
+	 */
+	protected boolean isCoalescable(MICommand<?> command) {
+		return QUERY_OPERATIONS.contains(command.getOperation());
+	}
+
+	/**
+	 * Returns the histograms of the latencies of the commands sent to GDB by this service.
+	 *
+	 * @since 7.2
+	 */
+	public MICommandLatencies getCommandLatencies() {
+		return fCommandLatencies;
+	}
+
+	private void sendCommand(CommandHandle handle) {
+		if (!(handle.getCommand() instanceof RawCommand)) {
+			// RawCommands don't get a result.
+			fCommandsInFlight++;
+		}
+		fTxCommands.add(handle);
+	}
+
 	private void processNextQueuedCommand() {
-		if (!fCommandQueue.isEmpty() && fRxCommands.size() < fNumberOfConcurrentCommands) {
+		// Keep up to fNumberOfConcurrentCommands commands on the wire, GDB processes them in order.
+		while (!fCommandQueue.isEmpty() && fCommandsInFlight < fNumberOfConcurrentCommands) {
 			final CommandHandle handle = fCommandQueue.remove(0);
 			if (handle != null) {
 				processCommandSent(handle);
+				for (CommandHandle coalesced : handle.getCoalescedCommands()) {
+					processCommandSent(coalesced);
+				}
 
 				// Older debuggers didn't support the --thread/--frame options
 				// Also, not all commands support those options (e.g., CLI commands)
@@ -438,7 +530,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIThreadSelect(targetContext, targetThread), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							sendCommand(cmdHandle);
 						}
 
 						// Before the command is sent, Check the Stack level and send it to
@@ -448,7 +540,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIStackSelectFrame(targetContext, targetFrame), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							sendCommand(cmdHandle);
 						}
 					}
 				}
@@ -459,7 +551,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 					// need a token id.  In fact, GDB will fail if we send one in this case.
 					handle.generateTokenId();
 				}
-				fTxCommands.add(handle);
+				sendCommand(handle);
 			}
 		}
 	}
@@ -477,19 +569,31 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 		synchronized (fCommandQueue) {
 
-			for (CommandHandle handle : fCommandQueue) {
+			for (int i = 0; i < fCommandQueue.size(); i++) {
+				CommandHandle handle = fCommandQueue.get(i);
 				if (handle.equals(token)) {
-					fCommandQueue.remove(handle);
-
-					final CommandHandle finalHandle = handle;
-					getExecutor().execute(new DsfRunnable() {
-						@Override
-						public void run() {
-							processCommandRemoved(finalHandle);
-						}
-					});
-					break;
+					List<CommandHandle> coalesced = handle.getCoalescedCommands();
+					if (coalesced.isEmpty()) {
+						fCommandQueue.remove(i);
+					} else {
+						// The first command coalesced with the removed one takes its place.
+						CommandHandle first = coalesced.remove(0);
+						first.getCoalescedCommands().addAll(coalesced);
+						coalesced.clear();
+						fCommandQueue.set(i, first);
+					}
+				} else if (!handle.getCoalescedCommands().remove(token)) {
+					continue;
 				}
+
+				final CommandHandle finalHandle = (CommandHandle) token;
+				getExecutor().execute(new DsfRunnable() {
+					@Override
+					public void run() {
+						processCommandRemoved(finalHandle);
+					}
+				});
+				break;
 			}
 		}
 	}
@@ -656,6 +760,12 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		private MICommand<MIInfo> fCommand;
 		private DataRequestMonitor<MIInfo> fRequestMonitor;
 		private int fTokenId;
+		private long fSentTime;
+
+		/**
+		 * Identical commands that are completed with the result of this one.
+		 */
+		private final List<CommandHandle> fCoalesced = new ArrayList<>(0);
 
 		CommandHandle(MICommand<MIInfo> c, DataRequestMonitor<MIInfo> d) {
 			fCommand = c;
@@ -683,6 +793,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			return fTokenId;
 		}
 
+		public List<CommandHandle> getCoalescedCommands() {
+			return fCoalesced;
+		}
+
 		public int getStackFrameId() {
 			IFrameDMContext frameCtx = DMContexts.getAncestorOfType(fCommand.getContext(), IFrameDMContext.class);
 			if (frameCtx != null)
@@ -755,6 +869,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				 */
 				if (!(commandHandle.getCommand() instanceof RawCommand)) {
 					// RawCommands will not get an answer, so we cannot put them in the receive queue.
+					commandHandle.fSentTime = System.nanoTime();
 					fRxCommands.put(commandHandle.getTokenId(), commandHandle);
 				}
 
@@ -787,7 +902,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 						writeToTracingStream(true, str);
 
 						fOutputStream.write(str.getBytes());
-						fOutputStream.flush();
+						// Commands that are ready to be sent are written at once.
+						if (fTxCommands.isEmpty()) {
+							fOutputStream.flush();
+						}
 					}
 				} catch (IOException e) {
 					// Shutdown thread in case of IO error.
@@ -982,6 +1100,79 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			return clientMsg.toString();
 		}
 
+		/**
+		 * Completes the given command with the result record and the out of band records preceding it.
+		 */
+		private void processCommandResult(final CommandHandle commandHandle, MIResultRecord rr, MIOutput response) {
+			MIInfo result = commandHandle.getCommand().getResult(response);
+			DataRequestMonitor<MIInfo> rm = commandHandle.getRequestMonitor();
+
+			/*
+			 *  Not all users want to get there results. They indicate so by not having
+			 *  a completion object.
+			 */
+			if (rm != null) {
+				rm.setData(result);
+
+				/*
+				 * We need to indicate if this request had an error or not.
+				 */
+				String errorResult = rr.getResultClass();
+
+				if (errorResult.equals(MIResultRecord.ERROR)) {
+					String status = getStatusString(commandHandle.getCommand(), response);
+					String message = getBackendMessage(response);
+					Exception exception = new Exception(message);
+					rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, REQUEST_FAILED, status, exception));
+				}
+
+				/*
+				 *  We need to complete the command on the DSF thread for data security.
+				 */
+				final ICommandResult finalResult = result;
+				getExecutor().execute(new DsfRunnable() {
+					@Override
+					public void run() {
+						/*
+						 *  Complete the specific command.
+						 */
+						if (commandHandle.getRequestMonitor() != null) {
+							commandHandle.getRequestMonitor().done();
+						}
+
+						/*
+						 *  Now tell the generic listeners about it.
+						 */
+						processCommandDone(commandHandle, finalResult);
+					}
+
+					@Override
+					public String toString() {
+						return "MI command output received for: " + commandHandle.getCommand(); //$NON-NLS-1$
+					}
+				});
+			} else {
+				/*
+				 *  While the specific requestor did not care about the completion  we
+				 *  need to call any listeners. This could have been a CLI command for
+				 *  example and  the CommandDone listeners there handle the IO as part
+				 *  of the work.
+				 */
+				final ICommandResult finalResult = result;
+				getExecutor().execute(new DsfRunnable() {
+					@Override
+					public void run() {
+						processCommandDone(commandHandle, finalResult);
+					}
+
+					@Override
+					public String toString() {
+						return "MI command output received for: " + commandHandle.getCommand(); //$NON-NLS-1$
+					}
+				});
+			}
+		}
+
 		void processMIOutput(String line) {
 
 			MIParser.RecordType recordType = fMiParser.getRecordType(line);
@@ -1003,73 +1194,23 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 					fAccumulatedOOBRecords.clear();
 					fAccumulatedStreamRecords.clear();
 
-					MIInfo result = commandHandle.getCommand().getResult(response);
-					DataRequestMonitor<MIInfo> rm = commandHandle.getRequestMonitor();
-
-					/*
-					 *  Not all users want to get there results. They indicate so by not having
-					 *  a completion object.
-					 */
-					if (rm != null) {
-						rm.setData(result);
-
-						/*
-						 * We need to indicate if this request had an error or not.
-						 */
-						String errorResult = rr.getResultClass();
-
-						if (errorResult.equals(MIResultRecord.ERROR)) {
-							String status = getStatusString(commandHandle.getCommand(), response);
-							String message = getBackendMessage(response);
-							Exception exception = new Exception(message);
-							rm.setStatus(
-									new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, REQUEST_FAILED, status, exception));
+					fCommandLatencies.record(commandHandle.getCommand().getOperation(),
+							System.nanoTime() - commandHandle.fSentTime);
+					getExecutor().execute(new DsfRunnable() {
+						@Override
+						public void run() {
+							fCommandsInFlight--;
 						}
 
-						/*
-						 *  We need to complete the command on the DSF thread for data security.
-						 */
-						final ICommandResult finalResult = result;
-						getExecutor().execute(new DsfRunnable() {
-							@Override
-							public void run() {
-								/*
-								 *  Complete the specific command.
-								 */
-								if (commandHandle.getRequestMonitor() != null) {
-									commandHandle.getRequestMonitor().done();
-								}
-
-								/*
-								 *  Now tell the generic listeners about it.
-								 */
-								processCommandDone(commandHandle, finalResult);
-							}
-
-							@Override
-							public String toString() {
-								return "MI command output received for: " + commandHandle.getCommand(); //$NON-NLS-1$
-							}
-						});
-					} else {
-						/*
-						 *  While the specific requestor did not care about the completion  we
-						 *  need to call any listeners. This could have been a CLI command for
-						 *  example and  the CommandDone listeners there handle the IO as part
-						 *  of the work.
-						 */
-						final ICommandResult finalResult = result;
-						getExecutor().execute(new DsfRunnable() {
-							@Override
-							public void run() {
-								processCommandDone(commandHandle, finalResult);
-							}
+						@Override
+						public String toString() {
+							return "MI command result received for: " + commandHandle.getCommand(); //$NON-NLS-1$
+						}
+					});
 
-							@Override
-							public String toString() {
-								return "MI command output received for: " + commandHandle.getCommand(); //$NON-NLS-1$
-							}
-						});
+					processCommandResult(commandHandle, rr, response);
+					for (CommandHandle coalesced : commandHandle.getCoalescedCommands()) {
+						processCommandResult(coalesced, rr, response);
 					}
 				} else {
 					/*
@@ -1223,16 +1364,48 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	protected void commandFailed(ICommandToken token, int statusCode, String errorMessage) {
 		if (!(token instanceof CommandHandle && token.getCommand() instanceof MICommand<?>))
 			return;
-		final CommandHandle commandHandle = (CommandHandle) token;
-		Integer tokenId = commandHandle.getTokenId();
 
 		// If the timeout value is too small a command can be timed out but still processed by RxThread.
 		// To avoid processing it twice we need to remove it from the command list.
-		CommandHandle h = fRxCommands.remove(tokenId);
-		if (h == null)
+		final CommandHandle commandHandle = removeRxCommand((CommandHandle) token);
+		if (commandHandle == null)
 			// Command has already been processed by RxThread.
 			return;
 
+		// The command will not get a result, it no longer takes up a place in the window
+		fCommandsInFlight--;
+
+		failCommand(commandHandle, commandHandle.getTokenId(), statusCode, errorMessage);
+		for (CommandHandle coalesced : commandHandle.getCoalescedCommands()) {
+			failCommand(coalesced, commandHandle.getTokenId(), statusCode, errorMessage);
+		}
+
+		processNextQueuedCommand();
+	}
+
+	/**
+	 * Removes the given command from the commands waiting for their result, or the command it was
+	 * coalesced with, as a coalesced command is not sent itself.
+	 *
+	 * @return the removed command, or <code>null</code> if the result was already received
+	 */
+	private CommandHandle removeRxCommand(CommandHandle commandHandle) {
+		synchronized (fRxCommands) {
+			CommandHandle h = fRxCommands.remove(commandHandle.getTokenId());
+			if (h != null)
+				return h;
+			for (Iterator<CommandHandle> iterator = fRxCommands.values().iterator(); iterator.hasNext();) {
+				h = iterator.next();
+				if (h.getCoalescedCommands().contains(commandHandle)) {
+					iterator.remove();
+					return h;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void failCommand(CommandHandle commandHandle, Integer tokenId, int statusCode, String errorMessage) {
 		MIConst value = new MIConst();
 		value.setCString(errorMessage);
 		MIResult result = new MIResult();
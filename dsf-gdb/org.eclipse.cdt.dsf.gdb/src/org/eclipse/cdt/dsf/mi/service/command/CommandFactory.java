@@ -200,6 +200,7 @@ import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarInfoPathExpression;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarInfoType;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarListChildren;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarSetFormat;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarSetFrozen;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarSetUpdateRange;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarShowAttributes;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarShowFormat;
@@ -1210,10 +1211,21 @@ public class CommandFactory {
 		return new MIVarListChildren(ctx, name, from, to);
 	}
 
+	/** @since 7.2 */
+	public ICommand<MIVarListChildrenInfo> createMIVarListChildren(ICommandControlDMContext ctx, String name, int from,
+			int to, boolean simpleValues) {
+		return new MIVarListChildren(ctx, name, from, to, simpleValues);
+	}
+
 	public ICommand<MIVarSetFormatInfo> createMIVarSetFormat(ICommandControlDMContext ctx, String name, String fmt) {
 		return new MIVarSetFormat(ctx, name, fmt);
 	}
 
+	/** @since 7.2 */
+	public ICommand<MIInfo> createMIVarSetFrozen(ICommandControlDMContext ctx, String name, boolean frozen) {
+		return new MIVarSetFrozen(ctx, name, frozen);
+	}
+
 	/** @since 4.0 */
 	public ICommand<MIInfo> createMIVarSetUpdateRange(ICommandControlDMContext ctx, String name, int from, int to) {
 		return new MIVarSetUpdateRange(ctx, name, from, to);
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Histograms of the latencies of MI commands, that is the time between writing a command to GDB and
+ * receiving its result, per operation of the commands. The buckets have exponentially growing sizes:
+ * bucket {@code i > 0} counts the latencies from 2<sup>i</sup> up to 2<sup>i+1</sup> microseconds,
+ * bucket 0 counts the latencies below 2 microseconds and the last bucket all latencies above its
+ * lower bound.
+ * <p>
+ * The histograms are safe to be used from any thread.
+ *
+ * @see AbstractMIControl#getCommandLatencies()
+ * @since 7.2
+ */
+public class MICommandLatencies {
+	/**
+	 * The number of buckets of each histogram, the last one starts at about 67 seconds.
+	 */
+	public static final int BUCKETS = 27;
+
+	private final Map<String, long[]> fHistograms = new TreeMap<>();
+
+	/**
+	 * Adds the latency of a command with the given operation.
+	 */
+	public synchronized void record(String operation, long nanos) {
+		long[] histogram = fHistograms.get(operation);
+		if (histogram == null) {
+			histogram = new long[BUCKETS];
+			fHistograms.put(operation, histogram);
+		}
+		histogram[bucket(nanos / 1000)]++;
+	}
+
+	private static int bucket(long micros) {
+		if (micros < 2)
+			return 0;
+		return Math.min(63 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+	}
+
+	/**
+	 * Returns the smallest latency in microseconds counted by the given bucket.
+	 */
+	public static long getLowerBound(int bucket) {
+		return bucket == 0 ? 0 : 1L << bucket;
+	}
+
+	/**
+	 * Returns the operations for which latencies have been recorded, in alphabetical order.
+	 */
+	public synchronized Set<String> getOperations() {
+		return new TreeSet<>(fHistograms.keySet());
+	}
+
+	/**
+	 * Returns a copy of the histogram of the given operation, with {@link #BUCKETS} entries.
+	 */
+	public synchronized long[] getHistogram(String operation) {
+		long[] histogram = fHistograms.get(operation);
+		return histogram == null ? new long[BUCKETS] : histogram.clone();
+	}
+
+	/**
+	 * Returns the number of latencies recorded for the given operation.
+	 */
+	public synchronized long getCount(String operation) {
+		long[] histogram = fHistograms.get(operation);
+		return histogram == null ? 0 : Arrays.stream(histogram).sum();
+	}
+
+	/**
+	 * Returns an upper bound in microseconds for the given percentile of the latencies of an operation,
+	 * the upper bound of the bucket containing the percentile. Returns 0 if no latency was recorded.
+	 *
+	 * @param percentile a value between 0 and 100
+	 */
+	public synchronized long getPercentile(String operation, double percentile) {
+		long[] histogram = fHistograms.get(operation);
+		if (histogram == null)
+			return 0;
+
+		long count = Arrays.stream(histogram).sum();
+		long rank = (long) Math.ceil(count * percentile / 100);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += histogram[i];
+			if (seen >= rank && histogram[i] > 0)
+				return i == BUCKETS - 1 ? Long.MAX_VALUE : getLowerBound(i + 1);
+		}
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Removes all recorded latencies.
+	 */
+	public synchronized void reset() {
+		fHistograms.clear();
+	}
+
+	/**
+	 * Returns a table with the number of commands and the median, 90th and 99th percentile of
+	 * the latencies for each operation.
+	 */
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-40s %8s %10s %10s %10s%n", "operation", "count", "p50 [us]", "p90 [us]", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				"p99 [us]")); //$NON-NLS-1$
+		for (String operation : fHistograms.keySet()) {
+			sb.append(String.format("%-40s %8d %10d %10d %10d%n", operation, getCount(operation), //$NON-NLS-1$
+					getPercentile(operation, 50), getPercentile(operation, 90), getPercentile(operation, 99)));
+		}
+		return sb.toString();
+	}
+}
@@ -53,6 +53,20 @@ public class MIVarListChildren extends MICommand<MIVarListChildrenInfo> {
 		super(ctx, "-var-list-children", new String[] { name, String.valueOf(from), String.valueOf(to) }); //$NON-NLS-1$
 	}
 
+	/**
+	 * Lists the given children together with the values of those that have a simple type, i.e. which
+	 * are neither arrays nor structures nor unions.
+	 *
+	 *     -var-list-children --simple-values NAME FROM TO
+	 *
+	 * @since 7.2
+	 */
+	public MIVarListChildren(ICommandControlDMContext ctx, String name, int from, int to, boolean simpleValues) {
+		super(ctx, "-var-list-children", simpleValues //$NON-NLS-1$
+				? new String[] { "--simple-values", name, String.valueOf(from), String.valueOf(to) } //$NON-NLS-1$
+				: new String[] { name, String.valueOf(from), String.valueOf(to) });
+	}
+
 	@Override
 	public MIVarListChildrenInfo getResult(MIOutput out) {
 		return new MIVarListChildrenInfo(out);
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.commands;
+
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
+
+/**
+ * -var-set-frozen name flag
+ *
+ * Set the frozenness flag on the variable object name. The flag parameter
+ * should be either 1 to make the variable frozen or 0 to make it unfrozen. If
+ * a variable object is frozen, then neither itself, nor any of its children,
+ * are implicitly updated by -var-update of a parent variable or by
+ * -var-update *. Only -var-update of the variable itself will update its value
+ * and values of its children.
+ *
+ * @since 7.2
+ */
+public class MIVarSetFrozen extends MICommand<MIInfo> {
+
+	/**
+	 * @param ctx
+	 * @param name The name of the varobj to freeze or unfreeze.
+	 * @param frozen Whether the varobj is frozen.
+	 */
+	public MIVarSetFrozen(ICommandControlDMContext ctx, String name, boolean frozen) {
+		super(ctx, "-var-set-frozen", new String[] { name, frozen ? "1" : "0" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -103,6 +103,76 @@ public class MIParser {
 	public String cliPrompt = primaryPrompt;
 	public String secondaryPrompt = ">"; //$NON-NLS-1$
 
+	/**
+	 * Number of entries of {@link #fVariables}, a power of two.
+	 */
+	private static final int VARIABLE_CACHE_SIZE = 256;
+
+	/**
+	 * Cache of the variable names of results. Replies such as the ones to -stack-list-frames or
+	 * -var-list-children repeat the same few variable names thousands of times, they share one string
+	 * per name. An entry is replaced when a different name with the same hash is found.
+	 */
+	private final String[] fVariables = new String[VARIABLE_CACHE_SIZE];
+
+	/**
+	 * The characters of the line being parsed and the position within them. The line is parsed
+	 * in a single pass from left to right, strings are created directly from the characters.
+	 */
+	private static final class Input {
+		final char[] chars;
+		final int end;
+		int pos;
+
+		Input(String line) {
+			chars = line.toCharArray();
+			end = chars.length;
+		}
+
+		boolean atEnd() {
+			return pos >= end;
+		}
+
+		/**
+		 * Returns the current character, or 0 at the end of the input.
+		 */
+		char peek() {
+			return pos < end ? chars[pos] : 0;
+		}
+
+		boolean startsWith(String s) {
+			int len = s.length();
+			if (end - pos < len)
+				return false;
+			for (int i = 0; i < len; i++) {
+				if (chars[pos + i] != s.charAt(i))
+					return false;
+			}
+			return true;
+		}
+
+		int indexOf(char c) {
+			for (int i = pos; i < end; i++) {
+				if (chars[i] == c)
+					return i;
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns the string from the current position to the given index and moves to the index.
+		 */
+		String consumeTo(int index) {
+			String s = new String(chars, pos, index - pos);
+			pos = index;
+			return s;
+		}
+
+		String consumeRest() {
+			return consumeTo(end);
+		}
+	}
+
 	public RecordType getRecordType(String line) {
 		int i = 0;
 		if (Character.isDigit(line.charAt(0))) {
@@ -126,53 +196,57 @@ public class MIParser {
 	 *
 	 */
 	public MIResultRecord parseMIResultRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
+		Input input = new Input(line);
 		// Fetch the Token/Id
-		int id = parseToken(buffer);
+		int id = parseToken(input);
 		// Consume the '^'
-		buffer.deleteCharAt(0);
+		input.pos++;
 
 		MIResultRecord rr = new MIResultRecord();
 		rr.setToken(id);
-		if (buffer.toString().startsWith(MIResultRecord.DONE)) {
-			rr.setResultClass(MIResultRecord.DONE);
-			buffer.delete(0, MIResultRecord.DONE.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.ERROR)) {
-			rr.setResultClass(MIResultRecord.ERROR);
-			buffer.delete(0, MIResultRecord.ERROR.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.EXIT)) {
-			rr.setResultClass(MIResultRecord.EXIT);
-			buffer.delete(0, MIResultRecord.EXIT.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.RUNNING)) {
-			rr.setResultClass(MIResultRecord.RUNNING);
-			buffer.delete(0, MIResultRecord.RUNNING.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.CONNECTED)) {
-			rr.setResultClass(MIResultRecord.CONNECTED);
-			buffer.delete(0, MIResultRecord.CONNECTED.length());
+		String resultClass = parseResultClass(input);
+		if (resultClass != null) {
+			rr.setResultClass(resultClass);
+			input.pos += resultClass.length();
 		} else {
 			// Error throw an exception?
 		}
 
 		// Results are separated by commas.
-		if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			MIResult[] res = processMIResults(new FSB(buffer));
+		if (input.peek() == ',') {
+			input.pos++;
+			MIResult[] res = processMIResults(input);
 			rr.setMIResults(res);
 		}
 		return rr;
 	}
 
+	private static String parseResultClass(Input input) {
+		if (input.startsWith(MIResultRecord.DONE)) {
+			return MIResultRecord.DONE;
+		} else if (input.startsWith(MIResultRecord.ERROR)) {
+			return MIResultRecord.ERROR;
+		} else if (input.startsWith(MIResultRecord.EXIT)) {
+			return MIResultRecord.EXIT;
+		} else if (input.startsWith(MIResultRecord.RUNNING)) {
+			return MIResultRecord.RUNNING;
+		} else if (input.startsWith(MIResultRecord.CONNECTED)) {
+			return MIResultRecord.CONNECTED;
+		}
+		return null;
+	}
+
 	/**
 	 * Find OutOfBand Records depending on the starting token.
 	 */
 	public MIOOBRecord parseMIOOBRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		int id = parseToken(buffer);
+		Input input = new Input(line);
+		int id = parseToken(input);
 		MIOOBRecord oob = null;
-		char c = buffer.length() != 0 ? buffer.charAt(0) : 0;
+		char c = input.peek();
 		if (c == '*' || c == '+' || c == '=') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			input.pos++;
 			MIAsyncRecord async = null;
 			switch (c) {
 			case '*':
@@ -192,22 +266,20 @@ public class MIParser {
 			}
 			async.setToken(id);
 			// Extract the Async-Class
-			int i = buffer.toString().indexOf(',');
+			int i = input.indexOf(',');
 			if (i != -1) {
-				String asyncClass = buffer.substring(0, i);
-				async.setAsyncClass(asyncClass);
-				// Consume the async-class and the comma
-				buffer.delete(0, i + 1);
+				async.setAsyncClass(input.consumeTo(i));
+				// Consume the comma
+				input.pos++;
 			} else {
-				async.setAsyncClass(buffer.toString().trim());
-				buffer.setLength(0);
+				async.setAsyncClass(input.consumeRest().trim());
 			}
-			MIResult[] res = processMIResults(new FSB(buffer));
+			MIResult[] res = processMIResults(input);
 			async.setMIResults(res);
 			oob = async;
 		} else if (c == '~' || c == '@' || c == '&') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			input.pos++;
 			MIStreamRecord stream = null;
 			switch (c) {
 			case '~':
@@ -225,13 +297,13 @@ public class MIParser {
 				assert false;
 				stream = new MIConsoleStreamOutput();
 			}
-			// translateCString() assumes that the leading " is deleted
-			if (buffer.length() > 0 && buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
+			// translateCString() assumes that the leading " is consumed
+			if (input.peek() == '"') {
+				input.pos++;
 			}
 			// Don't parse any backslashes - backslashes within stream records
 			// aren't escaped.
-			stream.setCString(translateCString(new FSB(buffer), false));
+			stream.setCString(translateCString(input, false));
 			oob = stream;
 		} else {
 			// Badly format MI line, just pass it to the user as target stream
@@ -242,21 +314,21 @@ public class MIParser {
 		return oob;
 	}
 
-	private int parseToken(StringBuffer buffer) {
+	private static int parseToken(Input input) {
 		int id = -1;
 		// Fetch the Token/Id
-		if (Character.isDigit(buffer.charAt(0))) {
-			int i = 1;
-			while (i < buffer.length() && Character.isDigit(buffer.charAt(i))) {
-				i++;
+		if (!input.atEnd() && Character.isDigit(input.peek())) {
+			long value = 0;
+			while (!input.atEnd() && Character.isDigit(input.peek())) {
+				if (value <= Integer.MAX_VALUE) {
+					value = value * 10 + Character.digit(input.peek(), 10);
+				}
+				// Consume the token.
+				input.pos++;
 			}
-			String numbers = buffer.substring(0, i);
-			try {
-				id = Integer.parseInt(numbers);
-			} catch (NumberFormatException e) {
+			if (value <= Integer.MAX_VALUE) {
+				id = (int) value;
 			}
-			// Consume the token.
-			buffer.delete(0, i);
 		}
 		return id;
 	}
@@ -265,15 +337,15 @@ public class MIParser {
 	 * Assuming that the usual leading comma was consumed.
 	 * Extract the MI Result comma seperated responses.
 	 */
-	private MIResult[] processMIResults(FSB buffer) {
+	private MIResult[] processMIResults(Input input) {
 		List<MIResult> aList = new ArrayList<>();
-		MIResult result = processMIResult(buffer);
+		MIResult result = processMIResult(input);
 		if (result != null) {
 			aList.add(result);
 		}
-		while (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			result = processMIResult(buffer);
+		while (input.peek() == ',') {
+			input.pos++;
+			result = processMIResult(input);
 			if (result != null) {
 				aList.add(result);
 			}
@@ -282,51 +354,75 @@ public class MIParser {
 	}
 
 	/**
-	 * Construct the DsfMIResult.  Characters will be consume/delete
+	 * Construct the DsfMIResult.  Characters will be consumed
 	 * moving forward constructing the AST.
 	 */
-	private MIResult processMIResult(FSB buffer) {
+	private MIResult processMIResult(Input input) {
 		MIResult result = new MIResult();
 		int equal;
-		if (buffer.length() > 0 && Character.isLetter(buffer.charAt(0)) && (equal = buffer.indexOf('=')) != -1) {
+		if (!input.atEnd() && Character.isLetter(input.peek()) && (equal = input.indexOf('=')) != -1) {
 			// Result is a variable and value
-			String variable = buffer.substring(0, equal);
-			result.setVariable(variable);
-			buffer.delete(0, equal + 1);
-			MIValue value = processMIValue(buffer);
+			result.setVariable(variable(input, equal));
+			input.pos = equal + 1;
+			MIValue value = processMIValue(input);
 			result.setMIValue(value);
 		} else {
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(input);
 			if (value != null) {
 				// Result is a value only (bug 527419)
 				result.setMIValue(value);
 			} else {
-				result.setVariable(buffer.toString());
+				result.setVariable(input.consumeRest());
 				result.setMIValue(new MIConst()); // Empty string:???
-				buffer.setLength(0);
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Returns the variable name from the current position to the given index, without moving.
+	 */
+	private String variable(Input input, int end) {
+		final char[] chars = input.chars;
+		final int start = input.pos;
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		int slot = (hash ^ (hash >>> 16)) & (VARIABLE_CACHE_SIZE - 1);
+		String cached = fVariables[slot];
+		if (cached != null && cached.length() == end - start) {
+			int i = 0;
+			while (i < cached.length() && cached.charAt(i) == chars[start + i]) {
+				i++;
+			}
+			if (i == cached.length())
+				return cached;
+		}
+		String variable = new String(chars, start, end - start);
+		fVariables[slot] = variable;
+		return variable;
+	}
+
 	/**
 	 * Find a DsfMIValue implementation or return null.
 	 */
-	private MIValue processMIValue(FSB buffer) {
+	private MIValue processMIValue(Input input) {
 		MIValue value = null;
-		if (buffer.length() > 0) {
-			if (buffer.charAt(0) == '{') {
-				buffer.deleteCharAt(0);
-				value = processMITuple(buffer);
-			} else if (buffer.charAt(0) == '[') {
-				buffer.deleteCharAt(0);
-				value = processMIList(buffer);
-			} else if (buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
+		if (!input.atEnd()) {
+			char c = input.peek();
+			if (c == '{') {
+				input.pos++;
+				value = processMITuple(input);
+			} else if (c == '[') {
+				input.pos++;
+				value = processMIList(input);
+			} else if (c == '"') {
+				input.pos++;
 				MIConst cnst = new MIConst();
 				// Parse backslashes - backslashes within result
 				// and out of band records are escaped.
-				cnst.setCString(translateCString(buffer, true));
+				cnst.setCString(translateCString(input, true));
 				value = cnst;
 			}
 		}
@@ -334,33 +430,16 @@ public class MIParser {
 	}
 
 	/**
-	 * Assuming the starting '{' was deleted form the StringBuffer,
-	 * go to the closing '}' consuming/deleting all the characters.
+	 * Assuming the starting '{' was consumed,
+	 * go to the closing '}' consuming all the characters.
 	 * This is usually call by processMIvalue();
 	 */
-	private MIValue processMITuple(FSB buffer) {
+	private MIValue processMITuple(Input input) {
 		MITuple tuple = new MITuple();
 		List<MIValue> valueList = new ArrayList<>();
 		List<MIResult> resultList = new ArrayList<>();
 		// Catch closing '}'
-		while (buffer.length() > 0 && buffer.charAt(0) != '}') {
-			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
-			if (value != null) {
-				valueList.add(value);
-			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
-				}
-			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
-			}
-		}
-		if (buffer.length() > 0 && buffer.charAt(0) == '}') {
-			buffer.deleteCharAt(0);
-		}
+		processMIValuesAndResults(input, '}', valueList, resultList);
 		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
 		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
 		tuple.setMIValues(values);
@@ -369,61 +448,84 @@ public class MIParser {
 	}
 
 	/**
-	 * Assuming the leading '[' was deleted, find the closing
-	 * ']' consuming/delete chars from the StringBuffer.
+	 * Assuming the leading '[' was consumed, find the closing
+	 * ']' consuming the chars.
 	 */
-	private MIValue processMIList(FSB buffer) {
+	private MIValue processMIList(Input input) {
 		MIList list = new MIList();
 		List<MIValue> valueList = new ArrayList<>();
 		List<MIResult> resultList = new ArrayList<>();
 		// catch closing ']'
-		while (buffer.length() > 0 && buffer.charAt(0) != ']') {
+		processMIValuesAndResults(input, ']', valueList, resultList);
+		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
+		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
+		list.setMIValues(values);
+		list.setMIResults(res);
+		return list;
+	}
+
+	/**
+	 * Collects the comma separated values and results up to and including the closing character.
+	 */
+	private void processMIValuesAndResults(Input input, char closing, List<MIValue> valueList,
+			List<MIResult> resultList) {
+		while (!input.atEnd() && input.peek() != closing) {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(input);
 			if (value != null) {
 				valueList.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
+				MIResult result = processMIResult(input);
 				if (result != null) {
 					resultList.add(result);
 				}
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
+			if (input.peek() == ',') {
+				input.pos++;
 			}
 		}
-		if (buffer.length() > 0 && buffer.charAt(0) == ']') {
-			buffer.deleteCharAt(0);
+		if (input.peek() == closing) {
+			input.pos++;
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		list.setMIValues(values);
-		list.setMIResults(res);
-		return list;
 	}
 
 	/**
 	 * MI C-String rather MIConst values are enclosed in double quotes
 	 * and any double quotes or backslashes in the string are escaped.
-	 * Assuming the starting double quote was removed. This method will
+	 * Assuming the starting double quote was consumed. This method will
 	 * stop at the closing double quote, remove the extra backslash escaping
 	 * and return the string __without__ the enclosing double quotes. The
-	 * original string buffer will move forward.
-	 * @param buffer The string buffer to read from.
+	 * input will move past the closing double quote.
+	 * @param input The input to read from.
 	 * @param parseBackslashes Defines whether backslashes should be parsed.
 	 * This parameter is necessary to differentiate between records which
 	 * contain escaped backslashes and records which do not.
 	 * @return The translated C string.
 	 */
-	private String translateCString(FSB buffer, boolean parseBackslashes) {
+	private static String translateCString(Input input, boolean parseBackslashes) {
+		final char[] chars = input.chars;
+		final int end = input.end;
+		int index = input.pos;
+
+		// Most strings contain no escapes, they are copied in one go.
+		while (index < end && chars[index] != '"' && chars[index] != '\\') {
+			index++;
+		}
+		if (index == end || chars[index] == '"') {
+			String s = input.consumeTo(index);
+			if (index < end) {
+				// Consume the closing quote.
+				input.pos++;
+			}
+			return s;
+		}
+
+		StringBuilder sb = new StringBuilder(index - input.pos + 16);
+		sb.append(chars, input.pos, index - input.pos);
 		boolean escape = false;
 		boolean closingQuotes = false;
-
-		StringBuffer sb = new StringBuffer();
-
-		int index = 0;
-		for (; index < buffer.length() && !closingQuotes; index++) {
-			char c = buffer.charAt(index);
+		for (; index < end && !closingQuotes; index++) {
+			char c = chars[index];
 			if (c == '\\') {
 				if (escape) {
 					sb.append(c);
@@ -450,7 +552,7 @@ public class MIParser {
 				escape = false;
 			}
 		}
-		buffer.delete(0, index);
+		input.pos = index;
 		return sb.toString();
 	}
 
@@ -485,7 +587,10 @@ public class MIParser {
 	 * with this for large arrays. Use of FSB rather than String
 	 * Buffer makes MIParser N rather than N^2 because FSB can
 	 * delete from the front in constant time.
+	 *
+	 * @deprecated The parser reads the characters of a line in a single pass and no longer uses this class.
 	 */
+	@Deprecated
 	public class FSB {
 		StringBuffer buf;
 		int pos;
@@ -16,9 +16,9 @@
 package org.eclipse.cdt.dsf.debug.service.command;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +31,7 @@ import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
 import org.eclipse.cdt.dsf.internal.DsfPlugin;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -49,6 +50,11 @@ import org.eclipse.core.runtime.Status;
  * did before the event. A reset can be done on the entire cache or on a per
  * context basis.
  *
+ * The number of results cached for each context is bounded, the least recently
+ * used results are evicted first. If the session has an {@link ICommandCacheService},
+ * the cache registers with it, and the service bounds the number of results of all
+ * the caches of the session.
+ *
  * @since 1.0
  */
 
@@ -159,7 +165,9 @@ public class CommandCache implements ICommandListener {
 	 *  Cached Results :
 	 *
 	 *      Contains a mapping of commands and their completed results. Until the cached
-	 *      results are cleared by the owner of the cache.
+	 *      results are cleared by the owner of the cache, or evicted to bound the size of
+	 *      the cache. Both the contexts and the results of each context are ordered from
+	 *      the least to the most recently used.
 	 *
 	 *  Pending Commands Not Queued :
 	 *
@@ -188,7 +196,24 @@ public class CommandCache implements ICommandListener {
 	 */
 	private Set<IDMContext> fAvailableContexts = new HashSet<>();
 
-	private Map<IDMContext, HashMap<CommandInfo, CommandResultInfo>> fCachedContexts = new HashMap<>();
+	private Map<IDMContext, LinkedHashMap<CommandInfo, CommandResultInfo>> fCachedContexts = new LinkedHashMap<>(
+			16, 0.75f, true);
+
+	/** The default number of results cached for a context. */
+	private static final int DEFAULT_MAX_ENTRIES_PER_CONTEXT = 1000;
+
+	private int fMaxEntriesPerContext = DEFAULT_MAX_ENTRIES_PER_CONTEXT;
+
+	/** The number of results cached for all contexts */
+	private int fSize;
+
+	private long fHits;
+	private long fMisses;
+	private long fCoalesced;
+	private long fEvictions;
+
+	/** The service bounding the caches of the session, if any */
+	private ICommandCacheService fCacheService;
 
 	private ArrayList<CommandInfo> fPendingQCommandsSent = new ArrayList<>();
 
@@ -246,6 +271,17 @@ public class CommandCache implements ICommandListener {
 	}
 
 	public CommandCache(DsfSession session, ICommandControl control) {
+		this(session, control, findCacheService(session));
+	}
+
+	/**
+	 * Creates a cache that registers with the given service rather than with the service of the session.
+	 *
+	 * @param cacheService the service bounding the caches of the session, or <code>null</code> if the
+	 *            results of the cache are only bounded for each context
+	 * @since 2.13
+	 */
+	public CommandCache(DsfSession session, ICommandControl control, ICommandCacheService cacheService) {
 		fSession = session;
 		fCommandControl = control;
 
@@ -254,6 +290,122 @@ public class CommandCache implements ICommandListener {
 		 * their intended target via the ICommandControl service.
 		 */
 		fCommandControl.addCommandListener(this);
+
+		fCacheService = cacheService;
+		if (fCacheService != null) {
+			fCacheService.addCache(this);
+		}
+	}
+
+	private static ICommandCacheService findCacheService(DsfSession session) {
+		if (DsfPlugin.getBundleContext() == null) {
+			return null;
+		}
+		DsfServicesTracker tracker = new DsfServicesTracker(DsfPlugin.getBundleContext(), session.getId());
+		ICommandCacheService cacheService = tracker.getService(ICommandCacheService.class);
+		tracker.dispose();
+		return cacheService;
+	}
+
+	/**
+	 * Sets the number of results cached for each context.
+	 *
+	 * @since 2.13
+	 */
+	public void setMaxEntriesPerContext(int maxEntries) {
+		fMaxEntriesPerContext = maxEntries;
+		for (LinkedHashMap<CommandInfo, CommandResultInfo> results : fCachedContexts.values()) {
+			evict(results);
+		}
+	}
+
+	/**
+	 * Returns the number of results cached.
+	 *
+	 * @since 2.13
+	 */
+	public int getSize() {
+		return fSize;
+	}
+
+	/**
+	 * Returns the number of commands serviced from the cache, sent or coalesced
+	 * since the cache was created, or since the last {@link #resetStatistics()}.
+	 *
+	 * @since 2.13
+	 */
+	public CommandCacheStatistics getStatistics() {
+		return new CommandCacheStatistics(fHits, fMisses, fCoalesced, fEvictions, fSize);
+	}
+
+	/**
+	 * @since 2.13
+	 */
+	public void resetStatistics() {
+		fHits = 0;
+		fMisses = 0;
+		fCoalesced = 0;
+		fEvictions = 0;
+	}
+
+	/**
+	 * Removes the least recently used result of the least recently used context.
+	 *
+	 * @return <code>false</code> if the cache is empty
+	 * @since 2.13
+	 */
+	public boolean evictEldest() {
+		Iterator<LinkedHashMap<CommandInfo, CommandResultInfo>> contexts = fCachedContexts.values().iterator();
+		while (contexts.hasNext()) {
+			Iterator<CommandResultInfo> eldest = contexts.next().values().iterator();
+			if (!eldest.hasNext()) {
+				contexts.remove();
+				continue;
+			}
+
+			eldest.next();
+			eldest.remove();
+			fEvictions++;
+			if (!eldest.hasNext()) {
+				contexts.remove();
+			}
+			sizeChanged(-1);
+			return true;
+		}
+		return false;
+	}
+
+	private void evict(LinkedHashMap<CommandInfo, CommandResultInfo> results) {
+		Iterator<CommandResultInfo> eldest = results.values().iterator();
+		while (results.size() > fMaxEntriesPerContext && eldest.hasNext()) {
+			eldest.next();
+			eldest.remove();
+			fEvictions++;
+			sizeChanged(-1);
+		}
+	}
+
+	/**
+	 * Updates the number of results cached, also for the service bounding the caches of the session.
+	 */
+	private void sizeChanged(int delta) {
+		fSize += delta;
+		if (fCacheService != null && delta != 0) {
+			fCacheService.sizeChanged(this, delta);
+		}
+	}
+
+	private void cacheResult(IDMContext context, CommandInfo command, CommandResultInfo result) {
+		LinkedHashMap<CommandInfo, CommandResultInfo> results = fCachedContexts.get(context);
+		if (results == null) {
+			results = new LinkedHashMap<>(16, 0.75f, true);
+			fCachedContexts.put(context, results);
+		}
+		if (results.put(command, result) == null) {
+			// Bound the context first, the session may then be within its budget
+			evict(results);
+			sizeChanged(1);
+		}
 	}
 
 	/*
@@ -341,17 +493,19 @@ public class CommandCache implements ICommandListener {
 		/*
 		 * If command is already cached, just return the cached data.
 		 */
-		if (fCachedContexts.get(context) != null && fCachedContexts.get(context).containsKey(cachedCmd)) {
-			CommandResultInfo result = fCachedContexts.get(context).get(cachedCmd);
+		LinkedHashMap<CommandInfo, CommandResultInfo> cachedResults = fCachedContexts.get(context);
+		CommandResultInfo cachedResult = cachedResults != null ? cachedResults.get(cachedCmd) : null;
+		if (cachedResult != null) {
+			fHits++;
 			debug(command.toString().trim());
-			if (result.getStatus().getSeverity() <= IStatus.INFO) {
+			if (cachedResult.getStatus().getSeverity() <= IStatus.INFO) {
 				@SuppressWarnings("unchecked")
-				V v = (V) result.getData();
+				V v = (V) cachedResult.getData();
 				rm.setData(v);
 				debug(v.toString());
 			} else {
-				rm.setStatus(result.getStatus());
-				debug(result.getStatus().toString());
+				rm.setStatus(cachedResult.getStatus());
+				debug(cachedResult.getStatus().toString());
 			}
 			rm.done();
 			return;
@@ -376,6 +530,7 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo sentCommand : fPendingQCommandsSent) {
 			if (sentCommand.equals(cachedCmd)) {
 				sentCommand.getRequestMonitorList().add(genericDone);
+				fCoalesced++;
 				debug(command.toString().trim(), "[SNT]"); //$NON-NLS-1$
 				return;
 			}
@@ -383,6 +538,7 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo notYetSentCommand : fPendingQCommandsNotYetSent) {
 			if (notYetSentCommand.equals(cachedCmd)) {
 				notYetSentCommand.getRequestMonitorList().add(genericDone);
+				fCoalesced++;
 				debug(command.toString().trim(), "[SND]"); //$NON-NLS-1$
 				return;
 			}
@@ -404,6 +560,9 @@ public class CommandCache implements ICommandListener {
 			fPendingQWaitingForCoalescedCompletion.add(cachedCmd);
 			cachedCmd.setCoalescedCmd(coalescedCmd);
 			cachedCmd = coalescedCmd;
+			fCoalesced++;
+		} else {
+			fMisses++;
 		}
 
 		/*
@@ -482,13 +641,7 @@ public class CommandCache implements ICommandListener {
 									V subResult = (V) result.getSubsetResult(waitingEntry.getCommand());
 									CommandResultInfo subResultInfo = new CommandResultInfo(subResult, status);
 
-									if (fCachedContexts.get(context) != null) {
-										fCachedContexts.get(context).put(waitingEntry, subResultInfo);
-									} else {
-										HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-										map.put(waitingEntry, subResultInfo);
-										fCachedContexts.put(context, map);
-									}
+									cacheResult(context, waitingEntry, subResultInfo);
 
 									if (!isSuccess()) {
 
@@ -522,15 +675,7 @@ public class CommandCache implements ICommandListener {
 							// Save the command result in cache, but only if the command's context
 							// is still available.  Otherwise an error may get cached incorrectly.
 							if (isTargetAvailable(context)) {
-								CommandResultInfo resultInfo = new CommandResultInfo(result, status);
-
-								if (fCachedContexts.get(context) != null) {
-									fCachedContexts.get(context).put(finalCachedCmd, resultInfo);
-								} else {
-									HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-									map.put(finalCachedCmd, resultInfo);
-									fCachedContexts.put(context, map);
-								}
+								cacheResult(context, finalCachedCmd, new CommandResultInfo(result, status));
 							}
 							// This is an original request which completed. Indicate success or
 							// failure to the original requesters.
@@ -597,6 +742,7 @@ public class CommandCache implements ICommandListener {
 	 */
 	public void reset() {
 		fCachedContexts.clear();
+		sizeChanged(-fSize);
 	}
 
 	@Override
@@ -662,13 +808,16 @@ public class CommandCache implements ICommandListener {
 	 */
 	public void reset(IDMContext dmc) {
 		if (dmc == null) {
-			fCachedContexts.clear();
+			reset();
 			return;
 		}
-		for (Iterator<IDMContext> itr = fCachedContexts.keySet().iterator(); itr.hasNext();) {
-			IDMContext keyDmc = itr.next();
+		for (Iterator<Map.Entry<IDMContext, LinkedHashMap<CommandInfo, CommandResultInfo>>> itr = fCachedContexts
+				.entrySet().iterator(); itr.hasNext();) {
+			Map.Entry<IDMContext, LinkedHashMap<CommandInfo, CommandResultInfo>> entry = itr.next();
+			IDMContext keyDmc = entry.getKey();
 			if (keyDmc != null && (dmc.equals(keyDmc) || DMContexts.isAncestorOf(keyDmc, dmc))) {
 				itr.remove();
+				sizeChanged(-entry.getValue().size());
 			}
 		}
 	}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.internal.DsfPlugin;
+import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Default implementation of {@link ICommandCacheService}.  When the caches of the session hold more
+ * results than the budget, results are evicted from the largest cache, starting with the least recently
+ * used result of its least recently used context.
+ * <p>
+ * The service must be started before the services that create the caches.
+ *
+ * @since 2.13
+ */
+public class CommandCacheService extends AbstractDsfService implements ICommandCacheService {
+
+	/** The default number of results cached by all the caches of a session together. */
+	public static final int DEFAULT_MAX_ENTRIES = 20000;
+
+	private static final boolean DEBUG = Boolean
+			.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.dsf/debugCache")); //$NON-NLS-1$
+
+	private final int fMaxEntries;
+	private final int fMaxEntriesPerContext;
+
+	/**
+	 * A reference to a cache, which remembers the number of results of the cache that are included in
+	 * the total, to remove them from the total once the cache is garbage collected.
+	 */
+	private static class CacheReference extends WeakReference<CommandCache> {
+		int fSize;
+
+		CacheReference(CommandCache cache, ReferenceQueue<CommandCache> queue) {
+			super(cache, queue);
+			fSize = cache.getSize();
+		}
+	}
+
+	// The caches are owned by the services that created them.  The map keeps the references until the
+	// collected caches are removed from it, after the references were enqueued.
+	private final Map<CommandCache, CacheReference> fCaches = new WeakHashMap<>();
+	private final ReferenceQueue<CommandCache> fCollectedCaches = new ReferenceQueue<>();
+
+	/** The number of results cached by all the caches together */
+	private int fSize;
+
+	/**
+	 * @param maxEntries the number of results cached by all the caches of the session together
+	 * @param maxEntriesPerContext the number of results each cache keeps for a context, see
+	 *            {@link CommandCache#setMaxEntriesPerContext(int)}
+	 */
+	public CommandCacheService(DsfSession session, int maxEntries, int maxEntriesPerContext) {
+		super(session);
+		fMaxEntries = maxEntries;
+		fMaxEntriesPerContext = maxEntriesPerContext;
+	}
+
+	@Override
+	protected BundleContext getBundleContext() {
+		return DsfPlugin.getBundleContext();
+	}
+
+	@Override
+	public void initialize(final RequestMonitor rm) {
+		super.initialize(new RequestMonitor(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				register(new String[] { ICommandCacheService.class.getName() }, new Hashtable<String, String>());
+				rm.done();
+			}
+		});
+	}
+
+	@Override
+	public void shutdown(RequestMonitor rm) {
+		if (DEBUG) {
+			System.out.println(DsfPlugin.getDebugTime() + " [CHE] " + getStatistics()); //$NON-NLS-1$
+		}
+
+		unregister();
+		super.shutdown(rm);
+	}
+
+	@Override
+	public void addCache(CommandCache cache) {
+		cache.setMaxEntriesPerContext(fMaxEntriesPerContext);
+		if (!fCaches.containsKey(cache)) {
+			CacheReference reference = new CacheReference(cache, fCollectedCaches);
+			fCaches.put(cache, reference);
+			fSize += reference.fSize;
+		}
+	}
+
+	@Override
+	public void sizeChanged(CommandCache cache, int delta) {
+		CacheReference reference = fCaches.get(cache);
+		if (reference == null) {
+			return;
+		}
+		reference.fSize += delta;
+		fSize += delta;
+
+		CacheReference collected;
+		while ((collected = (CacheReference) fCollectedCaches.poll()) != null) {
+			fSize -= collected.fSize;
+		}
+
+		// The caches call back with the results they evict
+		while (delta > 0 && fSize > fMaxEntries) {
+			CommandCache largest = cache;
+			for (CommandCache c : fCaches.keySet()) {
+				if (c.getSize() > largest.getSize()) {
+					largest = c;
+				}
+			}
+			if (!largest.evictEldest()) {
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void getStatistics(DataRequestMonitor<CommandCacheStatistics> rm) {
+		rm.done(getStatistics());
+	}
+
+	private CommandCacheStatistics getStatistics() {
+		CommandCacheStatistics statistics = new CommandCacheStatistics(0, 0, 0, 0, 0);
+		for (CommandCache cache : new ArrayList<>(fCaches.keySet())) {
+			statistics = statistics.add(cache.getStatistics());
+		}
+		return statistics;
+	}
+
+	@Override
+	public void resetStatistics() {
+		for (CommandCache cache : fCaches.keySet()) {
+			cache.resetStatistics();
+		}
+	}
+}
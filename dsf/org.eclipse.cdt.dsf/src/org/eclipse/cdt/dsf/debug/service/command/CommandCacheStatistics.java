@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+/**
+ * The effectiveness of one or more {@link CommandCache}s: how the commands executed through them were
+ * serviced, and how many results they hold.
+ *
+ * @see CommandCache#getStatistics()
+ * @see ICommandCacheService#getStatistics(org.eclipse.cdt.dsf.concurrent.DataRequestMonitor)
+ * @since 2.13
+ */
+public final class CommandCacheStatistics {
+	private final long fHits;
+	private final long fMisses;
+	private final long fCoalesced;
+	private final long fEvictions;
+	private final int fSize;
+
+	public CommandCacheStatistics(long hits, long misses, long coalesced, long evictions, int size) {
+		fHits = hits;
+		fMisses = misses;
+		fCoalesced = coalesced;
+		fEvictions = evictions;
+		fSize = size;
+	}
+
+	/**
+	 * Returns the number of commands completed with a cached result.
+	 */
+	public long getHits() {
+		return fHits;
+	}
+
+	/**
+	 * Returns the number of commands sent to the command control.
+	 */
+	public long getMisses() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the number of commands that were not sent because they were completed with the result
+	 * of a pending identical command, or combined into another pending command.
+	 */
+	public long getCoalesced() {
+		return fCoalesced;
+	}
+
+	/**
+	 * Returns the number of results removed to keep the caches within their bounds.
+	 */
+	public long getEvictions() {
+		return fEvictions;
+	}
+
+	/**
+	 * Returns the number of results cached.
+	 */
+	public int getSize() {
+		return fSize;
+	}
+
+	/**
+	 * Returns the statistics of this and the given caches together.
+	 */
+	public CommandCacheStatistics add(CommandCacheStatistics other) {
+		return new CommandCacheStatistics(fHits + other.fHits, fMisses + other.fMisses,
+				fCoalesced + other.fCoalesced, fEvictions + other.fEvictions, fSize + other.fSize);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("hits=%d misses=%d coalesced=%d evictions=%d size=%d", //$NON-NLS-1$
+				fHits, fMisses, fCoalesced, fEvictions, fSize);
+	}
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.service.IDsfService;
+
+/**
+ * Service that keeps track of the {@link CommandCache}s of a session.  The caches register with the
+ * service of their session when they are created, if there is one.  The service bounds the number of
+ * results cached by all of them together, and reports their statistics.
+ *
+ * @since 2.13
+ */
+public interface ICommandCacheService extends IDsfService {
+
+	/**
+	 * Adds a cache of the session.  Called by the cache when it is created.
+	 */
+	void addCache(CommandCache cache);
+
+	/**
+	 * Called by a cache of the session when the number of results it caches changes, such that the least
+	 * recently used results can be evicted when the caches exceed the budget of the session.
+	 *
+	 * @param delta the number of results cached, or the negated number of results removed
+	 */
+	void sizeChanged(CommandCache cache, int delta);
+
+	/**
+	 * Returns the statistics of all the caches of the session together.
+	 */
+	void getStatistics(DataRequestMonitor<CommandCacheStatistics> rm);
+
+	/**
+	 * Resets the counts of the statistics of all the caches of the session.
+	 */
+	void resetStatistics();
+}
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.debug.service.command;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCacheService;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCacheStatistics;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bounds and the statistics of the command cache.
+ */
+public class CommandCacheTests {
+
+	TestDsfExecutor fExecutor;
+	DsfSession fSession;
+	CommandCache fCache;
+	TestContext fContext1;
+	TestContext fContext2;
+
+	class TestContext extends AbstractDMContext {
+		final int fId;
+
+		TestContext(int id) {
+			super(fSession, new IDMContext[0]);
+			fId = id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj) && ((TestContext) obj).fId == fId;
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode() + fId;
+		}
+	}
+
+	static class TestResult implements ICommandResult {
+		@Override
+		public <V extends ICommandResult> V getSubsetResult(ICommand<V> command) {
+			return null;
+		}
+	}
+
+	static class TestCommand implements ICommand<TestResult> {
+		final IDMContext fContext;
+		final String fOperation;
+
+		TestCommand(IDMContext context, String operation) {
+			fContext = context;
+			fOperation = operation;
+		}
+
+		@Override
+		public ICommand<? extends ICommandResult> coalesceWith(ICommand<? extends ICommandResult> command) {
+			return null;
+		}
+
+		@Override
+		public IDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestCommand && ((TestCommand) obj).fContext.equals(fContext)
+					&& ((TestCommand) obj).fOperation.equals(fOperation);
+		}
+
+		@Override
+		public int hashCode() {
+			return fContext.hashCode() + fOperation.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return fOperation;
+		}
+	}
+
+	/**
+	 * Completes every command with a new result in a later dispatch cycle.
+	 */
+	class TestCommandControl implements ICommandControl {
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(final ICommand<V> command,
+				final DataRequestMonitor<V> rm) {
+			fExecutor.execute(new DsfRunnable() {
+				@SuppressWarnings("unchecked")
+				@Override
+				public void run() {
+					rm.done((V) new TestResult());
+				}
+			});
+			return new ICommandToken() {
+				@Override
+				public ICommand<? extends ICommandResult> getCommand() {
+					return command;
+				}
+			};
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+		}
+	}
+
+	@Before
+	public void startSession() throws ExecutionException, InterruptedException {
+		fExecutor = new TestDsfExecutor();
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+				fSession = DsfSession.startSession(fExecutor, "org.eclipse.cdt.dsf.tests"); //$NON-NLS-1$
+				fCache = new CommandCache(fSession, new TestCommandControl());
+				fContext1 = new TestContext(1);
+				fContext2 = new TestContext(2);
+				fCache.setContextAvailable(fContext1, true);
+				fCache.setContextAvailable(fContext2, true);
+			}
+		}).get();
+	}
+
+	@After
+	public void endSession() throws ExecutionException, InterruptedException {
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+				DsfSession.endSession(fSession);
+				fExecutor.shutdown();
+			}
+		}).get();
+		if (fExecutor.exceptionsCaught()) {
+			Throwable[] exceptions = fExecutor.getExceptions();
+			throw new ExecutionException(exceptions[0]);
+		}
+		fExecutor = null;
+	}
+
+	/**
+	 * Executes the given operations in a single dispatch cycle, and waits for them to complete.
+	 */
+	private void execute(final IDMContext context, final String... operations)
+			throws ExecutionException, InterruptedException {
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+				for (String operation : operations) {
+					fCache.execute(new TestCommand(context, operation),
+							new DataRequestMonitor<TestResult>(fExecutor, null));
+				}
+			}
+		}).get();
+		// The results are cached in the following dispatch cycle
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+			}
+		}).get();
+	}
+
+	private void assertStatistics(long hits, long misses, long coalesced, long evictions, int size)
+			throws ExecutionException, InterruptedException {
+		CommandCacheStatistics statistics = fExecutor.submit(() -> fCache.getStatistics()).get();
+		assertEquals(hits, statistics.getHits());
+		assertEquals(misses, statistics.getMisses());
+		assertEquals(coalesced, statistics.getCoalesced());
+		assertEquals(evictions, statistics.getEvictions());
+		assertEquals(size, statistics.getSize());
+	}
+
+	@Test
+	public void testHitsMissesAndCoalescedCommands() throws Exception {
+		execute(fContext1, "a", "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertStatistics(0, 2, 1, 0, 2);
+
+		execute(fContext1, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		execute(fContext2, "a"); //$NON-NLS-1$
+		assertStatistics(2, 3, 1, 0, 3);
+
+		fExecutor.submit(() -> fCache.resetStatistics()).get();
+		assertStatistics(0, 0, 0, 0, 3);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedResultsOfContextAreEvicted() throws Exception {
+		fExecutor.submit(() -> fCache.setMaxEntriesPerContext(2)).get();
+		execute(fContext1, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		execute(fContext1, "a"); //$NON-NLS-1$
+		execute(fContext1, "c"); //$NON-NLS-1$
+		assertStatistics(1, 3, 0, 1, 2);
+
+		// "b" was evicted, "a" is still cached
+		execute(fContext1, "a"); //$NON-NLS-1$
+		assertStatistics(2, 3, 0, 1, 2);
+		execute(fContext1, "b"); //$NON-NLS-1$
+		assertStatistics(2, 4, 0, 2, 2);
+
+		// Other contexts have their own bound
+		execute(fContext2, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertStatistics(2, 6, 0, 2, 4);
+	}
+
+	@Test
+	public void testSessionBudget() throws Exception {
+		final CommandCacheService service = new CommandCacheService(fSession, 3, 10);
+		fExecutor.submit(() -> {
+			fCache = new CommandCache(fSession, new TestCommandControl(), service);
+			fCache.setContextAvailable(fContext1, true);
+			fCache.setContextAvailable(fContext2, true);
+		}).get();
+		execute(fContext1, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertStatistics(0, 2, 0, 0, 2);
+
+		// The eldest result of the least recently used context is evicted first
+		execute(fContext2, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertStatistics(0, 4, 0, 1, 3);
+		execute(fContext1, "b"); //$NON-NLS-1$
+		assertStatistics(1, 4, 0, 1, 3);
+		execute(fContext1, "a"); //$NON-NLS-1$
+		assertStatistics(1, 5, 0, 2, 3);
+		execute(fContext2, "b"); //$NON-NLS-1$
+		assertStatistics(2, 5, 0, 2, 3);
+		execute(fContext2, "a"); //$NON-NLS-1$
+		assertStatistics(2, 6, 0, 3, 3);
+	}
+
+	@Test
+	public void testSessionBudgetAfterReset() throws Exception {
+		final CommandCacheService service = new CommandCacheService(fSession, 3, 10);
+		fExecutor.submit(() -> {
+			fCache = new CommandCache(fSession, new TestCommandControl(), service);
+			fCache.setContextAvailable(fContext1, true);
+			fCache.setContextAvailable(fContext2, true);
+		}).get();
+		execute(fContext1, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		execute(fContext2, "a"); //$NON-NLS-1$
+
+		// The removed results no longer count against the budget
+		fExecutor.submit(() -> fCache.reset(fContext1)).get();
+		execute(fContext2, "b", "c"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertStatistics(0, 5, 0, 0, 3);
+		fExecutor.submit(() -> fCache.reset()).get();
+		execute(fContext1, "a", "b", "c"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertStatistics(0, 8, 0, 0, 3);
+		execute(fContext1, "d"); //$NON-NLS-1$
+		assertStatistics(0, 9, 0, 1, 3);
+	}
+
+	@Test
+	public void testResetContext() throws Exception {
+		execute(fContext1, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		execute(fContext2, "a"); //$NON-NLS-1$
+		fExecutor.submit(() -> fCache.reset(fContext1)).get();
+		assertStatistics(0, 3, 0, 0, 1);
+		fExecutor.submit(() -> fCache.reset()).get();
+		assertStatistics(0, 3, 0, 0, 0);
+	}
+}